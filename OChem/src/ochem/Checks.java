@@ -0,0 +1,488 @@
+package ochem;
+
+/*
+ * Checks
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Runs the program's parts on compounds that have gone wrong before and stops at the
+ * first one that gives the wrong answer. Run from the project folder so the fonts load
+ */
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import ochem.drawing.ActionReader;
+import ochem.drawing.ActionRecorder;
+import ochem.drawing.Canvas;
+import ochem.drawing.DrawingFile;
+import ochem.drawing.MoleculeDocument;
+import ochem.drawing.SessionReplayer;
+import ochem.drawing.ThumbnailCache;
+import ochem.organic.Chain;
+import ochem.organic.Compound;
+import ochem.organic.Formula;
+import ochem.organic.Interpreter;
+import ochem.organic.OrganicUtil;
+import ochem.organic.SmilesReader;
+import ochem.organic.SmilesWriter;
+import ochem.organic.Validator;
+
+public class Checks {
+
+	/*
+	 * Run every check
+	 */
+	public static void main(String[] args) throws IOException {
+		drawEther();
+		undoAndRedo();
+		placeMolecules();
+		saveAndOpen();
+		cacheThumbnails();
+		readBenzene();
+		readSmiles();
+		writeGemDiol();
+		countBenzene();
+		validate();
+
+		System.out.println("All checks passed");
+	} // end main
+
+	// NAMES//
+
+	/*
+	 * Read benzene, which has no ending after its stem
+	 */
+	private static void readBenzene() {
+		Compound c = Interpreter.compoundFromName("benzene");
+		check(c.getMainChain().getEndings().isEmpty(), "benzene has endings");
+		check(Formula.formula(c), "C6H6");
+
+		c = Interpreter.compoundFromName("1-methylbenzene");
+		check(c.getMainChain().getEndings().isEmpty(), "methylbenzene has endings");
+		check(Formula.formula(c), "C7H8");
+	} // end readBenzene
+
+	/*
+	 * Read SMILES whose main chain isn't the one written first: a ring closed by digits,
+	 * a branch longer than the rest of the chain and a group at the far end
+	 */
+	private static void readSmiles() {
+		Compound c = SmilesReader.fromSmiles("c1ccccc1C");
+		check(c.getMainChain().isBenzene(), "toluene's ring isn't its main chain");
+		check(Formula.formula(c), "C7H8");
+
+		c = SmilesReader.fromSmiles("CC1CCCCC1");
+		check(c.getMainChain().isCyclo(), "methylcyclohexane's ring isn't its main chain");
+		check(Formula.formula(c), "C7H14");
+
+		c = SmilesReader.fromSmiles("CC(CC)CC");
+		check(c.getMainChain().getSize(), 5);
+		check(OrganicUtil.nameFromCompound(c), "3-methylpentane");
+
+		c = SmilesReader.fromSmiles("CCO");
+		check(c.getMainChain().getFunctionalLocation(), Arrays.asList("1"));
+		check(OrganicUtil.nameFromCompound(c), "ethan-1-ol");
+	} // end readSmiles
+
+	/*
+	 * Write butane-1,1,3-triol and read it back, both hydroxyls on carbon 1 must survive
+	 */
+	private static void writeGemDiol() {
+		Compound c = chain(4, 3, "1", "1", "3"); // alcohol
+		check(Formula.formula(c), "C4H10O3");
+
+		String smiles = SmilesWriter.toSmiles(c);
+		check(Formula.formula(SmilesReader.fromSmiles(smiles)), "C4H10O3");
+	} // end writeGemDiol
+
+	// FORMULAS//
+
+	/*
+	 * Count a benzene ring given its double bonds as alkene endings, which are the ring's
+	 * own and mustn't be counted again
+	 */
+	private static void countBenzene() {
+		Compound c = new Compound(6);
+		Chain main = c.getMainChain();
+		main.setBenzene(true);
+		main.setNumOfGroups(new int[] { 3, 0 });
+		main.addFunctionalLocation("1");
+		main.addFunctionalLocation("3");
+		main.addFunctionalLocation("5");
+		main.setEnding(1, 0); // alkene
+
+		check(Formula.formula(c), "C6H6");
+		check(Formula.unsaturation(c), 4);
+	} // end countBenzene
+
+	// STRUCTURES//
+
+	/*
+	 * Check that the validator passes real structures and flags each kind of impossible one
+	 */
+	private static void validate() {
+		check(Validator.validate(chain(4, 3, "1", "1", "3")), Validator.VALID); // gem-diol
+		check(Validator.validate(Interpreter.compoundFromName("2-methylbutane")), Validator.VALID);
+
+		// four hydroxyls and the next carbon on carbon 1
+		check(Validator.validate(chain(2, 3, "1", "1", "1", "1")), Validator.VALENCE);
+
+		check(Validator.validate(chain(3, 3, "5")), Validator.LOCATION);
+		check(Validator.validate(chain(4, 4, "2")), Validator.TERMINAL); // aldehyde mid chain
+
+		Compound c = chain(3, 2, "1"); // cyclopropyne
+		c.getMainChain().setCyclo(true);
+		check(Validator.validate(c), Validator.RING);
+
+		c = new Compound(4);
+		c.addSideChain(-7, "2", false, false); // oxy with no alkyl on the oxygen
+		check(Validator.validate(c), Validator.OXYGEN);
+		check(Validator.describe(Validator.OXYGEN | Validator.RING),
+				"bad oxygen substituent, ring cannot hold its bonds");
+	} // end validate
+
+	// DRAWING//
+
+	/*
+	 * Draw butane with an ethoxy group on its second carbon
+	 */
+	private static void drawEther() throws IOException {
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		ActionRecorder r = new ActionRecorder(log);
+
+		// main chain of four
+		r.palette("Main");
+		r.input("4");
+		r.input("N");
+		r.click(MouseEvent.BUTTON1, -1, "", 100, 250);
+
+		// ether on carbon 2, then an ethyl chain on its oxygen
+		r.palette("Ether");
+		r.click(MouseEvent.BUTTON1, 1, "2", 0, 0);
+		r.palette("Side");
+		r.input("2");
+		r.click(MouseEvent.BUTTON1, 4, "O", 0, 0);
+		r.close();
+
+		SessionReplayer replayer = new SessionReplayer(800, 500);
+		replayer.replay(new ByteArrayInputStream(log.toByteArray()));
+
+		Compound c = replayer.getCompound();
+		check(c.getMainChain().getEndings().isEmpty(), "ether became the ending");
+		check(OrganicUtil.nameFromCompound(c), "2-ethoxy butane");
+	} // end drawEther
+
+	/*
+	 * Draw 3-methylbutan-1-ol, step back and forward through its edits, then clear it
+	 * and bring it back
+	 */
+	private static void undoAndRedo() throws IOException {
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		ActionRecorder r = new ActionRecorder(log);
+
+		// butane, a hydroxyl on carbon 1, then a methyl on carbon 3
+		r.palette("Main");
+		r.input("4");
+		r.input("N");
+		r.click(MouseEvent.BUTTON1, -1, "", 100, 250);
+		r.palette("Alcohol");
+		r.click(MouseEvent.BUTTON1, 0, "1", 0, 0);
+		r.palette("Side");
+		r.input("1");
+		r.click(MouseEvent.BUTTON1, 2, "3", 0, 0);
+
+		// the drawing after the methyl and after each button after it
+		String[] after = { "3-methylbutan-1-ol", "butan-1-ol", "butane", "butan-1-ol", "3-methylbutan-1-ol", "",
+				"3-methylbutan-1-ol" };
+		r.palette("Undo");
+		r.palette("Undo");
+		r.palette("Redo");
+		r.palette("Redo");
+		r.palette("Clear");
+		r.palette("Undo");
+		r.close();
+
+		SessionReplayer replayer = new SessionReplayer(800, 500);
+		ActionReader reader = new ActionReader(new ByteArrayInputStream(log.toByteArray()));
+		for (int i = after.length - r.getCount(); reader.next(); i++) {
+			replayer.apply(reader);
+			if (i >= 0)
+				check(name(replayer.getCompound()), after[i]);
+		} // loop
+
+		// undo first drops a side chain that was sized but not placed yet
+		log = new ByteArrayOutputStream();
+		r = new ActionRecorder(log);
+		r.palette("Main");
+		r.input("4");
+		r.input("N");
+		r.click(MouseEvent.BUTTON1, -1, "", 100, 250);
+		r.palette("Alcohol");
+		r.click(MouseEvent.BUTTON1, 0, "1", 0, 0);
+		r.palette("Side");
+		r.input("1");
+		r.palette("Undo");
+		r.click(MouseEvent.BUTTON1, 2, "3", 0, 0);
+		r.close();
+
+		replayer.replay(new ByteArrayInputStream(log.toByteArray()));
+		check(name(replayer.getCompound()), "butan-1-ol");
+		check(replayer.getCanvas().undo(), "the hydroxyl can't be undone");
+		check(name(replayer.getCompound()), "butane");
+	} // end undoAndRedo
+
+	/*
+	 * Place two molecules beside a drawing, then change and take out one of them
+	 * without laying out the other again
+	 */
+	private static void placeMolecules() throws IOException {
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		ActionRecorder r = new ActionRecorder(log);
+
+		// pentane and propan-1-ol placed, butane left on the canvas
+		r.palette("Main");
+		r.input("5");
+		r.input("N");
+		r.click(MouseEvent.BUTTON1, -1, "", 100, 250);
+		r.palette("Place");
+		r.palette("Main");
+		r.input("3");
+		r.input("N");
+		r.click(MouseEvent.BUTTON1, -1, "", 100, 250);
+		r.palette("Alcohol");
+		r.click(MouseEvent.BUTTON1, 0, "1", 0, 0);
+		r.palette("Place");
+		r.palette("Main");
+		r.input("4");
+		r.input("N");
+		r.click(MouseEvent.BUTTON1, -1, "", 100, 250);
+		r.close();
+
+		SessionReplayer replayer = new SessionReplayer(800, 500);
+		replayer.replay(new ByteArrayInputStream(log.toByteArray()));
+		Canvas canvas = replayer.getCanvas();
+		MoleculeDocument doc = canvas.getDocument();
+		check(name(replayer.getCompound()), "butane");
+		check(doc.size(), 2);
+		check(name(doc.get(0).getCompound()), "pentane");
+		check(name(doc.get(1).getCompound()), "propan-1-ol");
+
+		// each drawing sits in its own cell, left to right, and is found there
+		paint(canvas);
+		Rectangle first = doc.get(0).getCell();
+		Rectangle second = doc.get(1).getCell();
+		check(second.x, first.x + first.width);
+		for (int i = 0; i < doc.size(); i++) {
+			Rectangle bounds = doc.get(i).getBounds();
+			check(bounds != null && doc.get(i).getCell().contains(bounds), "molecule " + i + " is out of its cell");
+			check(doc.moleculeAt(bounds.getCenterX(), bounds.getCenterY()), i);
+			check(doc.get(i).isDirty(), false);
+		} // loop
+
+		// replacing one only lays that one out again
+		canvas.setMolecule(1, Interpreter.compoundFromName("hexane"));
+		check(doc.get(0).isDirty(), false);
+		check(doc.get(1).isDirty(), true);
+		paint(canvas);
+
+		// taking one out moves the next into its cell with the same layer
+		canvas.removeMolecule(0);
+		check(doc.size(), 1);
+		check(name(doc.get(0).getCompound()), "hexane");
+		check(doc.get(0).getCell(), first);
+		check(doc.get(0).isDirty(), false);
+		Rectangle bounds = doc.get(0).getBounds();
+		check(doc.moleculeAt(bounds.getCenterX(), bounds.getCenterY()), 0);
+	} // end placeMolecules
+
+	/*
+	 * Save a drawing with a molecule placed beside it and open it on another canvas
+	 */
+	private static void saveAndOpen() throws IOException {
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		ActionRecorder r = new ActionRecorder(log);
+
+		// pentane placed to the side, then 2-methylbutane drawn
+		r.palette("Main");
+		r.input("5");
+		r.input("N");
+		r.click(MouseEvent.BUTTON1, -1, "", 100, 250);
+		r.palette("Place");
+		r.palette("Main");
+		r.input("4");
+		r.input("N");
+		r.click(MouseEvent.BUTTON1, -1, "", 100, 250);
+		r.palette("Side");
+		r.input("1");
+		r.click(MouseEvent.BUTTON1, 1, "2", 0, 0);
+		r.close();
+
+		SessionReplayer drawn = new SessionReplayer(800, 500);
+		drawn.replay(new ByteArrayInputStream(log.toByteArray()));
+		ByteArrayOutputStream file = new ByteArrayOutputStream();
+		DrawingFile.write(drawn.getCanvas(), file);
+		byte[] bytes = file.toByteArray();
+
+		Canvas canvas = new SessionReplayer(800, 500).getCanvas();
+		check(opens(bytes, canvas), "saved drawing didn't open");
+		check(OrganicUtil.nameFromCompound(canvas.getDrawnCompound()), "2-methylbutane");
+		check(canvas.getMainNodes().size(), drawn.getCanvas().getMainNodes().size());
+		check(canvas.getDocument().size(), 1);
+		check(OrganicUtil.nameFromCompound(canvas.getDocument().get(0).getCompound()), "pentane");
+
+		// a file cut short anywhere is an error and leaves the canvas as it was
+		for (int i = 0; i < bytes.length; i++) {
+			check(!opens(Arrays.copyOf(bytes, i), canvas), "file cut to " + i + " bytes opened");
+		} // loop
+		check(OrganicUtil.nameFromCompound(canvas.getDrawnCompound()), "2-methylbutane");
+
+		// molecule counts far past what the file holds, and one that reads as negative
+		byte[] header = Arrays.copyOf(bytes, 6);
+		header[5] = 0; // no drawing, so the molecules come straight after
+		byte[] huge = Arrays.copyOf(header, 11);
+		byte[] negative = Arrays.copyOf(header, 11);
+		for (int i = 6; i < 10; i++) {
+			huge[i] = (byte) 0xFF;
+			negative[i] = (byte) 0xFF;
+		} // loop
+		huge[10] = 0x07;
+		negative[10] = 0x0F;
+		check(!opens(huge, canvas), "file with a huge count opened");
+		check(!opens(negative, canvas), "file with a negative count opened");
+	} // end saveAndOpen
+
+	/*
+	 * Draw three compounds into a cache with room for two, then get the dropped ones
+	 * back from the spill folder
+	 */
+	private static void cacheThumbnails() throws IOException {
+		File dir = Files.createTempDirectory("thumbnails").toFile();
+		long size = 4L * 120 * 90;
+		ThumbnailCache cache = new ThumbnailCache(2 * size, dir);
+
+		try {
+			Compound butane = Interpreter.compoundFromName("butane");
+			Compound pentane = Interpreter.compoundFromName("pentane");
+			BufferedImage first = cache.get(butane, 120, 90);
+			check(cache.get(butane, 120, 90) == first, "image in memory was drawn again");
+			cache.get(pentane, 120, 90);
+			cache.get(Interpreter.compoundFromName("hexane"), 120, 90);
+
+			// butane went past the budget and was kept on disk
+			check(cache.getCount(), 2);
+			check(cache.getBytes() <= 2 * size, "cache is over its budget");
+			check(dir.listFiles().length, 1);
+
+			// read back with the same pixels, which drops pentane to disk
+			BufferedImage back = cache.get(butane, 120, 90);
+			check(back != first, "dropped image stayed in memory");
+			for (int y = 0; y < 90; y++) {
+				for (int x = 0; x < 120; x++) {
+					check((back.getRGB(x, y) & 0xFFFFFF) == (first.getRGB(x, y) & 0xFFFFFF),
+							"spilled image changed at " + x + "," + y);
+				} // loop
+			} // loop
+
+			// swap pentane's file for a marker so only a read from disk returns it
+			check(dir.listFiles().length, 2);
+			for (File f : dir.listFiles()) {
+				ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", f);
+			} // loop
+			check(cache.get(pentane, 120, 90).getWidth(), 1);
+
+		} finally {
+			for (File f : dir.listFiles()) {
+				f.delete();
+			} // loop
+			dir.delete();
+		} // try-catch
+	} // end cacheThumbnails
+
+	// HELPERS//
+
+	/*
+	 * Open a drawing file on a canvas
+	 * byte[] file - contents of the file
+	 * Canvas canvas - canvas to open it on
+	 * return - false if the file was rejected as broken
+	 */
+	private static boolean opens(byte[] file, Canvas canvas) {
+		try {
+			DrawingFile.read(new ByteArrayInputStream(file), canvas);
+			return true;
+		} catch (IOException e) {
+			return false;
+		} // try-catch
+	} // end opens
+
+	/*
+	 * Paint a canvas once, laying out whatever changed
+	 * Canvas canvas - canvas to paint
+	 */
+	private static void paint(Canvas canvas) {
+		canvas.setSize(canvas.getPreferredSize());
+		BufferedImage image = new BufferedImage(canvas.getWidth(), canvas.getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2 = image.createGraphics();
+		canvas.paint(g2);
+		g2.dispose();
+	} // end paint
+
+	/*
+	 * Name a drawn compound
+	 * Compound c - compound to name
+	 * return - its name, empty for a canvas with nothing drawn
+	 */
+	private static String name(Compound c) {
+		return c.getMainSize() <= 0 ? "" : OrganicUtil.nameFromCompound(c);
+	} // end name
+
+	/*
+	 * Make a straight chain with one kind of ending
+	 * int size - carbons in the chain
+	 * int kind - index of the ending in OrganicUtil.FUNCTIONAL_NAMES
+	 * String... locants - where the ending is, once for each
+	 * return c - the compound
+	 */
+	private static Compound chain(int size, int kind, String... locants) {
+		Compound c = new Compound(size);
+		Chain main = c.getMainChain();
+		int idx = kind <= 2 ? 0 : 1; // bonds come before groups
+
+		for (String locant : locants)
+			main.addFunctionalLocation(locant);
+		main.addNumOfGroups(locants.length, idx);
+		main.setEnding(kind, idx);
+
+		return c;
+	} // end chain
+
+	/*
+	 * Stop if a check failed
+	 * boolean passed - result of the check
+	 * String what - what went wrong if it failed
+	 */
+	private static void check(boolean passed, String what) {
+		if (!passed) {
+			throw new IllegalStateException("Check failed: " + what);
+		} // if
+	} // end check
+
+	/*
+	 * Stop if a result isn't the one expected
+	 * Object actual - result given
+	 * Object expected - result wanted
+	 */
+	private static void check(Object actual, Object expected) {
+		check(expected.equals(actual), "expected " + expected + " but got " + actual);
+	} // end check
+} // end Checks
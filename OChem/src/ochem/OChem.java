@@ -1,14 +1,20 @@
 package ochem;
 
+import java.awt.Dimension;
+import java.awt.GraphicsEnvironment;
 import java.awt.Toolkit;
 import ochem.welcome.*;
 
 import ochem.welcome.WelcomeGUI;
 
 public class OChem {
-	public static int width = (int) Toolkit.getDefaultToolkit().getScreenSize().getWidth();;
-	public static int height = (int) Toolkit.getDefaultToolkit().getScreenSize().getHeight();
-	
+	//screen size assumed when there is no screen, i.e rendering on a server
+	public static final int HEADLESS_WIDTH = 1920;
+	public static final int HEADLESS_HEIGHT = 1080;
+
+	public static int width = (int) screenSize().getWidth();
+	public static int height = (int) screenSize().getHeight();
+
 	/*
 	 * Instantiate the View, Model and show the frame
 	 */
@@ -16,4 +22,16 @@ public class OChem {
 		new WelcomeGUI(new Model());
 	} //end main
 
+	/*
+	 * Get the size of the screen without failing when there isn't one
+	 * return - size of the screen, or the headless size in headless mode
+	 */
+	private static Dimension screenSize() {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new Dimension(HEADLESS_WIDTH, HEADLESS_HEIGHT);
+		} //if
+
+		return Toolkit.getDefaultToolkit().getScreenSize();
+	} //end screenSize
+
 } //end OChem
@@ -0,0 +1,223 @@
+package ochem.drawing;
+
+/*
+ * ActionReader
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Reads a log written by ActionRecorder one action at a time. The reader itself holds
+ * the current action, so going through thousands of logs makes no objects per action
+ */
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class ActionReader {
+	// Attributes
+	private DataInputStream in; // stream the log is read from
+	private boolean truncated; // whether the log ended partway through an action
+
+	// current action
+	private byte kind; // ActionRecorder.PALETTE, INPUT or CLICK
+	private int delay; // time since the action before in milliseconds
+	private long time; // time since the log started in milliseconds
+	private String text; // button text or text entered
+	private int button; // mouse button of a click
+	private int node; // index of the main node clicked, -1 if none
+	private String tag; // tag of the node clicked, empty if none
+	private int x; // x of a click in the drawing
+	private int y; // y of a click in the drawing
+
+	/*
+	 * Open a log
+	 * InputStream in - stream to read from
+	 */
+	public ActionReader(InputStream in) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream(in));
+
+		if (this.in.readInt() != ActionRecorder.MAGIC) {
+			throw new IOException("Not an action log");
+		} // if
+
+		int version = this.in.readUnsignedByte();
+		if (version != ActionRecorder.VERSION) {
+			throw new IOException("Unknown action log version " + version);
+		} // if
+	} // end constructor
+
+	/*
+	 * Move to the next action
+	 * return - false at the end of the log
+	 */
+	public boolean next() throws IOException {
+		int k = in.read();
+		if (k == -1)
+			return false;
+
+		try {
+			kind = (byte) k;
+			delay = readVarint(in);
+			time += delay;
+			text = null;
+			tag = "";
+			node = -1;
+
+			switch (kind) {
+				case ActionRecorder.PALETTE:
+					int b = in.readUnsignedByte();
+					if (b == ActionRecorder.OTHER_BUTTON) {
+						text = in.readUTF();
+					} else if (b < ActionRecorder.BUTTONS.length) {
+						text = ActionRecorder.BUTTONS[b];
+					} else {
+						throw new IOException("Unknown button " + b);
+					} // if
+					break;
+
+				case ActionRecorder.INPUT:
+					text = in.readUTF();
+					break;
+
+				case ActionRecorder.CLICK:
+					button = in.readUnsignedByte();
+					node = readVarint(in) - 1;
+					if (node != -1) {
+						tag = in.readUTF();
+					} // if
+					x = unzigzag(readVarint(in));
+					y = unzigzag(readVarint(in));
+					break;
+
+				default:
+					throw new IOException("Unknown action " + kind);
+			} // switch
+
+		} catch (EOFException e) {
+			// the program was closed while writing, everything before is still good
+			truncated = true;
+			return false;
+		} // try-catch
+
+		return true;
+	} // end next
+
+	/*
+	 * Close the stream
+	 */
+	public void close() throws IOException {
+		in.close();
+	} // end close
+
+	// DECODING//
+
+	/*
+	 * Read an int written by ActionRecorder.writeVarint
+	 * DataInput in - where to read from
+	 * return v - value read
+	 */
+	static int readVarint(DataInput in) throws IOException {
+		int v = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readUnsignedByte();
+			v |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return v;
+		} // loop
+
+		throw new IOException("Number too long");
+	} // end readVarint
+
+	/*
+	 * Undo ActionRecorder.zigzag
+	 * int v - folded value
+	 * return - signed value
+	 */
+	static int unzigzag(int v) {
+		return (v >>> 1) ^ -(v & 1);
+	} // end unzigzag
+
+	// GETTERS//
+
+	/*
+	 * Get the kind of the current action
+	 * return kind - ActionRecorder.PALETTE, INPUT or CLICK
+	 */
+	public byte getKind() {
+		return kind;
+	} // end getKind
+
+	/*
+	 * Get how long the user waited before the current action
+	 * return delay - milliseconds since the action before
+	 */
+	public int getDelay() {
+		return delay;
+	} // end getDelay
+
+	/*
+	 * Get when the current action happened
+	 * return time - milliseconds since the log started
+	 */
+	public long getTime() {
+		return time;
+	} // end getTime
+
+	/*
+	 * Get the text of a palette press or an input
+	 * return text - button text or text entered, null for a click
+	 */
+	public String getText() {
+		return text;
+	} // end getText
+
+	/*
+	 * Get the mouse button of a click
+	 * return button - MouseEvent.BUTTON1 or MouseEvent.BUTTON3
+	 */
+	public int getButton() {
+		return button;
+	} // end getButton
+
+	/*
+	 * Get the main node a click landed on
+	 * return node - index in the main nodes, -1 if none
+	 */
+	public int getNode() {
+		return node;
+	} // end getNode
+
+	/*
+	 * Get the tag of the node a click landed on
+	 * return tag - tag of the node, empty if none
+	 */
+	public String getTag() {
+		return tag;
+	} // end getTag
+
+	/*
+	 * Get the x of a click
+	 * return x - x in the drawing
+	 */
+	public int getX() {
+		return x;
+	} // end getX
+
+	/*
+	 * Get the y of a click
+	 * return y - y in the drawing
+	 */
+	public int getY() {
+		return y;
+	} // end getY
+
+	/*
+	 * Check whether the log was cut off partway through an action
+	 * return truncated - true if the last action was incomplete and skipped
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	} // end isTruncated
+} // end ActionReader
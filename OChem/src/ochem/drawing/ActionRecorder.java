@@ -0,0 +1,203 @@
+package ochem.drawing;
+
+/*
+ * ActionRecorder
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Logs what the user does on the drawing screen as a compact binary stream: palette
+ * presses, clicks by the node they landed on and text entered, each with the time since
+ * the one before. Read back with ActionReader and replayed with SessionReplayer
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class ActionRecorder {
+	// Kinds of actions
+	public static final byte PALETTE = 1; // a palette button was pressed
+	public static final byte INPUT = 2; // text was entered into the text field
+	public static final byte CLICK = 3; // the canvas was clicked
+
+	// Start of every log
+	static final int MAGIC = 0x4F43484C; // "OCHL"
+	static final int VERSION = 1;
+
+	// Buttons written as one byte, the index of their text. Only add to the end
+	static final String[] BUTTONS = { "Main", "Side", "Bond", "Clear", "Place", "Undo", "Redo", "Name", "Fluorine",
+			"Chlorine", "Bromine", "Iodine", "Aldehyde", "Ketone", "Alcohol", "Acid", "Amine", "Amide", "Ether",
+			"Ester", "Save", "Open" };
+	static final int OTHER_BUTTON = 0xFF; // a button not in the list, its text follows
+
+	// Attributes
+	private DataOutputStream out; // stream the log is written to
+	private long last; // time of the last action in nanoseconds
+	private int count; // number of actions written
+	private IOException error; // first write that failed, null if none
+
+	/*
+	 * Start a log
+	 * OutputStream out - stream to write to
+	 */
+	public ActionRecorder(OutputStream out) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+		this.out.writeInt(MAGIC);
+		this.out.writeByte(VERSION);
+		last = System.nanoTime();
+	} // end constructor
+
+	/*
+	 * Log a palette button being pressed
+	 * String text - text on the button
+	 */
+	public void palette(String text) {
+		try {
+			start(PALETTE);
+
+			int b = buttonIndex(text);
+			out.writeByte(b);
+			if (b == OTHER_BUTTON) {
+				out.writeUTF(text);
+			} // if
+		} catch (IOException e) {
+			fail(e);
+		} // try-catch
+	} // end palette
+
+	/*
+	 * Log text being entered
+	 * String text - text in the field when enter was pressed
+	 */
+	public void input(String text) {
+		try {
+			start(INPUT);
+			out.writeUTF(text);
+		} catch (IOException e) {
+			fail(e);
+		} // try-catch
+	} // end input
+
+	/*
+	 * Log a click on the canvas
+	 * int button - mouse button pressed
+	 * int node - index of the main node clicked, -1 if none
+	 * String tag - tag of the node clicked, empty if none
+	 * int x - x of the click in the drawing
+	 * int y - y of the click in the drawing
+	 */
+	public void click(int button, int node, String tag, int x, int y) {
+		try {
+			start(CLICK);
+			out.writeByte(button);
+			writeVarint(out, node + 1); // 0 for no node
+			if (node != -1) {
+				out.writeUTF(tag);
+			} // if
+			writeVarint(out, zigzag(x));
+			writeVarint(out, zigzag(y));
+		} catch (IOException e) {
+			fail(e);
+		} // try-catch
+	} // end click
+
+	/*
+	 * Write the kind of an action and the time since the last one
+	 * byte kind - kind of the action
+	 */
+	private void start(byte kind) throws IOException {
+		if (error != null) {
+			throw error; // stop writing after a failure, the log would be broken anyway
+		} // if
+
+		long now = System.nanoTime();
+		long ms = (now - last) / 1000000;
+		last = now;
+
+		out.writeByte(kind);
+		writeVarint(out, (int) Math.min(ms, Integer.MAX_VALUE));
+		count++;
+	} // end start
+
+	/*
+	 * Remember a failed write, the user shouldn't lose their drawing over the log
+	 * IOException e - the failure
+	 */
+	private void fail(IOException e) {
+		if (error == null) {
+			error = e;
+		} // if
+	} // end fail
+
+	/*
+	 * Write everything logged so far to the stream
+	 */
+	public void flush() throws IOException {
+		out.flush();
+	} // end flush
+
+	/*
+	 * Finish the log and close the stream
+	 */
+	public void close() throws IOException {
+		out.close();
+	} // end close
+
+	// ENCODING//
+
+	/*
+	 * Get the byte a button is written as
+	 * String text - text on the button
+	 * return - index in BUTTONS, OTHER_BUTTON if it isn't there
+	 */
+	private static int buttonIndex(String text) {
+		for (int i = 0; i < BUTTONS.length; i++) {
+			if (BUTTONS[i].equals(text))
+				return i;
+		} // loop
+
+		return OTHER_BUTTON;
+	} // end buttonIndex
+
+	/*
+	 * Write a non-negative int in as few bytes as it needs, seven bits at a time
+	 * DataOutput out - where to write
+	 * int v - value to write
+	 */
+	static void writeVarint(DataOutput out, int v) throws IOException {
+		while ((v & ~0x7F) != 0) {
+			out.writeByte((v & 0x7F) | 0x80);
+			v >>>= 7;
+		} // loop
+
+		out.writeByte(v);
+	} // end writeVarint
+
+	/*
+	 * Fold a signed int so small negative values stay small
+	 * int v - value to fold
+	 * return - 0, -1, 1, -2... as 0, 1, 2, 3...
+	 */
+	static int zigzag(int v) {
+		return (v << 1) ^ (v >> 31);
+	} // end zigzag
+
+	// GETTERS//
+
+	/*
+	 * Get the number of actions logged
+	 * return count - actions written
+	 */
+	public int getCount() {
+		return count;
+	} // end getCount
+
+	/*
+	 * Get the write that failed, after which nothing more is logged
+	 * return error - first failure, null if every write worked
+	 */
+	public IOException getError() {
+		return error;
+	} // end getError
+} // end ActionRecorder
@@ -10,11 +10,19 @@ package ochem.drawing;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.List;
 
 import javax.swing.JComponent;
 
@@ -23,6 +31,8 @@ import ochem.drawing.DrawingUtil.DrawDirection;
 import ochem.drawing.DrawingUtil.FuncGroup;
 import ochem.organic.Chain;
 import ochem.organic.Compound;
+import ochem.organic.DrawnCompound;
+import ochem.organic.NameCache;
 import ochem.organic.OrganicUtil;
 
 public class Canvas extends JComponent {
@@ -34,6 +44,11 @@ public class Canvas extends JComponent {
 	private Node mouse; // point with mouse coordinates for hovering effects
 
 	// main
+	private DrawnCompound drawn; // finished form of the compound, kept up to date with each edit
+	private NameCache names; // name of the drawn compound by fragment, for the live name
+	private String liveName; // name shown while drawing, null if there is none
+	private final int NAME_CACHE = 64; // most names kept for each fragment
+	private final String UNNAMED = "(can't be named yet)"; // live name of a drawing that can't be named
 	private Compound compound; // compound being drawn
 	private ArrayList<Node> mainNodes; // nodes for the main chain
 
@@ -71,9 +86,52 @@ public class Canvas extends JComponent {
 
 	private boolean draw; // whether the canvas is in the DrawingGUI or not
 
-	private HashSet<String> noUpdate; // the list of Strings to not update with
 
 	private String name; // name of the compound being drawn
+	private double scale; // how much the drawing is shrunk so long chains fit
+
+	// view, zoomed and panned by the user on top of the scale
+	private double zoom; // how much the user zoomed in
+	private double panX; // how far the user moved the drawing right, in screen pixels
+	private double panY; // how far the user moved the drawing down, in screen pixels
+	private AffineTransform view; // drawing to screen coordinates
+	private AffineTransform inverse; // screen to drawing coordinates
+	private boolean layerDirty; // whether the view changed since the layer was rasterized
+	private final double MIN_ZOOM = 0.25;
+	private final double MAX_ZOOM = 8;
+
+	private Scene molecule; // retained geometry of everything placed on the compound
+	private Scene overlay; // ghosts, hover highlights and the mouse, redone every frame
+	private boolean moleculeDirty; // whether the compound changed since the molecule scene was built
+	private BufferedImage layer; // background and molecule scene rasterized, redrawn only after edits
+	private Scene lastOverlay; // overlay of the previous frame, compared to find what changed
+	private boolean frameReady; // whether the overlay is already recorded for the next paint
+	private Font frameFont; // font the overlay labels were placed with
+	private FontMetrics frameMetrics; // metrics of the frame font
+	private NodeStore nodeStore; // flat copy of the main nodes for drawing and hit-testing
+	private NodeIndex nodeIndex; // grid over the main nodes for hit-testing
+	private boolean indexDirty; // whether the main nodes moved since they were indexed
+	private QualityGovernor governor; // picks cheap or full quality hints for each frame
+	private boolean layerFast; // whether the layer was rasterized with the cheap hints
+	private final int FRAME_MS = 16; // time a full quality frame should take
+	private final int SETTLE_MS = 150; // quiet time before drawing at full quality again
+	private MoleculeDocument document; // molecules placed beside the one being drawn
+
+	// undo and redo
+	private EditLog history; // finished edits that can be undone
+	private CanvasEdit pending; // state before the edit in progress, null until something changes
+	private final int HISTORY = 100; // most edits kept
+	private static final int EDIT_LISTS = 8; // lists in editLists, the edits swap their lengths
+	private static final int MAIN_NODES = 8; // length of the main nodes when the list is the same
+	private static final int COMPOUND_SIDES = 9; // side chains of the compound
+	private static final int DRAWN_SIDES = 10; // side chains and groups of the drawn compound
+	private static final int DRAWN_BONDS = 11; // bond locations of the drawn compound
+	private static final int MAIN_LOCATIONS = 12; // functional locations of the main chain
+	private static final int EDIT_FIELDS = 11; // steps, flags and main chain in readFields
+
+	// sessions
+	private CanvasController controller; // controller taking the mouse, null if never registered
+	private ActionRecorder recorder; // where the user's actions are logged, null if not recording
 
 	/*
 	 * Create a canvas with its parent's width and height
@@ -89,6 +147,24 @@ public class Canvas extends JComponent {
 		this.height = height;
 		this.palette = palette;
 		this.draw = true;
+		this.scale = 1;
+		this.zoom = 1;
+		this.view = new AffineTransform();
+		this.inverse = new AffineTransform();
+
+		// scenes for the placed compound and the interactive parts
+		molecule = new Scene();
+		overlay = new Scene();
+		lastOverlay = new Scene();
+		moleculeDirty = true;
+		frameReady = false;
+		nodeStore = new NodeStore();
+		nodeIndex = new NodeIndex();
+		indexDirty = true;
+		governor = new QualityGovernor(FRAME_MS, SETTLE_MS, this::updateDisplay);
+
+		// placed molecules go in cells to the right of the drawing
+		document = new MoleculeDocument(Math.max(width, 1), Math.max(height, 1), Math.max(width, 1), 0);
 
 		// set the size of the component
 		this.setPreferredSize(new Dimension(this.width, this.height));
@@ -106,6 +182,8 @@ public class Canvas extends JComponent {
 
 		// instantiate the compound and the chain
 		compound = new Compound(0);
+		drawn = new DrawnCompound();
+		names = new NameCache(NAME_CACHE);
 		sideChains = new ArrayList<Chain>();
 
 		// instantiate all node lists
@@ -134,8 +212,8 @@ public class Canvas extends JComponent {
 		// size of all the bonds
 		bondSizes = new ArrayList<Integer>();
 
-		// initialize the no update set
-		noUpdate = new HashSet<String>();
+		// nothing to undo yet
+		history = new EditLog(HISTORY);
 
 		// add the controllers to the canvas
 		registerControllers();
@@ -169,47 +247,239 @@ public class Canvas extends JComponent {
 		// cast the more capable Graphics2D onto g
 		Graphics2D g2 = (Graphics2D) g;
 
-		// stroke object for drawing
-		BasicStroke bs = new BasicStroke(DrawingUtil.CHAIN_STROKE, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
-		g2.setStroke(bs);
-
-		// background
-		g2.setBackground(DrawingUtil.CANVAS_BACKGROUND);
-		g2.clearRect(0, 0, width, height);
-
 		// if drawing is desired
 		if (draw) {
-			// update the type to the palette's type if its not null
-			if (this.palette != null) {
-				this.type = palette.getSelectedType();
+			long start = System.nanoTime();
+
+			// lay out the frame unless a hover update already did
+			if (!frameReady) {
+				recordFrame(RenderCache.font(g2.getFont(), DrawingUtil.FONT_SIZE), true);
 			} // if
+			frameReady = false;
+
+			// a layer rasterized while interacting is redone once things settle
+			if (layerFast && !governor.isFast()) {
+				renderLayer(frameFont, RenderCache.CHAIN_STROKE);
+			} // if
+
+			// blit the background and compound then draw the interactive parts over it
+			g2.drawImage(layer, 0, 0, null);
+			governor.apply(g2);
+
+			// placed molecules each come from their own layer, only changed ones are redrawn
+			if (document.size() > 0) {
+				Graphics2D dg = (Graphics2D) g2.create();
+				dg.translate(panX, panY);
+				dg.scale(zoom, zoom);
+				document.paint(dg, zoom);
+				dg.dispose();
+			} // if
+
+			g2.transform(view());
+			g2.setFont(frameFont);
+			g2.setStroke(RenderCache.CHAIN_STROKE);
+			overlay.replay(g2);
 
-			// set the font type
-			g2.setFont(g2.getFont().deriveFont(DrawingUtil.FONT_SIZE));
-
-			// handle the actions for each type
-			clearAction(g2);
-			mainAction(g2);
-			funcAction(g2);
-			sideAction(g2);
-			bondAction(g2);
-			nameAction();
-		} // for drawing GUI
+			governor.frameDone(System.nanoTime() - start);
+
+		} else {
+			// background
+			g2.setBackground(DrawingUtil.CANVAS_BACKGROUND);
+			g2.clearRect(0, 0, width, height);
+		} // if
 	} // end paintComponent
 
+	/*
+	 * Record the overlay for the next frame, rebuilding the molecule layer if it changed
+	 * Font font - font labels are drawn with
+	 * boolean raster - whether to rasterize the layer, false leaves it for the next paint
+	 */
+	private void recordFrame(Font font, boolean raster) {
+		// the cached fonts are shared, so the metrics only change with the font
+		if (font != frameFont || frameMetrics == null) {
+			frameMetrics = getFontMetrics(font);
+			frameFont = font;
+		} // if
+		FontMetrics fm = frameMetrics;
+
+		// update the type to the palette's type if its not null
+		if (this.palette != null) {
+			this.type = palette.getSelectedType();
+		} // if
+
+		// keep the overlay on the screen to compare against
+		Scene shown = overlay;
+		overlay = lastOverlay;
+		lastOverlay = shown;
+
+		// interactive parts are recorded fresh each frame
+		overlay.clear(fm);
+		overlay.setStroke(RenderCache.CHAIN_STROKE);
+
+		// handle the actions for each type
+		clearAction(overlay);
+
+		// the placed compound is only laid out and rasterized again after it changes
+		if (moleculeDirty) {
+			buildMolecule(fm, RenderCache.CHAIN_STROKE);
+			layerDirty = true;
+		} // if
+		if (layerDirty && raster) { // also when only moved, the layout is the same
+			renderLayer(font, RenderCache.CHAIN_STROKE);
+		} // if
+
+		mainAction(overlay);
+		funcAction(overlay);
+		sideAction(overlay);
+		bondAction(overlay);
+		nameAction();
+		showLiveName();
+
+		frameReady = true;
+	} // end recordFrame
+
+	/*
+	 * Lay out everything placed on the compound into the molecule scene
+	 * FontMetrics fm - metrics of the font labels are drawn with
+	 * BasicStroke bs - stroke for the chains
+	 */
+	private void buildMolecule(FontMetrics fm, BasicStroke bs) {
+		molecule.clear(fm);
+		molecule.setStroke(bs);
+		molecule.setColor(DrawingUtil.CHAIN_COLOR);
+
+		// main chain once it is fixed on the screen
+		if (mainStep == 4) {
+			ArrayList<Node> nodes;
+			if (compound.getMainChain().isCyclo()) { // cycloidal chain
+				nodes = drawCyclo(molecule, mainNodes.get(0), compound.getMainSize(), false, null);
+
+			} else if (compound.getMainChain().isBenzene()) { // benzene ring
+				nodes = drawBenzene(molecule, mainNodes.get(0), false, null);
+
+			} else { // regular chain
+				nodes = drawChain(molecule, mainNodes.get(0), DrawDirection.RIGHT, compound.getMainSize(), false);
+			} // if
+
+			// the first layout gives the main chain its nodes
+			if (!mainOnScreen) {
+				mainNodes = nodes;
+				mainOnScreen = true; // tell other components and actions there is a main chain on the screen
+			} // if
+		} // if
+
+		// functional groups
+		if (funcStep >= 1) {
+			molecule.setColor(DrawingUtil.CHAIN_COLOR);
+			drawGroups(molecule);
+		} // if
+
+		// side chains
+		if (sideStep >= 1) {
+			molecule.setStroke(bs);
+			drawSides(molecule);
+		} // if
+
+		// bonds
+		if (bondStep >= 1) {
+			molecule.setColor(DrawingUtil.CHAIN_COLOR);
+			drawBonds(molecule);
+		} // if
+
+		moleculeDirty = false;
+		indexDirty = true; // the main nodes were laid out again
+	} // end buildMolecule
+
+	/*
+	 * Rasterize the background and the molecule scene into the cached layer
+	 * Font font - font labels are drawn with
+	 * BasicStroke bs - stroke for the chains
+	 */
+	private void renderLayer(Font font, BasicStroke bs) {
+		int w = Math.max(width, 1);
+		int h = Math.max(height, 1);
+
+		// only make a new image when the size changes
+		if (layer == null || layer.getWidth() != w || layer.getHeight() != h) {
+			GraphicsConfiguration gc = getGraphicsConfiguration();
+			if (gc != null) {
+				layer = gc.createCompatibleImage(w, h);
+			} else {
+				layer = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+			} // if
+		} // if
+
+		Graphics2D lg = layer.createGraphics();
+		governor.apply(lg);
+		layerFast = governor.isFast();
+
+		// background
+		lg.setBackground(DrawingUtil.CANVAS_BACKGROUND);
+		lg.clearRect(0, 0, w, h);
+
+		// compound, shrunk for long chains and moved by the user, only the parts on the
+		// screen are drawn
+		lg.clipRect(0, 0, w, h);
+		lg.transform(view());
+		lg.setFont(font);
+		lg.setStroke(bs);
+		molecule.replay(lg);
+
+		lg.dispose();
+		layerDirty = false;
+	} // end renderLayer
+
+	/*
+	 * Bring everything a repaint would update up to date without drawing anything, i.e
+	 * the main nodes, labels and selectable nodes when replaying a session off screen
+	 */
+	public void settle() {
+		Font font = getFont();
+		if (font == null) {
+			font = new Font(Font.DIALOG, Font.PLAIN, 12);
+		} // if
+
+		recordFrame(RenderCache.font(font, DrawingUtil.FONT_SIZE), false);
+		frameReady = false; // a real paint records the frame again and rasterizes it
+	} // end settle
+
+	/*
+	 * Lay out only the compound, without ghosts or highlights, i.e for exporting
+	 * FontMetrics fm - metrics of the font labels are drawn with
+	 * return molecule - scene holding the compound, replaced by the next layout
+	 */
+	public Scene layOutMolecule(FontMetrics fm) {
+		buildMolecule(fm, RenderCache.CHAIN_STROKE);
+		return molecule;
+	} // end layOutMolecule
+
+	/*
+	 * Mark the molecule scene to be laid out again on the next repaint
+	 */
+	private void invalidateMolecule() {
+		moleculeDirty = true;
+		frameReady = false;
+		indexDirty = true;
+
+		// remember how things were before the first change of an edit
+		if (draw && pending == null && history != null) {
+			pending = mark();
+		} // if
+	} // end invalidateMolecule
+
 	// ACTIONS//
 
 	/*
 	 * Handles the actions for the clear flow
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 */
-	private void clearAction(Graphics2D g2) {
+	private void clearAction(Scene scene) {
 		// only draw the node if the type is CLEAR
 		if (type == ActionType.CLEAR) {
 			// set the mouse color to default if drawing
-			if (g2 != null) {
-				g2.setColor(DrawingUtil.TRANS_GREY); // transparent green
-				drawNode(g2, mouse);
+			if (scene != null) {
+				scene.setColor(DrawingUtil.TRANS_GREY); // transparent green
+				drawNode(scene, mouse);
 			} // if
 
 			// set the steps to zero
@@ -221,6 +491,14 @@ public class Canvas extends JComponent {
 
 			// set drawing checks to default
 			mainOnScreen = false;
+			scale = 1;
+
+			// keep the view on the placed molecules
+			if (document.size() == 0) {
+				zoom = 1;
+				panX = 0;
+				panY = 0;
+			} // if
 			hasNO = false;
 			hydrogenCounter = 2;
 
@@ -237,6 +515,7 @@ public class Canvas extends JComponent {
 
 			// clear the compound and the chains
 			compound = new Compound(0);
+			drawn.reset();
 			sideChains.clear();
 
 			// clear the list of bonds
@@ -246,7 +525,12 @@ public class Canvas extends JComponent {
 			groups.clear();
 
 			// clear the set of tags to not update
-			noUpdate.clear();
+			nodeStore.clearBlocked();
+
+			// nothing left to draw in the molecule scene, and not an edit since Clear
+			// logged its own and Place can't be undone
+			invalidateMolecule();
+			pending = null;
 
 			// reset the steps
 			mainStep = 0;
@@ -256,9 +540,9 @@ public class Canvas extends JComponent {
 
 	/*
 	 * Handles the actions for the main flow
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 */
-	private void mainAction(Graphics2D g2) {
+	private void mainAction(Scene scene) {
 		// change what to draw based on what the value of main step is
 		switch (mainStep) {
 			// do nothing step
@@ -269,77 +553,45 @@ public class Canvas extends JComponent {
 			case 1:
 				mainOnScreen = false;
 				DrawingGUI.showMessage("Enter size of main chain: (ENTER)");
-				g2.setColor(DrawingUtil.TRANS_BLUE);
-				drawNode(g2, mouse);
+				scene.setColor(DrawingUtil.TRANS_BLUE);
+				drawNode(scene, mouse);
 				break;
 
 			// determine cyclo step
 			case 2:
 				mainOnScreen = false;
 				DrawingGUI.showMessage("Cyclo? (Y/N)");
-				g2.setColor(DrawingUtil.TRANS_GREY);
-				drawChain(g2, mouse, DrawDirection.RIGHT, compound.getMainSize(), false);
+				scene.setColor(DrawingUtil.TRANS_GREY);
+				drawChain(scene, mouse, DrawDirection.RIGHT, compound.getMainSize(), false);
 				break;
 
 			// location selection step
 			case 3:
 				mainOnScreen = false;
 				DrawingGUI.showMessage("Select location for main chain: (CLICK)");
-				g2.setColor(DrawingUtil.TRANS_GREY);
+				scene.setColor(DrawingUtil.TRANS_GREY);
 				if (compound.getMainChain().isCyclo()) { // cycloidal chain
-					drawCyclo(g2, mouse, compound.getMainSize(), false, null);
+					drawCyclo(scene, mouse, compound.getMainSize(), false, null);
 				} else if (compound.getMainChain().isBenzene()) { // benzene ring
-					drawBenzene(g2, mouse, false, null);
+					drawBenzene(scene, mouse, false, null);
 				} else { // regular chain
-					drawChain(g2, mouse, DrawDirection.RIGHT, compound.getMainSize(), false);
+					drawChain(scene, mouse, DrawDirection.RIGHT, compound.getMainSize(), false);
 				} // if
-
-				drawSides(g2);
 				break;
 
-			// fixed on screen step
+			// fixed on screen step, the chain itself is in the molecule scene
 			case 4:
-				g2.setColor(DrawingUtil.CHAIN_COLOR);
-
 				if (this.palette != null)
 					DrawingGUI.clear();
-				g2.setColor(DrawingUtil.CHAIN_COLOR);
-
-				if (!mainOnScreen) { // first time called
-					if (compound.getMainChain().isCyclo()) { // cycloidal chain
-						mainNodes = drawCyclo(g2, mainNodes.get(0), compound.getMainSize(), false, null);
-
-					} else if (compound.getMainChain().isBenzene()) { // benzene ring
-						mainNodes = drawBenzene(g2, mainNodes.get(0), false, null);
-
-					} else { // regular chain
-						this.mainNodes = drawChain(g2, mainNodes.get(0), DrawDirection.RIGHT, compound.getMainSize(),
-								false);
-					} // if
-					mainOnScreen = true; // tell other components and actions there is a main chain on the screen
-
-				} else { // all other times
-					if (compound.getMainChain().isCyclo()) { // cycloidal chain
-						drawCyclo(g2, mainNodes.get(0), compound.getMainSize(), false, null);
-
-					} else if (compound.getMainChain().isBenzene()) { // benzene ring
-						drawBenzene(g2, mainNodes.get(0), false, null);
-
-					} else { // regular chain
-						drawChain(g2, mainNodes.get(0), DrawDirection.RIGHT, compound.getMainSize(), false);
-					} // if
-
-				} // big if
-
 				break;
 		} // switch
 	} // end mainAction
 
 	/*
 	 * Handles the actions for the side flow
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 */
-	private void sideAction(Graphics2D g2) {
+	private void sideAction(Scene scene) {
 		// change what to draw based on what the value of main step is
 		switch (sideStep) {
 			// do nothing step
@@ -349,70 +601,61 @@ public class Canvas extends JComponent {
 			// size definition step
 			case 1:
 				DrawingGUI.showMessage("Enter size of side chain: (ENTER)");
-				g2.setColor(DrawingUtil.TRANS_YELLOW);
-				drawNode(g2, mouse);
-
-				drawSides(g2);
+				scene.setColor(DrawingUtil.TRANS_YELLOW);
+				drawNode(scene, mouse);
 				break;
 
 			// determine cyclo step
 			case 2:
 				DrawingGUI.showMessage("Cyclo? (Y/N)");
-				g2.setColor(DrawingUtil.TRANS_GREY);
-				drawChain(g2, mouse, ghostDir, sideChains.get(sideChains.size() - 1).getSize() + 1, true);
-
-				drawSides(g2);
+				scene.setColor(DrawingUtil.TRANS_GREY);
+				drawChain(scene, mouse, ghostDir, sideChains.get(sideChains.size() - 1).getSize() + 1, true);
 				break;
 
 			// location selection step
 			case 3:
 				DrawingGUI.showMessage("Select location for side chain: (CLICK)");
-				g2.setColor(DrawingUtil.TRANS_GREY); // faint gray
+				scene.setColor(DrawingUtil.TRANS_GREY); // faint gray
 
 				// create and draw the would-be chain
 				Chain ghost = sideChains.get(sideChains.size() - 1);
 				if (ghost.isCyclo()) { // cycloidal chain
-					drawCyclo(g2, mouse, ghost.getSize(), true, ghostDir);
+					drawCyclo(scene, mouse, ghost.getSize(), true, ghostDir);
 
 				} else if (ghost.isBenzene()) { // benzene ring
-					drawBenzene(g2, mouse, true, ghostDir);
+					drawBenzene(scene, mouse, true, ghostDir);
 
 				} else { // regular chain
-					drawChain(g2, mouse, ghostDir, ghost.getSize() + 1, true);
+					drawChain(scene, mouse, ghostDir, ghost.getSize() + 1, true);
 				} // if
 
-				// draw the side chains already on the compound
-				drawSides(g2);
-
 				// decide what nodes can be clicked
-				noUpdate.clear();
+				nodeStore.clearBlocked();
 				if (!compound.getMainChain().isBenzene() && !compound.getMainChain().isCyclo()) {
-					noUpdate.add("1"); // can't add side chain to first node
-					noUpdate.add(Integer.toString(compound.getMainSize())); // or last node
+					nodeStore.blockLocant(1); // can't add side chain to first node
+					nodeStore.blockLocant(compound.getMainSize()); // or last node
 				} // if
 
 				// if hydrogen counter is zero, nitrogen can't be added onto
 				if (hydrogenCounter == 0) {
-					noUpdate.add("N");
+					nodeStore.blockKind(NodeStore.NITROGEN);
 				} // if
 
 				// draw all selectable nodes
-				drawSelectableNodes(g2);
+				drawSelectableNodes(scene);
 				break;
 
-			// fixed on screen step
+			// fixed on screen step, the side chains are in the molecule scene
 			case 4:
-				// draw the side chains
-				drawSides(g2);
 				break;
 		} // switch
 	} // end sideAction
 
 	/*
 	 * Handles the action for the bond flow
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 */
-	private void bondAction(Graphics2D g2) {
+	private void bondAction(Scene scene) {
 		switch (bondStep) {
 			// do nothing step
 			case 0:
@@ -422,11 +665,8 @@ public class Canvas extends JComponent {
 			// enter size step
 			case 1:
 				DrawingGUI.showMessage("Enter size of the bond (2,3)");
-				g2.setColor(DrawingUtil.TRANS_RED);
-				drawNode(g2, mouse);
-
-				g2.setColor(DrawingUtil.CHAIN_COLOR);
-				drawBonds(g2);
+				scene.setColor(DrawingUtil.TRANS_RED);
+				drawNode(scene, mouse);
 				break;
 
 			// select location step
@@ -442,12 +682,12 @@ public class Canvas extends JComponent {
 
 				// show nodes that can be clicked
 				for (int i = 0; i < end; i++) {
-					g2.setColor(mainNodes.get(i).getColor());
-					drawNode(g2, mainNodes.get(i));
+					scene.setColor(mainNodes.get(i).getColor());
+					drawNode(scene, mainNodes.get(i));
 				} // loop
 
 				// show ghost bond
-				g2.setColor(DrawingUtil.TRANS_GREY); // set ghost color
+				scene.setColor(DrawingUtil.TRANS_GREY); // set ghost color
 
 				// if a node has been selected
 				if (ghostBondIdx != -1) {
@@ -466,32 +706,22 @@ public class Canvas extends JComponent {
 						} // if
 
 						// draw the ghost bond
-						drawBond(g2, n1, n2, bondSize);
+						drawBond(scene, n1, n2, bondSize);
 					} // inner if
 				} // outer if
-
-				g2.setColor(DrawingUtil.CHAIN_COLOR);
-				drawBonds(g2);
 				break;
 
-			// fixed on screen step
+			// fixed on screen step, the bonds are in the molecule scene
 			case 3:
-				g2.setColor(DrawingUtil.CHAIN_COLOR);
-				drawBonds(g2);
 				break;
 		} // switch
 	} // end bondAction
 
 	/*
 	 * Handles the actions for the functional group flow
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 */
-	private void funcAction(Graphics2D g2) {
-
-		// stroke object for drawing
-		BasicStroke bs = new BasicStroke(DrawingUtil.CHAIN_STROKE, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
-		g2.setStroke(bs);
-
+	private void funcAction(Scene scene) {
 		switch (funcStep) {
 			// do nothing step
 			case 0:
@@ -501,16 +731,12 @@ public class Canvas extends JComponent {
 			case 1:
 				DrawingGUI.showMessage("Select location for " + ghostGroup.toString());
 
-				// draw the functional groups
-				g2.setColor(DrawingUtil.CHAIN_COLOR);
-				drawGroups(g2);
-
 				// draw the ghost group
-				g2.setColor(DrawingUtil.TRANS_GREY);
-				drawFunc(g2, mouse, ghostGroup, ghostDir);
+				scene.setColor(DrawingUtil.TRANS_GREY);
+				drawFunc(scene, mouse, ghostGroup, ghostDir);
 
 				// clear the set of tags to not update if detected
-				noUpdate.clear();
+				nodeStore.clearBlocked();
 
 				// different nodes can be clicked depending on group
 				switch (ghostGroup) {
@@ -520,14 +746,14 @@ public class Canvas extends JComponent {
 					case BROMINE:
 					case ALCOHOL:
 						// all nodes allowed
-						noUpdate.clear();
+						nodeStore.clearBlocked();
 						break;
 
 					case AMINE:
 					case ETHER:
 						// show all non-lettered nodes
-						noUpdate.add("N");
-						noUpdate.add("O");
+						nodeStore.blockKind(NodeStore.NITROGEN);
+						nodeStore.blockKind(NodeStore.OXYGEN);
 						break;
 
 					case ALDEHYDE:
@@ -535,34 +761,32 @@ public class Canvas extends JComponent {
 					case AMIDE:
 					case ESTER:
 						// only first or last node
-						for (int i = 2; i < mainNodes.size(); i++) {
-							if (DrawingUtil.isNumber(mainNodes.get(i).getTag()) && i != compound.getMainSize()) { // if number
-								noUpdate.add(Integer.toString(i));
+						NodeStore nodes = nodes();
+						for (int i = 2; i < nodes.size(); i++) {
+							if (nodes.getKind(i) == NodeStore.ATOM && i != compound.getMainSize()) { // if number
+								nodeStore.blockLocant(i);
 							} // if
 						} // loop
 						break;
 
 					case KETONE:
 						// show all inner nodes (not first or last)
-						noUpdate.add("1");
-						noUpdate.add("" + compound.getMainSize());
+						nodeStore.blockLocant(1);
+						nodeStore.blockLocant(compound.getMainSize());
 						break;
 
 				} // switch
 
 				// if hydrogen counter is zero, nitrogen can't be added onto
 				if (hydrogenCounter == 0) {
-					noUpdate.add("N");
+					nodeStore.blockKind(NodeStore.NITROGEN);
 				} // if
 
-				drawSelectableNodes(g2); // draw the nodes
+				drawSelectableNodes(scene); // draw the nodes
 				break;
 
-			// draw out step
+			// draw out step, the groups are in the molecule scene
 			case 2:
-				// draw the groups
-				g2.setColor(DrawingUtil.CHAIN_COLOR);
-				drawGroups(g2);
 				break;
 		} // switch
 	} // end funcAction
@@ -580,16 +804,39 @@ public class Canvas extends JComponent {
 		} // switch
 	} // end nameAction
 
+	/*
+	 * Show the name of the compound as it is drawn, renaming only after an edit and only
+	 * the fragments the edit touched
+	 */
+	private void showLiveName() {
+		String n;
+		try {
+			Compound c = drawn.getCompound();
+			n = names.name(c);
+			if (n == null && c != null && c.getMainSize() > 0) {
+				n = UNNAMED; // a main chain but no name, i.e a group with no chain yet
+			} // if
+
+		} catch (RuntimeException e) { // the drawing can't be put together yet
+			n = UNNAMED;
+		} // try-catch
+
+		if (n == null ? liveName != null : !n.equals(liveName)) {
+			liveName = n;
+			DrawingGUI.showName(n == null ? "" : n);
+		} // if
+	} // end showLiveName
+
 	// DRAWING//
 
 	/*
 	 * Draw all the side chains to the screen
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 */
-	private void drawSides(Graphics2D g2) {
+	private void drawSides(Scene scene) {
 		// draw side chains
 		for (int i = 0; i < sideNodes.size(); i++) {
-			g2.setColor(DrawingUtil.CHAIN_COLOR);
+			scene.setColor(DrawingUtil.CHAIN_COLOR);
 
 			int sizeIdx = i; // index for the chain to get the size from
 			int cycloIdx = i; // index for the chain to get the cyclo from
@@ -599,23 +846,23 @@ public class Canvas extends JComponent {
 			} // if
 
 			if (sideChains.get(cycloIdx).isCyclo()) { // cycloidal chain
-				drawCyclo(g2, sideNodes.get(i), sideChains.get(sizeIdx).getSize(), true, directions.get(i));
+				drawCyclo(scene, sideNodes.get(i), sideChains.get(sizeIdx).getSize(), true, directions.get(i));
 
 			} else if (sideChains.get(cycloIdx).isBenzene()) { // benzene ring
-				drawBenzene(g2, sideNodes.get(i), true, directions.get(sizeIdx));
+				drawBenzene(scene, sideNodes.get(i), true, directions.get(sizeIdx));
 
 			} else { // regular chain
-				drawChain(g2, sideNodes.get(i), directions.get(i), sideChains.get(sizeIdx).getSize() + 1, true);
+				drawChain(scene, sideNodes.get(i), directions.get(i), sideChains.get(sizeIdx).getSize() + 1, true);
 			} // if
 		} // loop
 	} // end drawSides
 
 	/*
 	 * Draw all the bonded pairs
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 * int idx - index of main node to draw on
 	 */
-	private void drawBonds(Graphics2D g2) throws NumberFormatException {
+	private void drawBonds(Scene scene) throws NumberFormatException {
 		// if there are nodes in the list
 		if (!bondNodes.isEmpty()) {
 
@@ -623,22 +870,21 @@ public class Canvas extends JComponent {
 			for (int i = 0; i < bondNodes.size(); i += 2) {
 				int bondSize = bondSizes.get(i / 2); // size of bond being drawn
 
-				drawBond(g2, bondNodes.get(i), bondNodes.get(i + 1), bondSize);
+				drawBond(scene, bondNodes.get(i), bondNodes.get(i + 1), bondSize);
 			} // loop
 		} // big iff
 	} // end drawBonds
 
 	/*
 	 * Draws a bond between two nodes 
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 * Node n1 - first node 
 	 * Node n2 - second node
 	 * int bondSize - size of bond
 	 */
-	private void drawBond(Graphics2D g2, Node n1, Node n2, int bondSize) {
+	private void drawBond(Scene scene, Node n1, Node n2, int bondSize) {
 		// thinner lines
-		BasicStroke bs = new BasicStroke(DrawingUtil.BOND_STROKE, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
-		g2.setStroke(bs);
+		scene.setStroke(RenderCache.BOND_STROKE);
 
 		// determine up or down based on whether the tag is even or odd
 		int flip = Integer.parseInt(n1.getTag());
@@ -668,7 +914,7 @@ public class Canvas extends JComponent {
 		int y2 = n2.getY() + (int) (r * (Math.sin(ang2) + Math.sin(ang2 - perp)));
 
 		// draw line
-		g2.drawLine(x1, y1, x2, y2);
+		scene.drawLine(x1, y1, x2, y2);
 
 		// if a triple bond
 		if (bondSize == 3) {
@@ -687,26 +933,31 @@ public class Canvas extends JComponent {
 			y2 = n2.getY() + (int) (r * (Math.sin(ang2) + Math.sin(ang2 - perp)));
 
 			// draw opposite line
-			g2.drawLine(x1, y1, x2, y2);
+			scene.drawLine(x1, y1, x2, y2);
 		} // little if
 	} // end drawBond
 
 	/*
 	 * Draw all the selectable nodes to the screen 
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 */
-	private void drawSelectableNodes(Graphics2D g2) {
+	private void drawSelectableNodes(Scene scene) {
+		NodeStore nodes = nodes();
+
 		// draw all selectable nodes
-		for (Node n : mainNodes) {
-			if (!noUpdate.contains(n.getTag())) { // if the tag passes the no update test
-				// draw node or symbol depending on tag
-				if (DrawingUtil.isNumber(n.getTag())) { // numeric tag
-					g2.setColor(n.getColor());
-					drawNode(g2, n);
-
-				} else { // letter tag for nitrogen and oxygen
-					g2.setColor(n.getColor());
-					drawSymbol(g2, n.getTag(), n);
+		for (int i = 0; i < nodes.size(); i++) {
+			if (!nodes.isBlocked(i)) { // if the node can be selected in this step
+				scene.setColor(nodes.getColor(i));
+
+				// draw node or symbol depending on kind
+				int x = nodes.getX(i);
+				int y = nodes.getY(i);
+				if (nodes.getKind(i) == NodeStore.ATOM) {
+					int rad = nodes.getRad(i);
+					scene.fillOval(x - rad, y - rad, 2 * rad, 2 * rad);
+
+				} else { // letter for nitrogen and oxygen
+					drawSymbol(scene, nodes.getSymbol(i), x, y);
 				} // if
 			} // big if
 		} // loop
@@ -714,63 +965,78 @@ public class Canvas extends JComponent {
 
 	/*
 	 * Draw a node to the screen
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 * Node n - node to draw
 	 */
-	private void drawNode(Graphics2D g2, Node n) {
-		g2.fillOval(n.getCenterX(), n.getCenterY(), n.getDia(), n.getDia());
+	private void drawNode(Scene scene, Node n) {
+		scene.fillOval(n.getCenterX(), n.getCenterY(), n.getDia(), n.getDia());
 	} // end drawNode
 
 	/*
 	 * Draw a symbol to the screen centered around a node 
-	 * Graphics2D g2 - object responsible for drawing 
+	 * Scene scene - scene to draw into
 	 * String symbol - symbol to draw 
 	 * Node n - node to draw at
 	 */
-	private void drawSymbol(Graphics2D g2, String symbol, Node n) {
-		g2.setFont(g2.getFont().deriveFont((DrawingUtil.FONT_SIZE)));
-		FontMetrics fm = g2.getFontMetrics();
+	private void drawSymbol(Scene scene, String symbol, Node n) {
+		drawSymbol(scene, symbol, n.getX(), n.getY());
+	} // end drawSymbol
+
+	/*
+	 * Draw a symbol to the screen centered around a point
+	 * Scene scene - scene to draw into
+	 * String symbol - symbol to draw
+	 * int x - x of the center
+	 * int y - y of the center
+	 */
+	private void drawSymbol(Scene scene, String symbol, int x, int y) {
+		FontMetrics fm = scene.getFontMetrics();
 
-		int textX = n.getX() - fm.stringWidth(symbol) / 2;
-		int textY = n.getY() + (int) (fm.getAscent() * 0.375);
+		int textX = x - fm.stringWidth(symbol) / 2;
+		int textY = y + (int) (fm.getAscent() * 0.375);
 
-		g2.drawString(symbol, textX, textY);
+		scene.drawString(symbol, textX, textY);
 	} // end drawSymbol
 
 	/*
 	 * Draw a cycloidal chain 
-	 * Graphics2D g2 - object responsible for drawing 
+	 * Scene scene - scene to draw into
 	 * Node start - starting node 
 	 * int chainSize - size of chain 
 	 * boolean extend - whether the cyclo is a side chain or not 
 	 * DrawDirection dir - direction to draw in
 	 * return nodes - nodes for that chain
 	 */
-	private ArrayList<Node> drawCyclo(Graphics2D g2, Node start, int chainSize, boolean extend, DrawDirection dir) {
+	private ArrayList<Node> drawCyclo(Scene scene, Node start, int chainSize, boolean extend, DrawDirection dir) {
 		//list of nodes to return
 		ArrayList<Node> nodes = new ArrayList<Node>();
 
 		// offset length in pixels
 		int r = DrawingUtil.CYCLO_RAD;
 
-		// offsets based on side and size
-		int xOffset; 
+		// edge offsets of the ring turned for its direction
+		DrawDirection orientation = extend ? dir : null;
+		int[] dx = Geometry.ringDX(chainSize, orientation);
+		int[] dy = Geometry.ringDY(chainSize, orientation);
+
+		// offsets based on side
+		int xOffset;
 		int yOffset;
-		double angOffset; //angle to offset out
-		double rotAngle; //angle to rotate cyclo
+		int bumpX; // distance to move off of a symbol
+		int bumpY;
 
 		// if a side chain
 		if (extend) { // calculate offsets
-			angOffset = 2 * Math.toRadians(DrawingUtil.cycloAngle(dir));
-			rotAngle = DrawingUtil.cycloAngOffset(chainSize);
-			xOffset = (int) (r * Math.cos(angOffset));
-			yOffset = (int) (r * Math.sin(angOffset));
+			xOffset = Geometry.spokeX(r, dir);
+			yOffset = Geometry.spokeY(r, dir);
+			bumpX = Geometry.spokeX(DrawingUtil.CHAIN_ARM / 2, dir);
+			bumpY = Geometry.spokeY(DrawingUtil.CHAIN_ARM / 2, dir);
 
 		} else { // otherwise no offsets
-			angOffset = 0;
-			rotAngle = 0;
 			xOffset = 0;
 			yOffset = 0;
+			bumpX = DrawingUtil.CHAIN_ARM / 2;
+			bumpY = 0;
 		} // if
 
 		// initial position
@@ -780,8 +1046,8 @@ public class Canvas extends JComponent {
 		// if starting on a symbol
 		if (start.getTag().equals("N") || start.getTag().equals("O")) { 
 			// move up further
-			x0 += DrawingUtil.rCos(DrawingUtil.CHAIN_ARM / 2, angOffset);
-			y0 += DrawingUtil.rSin(DrawingUtil.CHAIN_ARM / 2, angOffset);
+			x0 += bumpX;
+			y0 += bumpY;
 		} // if
 
 		// start point
@@ -792,19 +1058,16 @@ public class Canvas extends JComponent {
 		int x2 = 0;
 		int y2 = 0;
 
-		// value to increment angle by each step
-		double theta = Math.toRadians(-360.0 / chainSize);
-
 		// translate start point
 		x1 += xOffset;
 		y1 += yOffset;
 
 		// draw the cyclo
 		for (int i = 0; i < chainSize; i++) {
-			x2 = x1 + (int) (r * Math.cos(theta * i + angOffset + rotAngle));
-			y2 = y1 + (int) (r * Math.sin(theta * i + angOffset + rotAngle));
+			x2 = x1 + dx[i];
+			y2 = y1 + dy[i];
 
-			g2.drawLine(x1, y1, x2, y2);
+			scene.drawLine(x1, y1, x2, y2);
 
 			// add the node to the list
 			nodes.add(new Node(x1, y1, DrawingUtil.NODE_RAD, "" + (i + 1)));
@@ -814,9 +1077,9 @@ public class Canvas extends JComponent {
 		} // loop
 
 		// draw the final bonds
-		g2.drawLine(x0, y0, x2, y2);
+		scene.drawLine(x0, y0, x2, y2);
 		if (extend) {
-			g2.drawLine(x0, y0, x0 + xOffset, y0 + yOffset);
+			scene.drawLine(x0, y0, x0 + xOffset, y0 + yOffset);
 		} // if
 
 		return nodes;
@@ -830,18 +1093,15 @@ public class Canvas extends JComponent {
 	 * boolean side - whether the chain is on the side or not 
 	 * return nodes - list of nodes for that chain
 	 */
-	private ArrayList<Node> drawChain(Graphics2D g2, Node start, DrawDirection dir, int chainSize, boolean side) {
-		double[] angles = DrawingUtil.angleFromDirection(dir); // get the angles based on the direction
-		int arm = DrawingUtil.CHAIN_ARM; // length of bonds in pixels
-
+	private ArrayList<Node> drawChain(Scene scene, Node start, DrawDirection dir, int chainSize, boolean side) {
 		// starting x and y coordinates
 		int x1 = start.getX();
 		int y1 = start.getY();
 
 		if (start.getTag().equals("N") || start.getTag().equals("O")) { // if starting on a symbol
 			// move up further
-			x1 += DrawingUtil.rCos(DrawingUtil.CHAIN_ARM / 2, Math.toRadians(angles[0]));
-			y1 += DrawingUtil.rSin(DrawingUtil.CHAIN_ARM / 2, Math.toRadians(angles[0]));
+			x1 += Geometry.chainX(DrawingUtil.CHAIN_ARM / 2, dir);
+			y1 += Geometry.chainY(DrawingUtil.CHAIN_ARM / 2, dir);
 		} // if
 
 		ArrayList<Node> nodes = new ArrayList<Node>(); // list of nodes
@@ -855,15 +1115,12 @@ public class Canvas extends JComponent {
 		}
 
 		for (int i = 0; i < chainSize - 1; i++) {
-			// current angle to draw (alternate between the 2 angles)
-			double ang = angles[i % 2];
-
-			// calculate the end points for the line
-			int x2 = (int) (arm * Math.cos(Math.toRadians(ang))) + x1;
-			int y2 = (int) (arm * Math.sin(Math.toRadians(ang))) + y1;
+			// calculate the end points for the line (alternates between the 2 angles)
+			int x2 = Geometry.chainDX(dir, i) + x1;
+			int y2 = Geometry.chainDY(dir, i) + y1;
 
 			// draw the line
-			g2.drawLine(x1, y1, x2, y2);
+			scene.drawLine(x1, y1, x2, y2);
 
 			if (i >= tagStart) {
 				if (side) {
@@ -892,14 +1149,14 @@ public class Canvas extends JComponent {
 
 	/*
 	 * Draw a benzene chain 
-	 * Graphics2D g2 - object responsible for drawing 
+	 * Scene scene - scene to draw into
 	 * Node start - start position of the benzene 
 	 * boolean extend - whether chain is side or not 
 	 * DrawDirection dir - direction of the chain
 	 */
-	private ArrayList<Node> drawBenzene(Graphics2D g2, Node start, boolean extend, DrawDirection dir) {
+	private ArrayList<Node> drawBenzene(Scene scene, Node start, boolean extend, DrawDirection dir) {
 
-		ArrayList<Node> nodes = drawCyclo(g2, start, 6, extend, dir);
+		ArrayList<Node> nodes = drawCyclo(scene, start, 6, extend, dir);
 
 		// create arrays for the x and y points
 		int[] x = new int[nodes.size()];
@@ -922,90 +1179,90 @@ public class Canvas extends JComponent {
 		// radius of outer circle
 		int outRad = (int) (DrawingUtil.CYCLO_RAD * 0.7);
 
-		drawNode(g2, new Node(centerX, centerY, outRad));
+		drawNode(scene, new Node(centerX, centerY, outRad));
 
-		g2.setColor(DrawingUtil.CANVAS_BACKGROUND);
-		drawNode(g2, new Node(centerX, centerY, (int) (outRad * 0.85)));
+		scene.setColor(DrawingUtil.CANVAS_BACKGROUND);
+		drawNode(scene, new Node(centerX, centerY, (int) (outRad * 0.85)));
 
 		return nodes;
 	} // end drawBenzene
 
 	/*
 	 * Draw all the functional groups
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 */
-	private void drawGroups(Graphics2D g2) {
+	private void drawGroups(Scene scene) {
 		// run only if the lists aren't empty
 		if (!groups.isEmpty() && !groupNodes.isEmpty() && !groupDirs.isEmpty()) {
 			for (int i = 0; i < groupNodes.size(); i++) {
-				drawFunc(g2, groupNodes.get(i), groups.get(i), groupDirs.get(i));
+				drawFunc(scene, groupNodes.get(i), groups.get(i), groupDirs.get(i));
 			} // loop
 		} // if
 	} // end drawGroups
 
 	/*
 	 * Draw a functional group 
-	 * Graphics2D g2 - object responsible for drawing 
+	 * Scene scene - scene to draw into
 	 * Node start - start position of group 
 	 * FuncGroup group - what group to draw
 	 * DrawDirectiond dir - what direction to draw group in
 	 */
-	private void drawFunc(Graphics2D g2, Node start, FuncGroup group, DrawDirection dir) {
+	private void drawFunc(Scene scene, Node start, FuncGroup group, DrawDirection dir) {
 
 		switch (group) {
 			case FLUORINE: // different symbol
-				drawLetterFunc(g2, "F", start, dir);
+				drawLetterFunc(scene, "F", start, dir);
 				break;
 
 			case CHLORINE: // different symbol
-				drawLetterFunc(g2, "Cl", start, dir);
+				drawLetterFunc(scene, "Cl", start, dir);
 				break;
 
 			case BROMINE: // different symbol
-				drawLetterFunc(g2, "Br", start, dir);
+				drawLetterFunc(scene, "Br", start, dir);
 				break;
 
 			case IODINE: // different symbol
-				drawLetterFunc(g2, "I", start, dir);
+				drawLetterFunc(scene, "I", start, dir);
 				break;
 
 			case KETONE:
-				drawDoubleOxygen(g2, start, dir, false);
+				drawDoubleOxygen(scene, start, dir, false);
 				break;
 			case ALDEHYDE:
-				drawDoubleOxygen(g2, start, dir, true);
+				drawDoubleOxygen(scene, start, dir, true);
 				break;
 
 			case ALCOHOL: // different symbol
-				drawLetterFunc(g2, "OH", start, dir);
+				drawLetterFunc(scene, "OH", start, dir);
 				break;
 
 			case CARBOXYLIC_ACID: // combination
-				drawDoubleOxygen(g2, start, dir, true);
-				drawLetterFunc(g2, "OH", start, DrawingUtil.incDirection(dir, 2));
+				drawDoubleOxygen(scene, start, dir, true);
+				drawLetterFunc(scene, "OH", start, DrawingUtil.incDirection(dir, 2));
 				break;
 
 			case AMIDE: // roll over onto amine
-				drawDoubleOxygen(g2, start, DrawingUtil.incDirection(dir, 4), false);
+				drawDoubleOxygen(scene, start, DrawingUtil.incDirection(dir, 4), false);
 
 			case AMINE: // save location to node
 				if (!hasNO && funcStep == 2) { // first time being called when set
-					mainNodes.add(drawNitrogen(g2, start, dir));
+					mainNodes.add(drawNitrogen(scene, start, dir));
 					hasNO = true;
 				} else {
-					drawNitrogen(g2, start, dir);
+					drawNitrogen(scene, start, dir);
 				} // if
 				break;
 
 			case ESTER: // roll over onto ether
-				drawDoubleOxygen(g2, start, DrawingUtil.incDirection(dir, 4), true);
+				drawDoubleOxygen(scene, start, DrawingUtil.incDirection(dir, 4), true);
 
 			case ETHER: // save location to node
 				if (!hasNO && funcStep == 2) {
-					mainNodes.add(drawLetterFunc(g2, "O", start, dir));
+					mainNodes.add(drawLetterFunc(scene, "O", start, dir));
 					hasNO = true;
 				} else {
-					drawLetterFunc(g2, "O", start, dir);
+					drawLetterFunc(scene, "O", start, dir);
 				} // if
 				break;
 
@@ -1014,38 +1271,36 @@ public class Canvas extends JComponent {
 
 	/*
 	 * Draw a functional group that's a single letter 
-	 * Graphics2D g2 - object reponsible for drawing 
+	 * Scene scene - scene to draw into
 	 * String symbol - chemical symbol of element 
 	 * Node start - start position of the haloalkane 
 	 * DrawDirection dir - direction to draw in
 	 * return text - node with the center coordinate of the symbol
 	 */
-	private Node drawLetterFunc(Graphics2D g2, String symbol, Node start, DrawDirection dir) {
+	private Node drawLetterFunc(Scene scene, String symbol, Node start, DrawDirection dir) {
 		int r = (int) (DrawingUtil.CHAIN_ARM * 0.8);
-		double angle = 2 * Math.toRadians(DrawingUtil.cycloAngle(dir));
 
 		int x1 = start.getX();
 		int y1 = start.getY();
 
 		if (start.getTag().equals("N") || start.getTag().equals("O")) { // if starting on a symbol
 			// move up further
-			x1 += DrawingUtil.rCos(DrawingUtil.CHAIN_ARM / 2, angle);
-			y1 += DrawingUtil.rSin(DrawingUtil.CHAIN_ARM / 2, angle);
+			x1 += Geometry.spokeX(DrawingUtil.CHAIN_ARM / 2, dir);
+			y1 += Geometry.spokeY(DrawingUtil.CHAIN_ARM / 2, dir);
 		} // if
 
-		int x2 = x1 + (int) (r * Math.cos(angle));
-		int y2 = y1 + (int) (r * Math.sin(angle));
+		int x2 = x1 + Geometry.spokeX(r, dir);
+		int y2 = y1 + Geometry.spokeY(r, dir);
 
-		g2.drawLine(x1, y1, x2, y2);
+		scene.drawLine(x1, y1, x2, y2);
 
-		g2.setFont(g2.getFont().deriveFont(DrawingUtil.FONT_SIZE));
-		FontMetrics fm = g2.getFontMetrics();
+		FontMetrics fm = scene.getFontMetrics();
 		int fontR = (int) (DrawingUtil.CHAIN_ARM * 0.5);
 
-		int textX = x2 + (int) (fontR * Math.cos(angle)) - fm.stringWidth(symbol) / 2;
-		int textY = y2 + (int) (fontR * Math.sin(angle)) + (int) (fm.getAscent() * 0.375);
+		int textX = x2 + Geometry.spokeX(fontR, dir) - fm.stringWidth(symbol) / 2;
+		int textY = y2 + Geometry.spokeY(fontR, dir) + (int) (fm.getAscent() * 0.375);
 
-		g2.drawString(symbol, textX, textY);
+		scene.drawString(symbol, textX, textY);
 
 		Node text = new Node(textX + fm.stringWidth(symbol) / 2, textY - (int) (fm.getAscent() * 0.375),
 				fm.stringWidth(symbol) / 2);
@@ -1057,24 +1312,24 @@ public class Canvas extends JComponent {
 
 	/*
 	 * Draws a nitrogen chain with the associated hydrogens
-	 * Graphics2D g2 - object responsible for drawing
+	 * Scene scene - scene to draw into
 	 * Node start - start position of the nitrogen
 	 * DrawDirection dir - direction to draw in
 	 * return nitro - node representing the coordinates of the nitrogen
 	 */
-	private Node drawNitrogen(Graphics2D g2, Node start, DrawDirection dir) {
-		Node nitro = drawLetterFunc(g2, "N", start, dir);
+	private Node drawNitrogen(Scene scene, Node start, DrawDirection dir) {
+		Node nitro = drawLetterFunc(scene, "N", start, dir);
 
 		switch (hydrogenCounter) {
 			// two hydrogens, show subscript
 			case 2:
 				// u2082 is the subscript 2 symbol
-				g2.drawString("H\u2082", nitro.getX() + nitro.getRad(), nitro.getY() + nitro.getRad());
+				scene.drawString("H\u2082", nitro.getX() + nitro.getRad(), nitro.getY() + nitro.getRad());
 				break;
 
 			// single hydrogen
 			case 1:
-				g2.drawString("H", nitro.getX() + nitro.getRad(), nitro.getY() + nitro.getRad());
+				scene.drawString("H", nitro.getX() + nitro.getRad(), nitro.getY() + nitro.getRad());
 				break;
 		} // switch
 
@@ -1083,11 +1338,11 @@ public class Canvas extends JComponent {
 
 	/*
 	 * Draw a double bonded oxygen group 
-	 * Graphics2D g2 - object responsible for drawing 
+	 * Scene scene - scene to draw into
 	 * Node start - start position of the group 
 	 * DrawDirection dir - direction to draw in
 	 */
-	private void drawDoubleOxygen(Graphics2D g2, Node start, DrawDirection dir, boolean isStart) {
+	private void drawDoubleOxygen(Scene scene, Node start, DrawDirection dir, boolean isStart) {
 		int arm = (int) (DrawingUtil.CHAIN_ARM * 0.8); // length of bond
 		int offset = (int) (DrawingUtil.CHAIN_ARM * 0.085); // length to move back from start
 		int perpOut = (int) (DrawingUtil.CHAIN_ARM * 0.15); // distance to stick out
@@ -1096,56 +1351,50 @@ public class Canvas extends JComponent {
 		double translateFactorX = 0.19;
 		double translateFactorY = 0.15;
 		if (isStart) {
-			g2.translate((int) (-arm * translateFactorX), (int) (-arm * translateFactorY));
+			scene.translate((int) (-arm * translateFactorX), (int) (-arm * translateFactorY));
 		} // if
 
-		double angle = DrawingUtil.funcAngle(dir); // angle to draw with
-
-		// perpendicular offsets for each line
-		double aPerp = angle + Math.PI / 2;
-		double bPerp = angle - Math.PI / 2;
-
 		// first line
 		// start points are offset back behind start node and out perpendicular to angle
 		// of travel
-		int ax1 = start.getX() - DrawingUtil.rCos(offset, angle) + DrawingUtil.rCos(perpOut, aPerp);
-		int ay1 = start.getY() - DrawingUtil.rSin(offset, angle) + DrawingUtil.rSin(perpOut, aPerp);
+		int ax1 = start.getX() - Geometry.funcX(offset, dir) + Geometry.perpX(perpOut, dir, true);
+		int ay1 = start.getY() - Geometry.funcY(offset, dir) + Geometry.perpY(perpOut, dir, true);
 
 		// end points are start points translated out at the angle
-		int ax2 = ax1 + DrawingUtil.rCos(arm + offset, angle);
-		int ay2 = ay1 + DrawingUtil.rSin(arm + offset, angle);
+		int ax2 = ax1 + Geometry.funcX(arm + offset, dir);
+		int ay2 = ay1 + Geometry.funcY(arm + offset, dir);
 
-		g2.drawLine(ax1, ay1, ax2, ay2); // draw the first line
+		scene.drawLine(ax1, ay1, ax2, ay2); // draw the first line
 
 		// second line
 		// start points are offset back behind start node and out perpendicular to angle
 		// of travel
-		int bx1 = start.getX() - DrawingUtil.rCos(offset, angle) + DrawingUtil.rCos(perpOut, bPerp);
-		int by1 = start.getY() - DrawingUtil.rSin(offset, angle) + DrawingUtil.rSin(perpOut, bPerp);
+		int bx1 = start.getX() - Geometry.funcX(offset, dir) + Geometry.perpX(perpOut, dir, false);
+		int by1 = start.getY() - Geometry.funcY(offset, dir) + Geometry.perpY(perpOut, dir, false);
 
 		// end points are start points translated out at the angle
-		int bx2 = bx1 + DrawingUtil.rCos(arm + offset, angle);
-		int by2 = by1 + DrawingUtil.rSin(arm + offset, angle);
+		int bx2 = bx1 + Geometry.funcX(arm + offset, dir);
+		int by2 = by1 + Geometry.funcY(arm + offset, dir);
 
-		g2.drawLine(bx1, by1, bx2, by2); // draw the second line
+		scene.drawLine(bx1, by1, bx2, by2); // draw the second line
 
 		// draw the oxygen
 		// calculate coordinates
-		int oX = start.getX() + DrawingUtil.rCos(arm + oExtend, angle);
-		int oY = start.getY() + DrawingUtil.rSin(arm + oExtend, angle);
+		int oX = start.getX() + Geometry.funcX(arm + oExtend, dir);
+		int oY = start.getY() + Geometry.funcY(arm + oExtend, dir);
 
 		// save the old color for changing back later
-		Color oldColor = g2.getColor();
+		Color oldColor = scene.getColor();
 
-		drawNode(g2, new Node(oX, oY, (int) (DrawingUtil.NODE_RAD * 1.7))); // outer ring
+		drawNode(scene, new Node(oX, oY, (int) (DrawingUtil.NODE_RAD * 1.7))); // outer ring
 
-		g2.setColor(DrawingUtil.CANVAS_BACKGROUND);
-		drawNode(g2, new Node(oX, oY, (int) (DrawingUtil.NODE_RAD * 1.3))); // inner circle
+		scene.setColor(DrawingUtil.CANVAS_BACKGROUND);
+		drawNode(scene, new Node(oX, oY, (int) (DrawingUtil.NODE_RAD * 1.3))); // inner circle
 
 		// set Graphics2D back to as it was for next drawing action
-		g2.setColor(oldColor); // old color
+		scene.setColor(oldColor); // old color
 		if (isStart) {
-			g2.translate((int) (arm * translateFactorX), (int) (arm * translateFactorY)); // translate back
+			scene.translate((int) (arm * translateFactorX), (int) (arm * translateFactorY)); // translate back
 		} // if
 	} // end drawDoubleOxygen
 
@@ -1155,16 +1404,53 @@ public class Canvas extends JComponent {
 	 * Update the screen
 	 */
 	public void updateDisplay() {
+		frameReady = false;
 		repaint();
 	} // end update
 
+	/*
+	 * Note that the user is interacting so frames are drawn cheaply until it settles
+	 */
+	public void interact() {
+		governor.interact();
+	} // end interact
+
+	/*
+	 * Update the screen after the mouse moved, only repainting the areas where the
+	 * ghosts, hover highlights or the mouse node changed
+	 */
+	public void updateHover() {
+		Font font = getFont();
+
+		// anything other than the overlay changing needs the whole canvas
+		if (!draw || font == null || moleculeDirty || layerDirty || layer == null) {
+			updateDisplay();
+			return;
+		} // if
+
+		// lay out the new frame now and compare it with the one on the screen
+		recordFrame(RenderCache.font(font, DrawingUtil.FONT_SIZE), true);
+		int pad = (int) Math.ceil(Math.max(DrawingUtil.CHAIN_STROKE, DrawingUtil.BOND_STROKE) / 2) + 1;
+		Rectangle damage = overlay.damage(lastOverlay, pad);
+
+		// nothing moved
+		if (damage == null) {
+			return;
+		} // if
+
+		// convert to screen coordinates, rounding outwards
+		Rectangle screen = view().createTransformedShape(damage).getBounds();
+		repaint(screen.x - 1, screen.y - 1, screen.width + 2, screen.height + 2);
+	} // end updateHover
+
 	/*
 	 * Add the CanvasController to this component
 	 */
 	private void registerControllers() {
-		CanvasController cc = new CanvasController(this);
-		this.addMouseListener(cc);
-		this.addMouseMotionListener(cc);
+		controller = new CanvasController(this);
+		this.addMouseListener(controller);
+		this.addMouseMotionListener(controller);
+		this.addMouseWheelListener(controller);
 	} // end registerControllers
 
 	/*
@@ -1190,15 +1476,598 @@ public class Canvas extends JComponent {
 	 * int main - size of the main chain
 	 */
 	public void setMainSize(int main) {
+		invalidateMolecule();
 		compound.setMainSize(main);
+		drawn.setMainSize(main);
+		fitMainChain(main);
 	} // end setMainSize
 
+	/*
+	 * Set the scale so a straight main chain and its side chains fit across the canvas
+	 * int size - number of carbons in the main chain
+	 */
+	public void fitMainChain(int size) {
+		invalidateMolecule();
+		scale = LayoutEngine.fitScale(width, size);
+	} // end fitMainChain
+
+	/*
+	 * Get the scale the drawing is shown at
+	 * return - scale, 1 when the drawing fits at full size
+	 */
+	public double getScale() {
+		return scale;
+	} // end getScale
+
+	/*
+	 * Convert a point on the screen to the drawing through the inverse of the view
+	 * int screenX - x on the component, i.e a mouse position
+	 * int screenY - y on the component
+	 * return - point in the unscaled drawing
+	 */
+	public Point2D toModel(int screenX, int screenY) {
+		view(); // bring the inverse up to date
+		return inverse.transform(new Point2D.Double(screenX, screenY), null);
+	} // end toModel
+
+	/*
+	 * Zoom the view in or out, keeping the point under the mouse in place
+	 * double factor - how much to zoom, more than 1 to zoom in
+	 * int screenX - x on the component to zoom around
+	 * int screenY - y on the component to zoom around
+	 */
+	public void zoomAt(double factor, int screenX, int screenY) {
+		Point2D model = toModel(screenX, screenY);
+		double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+		if (newZoom == zoom)
+			return;
+
+		zoom = newZoom;
+		panX = screenX - model.getX() * scale * zoom;
+		panY = screenY - model.getY() * scale * zoom;
+
+		layerDirty = true; // the molecule scene is kept, only the view changed
+		updateDisplay();
+	} // end zoomAt
+
+	/*
+	 * Move the view
+	 * int dx - pixels to move right
+	 * int dy - pixels to move down
+	 */
+	public void panBy(int dx, int dy) {
+		panX += dx;
+		panY += dy;
+
+		layerDirty = true;
+		updateDisplay();
+	} // end panBy
+
+	/*
+	 * Go back to the fitted view without any zoom or pan
+	 */
+	public void resetView() {
+		zoom = 1;
+		panX = 0;
+		panY = 0;
+
+		layerDirty = true;
+		updateDisplay();
+	} // end resetView
+
+	/*
+	 * Get how much the user zoomed in
+	 * return zoom - zoom on top of the scale, 1 when not zoomed
+	 */
+	public double getZoom() {
+		return zoom;
+	} // end getZoom
+
+	// HISTORY//
+
+	/*
+	 * Finish the edit in progress so it can be undone, i.e once a chain is placed
+	 * int kind - CanvasEdit.MAIN, SIDE, BOND or GROUP
+	 */
+	public void commitEdit(int kind) {
+		if (pending == null)
+			return;
+
+		pending.kind = kind;
+		history.add(pending);
+		pending = null;
+	} // end commitEdit
+
+	/*
+	 * Clear the drawing as an edit that can be undone
+	 */
+	public void erase() {
+		pending = null;
+
+		// nothing to erase
+		if (mainStep == 0 && mainNodes.isEmpty() && sideChains.isEmpty() && groups.isEmpty() && bondSizes.isEmpty())
+			return;
+
+		// the other side of an erase is an empty drawing
+		CanvasEdit e = new CanvasEdit(EDIT_LISTS + 5, EDIT_FIELDS);
+		e.kind = CanvasEdit.ERASE;
+		e.values[6] = 2; // hydrogens on a nitrogen
+		e.values[10] = 1; // single bond
+		e.scale = 1;
+		e.mainNodes = mainNodes;
+
+		swap(e);
+		history.add(e);
+	} // end erase
+
+	/*
+	 * Undo the latest edit, or only drop the edit in progress if there is one, i.e a
+	 * side chain size entered but not placed yet
+	 * return - whether there was an edit to undo
+	 */
+	public boolean undo() {
+		if (cancelEdit())
+			return true;
+
+		CanvasEdit e = history.undo();
+		if (e == null)
+			return false;
+
+		swap(e);
+		return true;
+	} // end undo
+
+	/*
+	 * Redo the latest undone edit, dropping the edit in progress first
+	 * return - whether there was an edit to redo
+	 */
+	public boolean redo() {
+		cancelEdit();
+
+		CanvasEdit e = history.redo();
+		if (e == null)
+			return false;
+
+		swap(e);
+		return true;
+	} // end redo
+
+	/*
+	 * Put the drawing back the way it was before the edit in progress, since the lists
+	 * it added to would be cut back or added to along with a finished edit's
+	 * return - whether there was an edit in progress
+	 */
+	private boolean cancelEdit() {
+		if (pending == null)
+			return false;
+
+		swap(pending); // leaves no edit in progress
+		return true;
+	} // end cancelEdit
+
+	/*
+	 * Get the edits that can be undone and redone
+	 * return history - log of finished edits
+	 */
+	public EditLog getHistory() {
+		return history;
+	} // end getHistory
+
+	/*
+	 * Get the controller taking the mouse on the canvas
+	 * return controller - controller of the canvas, null if none was registered
+	 */
+	public CanvasController getController() {
+		return controller;
+	} // end getController
+
+	/*
+	 * Start or stop logging the user's actions
+	 * ActionRecorder recorder - log to write to, null to stop recording
+	 */
+	public void setRecorder(ActionRecorder recorder) {
+		this.recorder = recorder;
+	} // end setRecorder
+
+	/*
+	 * Get the log the user's actions are written to
+	 * return recorder - log being written, null if not recording
+	 */
+	public ActionRecorder getRecorder() {
+		return recorder;
+	} // end getRecorder
+
+	/*
+	 * Get the lists an edit can add to, all only added to at the end
+	 * return - lists in the order of the edit counts
+	 */
+	private ArrayList<?>[] editLists() {
+		return new ArrayList<?>[] { sideNodes, sideChains, directions, groups, groupNodes, groupDirs, bondNodes,
+				bondSizes };
+	} // end editLists
+
+	/*
+	 * Remember the state an edit starts from
+	 * return e - edit holding the length of each list and the steps and flags
+	 */
+	private CanvasEdit mark() {
+		CanvasEdit e = new CanvasEdit(EDIT_LISTS + 5, EDIT_FIELDS);
+		ArrayList<?>[] lists = editLists();
+
+		for (int i = 0; i < EDIT_LISTS; i++) {
+			e.counts[i] = lists[i].size();
+		} // loop
+		e.counts[MAIN_NODES] = mainNodes.size();
+		e.counts[COMPOUND_SIDES] = compound.getSideChainCount();
+		e.counts[DRAWN_SIDES] = drawn.getSideCount();
+		e.counts[DRAWN_BONDS] = drawn.getBondLocationCount();
+		e.counts[MAIN_LOCATIONS] = compound.getMainChain().getFunctionalLocationCount();
+
+		readFields(e.values);
+		e.scale = scale;
+		e.mainNodes = mainNodes;
+		return e;
+	} // end mark
+
+	/*
+	 * Swap the drawing with the other side of an edit, which then holds this side. Lists
+	 * are cut back or added back to, so only the items of the edit are moved
+	 * CanvasEdit e - edit to undo or redo
+	 */
+	private void swap(CanvasEdit e) {
+		// lists only added to at the end
+		ArrayList<?>[] lists = editLists();
+		for (int i = 0; i < EDIT_LISTS; i++) {
+			e.counts[i] = swapLength(lists[i], e, i);
+		} // loop
+
+		// the main nodes are a new list once the main chain is laid out
+		if (e.mainNodes != mainNodes) {
+			ArrayList<Node> other = mainNodes;
+			mainNodes = e.mainNodes;
+			e.mainNodes = other;
+		} else {
+			e.counts[MAIN_NODES] = swapLength(mainNodes, e, MAIN_NODES);
+		} // if
+
+		// side chains of the compound and the drawn compound
+		int now = compound.getSideChainCount();
+		if (now > e.counts[COMPOUND_SIDES]) {
+			ArrayList<Chain> tail = new ArrayList<Chain>();
+			while (compound.getSideChainCount() > e.counts[COMPOUND_SIDES]) {
+				tail.add(compound.removeLastSideChain());
+			} // loop
+			Collections.reverse(tail);
+			e.tails[COMPOUND_SIDES] = tail;
+		} else if (now < e.counts[COMPOUND_SIDES]) {
+			for (Object side : e.tails[COMPOUND_SIDES]) {
+				compound.addSideChain((Chain) side);
+			} // loop
+			e.tails[COMPOUND_SIDES] = null;
+		} // if
+		e.counts[COMPOUND_SIDES] = now;
+
+		now = drawn.getSideCount();
+		if (now > e.counts[DRAWN_SIDES]) {
+			ArrayList<Chain> tail = new ArrayList<Chain>();
+			while (drawn.getSideCount() > e.counts[DRAWN_SIDES]) {
+				tail.add(drawn.removeLastSide());
+			} // loop
+			Collections.reverse(tail);
+			e.tails[DRAWN_SIDES] = tail;
+		} else if (now < e.counts[DRAWN_SIDES]) {
+			for (Object o : e.tails[DRAWN_SIDES]) {
+				Chain side = (Chain) o;
+				drawn.addSide(side.getSize(), side.getLocation(), side.isCyclo(), side.isBenzene());
+			} // loop
+			e.tails[DRAWN_SIDES] = null;
+		} // if
+		e.counts[DRAWN_SIDES] = now;
+
+		now = drawn.getBondLocationCount();
+		if (now > e.counts[DRAWN_BONDS]) {
+			ArrayList<Integer> tail = new ArrayList<Integer>();
+			while (drawn.getBondLocationCount() > e.counts[DRAWN_BONDS]) {
+				tail.add(drawn.removeLastBondLocation());
+			} // loop
+			Collections.reverse(tail);
+			e.tails[DRAWN_BONDS] = tail;
+		} else if (now < e.counts[DRAWN_BONDS]) {
+			for (Object loc : e.tails[DRAWN_BONDS]) {
+				drawn.addBondLocation((Integer) loc);
+			} // loop
+			e.tails[DRAWN_BONDS] = null;
+		} // if
+		e.counts[DRAWN_BONDS] = now;
+
+		// functional locations of the main chain
+		Chain main = compound.getMainChain();
+		now = main.getFunctionalLocationCount();
+		if (now > e.counts[MAIN_LOCATIONS]) {
+			e.tails[MAIN_LOCATIONS] = main.truncateLocations(e.counts[MAIN_LOCATIONS]);
+		} else if (now < e.counts[MAIN_LOCATIONS]) {
+			@SuppressWarnings("unchecked") // only truncateLocations fills this tail
+			ArrayList<String> cut = (ArrayList<String>) e.tails[MAIN_LOCATIONS];
+			main.restoreLocations(cut);
+			e.tails[MAIN_LOCATIONS] = null;
+		} // if
+		e.counts[MAIN_LOCATIONS] = now;
+
+		// tag a bond changed on its first node
+		if (e.tagged != null) {
+			String other = e.tagged.getTag();
+			e.tagged.setTag(e.tag);
+			e.tag = other;
+		} // if
+
+		// steps, flags and main chain
+		int[] other = new int[EDIT_FIELDS];
+		readFields(other);
+		writeFields(e.values);
+		e.values = other;
+
+		double otherScale = scale;
+		scale = e.scale;
+		e.scale = otherScale;
+
+		// clearing would wipe the drawing again on the next frame
+		if (palette != null && palette.getSelectedType() == ActionType.CLEAR) {
+			palette.setSelectedType(ActionType.MAIN);
+		} // if
+		if (type == ActionType.CLEAR) {
+			type = ActionType.MAIN;
+		} // if
+
+		nodeStore.clearBlocked();
+		invalidateMolecule();
+		pending = null; // the next change starts a new edit
+		updateDisplay();
+	} // end swap
+
+	/*
+	 * Cut a list back to the length on the other side of an edit, or add back what was
+	 * cut from it
+	 * ArrayList<?> list - list to change
+	 * CanvasEdit e - edit holding the other length and what was cut
+	 * int i - index of the list in the edit
+	 * return now - length of the list before it was changed
+	 */
+	@SuppressWarnings("unchecked")
+	private static int swapLength(ArrayList<?> list, CanvasEdit e, int i) {
+		int now = list.size();
+		int then = e.counts[i];
+
+		if (now > then) {
+			List<?> tail = list.subList(then, now);
+			e.tails[i] = new ArrayList<Object>(tail);
+			tail.clear();
+		} else if (now < then && e.tails[i] != null) {
+			((ArrayList<Object>) list).addAll(e.tails[i]);
+			e.tails[i] = null;
+		} // if
+
+		return now;
+	} // end swapLength
+
+	/*
+	 * Copy the steps, flags and main chain an edit can change
+	 * int[] v - array to copy into
+	 */
+	private void readFields(int[] v) {
+		Chain main = compound.getMainChain();
+		v[0] = mainStep;
+		v[1] = sideStep;
+		v[2] = bondStep;
+		v[3] = funcStep;
+		v[4] = mainOnScreen ? 1 : 0;
+		v[5] = hasNO ? 1 : 0;
+		v[6] = hydrogenCounter;
+		v[7] = compound.getMainSize();
+		v[8] = main.isCyclo() ? 1 : 0;
+		v[9] = main.isBenzene() ? 1 : 0;
+		v[10] = main.getBond();
+	} // end readFields
+
+	/*
+	 * Set the steps, flags and main chain an edit can change
+	 * int[] v - values in the order of readFields
+	 */
+	private void writeFields(int[] v) {
+		Chain main = compound.getMainChain();
+		mainStep = v[0];
+		sideStep = v[1];
+		bondStep = v[2];
+		funcStep = v[3];
+		mainOnScreen = v[4] == 1;
+		hasNO = v[5] == 1;
+		hydrogenCounter = v[6];
+
+		compound.setMainSize(v[7]);
+		main.setCyclo(v[8] == 1);
+		main.setBenzene(v[9] == 1);
+		main.setBond(v[10]);
+
+		drawn.setMainSize(v[7]);
+		drawn.setCyclo(v[8] == 1);
+		drawn.setBenzene(v[9] == 1);
+		drawn.setBond(v[10]);
+	} // end writeFields
+
+	// DOCUMENT//
+
+	/*
+	 * Place the finished drawing in the next cell of the document, zooming out so it
+	 * stays on the screen beside the next drawing
+	 * return - index of the placed molecule, -1 if there is no main chain to place
+	 */
+	public int placeMolecule() {
+		if (!mainOnScreen)
+			return -1;
+
+		int i = document.add(drawn.getCompound());
+		fitDocument();
+		invalidateMolecule();
+
+		// the drawing is cleared for the next one, which can't be undone
+		history.clear();
+		pending = null;
+		updateDisplay();
+		return i;
+	} // end placeMolecule
+
+	/*
+	 * Zoom out so the drawing and every cell fit across the canvas, as far as the zoom
+	 * goes
+	 */
+	private void fitDocument() {
+		double fit = (double) width / (width + document.getArea().width);
+		zoom = Math.max(MIN_ZOOM, Math.min(zoom, fit));
+		panX = 0;
+		panY = height * (1 - zoom) / 2;
+	} // end fitDocument
+
+	/*
+	 * Get the finished drawing with the positions of its nodes, i.e for saving
+	 * return - layout sharing the canvas's nodes and chains, null if there is no main chain
+	 */
+	public Layout getDrawingLayout() {
+		if (!mainOnScreen)
+			return null;
+
+		return new Layout(drawn.getCompound(), scale, new ArrayList<Node>(mainNodes), new ArrayList<Node>(sideNodes),
+				new ArrayList<Chain>(sideChains), new ArrayList<DrawDirection>(directions),
+				new ArrayList<FuncGroup>(groups), new ArrayList<Node>(groupNodes),
+				new ArrayList<DrawDirection>(groupDirs), new ArrayList<Node>(bondNodes),
+				new ArrayList<Integer>(bondSizes), hydrogenCounter);
+	} // end getDrawingLayout
+
+	/*
+	 * Replace the drawing and the placed molecules, i.e with a saved document. The nodes
+	 * are taken as they are instead of being laid out through the steps again
+	 * Layout drawing - drawing to continue, null for an empty canvas
+	 * List<Compound> molecules - compounds to place beside it, from left to right
+	 */
+	public void open(Layout drawing, List<Compound> molecules) {
+		document.clear();
+		for (Compound c : molecules) {
+			document.add(c);
+		} // loop
+
+		if (drawing == null) {
+			reset();
+
+		} else {
+			setLayout(drawing);
+			mainOnScreen = true; // keep the saved main nodes
+
+			// the N or O label is already one of the main nodes
+			for (Node n : mainNodes) {
+				if (n.getTag().equals("N") || n.getTag().equals("O")) {
+					hasNO = true;
+				} // if
+			} // loop
+
+			// clearing would wipe the drawing on the next frame
+			if (palette != null && palette.getSelectedType() == ActionType.CLEAR) {
+				palette.setSelectedType(ActionType.MAIN);
+			} // if
+		} // if
+
+		// a new document starts with the fitted view and nothing to undo
+		zoom = 1;
+		panX = 0;
+		panY = 0;
+		if (document.size() > 0) {
+			fitDocument();
+		} // if
+
+		invalidateMolecule();
+		history.clear();
+		pending = null;
+		updateDisplay();
+	} // end open
+
+	/*
+	 * Replace the compound of a placed molecule, redrawing only its cell
+	 * int i - index of the molecule
+	 * Compound c - new compound
+	 */
+	public void setMolecule(int i, Compound c) {
+		repaint(toScreen(document.set(i, c)));
+	} // end setMolecule
+
+	/*
+	 * Take out a placed molecule
+	 * int i - index of the molecule
+	 */
+	public void removeMolecule(int i) {
+		repaint(toScreen(document.remove(i)));
+	} // end removeMolecule
+
+	/*
+	 * Take out every placed molecule
+	 */
+	public void clearMolecules() {
+		document.clear();
+		updateDisplay();
+	} // end clearMolecules
+
+	/*
+	 * Find the placed molecule under a point on the screen
+	 * int screenX - x on the component, i.e a mouse position
+	 * int screenY - y on the component
+	 * return - index of the molecule, -1 if there is none
+	 */
+	public int moleculeAt(int screenX, int screenY) {
+		return document.moleculeAt((screenX - panX) / zoom, (screenY - panY) / zoom);
+	} // end moleculeAt
+
+	/*
+	 * Get the molecules placed beside the drawing
+	 * return document - placed molecules
+	 */
+	public MoleculeDocument getDocument() {
+		return document;
+	} // end getDocument
+
+	/*
+	 * Convert an area of the page to the screen
+	 * Rectangle r - area before zoom and pan
+	 * return - area on the component holding it
+	 */
+	private Rectangle toScreen(Rectangle r) {
+		int x = (int) Math.floor(panX + r.x * zoom);
+		int y = (int) Math.floor(panY + r.y * zoom);
+		return new Rectangle(x, y, (int) Math.ceil(r.width * zoom) + 2, (int) Math.ceil(r.height * zoom) + 2);
+	} // end toScreen
+
+	/*
+	 * Get the transform from the drawing to the screen, rebuilt only when the scale,
+	 * zoom or pan changed
+	 * return view - pan, then scale times zoom
+	 */
+	private AffineTransform view() {
+		double s = scale * zoom;
+
+		if (view.getScaleX() != s || view.getTranslateX() != panX || view.getTranslateY() != panY) {
+			view.setTransform(s, 0, 0, s, panX, panY);
+			try {
+				inverse = view.createInverse();
+			} catch (NoninvertibleTransformException e) { // the scale is never zero
+				throw new IllegalStateException(e);
+			} // try-catch
+		} // if
+
+		return view;
+	} // end view
+
 	/*
 	 * Set the node for the start position of the main chain 
 	 * int x - starting x 
 	 * int y - starting y
 	 */
 	public void setMainStart(int x, int y) {
+		invalidateMolecule();
 		if (mainNodes.isEmpty()) {
 			mainNodes.add(new Node(x, y, DrawingUtil.NODE_RAD));
 		} else {
@@ -1214,10 +2083,43 @@ public class Canvas extends JComponent {
 		return mainNodes;
 	} // end getMainNodes
 
+	/*
+	 * Get the index for finding the main node under a point, rebuilt when the main
+	 * nodes have changed
+	 * return nodeIndex - index over the main nodes
+	 */
+	public NodeIndex getNodeIndex() {
+		nodes();
+		return nodeIndex;
+	} // end getNodeIndex
+
+	/*
+	 * Get the flat copy of the main nodes, handles are their indices in the main nodes
+	 * return nodeStore - store of the main nodes
+	 */
+	public NodeStore getNodeStore() {
+		return nodes();
+	} // end getNodeStore
+
+	/*
+	 * Copy and index the main nodes again if they changed
+	 * return nodeStore - store of the main nodes
+	 */
+	private NodeStore nodes() {
+		if (indexDirty || nodeStore.isStale(mainNodes)) {
+			nodeStore.sync(mainNodes);
+			nodeIndex.build(nodeStore);
+			indexDirty = false;
+		} // if
+
+		return nodeStore;
+	} // end nodes
+
 	/*
 	 * Set the main nodes to the screen
 	 */
 	public void setMainNodes(ArrayList<Node> nodes) {
+		invalidateMolecule();
 		mainNodes = nodes;
 	} // end setMainNodes
 
@@ -1233,7 +2135,9 @@ public class Canvas extends JComponent {
 	 * boolean val - whether main chain is cyclo or not
 	 */
 	public void setMainCyclo(boolean val) {
+		invalidateMolecule();
 		compound.getMainChain().setCyclo(val);
+		drawn.setCyclo(val);
 	} // end setMainCyclo
 
 	/*
@@ -1249,7 +2153,9 @@ public class Canvas extends JComponent {
 	 * boolean val - whether main chain is benzene or not
 	 */
 	public void setMainBenzene(boolean val) {
+		invalidateMolecule();
 		compound.getMainChain().setBenzene(val);
+		drawn.setBenzene(val);
 	} // end setMainBenzene
 
 	/*
@@ -1267,6 +2173,7 @@ public class Canvas extends JComponent {
 	 * boolean val - value to add to the side list
 	 */
 	public void addSideCyclo(boolean val) {
+		invalidateMolecule();
 		sideChains.get(sideChains.size() - 1).setCyclo(val);
 	} // end addSideCyclo
 
@@ -1275,6 +2182,7 @@ public class Canvas extends JComponent {
 	 * boolean val - value to add to the side list
 	 */
 	public void addSideBenzene(boolean val) {
+		invalidateMolecule();
 		sideChains.get(sideChains.size() - 1).setBenzene(val);
 	} // end addSideBenzene
 
@@ -1283,6 +2191,7 @@ public class Canvas extends JComponent {
 	 * DrawDirection dir - direction for latest side chain
 	 */
 	public void addSideDirection(DrawDirection dir) {
+		invalidateMolecule();
 		directions.add(dir);
 	} // end addSideDirection
 
@@ -1291,6 +2200,7 @@ public class Canvas extends JComponent {
 	 * int size - new size of side chain
 	 */
 	public void addSideSize(int size) {
+		invalidateMolecule();
 		if (sideChains.isEmpty()) {
 			sideChains.add(new Chain(size, ""));
 		} else {
@@ -1303,6 +2213,7 @@ public class Canvas extends JComponent {
 	 * Node n - node to add to the side Nodes
 	 */
 	public void addSideNode(Node n) {
+		invalidateMolecule();
 		sideNodes.add(n);
 		addSideChain(n);
 
@@ -1316,9 +2227,11 @@ public class Canvas extends JComponent {
 	 * Node n - node to get the tag from
 	 */
 	public void addSideChain(Node n) {
+		invalidateMolecule();
 		Chain lastSide = sideChains.get(sideChains.size() - 1);
 		lastSide.setLocation(n.getTag());
 		compound.addSideChain(lastSide.getSize(), lastSide.getLocation(), lastSide.isCyclo(), lastSide.isBenzene());
+		drawn.addSide(lastSide.getSize(), lastSide.getLocation(), lastSide.isCyclo(), lastSide.isBenzene());
 	} // end addSideChain
 
 	/*
@@ -1336,6 +2249,7 @@ public class Canvas extends JComponent {
 	 * int bond - size of the bond to add
 	 */
 	public void addBondSize(int bond) {
+		invalidateMolecule();
 		// adjust the main compound according to the bond size
 		if (compound.getMainChain().getBond() < bond) {
 			compound.getMainChain().setBond(bond);
@@ -1343,6 +2257,7 @@ public class Canvas extends JComponent {
 
 		// add the bond size to the list for drawing
 		bondSizes.add(bond);
+		drawn.addBondSize(bond);
 	} // end addBondSize
 
 	/*
@@ -1350,6 +2265,7 @@ public class Canvas extends JComponent {
 	 * int idx - position of the node in the main chain
 	 */
 	public void addBondNode(int idx) {
+		invalidateMolecule();
 		// nodes to add to the bond nodes list
 		Node start = mainNodes.get(idx); // first node of the bond
 		Node end; // second and lost node for the bond
@@ -1361,6 +2277,12 @@ public class Canvas extends JComponent {
 			end = mainNodes.get(idx + 1); // second node is one right after
 		} // if
 
+		// the tag is put back on undo
+		if (pending != null && pending.tagged == null) {
+			pending.tagged = start;
+			pending.tag = start.getTag();
+		} // if
+
 		// change the tag based on the index
 		if (idx % 2 == 0) {
 			start.setTag("1"); // even, positive
@@ -1374,6 +2296,7 @@ public class Canvas extends JComponent {
 
 		// add the location to the main chain
 		compound.getMainChain().addFunctionalLocation(idx + 1 + "");
+		drawn.addBondLocation(idx + 1);
 
 	} // end addBondNode
 
@@ -1391,6 +2314,7 @@ public class Canvas extends JComponent {
 	 * FuncGroup group - group to add to the list
 	 */
 	public void addFuncGroup(FuncGroup group) {
+		invalidateMolecule();
 		groups.add(group);
 		ghostGroup = group;
 	} // end addFuncGroup
@@ -1408,6 +2332,7 @@ public class Canvas extends JComponent {
 	 * Node n - node to add to list
 	 */
 	public void addFuncNode(Node n) {
+		invalidateMolecule();
 		groupNodes.add(n);
 		addSideChain(n);
 	} // end addFuncNode
@@ -1417,6 +2342,7 @@ public class Canvas extends JComponent {
 	 * DrawDirection dir - direction for latest side chain
 	 */
 	public void addFuncDirection(DrawDirection dir) {
+		invalidateMolecule();
 		groupDirs.add(dir);
 	} // end addFuncDirection
 
@@ -1427,6 +2353,7 @@ public class Canvas extends JComponent {
 	 * int step - step for main drawing
 	 */
 	public void setMainStep(int step) {
+		invalidateMolecule();
 		// if outside of the range
 		if (step < 0 || step > 4) {
 			throw new IllegalArgumentException("Too much for me :(");
@@ -1450,6 +2377,7 @@ public class Canvas extends JComponent {
 	 * int step - step for side drawing
 	 */
 	public void setSideStep(int step) {
+		invalidateMolecule();
 		if (step < 0 || step > 4) {
 			throw new IllegalArgumentException("Too much for me :(");
 		} else {
@@ -1472,6 +2400,7 @@ public class Canvas extends JComponent {
 	 * int step - step for side drawing
 	 */
 	public void setBondStep(int step) {
+		invalidateMolecule();
 		if (step < 0 || step > 3) {
 			throw new IllegalArgumentException("Too much for me :(");
 		} else {
@@ -1494,6 +2423,7 @@ public class Canvas extends JComponent {
 	 * int step - step for group drawing
 	 */
 	public void setFuncStep(int step) {
+		invalidateMolecule();
 		if (step < 0 || step > 3) {
 			throw new IllegalArgumentException("Too much for me :(");
 		} else {
@@ -1531,14 +2461,6 @@ public class Canvas extends JComponent {
 			return this.name;
 	} //end getName
 
-	/*
-	 * Get the no updates set
-	 * return noUpdate - set of Strings containing what to not update
-	 */
-	public HashSet<String> getNoUpdate() {
-		return noUpdate;
-	} // end getNoUpdate
-
 	/*
 	 * Get whether there is a main chain on the screen
 	 * return mainOnScreen - whether the main chain is on the screen
@@ -1565,11 +2487,19 @@ public class Canvas extends JComponent {
 		return compound;
 	} // end getCompound
 
+	/*
+	 * Get the finished compound, with its ending set and numbered, i.e for naming
+	 * return - compound as it would be named, shared so it must not be changed
+	 */
+	public Compound getDrawnCompound() {
+		return drawn.getCompound();
+	} // end getDrawnCompound
+
 	/*
 	 * Get the endings String list 
 	 * return - list of endings for the main chain
 	 */
-	public ArrayList<String> getEndings() {
+	public List<String> getEndings() {
 		// set the ending
 		compound.getMainChain().setEnding(compound.getMainChain().getBond() - 1); // position in organic util array
 
@@ -1582,8 +2512,14 @@ public class Canvas extends JComponent {
 	 * Compound c - compound to draw
 	 */
 	public void setCompound(Compound c) {
+		invalidateMolecule();
 		/// set the compound
 		this.compound = c; 
+		drawn.setCompound(c); // already finished
+
+		// the edits were made on the compound that was replaced
+		history.clear();
+		pending = null;
 
 		// set all the steps to the final drawing steps
 		this.mainStep = 4;
@@ -1598,6 +2534,27 @@ public class Canvas extends JComponent {
 		this.type = ActionType.MAIN;
 	}// end setCompound
 
+	/*
+	 * Show a compound from its finished layout, replacing whatever was on the canvas
+	 * Layout layout - placement of every atom, side chain, group and bond
+	 */
+	public void setLayout(Layout layout) {
+		reset();
+		setCompound(layout.getCompound());
+		scale = layout.getScale();
+
+		mainNodes.addAll(layout.getMainNodes());
+		sideNodes.addAll(layout.getSideNodes());
+		sideChains.addAll(layout.getSideChains());
+		directions.addAll(layout.getSideDirections());
+		groups.addAll(layout.getGroups());
+		groupNodes.addAll(layout.getGroupNodes());
+		groupDirs.addAll(layout.getGroupDirections());
+		bondNodes.addAll(layout.getBondNodes());
+		bondSizes.addAll(layout.getBondSizes());
+		hydrogenCounter = layout.getHydrogens();
+	} // end setLayout
+
 	/*
 	 * Reset the compounds and all associated lists and sets
 	 */
@@ -7,23 +7,51 @@
  * Controller for the canvas that updates all nodes
  */
 
+import java.awt.Color;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
-import java.util.HashSet;
 
 import ochem.drawing.DrawingUtil.DrawDirection;
+import ochem.drawing.DrawingUtil.FuncGroup;
 
-public class CanvasController implements MouseListener, MouseMotionListener {
+public class CanvasController implements MouseListener, MouseMotionListener, MouseWheelListener {
 	// Attributes
 	private Canvas canvas; // instance of the Canvas to be updated
 
 	private DrawDirection dir; // direction for a side chain
 	private Node current; // node representing mouse
 
+	// hover highlighting
+	private int hovered; // index of the highlighted main node, -1 if none
+	private int hoverMode; // what the highlight colors were set up for, 0 if nothing
+	private ArrayList<Node> hoverNodes; // main nodes the highlight colors were set on
+	private int hoverSize; // number of main nodes when the colors were set
+
+	// mouse moves, only the latest one each frame is handled
+	private FrameScheduler scheduler; // runs the latest move once per frame
+	private int moveX; // latest mouse x on the canvas
+	private int moveY; // latest mouse y on the canvas
+	private final int FRAME_MS = 16; // time between frames, about 60 per second
+
+	// moving the view
+	private boolean panning; // whether the middle button is dragging the view
+	private int panX; // mouse x at the last drag
+	private int panY; // mouse y at the last drag
+	private final double ZOOM_STEP = 1.1; // zoom for one notch of the wheel
+
+	// hover modes
+	private final int SIDE_HOVER = 1;
+	private final int BOND_HOVER = 2;
+	private final int FUNC_HOVER = 3; // plus the ordinal of the ghost group
+
 	// button presses
 	private final int LEFT_CLICK = MouseEvent.BUTTON1;
+	private final int MIDDLE_CLICK = MouseEvent.BUTTON2;
 	private final int RIGHT_CLICK = MouseEvent.BUTTON3;
 
 	/*
@@ -40,6 +68,10 @@ public class CanvasController implements MouseListener, MouseMotionListener {
 		canvas.setGhostDirection(dir); // set it to the canvas
 
 		current = new Node(0, 0, 20); // instantiate a node at origin
+		hovered = -1;
+		hoverMode = 0;
+
+		scheduler = new FrameScheduler(FRAME_MS, () -> handleMove(moveX, moveY));
 	} // end constructor
 
 	/*
@@ -47,12 +79,41 @@ public class CanvasController implements MouseListener, MouseMotionListener {
 	 * MouseEvent m - object holding data about the press
 	 */
 	public void mousePressed(MouseEvent m) {
+		// the middle button moves the view instead of drawing
+		if (m.getButton() == MIDDLE_CLICK) {
+			panning = true;
+			panX = m.getX();
+			panY = m.getY();
+			return;
+		} // if
+
+		// catch up on the last move so the ghost direction matches what is on the screen
+		scheduler.flush();
 
-		current = new Node(m.getX(), m.getY(), 20); // create a temporary node from the mouse coordinates
+		Point2D model = canvas.toModel(m.getX(), m.getY());
+		press(m.getButton(), (int) model.getX(), (int) model.getY());
+	} // end mousePressed
+
+	/*
+	 * Click the canvas, the same as a mouse press but in drawing coordinates so a
+	 * recorded session can be replayed without a screen
+	 * int button - MouseEvent.BUTTON1 or MouseEvent.BUTTON3
+	 * int x - x of the click in the drawing
+	 * int y - y of the click in the drawing
+	 */
+	public void press(int button, int x, int y) {
+		current.setXY(x, y); // move the mouse node to the click
+
+		// log the click by the node it landed on
+		ActionRecorder recorder = canvas.getRecorder();
+		if (recorder != null) {
+			int i = canvas.getNodeIndex().find(x, y, NodeIndex.CLICK);
+			recorder.click(button, i, i == -1 ? "" : canvas.getMainNodes().get(i).getTag(), x, y);
+		} // if
 
 		// different action based on the click and canvas type
 		// if left clicked
-		if (m.getButton() == LEFT_CLICK) {
+		if (button == LEFT_CLICK) {
 			switch (canvas.getType()) {
 
 				case MAIN: // main type
@@ -73,12 +134,12 @@ public class CanvasController implements MouseListener, MouseMotionListener {
 			} // switch
 
 			// if right clicked
-		} else if (m.getButton() == RIGHT_CLICK) {
+		} else if (button == RIGHT_CLICK) {
 			sideRight();
 		}
 
 		canvas.updateDisplay(); // update the canvas
-	} // end mousePressed
+	} // end press
 
 	// ACTION METHODS//
 	/*
@@ -90,6 +151,7 @@ public class CanvasController implements MouseListener, MouseMotionListener {
 		if (canvas.getMainStep() == 3) {
 			canvas.setMainStart(current.getX(), current.getY()); // set the start position for the main chain
 			canvas.setMainStep(4); // step forward
+			canvas.commitEdit(CanvasEdit.MAIN); // the main chain can be undone
 		} // if
 	} // end mainLeft
 	
@@ -97,26 +159,18 @@ public class CanvasController implements MouseListener, MouseMotionListener {
 	 * Action for when screen is left clicked with the "side" type
 	 */
 	private void sideLeft() {
-		// create a temporary list with all the side nodes
+		// find the selectable main node that was clicked
 		ArrayList<Node> mainNodes = canvas.getMainNodes();
-
-		// loop through all nodes to see if click was on a main node
-		for (int i = 0; i < mainNodes.size(); i++) {
-			//if the node's tag is valid
-			if (!canvas.getNoUpdate().contains(mainNodes.get(i).getTag())) {
-				Node n = mainNodes.get(i); // current side node
-
-				// if click was on a main node
-				if (DrawingUtil.isWithinBounds(current.getCenterX(), current.getCenterY(), n.getCenterX(), n.getCenterY(),
-						n.getDia())) {
-					n.setTag(n.getTag()); // set the location for that chain
-					canvas.addSideNode(n); // add that node to the side nodes list
-					canvas.addSideDirection(dir); // save that direction into the chain
-					canvas.setSideStep(4); // step forward
-					break; // exit loop (don't need to check other nodes)
-				} // if
-			} //big if
-		} // loop
+		int i = canvas.getNodeIndex().find(current.getX(), current.getY(), NodeIndex.CLICK, 0, mainNodes.size(), true);
+
+		// if click was on a main node once the chain is ready to place
+		if (i != -1 && canvas.getSideStep() == 3) {
+			Node n = mainNodes.get(i); // current side node
+			canvas.addSideNode(n); // add that node to the side nodes list
+			canvas.addSideDirection(dir); // save that direction into the chain
+			canvas.setSideStep(4); // step forward
+			canvas.commitEdit(CanvasEdit.SIDE); // the side chain can be undone
+		} // if
 	} // end sideLeft
 
 	/*
@@ -135,320 +189,275 @@ public class CanvasController implements MouseListener, MouseMotionListener {
 	 * Action for when screen is left clicked with the "bond" type
 	 */
 	private void bondLeft() {
-		// temporary list with all the nodes
-		ArrayList<Node> mainNodes = canvas.getMainNodes();
-
-		int end;
-		if (canvas.getMainCyclo()) {
-			end = mainNodes.size();
-		} else {
-			end = mainNodes.size() - 1;
+		// find the clicked main node (not last one, cannot have bond on last node)
+		int i = canvas.getNodeIndex().find(current.getX(), current.getY(), NodeIndex.CLICK, 0, bondEnd(), false);
+
+		// if the click was on a valid node once the bond size is in
+		if (i != -1 && canvas.getBondStep() == 2) {
+			canvas.addBondNode(i); // add that node to the bonded nodes
+			canvas.setBondStep(3); // increment the bond step
+			canvas.commitEdit(CanvasEdit.BOND); // the bond can be undone
 		} // if
-
-		// loop through main nodes (not last one, cannot have bond on last node)
-		for (int i = 0; i < end; i++) {
-			Node n = mainNodes.get(i); // current node
-
-			// if the click was on a valid node
-			if (DrawingUtil.isWithinBounds(current.getCenterX(), current.getCenterY(), n.getCenterX(), n.getCenterY(),
-					n.getDia())) {
-				canvas.addBondNode(i); // add that node to the bonded nodes
-				canvas.setBondStep(3); // increment the bond step
-				break; // exit loop
-			} // if
-		} // loop
 	} // end bondLeft
 
 	/*
 	 * Action for when screen is left clicked with the "functional group" type
 	 */
 	private void funcLeft() {
-
 		// temporary list with all the nodes
 		ArrayList<Node> mainNodes = canvas.getMainNodes();
 
-		// different nodes can be clicked depending on group
-		switch (canvas.getGhostGroup()) {
-			case FLUORINE:
-			case CHLORINE:
-			case IODINE:
-			case BROMINE:
-			case ALCOHOL:
-			case AMINE:
-			case ETHER:
-				// show all nodes
-				for (int i = 0; i < mainNodes.size(); i++) {
-					Node n = mainNodes.get(i);
-
-					// if the click was on a valid node
-					if (DrawingUtil.isWithinBounds(current.getCenterX(), current.getCenterY(), n.getCenterX(), n.getCenterY(),
-							n.getDia())) {
-						canvas.addFuncNode(n); // add that node to the functional group nodes
-						canvas.addFuncDirection(dir); // save that direction into the list
-						canvas.setFuncStep(2); // increment the bond step
-						break; // exit loop
-					} // if
-				} // loop
-				break;
-
-			case ALDEHYDE:
-			case CARBOXYLIC_ACID:
-			case AMIDE:
-			case ESTER:
-				// first node
-				if (DrawingUtil.isWithinBounds(current.getCenterX(), current.getCenterY(), mainNodes.get(0).getCenterX(),
-						mainNodes.get(0).getCenterY(), mainNodes.get(0).getDia())) {
-					canvas.addFuncNode(mainNodes.get(0)); // add the first node
-					canvas.addFuncDirection(dir); // save that direction into the list
-					canvas.setFuncStep(2); // increment the bond step
-
-				//last node
-				} else if (DrawingUtil.isWithinBounds(current.getCenterX(), current.getCenterY(),
-						mainNodes.get(mainNodes.size() - 1).getCenterX(),
-						mainNodes.get(mainNodes.size() - 1).getCenterY(),
-						mainNodes.get(mainNodes.size() - 1).getDia())) {
-					canvas.addFuncNode(mainNodes.get(mainNodes.size() - 1)); // add the first node
-					canvas.addFuncDirection(dir); // save that direction into the list
-					canvas.setFuncStep(2); // increment the bond step
-				} // if
-
-				break;
-
-			case KETONE:
-				// show all inner nodes (not first or last)
-				for (int i = 1; i < mainNodes.size() - 1; i++) {
-					Node n = mainNodes.get(i);
-
-					// if the click was on a valid node
-					if (DrawingUtil.isWithinBounds(current.getCenterX(), current.getCenterY(), n.getCenterX(), n.getCenterY(),
-							n.getDia())) {
-						canvas.addFuncNode(n); // add that node to the functional group nodes
-						canvas.addFuncDirection(dir); // save that direction into the list
-						canvas.setFuncStep(2); // increment the bond step
-						break; // exit loop
-					} // if
-				} // loop
-				break;
+		// find the clicked node out of the ones the group can go on
+		int i = findFuncNode(current.getX(), current.getY(), NodeIndex.CLICK);
 
-		} // switch
+		// if the click was on a valid node once the group is chosen
+		if (i != -1 && canvas.getFuncStep() == 1) {
+			canvas.addFuncNode(mainNodes.get(i)); // add that node to the functional group nodes
+			canvas.addFuncDirection(dir); // save that direction into the list
+			canvas.setFuncStep(2); // increment the bond step
+			canvas.commitEdit(CanvasEdit.GROUP); // the group can be undone
+		} // if
 	} // end funcLeft
 
 
 	/*
-	 * Send the mouse position to the canvas
+	 * Queue the mouse position to be sent to the canvas on the next frame
+	 * MouseEvent m - holds information about the move
 	 */
 	public void mouseMoved(MouseEvent m) {
+		// keep only the latest position, the scheduler handles it on the next frame
+		moveX = m.getX();
+		moveY = m.getY();
+		canvas.interact(); // cheap frames while the mouse moves
+		scheduler.request();
+	} // end mouseMoved
+
+	/*
+	 * Handle the latest mouse position
+	 * int screenX - mouse x on the canvas
+	 * int screenY - mouse y on the canvas
+	 */
+	private void handleMove(int screenX, int screenY) {
+		Point2D model = canvas.toModel(screenX, screenY);
+		moveTo((int) model.getX(), (int) model.getY());
+	} // end handleMove
 
+	/*
+	 * Move the mouse over the canvas, highlighting what it is over and turning the
+	 * ghosts to match
+	 * int x - mouse x in the drawing
+	 * int y - mouse y in the drawing
+	 */
+	public void moveTo(int x, int y) {
 		// send the mouse (x,y) to the canvas
-		canvas.setMouseXY(m.getX(), m.getY());
-		current = new Node(m.getX(), m.getY(), 20);
+		canvas.setMouseXY(x, y);
+		current.setXY(x, y);
 
 		// if on the side drawing step
 		if (canvas.getSideStep() == 3) {
-			showSideNodes(m); // show clickable side nodes
+			showSideNodes(x, y); // show clickable side nodes
 
 			// showing bonding nodes
 		} else if (canvas.getBondStep() == 2) {
-			showBondNodes(m); // show clickable bond nodes
+			showBondNodes(x, y); // show clickable bond nodes
 
 			// showing functional group nodes
 		} else if (canvas.getFuncStep() == 1) {
-			showFuncNodes(m);
+			showFuncNodes(x, y);
 
 		} // if
 
-		// update the display
-		canvas.updateDisplay();
-	} // end mouseMoved
+		// repaint only what the move changed
+		canvas.updateHover();
+	} // end moveTo
 
 	// MOTION//
 
 	/*
 	 * Show the side nodes able to be clicked
-	 * MouseEvent m - holds information about the click event
+	 * int x - mouse x
+	 * int y - mouse y
 	 */
-	private void showSideNodes(MouseEvent m) {
-		// change node color based on mouse position
+	private void showSideNodes(int x, int y) {
 		ArrayList<Node> mainNodes = canvas.getMainNodes(); // list of nodes
-		Node ms = new Node(m.getX(), m.getY(), mainNodes.get(0).getRad()); // mouse node
-
-		//set of all node tags that can't be updated
-		HashSet<String> noUpdate = canvas.getNoUpdate();
-		
-		// loop through all main nodes
-		for (int i = 0; i < mainNodes.size(); i++) {
-			
-			if (!noUpdate.contains(mainNodes.get(i).getTag())) { //if the tag isn't in the no update set, valid
-				
-				// if mouse is over the node
-				if (DrawingUtil.isWithinBounds(ms.getCenterX(), ms.getCenterY(), mainNodes.get(i).getCenterX(),
-						mainNodes.get(i).getCenterY(), mainNodes.get(i).getRad())) {
-					
-					DrawingUtil.printCM();
-					System.out.println(mainNodes.get(i).getTag());
-					
-					// make its color darker
-					mainNodes.get(i).setColor(DrawingUtil.DARK_YELLOW); 
-					
-					// if not a cycloidal chain
-					if (!canvas.getMainCyclo() && !canvas.getMainBenzene() && DrawingUtil.isNumber(mainNodes.get(i).getTag())) {
-						// change direction of the ghost chain depending on node position on chain
-						if (i % 2 == 0) {
-							dir = DrawDirection.DOWN_RIGHT; // even, down
-						} else {
-							dir = DrawDirection.UP_RIGHT; // odd, up
-						} // if
-						
-						canvas.setGhostDirection(dir); // set the ghost direction for the canvas
-					} // if
-					
-				} else {
-					// return to the default lighter color
-					mainNodes.get(i).setColor(DrawingUtil.LIGHT_YELLOW); 
-				} // if
-				
-			} //big if
-		} // loop
+		NodeStore nodes = canvas.getNodeStore(); // flat copy of the nodes
+
+		// find the selectable node the mouse is over
+		int i = canvas.getNodeIndex().find(x, y, NodeIndex.HOVER, 0, nodes.size(), true);
+		if (i != hovered && i != -1) {
+			DrawingUtil.printCM();
+			System.out.println(mainNodes.get(i).getTag());
+		} // if
+
+		highlight(i, SIDE_HOVER, DrawingUtil.LIGHT_YELLOW, DrawingUtil.DARK_YELLOW);
+
+		// if not a cycloidal chain
+		if (i != -1 && !canvas.getMainCyclo() && !canvas.getMainBenzene() && nodes.getKind(i) == NodeStore.ATOM) {
+			// change direction of the ghost chain depending on node position on chain
+			if (i % 2 == 0) {
+				dir = DrawDirection.DOWN_RIGHT; // even, down
+			} else {
+				dir = DrawDirection.UP_RIGHT; // odd, up
+			} // if
+
+			canvas.setGhostDirection(dir); // set the ghost direction for the canvas
+		} // if
 	} // end showSideNodes
 
 	/*
 	 * Show the bond nodes
-	 * MouseEvent m - holds information about the click event
+	 * int x - mouse x
+	 * int y - mouse y
 	 */
-	private void showBondNodes(MouseEvent m) {
+	private void showBondNodes(int x, int y) {
+		// find the node the mouse is over
+		int i = canvas.getNodeIndex().find(x, y, NodeIndex.HOVER, 0, bondEnd(), false);
 
-		// change node color based on mouse position
-		ArrayList<Node> nodes = canvas.getMainNodes(); // list of main nodes
-		Node ms = new Node(m.getX(), m.getY(), nodes.get(0).getRad()); // node for mouse
-		boolean wasOver = false; // whether the mouse was over a node
+		highlight(i, BOND_HOVER, DrawingUtil.LIGHT_RED, DrawingUtil.DARK_RED);
 
-		// change end node based on whether main chain is cyclo
-		int end;
-		if (canvas.getMainCyclo()) {
-			end = nodes.size();
+		// set the index for the ghost bond, -1 if the mouse wasn't over a selectable node
+		canvas.setGhostBondIndex(i);
+	} // end showBondNodes
+
+	/*
+	 * Show the functional group nodes
+	 * int x - mouse x
+	 * int y - mouse y
+	 */
+	private void showFuncNodes(int x, int y) {
+		FuncGroup group = canvas.getGhostGroup();
+
+		// the end groups were always checked with the mouse node's diameter
+		int reach;
+		if (isEndGroup(group)) {
+			reach = NodeIndex.CLICK;
 		} else {
-			end = nodes.size() - 1;
+			reach = NodeIndex.HOVER;
 		} // if
 
-		// loop through selectable nodes to see if mouse is over
-		for (int i = 0; i < end; i++) {
-			// if mouse is over the node
-			if (DrawingUtil.isWithinBounds(ms.getCenterX(), ms.getCenterY(), nodes.get(i).getCenterX(), nodes.get(i).getCenterY(),
-					nodes.get(i).getRad())) {
-				// make its color darker
-				nodes.get(i).setColor(DrawingUtil.DARK_RED); // dark yellow
-
-				// set the index for the ghost bond to the index of the mouse
-				canvas.setGhostBondIndex(i);
-				wasOver = true;
-
-			} else { // mouse is not over the node
-				// return to the default lighter color
-				nodes.get(i).setColor(DrawingUtil.LIGHT_RED); // light yellow
+		// find the node the mouse is over
+		int i = findFuncNode(x, y, reach);
+
+		highlight(i, FUNC_HOVER + group.ordinal(), DrawingUtil.LIGHT_BLUE, DrawingUtil.DARK_BLUE);
+
+		// if not a cycloidal chain, change direction of the ghost group depending on node
+		// position on chain
+		if (i != -1 && !isEndGroup(group) && !canvas.getMainCyclo() && !canvas.getMainBenzene()) {
+			if (group == FuncGroup.KETONE) {
+				dir = DrawingUtil.oxyDirection(i);
+			} else if (i % 2 == 0) {
+				dir = DrawDirection.DOWN_RIGHT; // even, down
+			} else {
+				dir = DrawDirection.UP_RIGHT; // odd, up
 			} // if
-		} // loop
 
-		// if the mouse wasn't over a selectable node, don't draw the bond index
-		if (!wasOver) {
-			canvas.setGhostBondIndex(-1);
+			canvas.setGhostDirection(dir); // set the ghost direction for the canvas
 		} // if
-	} // end showBondNodes
+	} // end showFuncNodes
+
+	// HIT TESTING//
 
 	/*
-	 * Show the functional group nodes
-	 * MouseEvent m - holds information about the click
+	 * Find the node the ghost group can go on at a point
+	 * int x - x of the point
+	 * int y - y of the point
+	 * int reach - NodeIndex.HOVER or NodeIndex.CLICK
+	 * return i - index of the main node, -1 if none
 	 */
-	private void showFuncNodes(MouseEvent m) {
+	private int findFuncNode(int x, int y, int reach) {
+		NodeIndex index = canvas.getNodeIndex();
+		int size = canvas.getNodeStore().size();
 
-		// change node color based on mouse position
-		ArrayList<Node> nodes = canvas.getMainNodes(); // list of main nodes
-		Node ms = new Node(m.getX(), m.getY(), nodes.get(0).getRad()); // node for mouse
-
-		// different nodes can be clicked depending on group
 		switch (canvas.getGhostGroup()) {
-			case FLUORINE:
-			case CHLORINE:
-			case IODINE:
-			case BROMINE:
-			case ALCOHOL:
-			case AMINE:
-			case ETHER:
-
-				// show all nodes
-				for (int i = 0; i < nodes.size(); i++) {
-					// if mouse is over the node
-					if (DrawingUtil.isWithinBounds(ms.getCenterX(), ms.getCenterY(), nodes.get(i).getCenterX(),
-							nodes.get(i).getCenterY(), nodes.get(i).getRad())) {
-						// make its color darker
-						nodes.get(i).setColor(DrawingUtil.DARK_BLUE); // dark green
-
-						// if not a cycloidal chain
-						if (!canvas.getMainCyclo() && !canvas.getMainBenzene()) {
-							// change direction of the ghost chain depending on node position on chain
-							if (i % 2 == 0) {
-								dir = DrawDirection.DOWN_RIGHT; // even, down
-							} else {
-								dir = DrawDirection.UP_RIGHT; // odd, up
-							} // if
-
-							canvas.setGhostDirection(dir); // set the ghost direction for the canvas
-						} // if
-
-					} else { // mouse is not over the node
-						// return to the default lighter color
-						nodes.get(i).setColor(DrawingUtil.LIGHT_BLUE); // light green
-					} // if
-				} // loop
-				break;
-
 			case ALDEHYDE:
 			case CARBOXYLIC_ACID:
 			case AMIDE:
 			case ESTER:
-				// first node
-				if (DrawingUtil.isWithinBounds(current.getCenterX(), current.getCenterY(), nodes.get(0).getCenterX(),
-						nodes.get(0).getCenterY(), nodes.get(0).getDia())) {
-					nodes.get(0).setColor(DrawingUtil.DARK_BLUE);
-				} else {
-					nodes.get(0).setColor(DrawingUtil.LIGHT_BLUE);
-				}
-
-				// last node
-				if (DrawingUtil.isWithinBounds(current.getCenterX(), current.getCenterY(), nodes.get(nodes.size() - 1).getCenterX(),
-						nodes.get(nodes.size() - 1).getCenterY(), nodes.get(nodes.size() - 1).getDia())) {
-					nodes.get(nodes.size() - 1).setColor(DrawingUtil.DARK_BLUE);
-				} else {
-					nodes.get(nodes.size() - 1).setColor(DrawingUtil.LIGHT_BLUE);
-				}
-
-				break;
-				
+				// first or last node
+				int i = index.find(x, y, reach);
+				if (i == 0 || i == size - 1)
+					return i;
+				return -1;
+
 			case KETONE:
-				// show all inner nodes (not first or last)
-				for (int i = 1; i < nodes.size() - 1; i++) {
-					// if mouse is over the node
-					if (DrawingUtil.isWithinBounds(ms.getCenterX(), ms.getCenterY(), nodes.get(i).getCenterX(),
-							nodes.get(i).getCenterY(), nodes.get(i).getRad())) {
-						// make its color darker
-						nodes.get(i).setColor(DrawingUtil.DARK_BLUE); // dark green
-
-						// if not a cycloidal chain
-						if (!canvas.getMainCyclo() && !canvas.getMainBenzene()) {
-							// change direction of the ghost chain depending on node position on chain
-							dir = DrawingUtil.oxyDirection(i);
-
-							canvas.setGhostDirection(dir); // set the ghost direction for the canvas
-						} // if
-
-					} else { // mouse is not over the node
-						// return to the default lighter color
-						nodes.get(i).setColor(DrawingUtil.LIGHT_BLUE); // light green
-					} // if
-				} // loop
-				break;
+				// inner nodes (not first or last)
+				return index.find(x, y, reach, 1, size - 1, false);
 
+			default:
+				// all nodes
+				return index.find(x, y, reach);
 		} // switch
-	} // end showFuncNodes
+	} // end findFuncNode
+
+	/*
+	 * Check if a group can only go on the ends of the main chain
+	 * FuncGroup group - group to check
+	 * return - whether the group is an aldehyde, acid, amide or ester
+	 */
+	private boolean isEndGroup(FuncGroup group) {
+		return group == FuncGroup.ALDEHYDE || group == FuncGroup.CARBOXYLIC_ACID || group == FuncGroup.AMIDE
+				|| group == FuncGroup.ESTER;
+	} // end isEndGroup
+
+	/*
+	 * Get the index after the last main node a bond can start on
+	 * return - number of main nodes for a cyclo, one less otherwise
+	 */
+	private int bondEnd() {
+		int size = canvas.getMainNodes().size();
+		if (canvas.getMainCyclo()) {
+			return size;
+		} else {
+			return size - 1;
+		} // if
+	} // end bondEnd
+
+	/*
+	 * Highlight the node under the mouse, only touching the nodes whose color changes
+	 * int i - handle of the node under the mouse, -1 if none
+	 * int mode - what the colors are for, all nodes are reset to light when it changes
+	 * Color light - color of a selectable node
+	 * Color dark - color of the node under the mouse
+	 */
+	private void highlight(int i, int mode, Color light, Color dark) {
+		ArrayList<Node> mainNodes = canvas.getMainNodes();
+		NodeStore nodes = canvas.getNodeStore();
+
+		if (mode != hoverMode || mainNodes != hoverNodes || nodes.size() != hoverSize) {
+			// new step or new nodes, set every node to the light color once
+			for (int h = 0; h < nodes.size(); h++) {
+				nodes.setColor(h, light);
+			} // loop
+
+			hoverMode = mode;
+			hoverNodes = mainNodes;
+			hoverSize = nodes.size();
+
+		} else if (hovered != -1 && hovered != i) {
+			// return the last node to the default lighter color
+			nodes.setColor(hovered, light);
+		} // if
+
+		// make the node under the mouse darker
+		if (i != -1) {
+			nodes.setColor(i, dark);
+		} // if
+
+		hovered = i;
+	} // end highlight
+
+	/*
+	 * Go back to the direction and highlights the controller starts with
+	 */
+	public void reset() {
+		dir = DrawDirection.UP_RIGHT; // default draw direction
+		canvas.setGhostDirection(dir);
+
+		hovered = -1;
+		hoverMode = 0;
+		hoverNodes = null;
+		hoverSize = 0;
+	} // end reset
 
 	/*
 	 * String representation of the object used for debugging
@@ -458,28 +467,51 @@ public class CanvasController implements MouseListener, MouseMotionListener {
 		return "CanvasController";
 	} // end toString
 
-	// UNUSED INTERFACE METHODS//
+	// VIEW//
 
 	/*
-	 * Required by interface
+	 * Move the view while the middle button is held
+	 * MouseEvent m - holds information about the drag
 	 */
-	public void mouseDragged(MouseEvent arg0) {
-
-	}
+	public void mouseDragged(MouseEvent m) {
+		if (panning) {
+			canvas.interact(); // cheap frames while the view moves
+			canvas.panBy(m.getX() - panX, m.getY() - panY);
+			panX = m.getX();
+			panY = m.getY();
+		} // if
+	} // end mouseDragged
 
 	/*
-	 * Required by interface
+	 * Stop moving the view when the middle button is let go
+	 * MouseEvent m - holds information about the release
 	 */
 	public void mouseReleased(MouseEvent m) {
-
-	}
+		if (m.getButton() == MIDDLE_CLICK) {
+			panning = false;
+		} // if
+	} // end mouseReleased
 
 	/*
-	 * Required by interface
+	 * Go back to the fitted view on a double click of the middle button
+	 * MouseEvent m - holds information about the click
 	 */
 	public void mouseClicked(MouseEvent m) {
+		if (m.getButton() == MIDDLE_CLICK && m.getClickCount() == 2) {
+			canvas.resetView();
+		} // if
+	} // end mouseClicked
 
-	}
+	/*
+	 * Zoom in or out around the mouse with the wheel
+	 * MouseWheelEvent m - holds how far the wheel turned
+	 */
+	public void mouseWheelMoved(MouseWheelEvent m) {
+		canvas.interact(); // cheap frames while zooming
+		canvas.zoomAt(Math.pow(ZOOM_STEP, -m.getPreciseWheelRotation()), m.getX(), m.getY());
+	} // end mouseWheelMoved
+
+	// UNUSED INTERFACE METHODS//
 
 	/*
 	 * Required by interface
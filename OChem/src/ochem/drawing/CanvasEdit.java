@@ -0,0 +1,51 @@
+package ochem.drawing;
+
+/*
+ * CanvasEdit
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * One finished edit on the canvas, kept as only what it changed: the length each list
+ * had on the other side of the edit, the few steps and flags it changed, and the items
+ * taken off the lists once it is undone. Undoing and redoing swap the two sides, so
+ * either costs the size of the edit
+ */
+
+import java.util.ArrayList;
+
+public class CanvasEdit {
+	// Kinds of edits
+	public static final int MAIN = 0; // main chain placed
+	public static final int SIDE = 1; // side chain placed
+	public static final int BOND = 2; // double or triple bond placed
+	public static final int GROUP = 3; // functional group placed
+	public static final int ERASE = 4; // everything cleared
+
+	// Attributes, read and swapped by the canvas
+	int kind; // what the edit was
+	int[] counts; // length of each list on the other side of the edit
+	ArrayList<?>[] tails; // items taken off each list by the last undo, null if none
+	int[] values; // steps, flags and main chain on the other side of the edit
+	double scale; // scale on the other side of the edit
+	ArrayList<Node> mainNodes; // main node list on the other side, replaced when the main chain is laid out
+	Node tagged; // main node whose tag the edit changed, null if none
+	String tag; // tag of that node on the other side of the edit
+
+	/*
+	 * Create an edit from the state before it
+	 * int lists - number of lists the canvas keeps
+	 * int fields - number of steps and flags the canvas keeps
+	 */
+	CanvasEdit(int lists, int fields) {
+		counts = new int[lists];
+		tails = new ArrayList<?>[lists];
+		values = new int[fields];
+	} // end constructor
+
+	/*
+	 * Get the kind of the edit
+	 * return kind - MAIN, SIDE, BOND, GROUP or ERASE
+	 */
+	public int getKind() {
+		return kind;
+	} // end getKind
+} // end CanvasEdit
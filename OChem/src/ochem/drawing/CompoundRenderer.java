@@ -0,0 +1,270 @@
+package ochem.drawing;
+
+/*
+ * CompoundRenderer
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Draws compounds to images or SVG without showing anything on the screen, one at a
+ * time or in batches across all cores, i.e for worksheets and answer keys
+ */
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import ochem.organic.Compound;
+
+public class CompoundRenderer {
+	// Attributes
+	private int width; // width of the images
+	private int height; // height of the images
+	private Canvas canvas; // canvas the compounds are laid out on, never shown
+	private Font font; // font labels are drawn with
+
+	/*
+	 * Create a renderer for images of one size
+	 * int width - width of the images
+	 * int height - height of the images
+	 */
+	public CompoundRenderer(int width, int height) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Image size must be positive");
+		} // if
+
+		this.width = width;
+		this.height = height;
+		this.canvas = new Canvas(width, height);
+		this.font = RenderCache.font(new Font(Font.DIALOG, Font.PLAIN, 12), DrawingUtil.FONT_SIZE);
+	} // end constructor
+
+	/*
+	 * Draw a compound to an image
+	 * Compound compound - compound to draw
+	 * return image - image of the compound on the canvas background
+	 */
+	public BufferedImage render(Compound compound) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2 = image.createGraphics();
+		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+		// background
+		g2.setBackground(DrawingUtil.CANVAS_BACKGROUND);
+		g2.clearRect(0, 0, width, height);
+
+		// compound, shrunk for long chains
+		Scene scene = layOut(compound, g2.getFontMetrics(font));
+		g2.scale(canvas.getScale(), canvas.getScale());
+		g2.setFont(font);
+		g2.setStroke(RenderCache.CHAIN_STROKE);
+		scene.replay(g2);
+
+		g2.dispose();
+		return image;
+	} // end render
+
+	/*
+	 * Draw a compound as an SVG document
+	 * Compound compound - compound to draw
+	 * return - SVG document of the compound on the canvas background
+	 */
+	public String renderSvg(Compound compound) {
+		StringBuilder svg = new StringBuilder(4096);
+
+		try {
+			writeSvg(compound, svg);
+		} catch (IOException e) { // a StringBuilder never fails
+			throw new IllegalStateException(e);
+		} // try-catch
+
+		return svg.toString();
+	} // end renderSvg
+
+	/*
+	 * Write a compound as an SVG document
+	 * Compound compound - compound to draw
+	 * Appendable out - where to write the document
+	 * throws IOException - if the document can't be written
+	 */
+	public void writeSvg(Compound compound, Appendable out) throws IOException {
+		// measure labels the same way an image would
+		BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2 = probe.createGraphics();
+		FontMetrics fm = g2.getFontMetrics(font);
+		g2.dispose();
+
+		Scene scene = layOut(compound, fm);
+
+		out.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(String.valueOf(width))
+				.append("\" height=\"").append(String.valueOf(height)).append("\" viewBox=\"0 0 ")
+				.append(String.valueOf(width)).append(' ').append(String.valueOf(height)).append("\">\n");
+		out.append("<rect width=\"100%\" height=\"100%\" fill=\"")
+				.append(String.format("#%06x", DrawingUtil.CANVAS_BACKGROUND.getRGB() & 0xFFFFFF)).append("\"/>\n");
+		out.append("<g transform=\"scale(").append(String.valueOf(canvas.getScale())).append(")\">\n");
+		scene.writeSvg(out);
+		out.append("</g>\n</svg>\n");
+	} // end writeSvg
+
+	/*
+	 * Lay a compound out on the hidden canvas
+	 * Compound compound - compound to lay out
+	 * FontMetrics fm - metrics of the font labels are drawn with
+	 * return - scene holding the compound, replaced by the next layout
+	 */
+	private Scene layOut(Compound compound, FontMetrics fm) {
+		// nothing to draw for a compound without a main chain, i.e a name that didn't parse
+		if (compound.getMainSize() <= 0) {
+			Scene empty = new Scene();
+			empty.clear(fm);
+			return empty;
+		} // if
+
+		canvas.setLayout(LayoutEngine.layOut(compound, width, height));
+		return canvas.layOutMolecule(fm);
+	} // end layOut
+
+	// BATCHES//
+
+	/*
+	 * Draw many compounds to images, spread over a number of threads
+	 * List<Compound> compounds - compounds to draw, not changed
+	 * int width - width of the images
+	 * int height - height of the images
+	 * int threads - number of threads to draw with, 0 for one per core
+	 * return images - image of each compound in the same order
+	 */
+	public static BufferedImage[] renderAll(List<Compound> compounds, int width, int height, int threads) {
+		BufferedImage[] images = new BufferedImage[compounds.size()];
+
+		try {
+			runBatch(compounds.size(), width, height, threads, (renderer, i) -> {
+				images[i] = renderer.render(compounds.get(i));
+			});
+		} catch (IOException e) { // only thrown when interrupted, nothing is written
+			throw new IllegalStateException(e);
+		} // try-catch
+
+		return images;
+	} // end renderAll
+
+	/*
+	 * Draw many compounds to numbered PNG or SVG files in a folder, spread over a number
+	 * of threads
+	 * List<Compound> compounds - compounds to draw, not changed
+	 * int width - width of the images
+	 * int height - height of the images
+	 * File dir - folder to write the files to, made if it doesn't exist
+	 * boolean svg - SVG files if true, PNG files if false
+	 * int threads - number of threads to draw with, 0 for one per core
+	 * return files - file written for each compound in the same order
+	 * throws IOException - if a file can't be written
+	 */
+	public static File[] exportAll(List<Compound> compounds, int width, int height, File dir, boolean svg,
+			int threads) throws IOException {
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Can't make the folder " + dir);
+		} // if
+
+		File[] files = new File[compounds.size()];
+		int digits = String.valueOf(Math.max(compounds.size() - 1, 0)).length();
+
+		runBatch(compounds.size(), width, height, threads, (renderer, i) -> {
+			String name = String.format("compound-%0" + digits + "d", i);
+
+			if (svg) {
+				files[i] = new File(dir, name + ".svg");
+				try (Writer out = new FileWriter(files[i])) {
+					renderer.writeSvg(compounds.get(i), out);
+				} // try
+			} else {
+				files[i] = new File(dir, name + ".png");
+				ImageIO.write(renderer.render(compounds.get(i)), "png", files[i]);
+			} // if
+		});
+
+		return files;
+	} // end exportAll
+
+	/*
+	 * Work done for one compound of a batch
+	 */
+	private interface Job {
+		/*
+		 * Draw one compound
+		 * CompoundRenderer renderer - renderer owned by the thread doing the work
+		 * int i - index of the compound in the batch
+		 * throws IOException - if the output can't be written
+		 */
+		void run(CompoundRenderer renderer, int i) throws IOException;
+	} // end Job
+
+	/*
+	 * Split a batch into one contiguous range per thread, each thread with its own
+	 * renderer since a canvas can only lay out one compound at a time
+	 * int count - number of compounds in the batch
+	 * int width - width of the images
+	 * int height - height of the images
+	 * int threads - number of threads to draw with, 0 for one per core
+	 * Job job - work to do for each compound
+	 * throws IOException - the first failure of any thread
+	 */
+	private static void runBatch(int count, int width, int height, int threads, Job job) throws IOException {
+		if (threads < 0) {
+			throw new IllegalArgumentException("Thread count can't be negative");
+		} // if
+		if (threads == 0) {
+			threads = Runtime.getRuntime().availableProcessors();
+		} // if
+		threads = Math.max(1, Math.min(threads, count));
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> parts = new ArrayList<Future<?>>();
+			for (int t = 0; t < threads; t++) {
+				int from = (int) ((long) count * t / threads);
+				int to = (int) ((long) count * (t + 1) / threads);
+
+				parts.add(pool.submit(() -> {
+					CompoundRenderer renderer = new CompoundRenderer(width, height);
+					for (int i = from; i < to; i++) {
+						job.run(renderer, i);
+					} // loop
+					return null;
+				}));
+			} // loop
+
+			// wait for every part, passing on the first failure
+			for (Future<?> part : parts) {
+				part.get();
+			} // loop
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Batch was interrupted", e);
+
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+
+		} finally {
+			pool.shutdownNow();
+		} // try-catch
+	} // end runBatch
+} // end CompoundRenderer
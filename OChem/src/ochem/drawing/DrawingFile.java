@@ -0,0 +1,748 @@
+package ochem.drawing;
+
+/*
+ * DrawingFile
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Saves and opens the drawing screen: the compound being drawn with the position of
+ * every node, and the molecules placed beside it. The file is a small header followed
+ * by compact binary records, and can also be exported as JSON for other programs
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import ochem.drawing.DrawingUtil.DrawDirection;
+import ochem.drawing.DrawingUtil.FuncGroup;
+import ochem.organic.Chain;
+import ochem.organic.Compound;
+import ochem.organic.OrganicUtil;
+import ochem.organic.SmilesWriter;
+
+public class DrawingFile {
+	// Start of every file
+	static final int MAGIC = 0x4F434844; // "OCHD"
+	static final int VERSION = 1;
+
+	// Flags after the version
+	private static final int HAS_DRAWING = 1; // a drawing follows the header
+
+	// Most items in any list of a file, more means the file is broken. Lists are never
+	// sized from the file ahead of reading them, so a bad count fails at the end of the data
+	private static final int MAX_COUNT = 1 << 16;
+
+	// Positions of a main chain's ending counts, the bonds and then the main group
+	private static final int ENDING_POSITIONS = 2;
+
+	// Flags of a chain
+	private static final int CYCLO = 1;
+	private static final int BENZENE = 2;
+
+	// Directions and groups, looked up by ordinal when reading
+	private static final DrawDirection[] DIRECTIONS = DrawDirection.values();
+	private static final FuncGroup[] GROUPS = FuncGroup.values();
+
+	/*
+	 * Save the canvas to a file, as JSON if the name ends in .json
+	 * Canvas canvas - canvas to save
+	 * File file - file to write
+	 */
+	public static void save(Canvas canvas, File file) throws IOException {
+		if (file.getName().toLowerCase().endsWith(".json")) {
+			try (Writer out = new BufferedWriter(
+					new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+				writeJson(canvas, out);
+			} // try
+		} else {
+			try (OutputStream out = new FileOutputStream(file)) {
+				write(canvas, out);
+			} // try
+		} // if
+	} // end save
+
+	/*
+	 * Open a saved file on the canvas, replacing what was there
+	 * File file - file to read
+	 * Canvas canvas - canvas to show it on
+	 */
+	public static void open(File file, Canvas canvas) throws IOException {
+		try (InputStream in = new FileInputStream(file)) {
+			read(in, canvas);
+		} // try
+	} // end open
+
+	// BINARY//
+
+	/*
+	 * Write the canvas
+	 * Canvas canvas - canvas to save
+	 * OutputStream out - stream to write to, left open
+	 */
+	public static void write(Canvas canvas, OutputStream out) throws IOException {
+		write(canvas.getDrawingLayout(), molecules(canvas), out);
+	} // end write
+
+	/*
+	 * Write a drawing and the molecules placed beside it
+	 * Layout drawing - drawing with its nodes, null if there is none
+	 * List<Compound> molecules - placed compounds from left to right
+	 * OutputStream out - stream to write to, left open
+	 */
+	public static void write(Layout drawing, List<Compound> molecules, OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeByte(drawing != null ? HAS_DRAWING : 0);
+		ActionRecorder.writeVarint(data, molecules.size());
+
+		if (drawing != null) {
+			writeLayout(data, drawing);
+		} // if
+
+		// only the structure of a placed molecule is kept, it's laid out when first shown
+		for (Compound c : molecules) {
+			writeCompound(data, c);
+		} // loop
+
+		data.flush();
+	} // end write
+
+	/*
+	 * Read a file and show it on the canvas
+	 * InputStream in - stream to read from
+	 * Canvas canvas - canvas to show it on
+	 */
+	public static void read(InputStream in, Canvas canvas) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Not a drawing file");
+		} // if
+
+		int version = data.readUnsignedByte();
+		if (version != VERSION) {
+			throw new IOException("Unknown drawing file version " + version);
+		} // if
+
+		int flags = data.readUnsignedByte();
+		int count = readCount(data, MAX_COUNT, "molecules");
+
+		Layout drawing = null;
+		if ((flags & HAS_DRAWING) != 0) {
+			drawing = readLayout(data);
+		} // if
+
+		ArrayList<Compound> molecules = new ArrayList<Compound>();
+		for (int i = 0; i < count; i++) {
+			molecules.add(readCompound(data));
+		} // loop
+
+		// nothing on the canvas changes unless the whole file was read
+		canvas.open(drawing, molecules);
+	} // end read
+
+	/*
+	 * Write a drawing, with the nodes of each list written as their place in the main nodes
+	 * DataOutputStream out - stream to write to
+	 * Layout layout - drawing to write
+	 */
+	private static void writeLayout(DataOutputStream out, Layout layout) throws IOException {
+		writeCompound(out, layout.getCompound());
+		out.writeDouble(layout.getScale());
+		ActionRecorder.writeVarint(out, ActionRecorder.zigzag(layout.getHydrogens())); // can be below 0 until checked
+
+		List<Node> main = layout.getMainNodes();
+		IdentityHashMap<Node, Integer> handles = new IdentityHashMap<Node, Integer>();
+		ActionRecorder.writeVarint(out, main.size());
+		for (int i = 0; i < main.size(); i++) {
+			writeNode(out, main.get(i));
+			handles.put(main.get(i), i);
+		} // loop
+
+		writeNodes(out, layout.getSideNodes(), handles);
+		ActionRecorder.writeVarint(out, layout.getSideChains().size());
+		for (Chain c : layout.getSideChains()) {
+			writeChain(out, c);
+		} // loop
+		writeOrdinals(out, layout.getSideDirections());
+
+		writeOrdinals(out, layout.getGroups());
+		writeNodes(out, layout.getGroupNodes(), handles);
+		writeOrdinals(out, layout.getGroupDirections());
+
+		writeNodes(out, layout.getBondNodes(), handles);
+		ActionRecorder.writeVarint(out, layout.getBondSizes().size());
+		for (int size : layout.getBondSizes()) {
+			out.writeByte(size);
+		} // loop
+	} // end writeLayout
+
+	/*
+	 * Read a drawing written by writeLayout
+	 * DataInputStream in - stream to read from
+	 * return - layout holding the saved nodes
+	 */
+	private static Layout readLayout(DataInputStream in) throws IOException {
+		Compound compound = readCompound(in);
+		double scale = in.readDouble();
+		int hydrogens = ActionReader.unzigzag(ActionReader.readVarint(in));
+
+		int n = readCount(in, MAX_COUNT, "main nodes");
+		ArrayList<Node> main = new ArrayList<Node>();
+		for (int i = 0; i < n; i++) {
+			main.add(readNode(in));
+		} // loop
+
+		ArrayList<Node> sideNodes = readNodes(in, main);
+		n = readCount(in, MAX_COUNT, "side chains");
+		ArrayList<Chain> sideChains = new ArrayList<Chain>();
+		for (int i = 0; i < n; i++) {
+			sideChains.add(readChain(in));
+		} // loop
+		ArrayList<DrawDirection> sideDirs = readOrdinals(in, DIRECTIONS);
+
+		ArrayList<FuncGroup> groups = readOrdinals(in, GROUPS);
+		ArrayList<Node> groupNodes = readNodes(in, main);
+		ArrayList<DrawDirection> groupDirs = readOrdinals(in, DIRECTIONS);
+
+		ArrayList<Node> bondNodes = readNodes(in, main);
+		n = readCount(in, MAX_COUNT, "bonds");
+		ArrayList<Integer> bondSizes = new ArrayList<Integer>();
+		for (int i = 0; i < n; i++) {
+			bondSizes.add(in.readUnsignedByte());
+		} // loop
+
+		Layout layout = new Layout(compound, scale, main, sideNodes, sideChains, sideDirs, groups, groupNodes,
+				groupDirs, bondNodes, bondSizes, hydrogens);
+		checkLayout(layout);
+		return layout;
+	} // end readLayout
+
+	/*
+	 * Check that the lists of a drawing line up the way the canvas draws them, so a broken
+	 * file fails here and not on every repaint
+	 * Layout layout - drawing read from a file
+	 */
+	private static void checkLayout(Layout layout) throws IOException {
+		// a side node after a group is drawn with the next chain, and a phenyl with its direction
+		List<Chain> chains = layout.getSideChains();
+		int directions = layout.getSideDirections().size();
+		for (int i = 0; i < layout.getSideNodes().size(); i++) {
+			int drawn = i < chains.size() && chains.get(i).getSize() < 0 ? i + 1 : i;
+			if (drawn >= chains.size() || i >= directions
+					|| (chains.get(drawn).isBenzene() && drawn >= directions)) {
+				throw new IOException("Side chain " + i + " is missing");
+			} // if
+		} // loop
+
+		int groups = layout.getGroupNodes().size();
+		if (groups > layout.getGroups().size() || groups > layout.getGroupDirections().size()) {
+			throw new IOException("Group " + groups + " is missing");
+		} // if
+
+		// bonds are pairs of numbered nodes
+		List<Node> bonds = layout.getBondNodes();
+		if (bonds.size() % 2 != 0 || bonds.size() / 2 > layout.getBondSizes().size()) {
+			throw new IOException("Bond " + bonds.size() / 2 + " is missing");
+		} // if
+		for (Node n : bonds) {
+			try {
+				Integer.parseInt(n.getTag()); // which side the bond is drawn on
+			} catch (NumberFormatException e) {
+				throw new IOException("Bond on node " + n.getTag());
+			} // try-catch
+		} // loop
+	} // end checkLayout
+
+	/*
+	 * Write a compound as it is, its endings as they were worked out
+	 * DataOutputStream out - stream to write to
+	 * Compound c - compound to write
+	 */
+	private static void writeCompound(DataOutputStream out, Compound c) throws IOException {
+		Chain main = c.getMainChain();
+		ActionRecorder.writeVarint(out, c.getMainSize());
+		out.writeByte((main.isCyclo() ? CYCLO : 0) | (main.isBenzene() ? BENZENE : 0));
+		out.writeByte(main.getBond());
+
+		// locations of the endings, then the kind of each ending in the same order
+		ActionRecorder.writeVarint(out, main.getFunctionalLocationCount());
+		for (int i = 0; i < main.getFunctionalLocationCount(); i++) {
+			out.writeUTF(main.getFunctionalLocation(i));
+		} // loop
+
+		ActionRecorder.writeVarint(out, main.getGroupCount());
+		for (int i = 0; i < main.getGroupCount(); i++) {
+			out.writeByte(main.getGroupKind(i));
+		} // loop
+
+		// how many endings each position holds, bonds first and then the main group
+		int[] counts = main.getNumOfGroups();
+		ActionRecorder.writeVarint(out, counts.length);
+		for (int n : counts) {
+			ActionRecorder.writeVarint(out, n);
+		} // loop
+
+		ActionRecorder.writeVarint(out, c.getSideChainCount());
+		for (int i = 0; i < c.getSideChainCount(); i++) {
+			writeChain(out, c.getSideChain(i));
+		} // loop
+	} // end writeCompound
+
+	/*
+	 * Read a compound written by writeCompound
+	 * DataInputStream in - stream to read from
+	 * return c - compound as it was written
+	 */
+	private static Compound readCompound(DataInputStream in) throws IOException {
+		Compound c = new Compound(readCount(in, OrganicUtil.MAX_CHAIN, "main chain"));
+		Chain main = c.getMainChain();
+		int flags = in.readUnsignedByte();
+		main.setCyclo((flags & CYCLO) != 0);
+		main.setBenzene((flags & BENZENE) != 0);
+		checkRing(main);
+		main.setBond(in.readUnsignedByte());
+
+		int n = readCount(in, MAX_COUNT, "locations");
+		for (int i = 0; i < n; i++) {
+			main.addFunctionalLocation(in.readUTF());
+		} // loop
+
+		n = readCount(in, main.getFunctionalLocationCount(), "endings");
+		int[] kinds = new int[n];
+		for (int i = 0; i < n; i++) {
+			kinds[i] = in.readUnsignedByte();
+			if (kinds[i] >= OrganicUtil.FUNCTIONAL_NAMES.length) {
+				throw new IOException("Unknown ending " + kinds[i]);
+			} // if
+		} // loop
+		int[] counts = new int[readCount(in, ENDING_POSITIONS, "ending positions")];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = readCount(in, main.getFunctionalLocationCount(), "endings");
+		} // loop
+		setEndings(main, kinds, counts);
+
+		n = readCount(in, MAX_COUNT, "side chains");
+		for (int i = 0; i < n; i++) {
+			c.addSideChain(readChain(in));
+		} // loop
+
+		return c;
+	} // end readCompound
+
+	/*
+	 * Give the main chain its endings again, each position taking its number of the
+	 * next locations the way they were first set
+	 * Chain main - main chain with its locations added
+	 * int[] kinds - kind of each ending in order
+	 * int[] counts - number of endings at each position
+	 */
+	private static void setEndings(Chain main, int[] kinds, int[] counts) {
+		main.setNumOfGroups(counts);
+
+		int k = 0; // next ending
+		for (int p = 0; p < counts.length && k < kinds.length; p++) {
+			if (counts[p] > 0) {
+				main.setEnding(kinds[k], p);
+				k += counts[p];
+			} // if
+		} // loop
+	} // end setEndings
+
+	/*
+	 * Write a side chain or group
+	 * DataOutputStream out - stream to write to
+	 * Chain c - chain to write
+	 */
+	private static void writeChain(DataOutputStream out, Chain c) throws IOException {
+		ActionRecorder.writeVarint(out, ActionRecorder.zigzag(c.getSize()));
+		out.writeUTF(c.getLocation());
+		out.writeByte((c.isCyclo() ? CYCLO : 0) | (c.isBenzene() ? BENZENE : 0));
+	} // end writeChain
+
+	/*
+	 * Read a chain written by writeChain
+	 * DataInputStream in - stream to read from
+	 * return - new chain
+	 */
+	private static Chain readChain(DataInputStream in) throws IOException {
+		int size = ActionReader.unzigzag(ActionReader.readVarint(in));
+		if (Math.abs(size) > OrganicUtil.MAX_CHAIN) { // groups are small negative sizes
+			throw new IOException("Bad chain size " + size);
+		} // if
+		String location = in.readUTF();
+		int flags = in.readUnsignedByte();
+		Chain c = new Chain(size, location, (flags & CYCLO) != 0, (flags & BENZENE) != 0);
+		checkRing(c);
+		return c;
+	} // end readChain
+
+	/*
+	 * Check that a ring has carbons to be drawn, the canvas can draw a ring too small to
+	 * name so only an empty one is broken
+	 * Chain c - chain read from a file
+	 */
+	private static void checkRing(Chain c) throws IOException {
+		if ((c.isCyclo() || c.isBenzene()) && c.getSize() < 1) {
+			throw new IOException("Ring of " + c.getSize());
+		} // if
+	} // end checkRing
+
+	/*
+	 * Write a node's position, radius and tag
+	 * DataOutputStream out - stream to write to
+	 * Node n - node to write
+	 */
+	private static void writeNode(DataOutputStream out, Node n) throws IOException {
+		ActionRecorder.writeVarint(out, ActionRecorder.zigzag(n.getX()));
+		ActionRecorder.writeVarint(out, ActionRecorder.zigzag(n.getY()));
+		ActionRecorder.writeVarint(out, n.getRad());
+		out.writeUTF(n.getTag());
+	} // end writeNode
+
+	/*
+	 * Read a node written by writeNode
+	 * DataInputStream in - stream to read from
+	 * return - new node
+	 */
+	private static Node readNode(DataInputStream in) throws IOException {
+		int x = ActionReader.unzigzag(ActionReader.readVarint(in));
+		int y = ActionReader.unzigzag(ActionReader.readVarint(in));
+		int rad = ActionReader.readVarint(in);
+		return new Node(x, y, rad, in.readUTF());
+	} // end readNode
+
+	/*
+	 * Write a list of nodes, each as its place in the main nodes plus one so the same
+	 * node is read back, or 0 and the node itself if it isn't a main node
+	 * DataOutputStream out - stream to write to
+	 * List<Node> nodes - nodes to write
+	 * IdentityHashMap<Node, Integer> handles - place of each main node
+	 */
+	private static void writeNodes(DataOutputStream out, List<Node> nodes, IdentityHashMap<Node, Integer> handles)
+			throws IOException {
+		ActionRecorder.writeVarint(out, nodes.size());
+		for (Node n : nodes) {
+			Integer h = handles.get(n);
+			if (h != null) {
+				ActionRecorder.writeVarint(out, h + 1);
+			} else {
+				ActionRecorder.writeVarint(out, 0);
+				writeNode(out, n);
+			} // if
+		} // loop
+	} // end writeNodes
+
+	/*
+	 * Read a list of nodes written by writeNodes
+	 * DataInputStream in - stream to read from
+	 * ArrayList<Node> main - main nodes already read
+	 * return nodes - the nodes, sharing the main nodes they were written as
+	 */
+	private static ArrayList<Node> readNodes(DataInputStream in, ArrayList<Node> main) throws IOException {
+		int n = readCount(in, MAX_COUNT, "nodes");
+		ArrayList<Node> nodes = new ArrayList<Node>();
+
+		for (int i = 0; i < n; i++) {
+			int h = ActionReader.readVarint(in);
+			if (h == 0) {
+				nodes.add(readNode(in));
+			} else if (h > 0 && h <= main.size()) {
+				nodes.add(main.get(h - 1));
+			} else {
+				throw new IOException("No main node " + (h - 1));
+			} // if
+		} // loop
+
+		return nodes;
+	} // end readNodes
+
+	/*
+	 * Write a list of directions or groups, one byte each
+	 * DataOutputStream out - stream to write to
+	 * List<? extends Enum<?>> values - values to write
+	 */
+	private static void writeOrdinals(DataOutputStream out, List<? extends Enum<?>> values) throws IOException {
+		ActionRecorder.writeVarint(out, values.size());
+		for (Enum<?> v : values) {
+			out.writeByte(v.ordinal());
+		} // loop
+	} // end writeOrdinals
+
+	/*
+	 * Read a list written by writeOrdinals
+	 * DataInputStream in - stream to read from
+	 * T[] all - every value of the enum
+	 * return list - values read
+	 */
+	private static <T> ArrayList<T> readOrdinals(DataInputStream in, T[] all) throws IOException {
+		int n = readCount(in, MAX_COUNT, "values");
+		ArrayList<T> list = new ArrayList<T>();
+
+		for (int i = 0; i < n; i++) {
+			int o = in.readUnsignedByte();
+			if (o >= all.length) {
+				throw new IOException("Unknown value " + o);
+			} // if
+			list.add(all[o]);
+		} // loop
+
+		return list;
+	} // end readOrdinals
+
+	/*
+	 * Read the number of items in a list
+	 * DataInputStream in - stream to read from
+	 * int max - most the list can hold
+	 * String what - what the items are, for the error
+	 * return n - number of items
+	 */
+	private static int readCount(DataInputStream in, int max, String what) throws IOException {
+		int n = ActionReader.readVarint(in);
+		if (n < 0 || n > max) {
+			throw new IOException("Bad number of " + what + ": " + n);
+		} // if
+
+		return n;
+	} // end readCount
+
+	// JSON//
+
+	/*
+	 * Export the canvas as JSON
+	 * Canvas canvas - canvas to export
+	 * Writer out - where to write, left open
+	 */
+	public static void writeJson(Canvas canvas, Writer out) throws IOException {
+		writeJson(canvas.getDrawingLayout(), molecules(canvas), out);
+	} // end writeJson
+
+	/*
+	 * Export a drawing and the molecules placed beside it as JSON
+	 * Layout drawing - drawing with its nodes, null if there is none
+	 * List<Compound> molecules - placed compounds from left to right
+	 * Writer out - where to write, left open
+	 */
+	public static void writeJson(Layout drawing, List<Compound> molecules, Writer out) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"format\":\"ochem-drawing\",\"version\":").append(VERSION);
+
+		sb.append(",\"drawing\":");
+		if (drawing == null) {
+			sb.append("null");
+		} else {
+			jsonLayout(sb, drawing);
+		} // if
+
+		sb.append(",\"molecules\":[");
+		for (int i = 0; i < molecules.size(); i++) {
+			if (i > 0)
+				sb.append(',');
+			jsonCompound(sb, molecules.get(i));
+		} // loop
+		sb.append("]}\n");
+
+		out.write(sb.toString());
+		out.flush();
+	} // end writeJson
+
+	/*
+	 * Add a drawing, with the nodes of each list as their place in the main nodes
+	 * StringBuilder sb - JSON being built
+	 * Layout layout - drawing to add
+	 */
+	private static void jsonLayout(StringBuilder sb, Layout layout) {
+		sb.append("{\"compound\":");
+		jsonCompound(sb, layout.getCompound());
+		sb.append(",\"scale\":").append(layout.getScale());
+		sb.append(",\"hydrogens\":").append(layout.getHydrogens());
+
+		List<Node> main = layout.getMainNodes();
+		IdentityHashMap<Node, Integer> handles = new IdentityHashMap<Node, Integer>();
+		sb.append(",\"mainNodes\":[");
+		for (int i = 0; i < main.size(); i++) {
+			if (i > 0)
+				sb.append(',');
+			jsonNode(sb, main.get(i));
+			handles.put(main.get(i), i);
+		} // loop
+		sb.append(']');
+
+		sb.append(",\"sideNodes\":");
+		jsonNodes(sb, layout.getSideNodes(), handles);
+		sb.append(",\"sideChains\":[");
+		List<Chain> chains = layout.getSideChains();
+		for (int i = 0; i < chains.size(); i++) {
+			if (i > 0)
+				sb.append(',');
+			jsonChain(sb, chains.get(i));
+		} // loop
+		sb.append(']');
+		sb.append(",\"sideDirections\":");
+		jsonNames(sb, layout.getSideDirections());
+
+		sb.append(",\"groups\":");
+		jsonNames(sb, layout.getGroups());
+		sb.append(",\"groupNodes\":");
+		jsonNodes(sb, layout.getGroupNodes(), handles);
+		sb.append(",\"groupDirections\":");
+		jsonNames(sb, layout.getGroupDirections());
+
+		sb.append(",\"bondNodes\":");
+		jsonNodes(sb, layout.getBondNodes(), handles);
+		sb.append(",\"bondSizes\":").append(layout.getBondSizes().toString().replace(" ", ""));
+		sb.append('}');
+	} // end jsonLayout
+
+	/*
+	 * Add a compound, with its SMILES for other programs
+	 * StringBuilder sb - JSON being built
+	 * Compound c - compound to add
+	 */
+	private static void jsonCompound(StringBuilder sb, Compound c) {
+		Chain main = c.getMainChain();
+		sb.append("{\"smiles\":");
+		jsonString(sb, SmilesWriter.toSmiles(c));
+		sb.append(",\"mainSize\":").append(c.getMainSize());
+		sb.append(",\"cyclo\":").append(main.isCyclo());
+		sb.append(",\"benzene\":").append(main.isBenzene());
+		sb.append(",\"bond\":").append(main.getBond());
+
+		// each ending with the location it took
+		sb.append(",\"endings\":[");
+		for (int i = 0; i < main.getGroupCount(); i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append("{\"kind\":");
+			jsonString(sb, OrganicUtil.FUNCTIONAL_NAMES[main.getGroupKind(i)]);
+			sb.append(",\"location\":");
+			jsonString(sb, i < main.getFunctionalLocationCount() ? main.getFunctionalLocation(i) : "");
+			sb.append('}');
+		} // loop
+
+		sb.append("],\"sideChains\":[");
+		for (int i = 0; i < c.getSideChainCount(); i++) {
+			if (i > 0)
+				sb.append(',');
+			jsonChain(sb, c.getSideChain(i));
+		} // loop
+		sb.append("]}");
+	} // end jsonCompound
+
+	/*
+	 * Add a side chain or group
+	 * StringBuilder sb - JSON being built
+	 * Chain c - chain to add
+	 */
+	private static void jsonChain(StringBuilder sb, Chain c) {
+		sb.append("{\"size\":").append(c.getSize());
+		sb.append(",\"location\":");
+		jsonString(sb, c.getLocation());
+		sb.append(",\"cyclo\":").append(c.isCyclo());
+		sb.append(",\"benzene\":").append(c.isBenzene());
+		sb.append('}');
+	} // end jsonChain
+
+	/*
+	 * Add a node's position, radius and tag
+	 * StringBuilder sb - JSON being built
+	 * Node n - node to add
+	 */
+	private static void jsonNode(StringBuilder sb, Node n) {
+		sb.append("{\"x\":").append(n.getX());
+		sb.append(",\"y\":").append(n.getY());
+		sb.append(",\"rad\":").append(n.getRad());
+		sb.append(",\"tag\":");
+		jsonString(sb, n.getTag());
+		sb.append('}');
+	} // end jsonNode
+
+	/*
+	 * Add a list of nodes, each as its place in the main nodes or the node itself if it
+	 * isn't a main node
+	 * StringBuilder sb - JSON being built
+	 * List<Node> nodes - nodes to add
+	 * IdentityHashMap<Node, Integer> handles - place of each main node
+	 */
+	private static void jsonNodes(StringBuilder sb, List<Node> nodes, IdentityHashMap<Node, Integer> handles) {
+		sb.append('[');
+		for (int i = 0; i < nodes.size(); i++) {
+			if (i > 0)
+				sb.append(',');
+
+			Integer h = handles.get(nodes.get(i));
+			if (h != null) {
+				sb.append(h);
+			} else {
+				jsonNode(sb, nodes.get(i));
+			} // if
+		} // loop
+		sb.append(']');
+	} // end jsonNodes
+
+	/*
+	 * Add a list of directions or groups by name
+	 * StringBuilder sb - JSON being built
+	 * List<? extends Enum<?>> values - values to add
+	 */
+	private static void jsonNames(StringBuilder sb, List<? extends Enum<?>> values) {
+		sb.append('[');
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0)
+				sb.append(',');
+			jsonString(sb, values.get(i).name());
+		} // loop
+		sb.append(']');
+	} // end jsonNames
+
+	/*
+	 * Add a string in quotes, escaping what JSON needs escaped
+	 * StringBuilder sb - JSON being built
+	 * String s - string to add
+	 */
+	private static void jsonString(StringBuilder sb, String s) {
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char ch = s.charAt(i);
+			if (ch == '"' || ch == '\\') {
+				sb.append('\\').append(ch);
+			} else if (ch < 0x20) {
+				sb.append(String.format("\\u%04x", (int) ch));
+			} else {
+				sb.append(ch);
+			} // if
+		} // loop
+		sb.append('"');
+	} // end jsonString
+
+	/*
+	 * Get the compounds placed on a canvas
+	 * Canvas canvas - canvas to look at
+	 * return list - placed compounds from left to right
+	 */
+	private static List<Compound> molecules(Canvas canvas) {
+		MoleculeDocument document = canvas.getDocument();
+		ArrayList<Compound> list = new ArrayList<Compound>(document.size());
+
+		for (int i = 0; i < document.size(); i++) {
+			list.add(document.get(i).getCompound());
+		} // loop
+
+		return list;
+	} // end molecules
+} // end DrawingFile
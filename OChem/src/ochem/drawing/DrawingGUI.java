@@ -11,6 +11,7 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 
+import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
@@ -28,6 +29,7 @@ public class DrawingGUI extends JPanel {
 	
 	private static OBox dialog; //dialog box for relaying information to user
 	private static JTextField userInput; //text field to get user input
+	private static JLabel liveName; //name of the compound as it is drawn
 	
 	private JPanel dialogPanel; //panel for holding the bottom row of items
 	
@@ -71,10 +73,16 @@ public class DrawingGUI extends JPanel {
 		//bottom row
 		createDialogBox();
 		
+		//name shown while drawing
+		liveName = new JLabel(" ", SwingConstants.CENTER);
+		liveName.setFont(liveName.getFont().deriveFont(DrawingUtil.FONT_SIZE * 0.75F));
+		liveName.setForeground(TEXT_COLOR);
+		
 		//add the components to the container
 		this.add(palette, BorderLayout.WEST);
 		this.add(canvas, BorderLayout.CENTER);
 		this.add(dialogPanel, BorderLayout.SOUTH);		
+		this.add(liveName, BorderLayout.NORTH);
 		
 		//add padding to the panel and set a background color
 		this.setBorder(new EmptyBorder(View.PAD, 0,0,0));
@@ -114,6 +122,9 @@ public class DrawingGUI extends JPanel {
 	 * String message - error message to display
 	 */
 	public static void reportError(String message) {
+		if (dialog == null) //no GUI, i.e replaying a session off screen
+			return;
+		
 		dialog.setTextColor(Color.RED);
 		dialog.setText(message);
 		dialog.update();
@@ -124,16 +135,33 @@ public class DrawingGUI extends JPanel {
 	 * String message - message to show
 	 */
 	public static void showMessage(String message) {
+		if (dialog == null) //no GUI, i.e replaying a session off screen
+			return;
+		
 		dialog.setTextColor(TEXT_COLOR);
 		dialog.setText(message);
 		dialog.update();
 		userInput.requestFocus();
 	} //end showMessage
 	
+	/*
+	 * Show the name of the compound being drawn above the canvas
+	 * String name - name to show, empty for none
+	 */
+	public static void showName(String name) {
+		if (liveName == null) //no GUI, i.e drawing off screen
+			return;
+		
+		liveName.setText(name.isEmpty() ? " " : name); //a space keeps the row's height
+	} //end showName
+	
 	/*
 	 * Request focus of the text field
 	 */
 	public static void requestFieldFocus() {
+		if (dialog == null) //no GUI, i.e replaying a session off screen
+			return;
+		
 		userInput.requestFocus();
 	} //end requestFieldFocus
 	
@@ -149,6 +177,9 @@ public class DrawingGUI extends JPanel {
 	 * Clear the dialog box and the text field
 	 */
 	public static void clear() {
+		if (dialog == null) //no GUI, i.e replaying a session off screen
+			return;
+		
 		dialog.setText("");
 		dialog.update();
 		
@@ -156,6 +187,6 @@ public class DrawingGUI extends JPanel {
 	} //end clear
 	
 	public Compound getCompound() {
-		return this.canvas.getCompound();
+		return this.canvas.getDrawnCompound();
 	}
-} //end class
\ No newline at end of file
+} //end class
\ No newline at end of file
@@ -135,39 +135,10 @@ public class DrawingUtil {
 	/*
 	 * Choose the pair of angles from the direction chosen
 	 * DrawDirection dir - direction to draw in
-	 * return angles - pair of angles to alternate between when drawing chains
+	 * return - pair of angles to alternate between when drawing chains, not to be changed
 	 */
 	public static double[] angleFromDirection(DrawDirection dir) {
-		double[] angles = new double[2]; //array of angles to draw with
-		
-		//different directions require different pairs of numbers to switch between
-		switch (dir) {
-			case DOWN_LEFT: 
-				angles = new double[] {90,150};
-				break;
-				
-			case DOWN_RIGHT:
-				angles = new double[] {90,30};
-				break;
-				 
-			case LEFT: 
-				angles = new double[] {-150,150}; 
-				break;
-				
-			case RIGHT:
-				angles = new double[] {-30,30};
-				break;
-				
-			case UP_LEFT:
-				angles = new double[] {270,210};
-				break;
-				
-			case UP_RIGHT:
-				angles = new double[] {270,330};
-				break;
-		} //switch
-		
-		return angles;
+		return Geometry.chainAngles(dir); //shared table, read only
 	} //end angleFromDirection
 	
 	/*
@@ -187,16 +158,16 @@ public class DrawingUtil {
 	public static DrawDirection cycloDir(int size, int pos) {	
 		switch (size) {
 			case 3:
-				return DrawDirection.values()[pos+2]; //done
+				return Geometry.direction(pos+2); //done
 				
 			case 4:
-				return DrawingUtil.incDirection(DrawDirection.values()[pos], 2); //done
+				return DrawingUtil.incDirection(Geometry.direction(pos), 2); //done
 				
 			case 5:
 			case 6:
 			case 7:
 			case 8:
-				return DrawDirection.values()[3-pos]; //done
+				return Geometry.direction(Math.floorMod(3-pos, 6)); //done, wraps past the first direction
 				
 			default:
 				return DrawDirection.UP_RIGHT;
@@ -316,18 +287,7 @@ public class DrawingUtil {
 	 * int n - number of steps forward
 	 */
 	public static DrawDirection incDirection(DrawDirection dir, int n) {
-		int pos = dir.ordinal();
-		
-		while (n > 0) {
-			if (pos + 1 >= DrawDirection.values().length) {
-				pos = -1;
-			} //if
-			pos++;
-			
-			n--;
-		} //loop
-		
-		return DrawDirection.values()[pos];
+		return Geometry.next(dir, n);
 	} //end incDirection
 	
 	/*
@@ -0,0 +1,114 @@
+package ochem.drawing;
+
+/*
+ * EditLog
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Bounded history of canvas edits in a ring, the oldest edit dropped once it is full.
+ * Edits after the last one undone can be redone until a new edit is added
+ */
+
+public class EditLog {
+	// Attributes
+	private CanvasEdit[] edits; // ring of edits
+	private int head; // slot of the oldest edit
+	private int count; // number of edits kept
+	private int done; // number of edits kept that are applied, the rest can be redone
+
+	/*
+	 * Create an empty log
+	 * int capacity - most edits to keep
+	 */
+	public EditLog(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Log size must be positive");
+		} // if
+
+		edits = new CanvasEdit[capacity];
+	} // end constructor
+
+	/*
+	 * Add an edit that was just made, dropping the edits that could be redone
+	 * CanvasEdit e - edit to add
+	 */
+	public void add(CanvasEdit e) {
+		// the redo edits can't come back after a new edit
+		for (int i = done; i < count; i++) {
+			edits[slot(i)] = null;
+		} // loop
+		count = done;
+
+		// drop the oldest edit when full
+		if (count == edits.length) {
+			edits[head] = null;
+			head = (head + 1) % edits.length;
+			count--;
+		} // if
+
+		edits[slot(count)] = e;
+		count++;
+		done = count;
+	} // end add
+
+	/*
+	 * Take the latest applied edit to undo
+	 * return - edit to undo, null if there is none
+	 */
+	public CanvasEdit undo() {
+		if (done == 0)
+			return null;
+
+		done--;
+		return edits[slot(done)];
+	} // end undo
+
+	/*
+	 * Take the latest undone edit to redo
+	 * return - edit to redo, null if there is none
+	 */
+	public CanvasEdit redo() {
+		if (done == count)
+			return null;
+
+		done++;
+		return edits[slot(done - 1)];
+	} // end redo
+
+	/*
+	 * Forget every edit
+	 */
+	public void clear() {
+		for (int i = 0; i < count; i++) {
+			edits[slot(i)] = null;
+		} // loop
+
+		head = 0;
+		count = 0;
+		done = 0;
+	} // end clear
+
+	/*
+	 * Check whether there is an edit to undo
+	 * return - whether undo would do anything
+	 */
+	public boolean canUndo() {
+		return done > 0;
+	} // end canUndo
+
+	/*
+	 * Check whether there is an edit to redo
+	 * return - whether redo would do anything
+	 */
+	public boolean canRedo() {
+		return done < count;
+	} // end canRedo
+
+	/*
+	 * Get the slot of an edit in the ring
+	 * int i - position of the edit from the oldest
+	 * return - index in the array
+	 */
+	private int slot(int i) {
+		return (head + i) % edits.length;
+	} // end slot
+} // end EditLog
@@ -0,0 +1,111 @@
+package ochem.drawing;
+
+/*
+ * FrameScheduler
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Coalesces requests into at most one run per frame on the Swing thread, so only the
+ * latest of many fast events is handled
+ */
+
+import javax.swing.Timer;
+
+public class FrameScheduler {
+	// Attributes
+	private Timer timer; // ticks once per frame while there is work
+	private Runnable frame; // work to do once per frame
+	private long budget; // time a frame should take in nanoseconds
+	private boolean pending; // whether a request is waiting for the next frame
+
+	private long frames; // frames that ran
+	private long dropped; // requests replaced by a later one before their frame
+	private long late; // frames that took longer than the budget
+
+	/*
+	 * Create a scheduler
+	 * int frameMs - time between frames in milliseconds
+	 * Runnable frame - work to do once per frame
+	 */
+	public FrameScheduler(int frameMs, Runnable frame) {
+		this.frame = frame;
+		this.budget = frameMs * 1000000L;
+
+		// the timer runs on the Swing thread, the same one that delivers the events
+		timer = new Timer(frameMs, e -> tick());
+		timer.setCoalesce(true);
+	} // end constructor
+
+	/*
+	 * Ask for the work to run on the next frame
+	 */
+	public void request() {
+		if (pending) {
+			dropped++; // the waiting request is covered by this one
+		} else {
+			pending = true;
+		} // if
+
+		if (!timer.isRunning()) {
+			timer.start();
+		} // if
+	} // end request
+
+	/*
+	 * Run a waiting request right away instead of on the next frame, i.e before a click
+	 */
+	public void flush() {
+		if (pending) {
+			run();
+		} // if
+	} // end flush
+
+	/*
+	 * Run the waiting request, or stop ticking when there is none
+	 */
+	private void tick() {
+		if (pending) {
+			run();
+		} else {
+			timer.stop(); // idle, don't wake up until the next request
+		} // if
+	} // end tick
+
+	/*
+	 * Run the work once and time it against the budget
+	 */
+	private void run() {
+		pending = false;
+
+		long start = System.nanoTime();
+		frame.run();
+		frames++;
+
+		if (System.nanoTime() - start > budget) {
+			late++;
+		} // if
+	} // end run
+
+	/*
+	 * Get the number of frames that ran
+	 * return frames - frames run
+	 */
+	public long getFrames() {
+		return frames;
+	} // end getFrames
+
+	/*
+	 * Get the number of requests dropped for a later one
+	 * return dropped - requests coalesced away
+	 */
+	public long getDropped() {
+		return dropped;
+	} // end getDropped
+
+	/*
+	 * Get the number of frames that went over the budget
+	 * return late - frames over budget
+	 */
+	public long getLate() {
+		return late;
+	} // end getLate
+} // end FrameScheduler
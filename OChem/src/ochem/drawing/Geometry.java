@@ -0,0 +1,279 @@
+package ochem.drawing;
+
+/*
+ * Geometry
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Lookup tables for laying out chains, rings and groups so drawing is integer adds
+ * instead of trig per segment
+ */
+
+import ochem.drawing.DrawingUtil.DrawDirection;
+
+public class Geometry {
+	// Ring sizes with precomputed templates, the ones that can be drawn. Others are
+	// computed when asked for
+	public static final int MIN_RING = 3;
+	public static final int MAX_RING = 8;
+
+	private static final DrawDirection[] DIRECTIONS = DrawDirection.values(); // cloned once
+	private static final int MAIN = DIRECTIONS.length; // orientation of a main ring, no offsets
+
+	// pair of angles in degrees a chain alternates between in each direction
+	private static final double[][] CHAIN_ANGLES = { { 270, 330 }, { -30, 30 }, { 90, 30 }, { 90, 150 },
+			{ -150, 150 }, { 270, 210 } };
+
+	// chain segment offsets for each direction and each of the two angles
+	private static final int[][] CHAIN_DX = new int[MAIN][2];
+	private static final int[][] CHAIN_DY = new int[MAIN][2];
+
+	// unit vectors along the first angle of a chain in each direction
+	private static final double[] CHAIN_COS = new double[MAIN];
+	private static final double[] CHAIN_SIN = new double[MAIN];
+
+	// unit vectors for the angle side rings and single letter groups stick out at
+	private static final double[] SPOKE_COS = new double[MAIN];
+	private static final double[] SPOKE_SIN = new double[MAIN];
+
+	// unit vectors for double bonded oxygens and their two perpendiculars
+	private static final double[] FUNC_COS = new double[MAIN];
+	private static final double[] FUNC_SIN = new double[MAIN];
+	private static final double[] ABOVE_COS = new double[MAIN];
+	private static final double[] ABOVE_SIN = new double[MAIN];
+	private static final double[] BELOW_COS = new double[MAIN];
+	private static final double[] BELOW_SIN = new double[MAIN];
+
+	// edge offsets of every ring, indexed by orientation then size
+	private static final int[][][] RING_DX = new int[MAIN + 1][MAX_RING + 1][];
+	private static final int[][][] RING_DY = new int[MAIN + 1][MAX_RING + 1][];
+
+	static {
+		for (int d = 0; d < MAIN; d++) {
+			for (int k = 0; k < 2; k++) {
+				CHAIN_DX[d][k] = (int) (DrawingUtil.CHAIN_ARM * Math.cos(Math.toRadians(CHAIN_ANGLES[d][k])));
+				CHAIN_DY[d][k] = (int) (DrawingUtil.CHAIN_ARM * Math.sin(Math.toRadians(CHAIN_ANGLES[d][k])));
+			} // loop
+			CHAIN_COS[d] = Math.cos(Math.toRadians(CHAIN_ANGLES[d][0]));
+			CHAIN_SIN[d] = Math.sin(Math.toRadians(CHAIN_ANGLES[d][0]));
+
+			double spoke = 2 * Math.toRadians(DrawingUtil.cycloAngle(DIRECTIONS[d]));
+			SPOKE_COS[d] = Math.cos(spoke);
+			SPOKE_SIN[d] = Math.sin(spoke);
+
+			double func = DrawingUtil.funcAngle(DIRECTIONS[d]);
+			FUNC_COS[d] = Math.cos(func);
+			FUNC_SIN[d] = Math.sin(func);
+			ABOVE_COS[d] = Math.cos(func + Math.PI / 2);
+			ABOVE_SIN[d] = Math.sin(func + Math.PI / 2);
+			BELOW_COS[d] = Math.cos(func - Math.PI / 2);
+			BELOW_SIN[d] = Math.sin(func - Math.PI / 2);
+		} // loop
+
+		for (int o = 0; o <= MAIN; o++) {
+			for (int size = MIN_RING; size <= MAX_RING; size++) {
+				RING_DX[o][size] = new int[size];
+				RING_DY[o][size] = new int[size];
+				ring(o, size, RING_DX[o][size], RING_DY[o][size]);
+			} // loop
+		} // loop
+	} // static
+
+	// DIRECTIONS//
+
+	/*
+	 * Get a direction from its position in the enum without cloning values()
+	 * int ordinal - position of the direction
+	 * return - direction at that position
+	 */
+	public static DrawDirection direction(int ordinal) {
+		return DIRECTIONS[ordinal];
+	} // end direction
+
+	/*
+	 * Get the direction 'n' steps ahead, rolling back to the start past the end
+	 * DrawDirection dir - direction to start from
+	 * int n - number of steps forward
+	 * return - direction n steps ahead, dir if n isn't positive
+	 */
+	public static DrawDirection next(DrawDirection dir, int n) {
+		if (n <= 0)
+			return dir;
+		return DIRECTIONS[(dir.ordinal() + n) % DIRECTIONS.length];
+	} // end next
+
+	// CHAINS//
+
+	/*
+	 * Get the pair of angles a chain alternates between, shared so it must not be changed
+	 * DrawDirection dir - direction of the chain
+	 * return - pair of angles in degrees
+	 */
+	public static double[] chainAngles(DrawDirection dir) {
+		return CHAIN_ANGLES[dir.ordinal()];
+	} // end chainAngles
+
+	/*
+	 * Get the x offset of a segment of a chain
+	 * DrawDirection dir - direction of the chain
+	 * int i - position of the segment along the chain
+	 * return - x offset from the start of the segment to its end
+	 */
+	public static int chainDX(DrawDirection dir, int i) {
+		return CHAIN_DX[dir.ordinal()][i % 2];
+	} // end chainDX
+
+	/*
+	 * Get the y offset of a segment of a chain
+	 * DrawDirection dir - direction of the chain
+	 * int i - position of the segment along the chain
+	 * return - y offset from the start of the segment to its end
+	 */
+	public static int chainDY(DrawDirection dir, int i) {
+		return CHAIN_DY[dir.ordinal()][i % 2];
+	} // end chainDY
+
+	/*
+	 * Get an arm along the first angle of a chain, i.e to step off of a symbol
+	 * int arm - length of the arm
+	 * DrawDirection dir - direction of the chain
+	 * return - x of the arm
+	 */
+	public static int chainX(int arm, DrawDirection dir) {
+		return (int) (arm * CHAIN_COS[dir.ordinal()]);
+	} // end chainX
+
+	/*
+	 * Get an arm along the first angle of a chain
+	 * int arm - length of the arm
+	 * DrawDirection dir - direction of the chain
+	 * return - y of the arm
+	 */
+	public static int chainY(int arm, DrawDirection dir) {
+		return (int) (arm * CHAIN_SIN[dir.ordinal()]);
+	} // end chainY
+
+	// SPOKES//
+
+	/*
+	 * Get an arm along the angle a side ring or letter group sticks out at
+	 * int arm - length of the arm
+	 * DrawDirection dir - direction of the ring or group
+	 * return - x of the arm
+	 */
+	public static int spokeX(int arm, DrawDirection dir) {
+		return (int) (arm * SPOKE_COS[dir.ordinal()]);
+	} // end spokeX
+
+	/*
+	 * Get an arm along the angle a side ring or letter group sticks out at
+	 * int arm - length of the arm
+	 * DrawDirection dir - direction of the ring or group
+	 * return - y of the arm
+	 */
+	public static int spokeY(int arm, DrawDirection dir) {
+		return (int) (arm * SPOKE_SIN[dir.ordinal()]);
+	} // end spokeY
+
+	// DOUBLE BONDED OXYGENS//
+
+	/*
+	 * Get an arm along the angle of a double bonded oxygen
+	 * int arm - length of the arm
+	 * DrawDirection dir - direction of the group
+	 * return - x of the arm
+	 */
+	public static int funcX(int arm, DrawDirection dir) {
+		return (int) (arm * FUNC_COS[dir.ordinal()]);
+	} // end funcX
+
+	/*
+	 * Get an arm along the angle of a double bonded oxygen
+	 * int arm - length of the arm
+	 * DrawDirection dir - direction of the group
+	 * return - y of the arm
+	 */
+	public static int funcY(int arm, DrawDirection dir) {
+		return (int) (arm * FUNC_SIN[dir.ordinal()]);
+	} // end funcY
+
+	/*
+	 * Get an arm perpendicular to a double bonded oxygen
+	 * int arm - length of the arm
+	 * DrawDirection dir - direction of the group
+	 * boolean above - a quarter turn forward if true, backward if false
+	 * return - x of the arm
+	 */
+	public static int perpX(int arm, DrawDirection dir, boolean above) {
+		return (int) (arm * (above ? ABOVE_COS : BELOW_COS)[dir.ordinal()]);
+	} // end perpX
+
+	/*
+	 * Get an arm perpendicular to a double bonded oxygen
+	 * int arm - length of the arm
+	 * DrawDirection dir - direction of the group
+	 * boolean above - a quarter turn forward if true, backward if false
+	 * return - y of the arm
+	 */
+	public static int perpY(int arm, DrawDirection dir, boolean above) {
+		return (int) (arm * (above ? ABOVE_SIN : BELOW_SIN)[dir.ordinal()]);
+	} // end perpY
+
+	// RINGS//
+
+	/*
+	 * Get the x offsets of each edge of a ring, shared so they must not be changed
+	 * int size - number of carbons in the ring
+	 * DrawDirection dir - direction of a side ring, null for a main ring
+	 * return - x offset from each vertex to the next
+	 */
+	public static int[] ringDX(int size, DrawDirection dir) {
+		int o = dir == null ? MAIN : dir.ordinal();
+		if (size >= MIN_RING && size <= MAX_RING)
+			return RING_DX[o][size];
+
+		int[] dx = new int[size];
+		ring(o, size, dx, new int[size]);
+		return dx;
+	} // end ringDX
+
+	/*
+	 * Get the y offsets of each edge of a ring, shared so they must not be changed
+	 * int size - number of carbons in the ring
+	 * DrawDirection dir - direction of a side ring, null for a main ring
+	 * return - y offset from each vertex to the next
+	 */
+	public static int[] ringDY(int size, DrawDirection dir) {
+		int o = dir == null ? MAIN : dir.ordinal();
+		if (size >= MIN_RING && size <= MAX_RING)
+			return RING_DY[o][size];
+
+		int[] dy = new int[size];
+		ring(o, size, new int[size], dy);
+		return dy;
+	} // end ringDY
+
+	/*
+	 * Compute the edge offsets of a ring
+	 * int o - orientation, a direction's ordinal or MAIN
+	 * int size - number of carbons in the ring
+	 * int[] dx - x offsets to fill
+	 * int[] dy - y offsets to fill
+	 */
+	private static void ring(int o, int size, int[] dx, int[] dy) {
+		int r = DrawingUtil.CYCLO_RAD;
+		double theta = Math.toRadians(-360.0 / size); // angle to turn at each vertex
+
+		// side rings are turned to point away from the chain they are on
+		double angOffset = 0;
+		double rotAngle = 0;
+		if (o != MAIN) {
+			angOffset = 2 * Math.toRadians(DrawingUtil.cycloAngle(DIRECTIONS[o]));
+			rotAngle = DrawingUtil.cycloAngOffset(size);
+		} // if
+
+		for (int i = 0; i < size; i++) {
+			dx[i] = (int) (r * Math.cos(theta * i + angOffset + rotAngle));
+			dy[i] = (int) (r * Math.sin(theta * i + angOffset + rotAngle));
+		} // loop
+	} // end ring
+} // end Geometry
@@ -0,0 +1,240 @@
+package ochem.drawing;
+
+/*
+ * Layout
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Finished placement of a compound on the canvas: where the main chain's atoms are,
+ * where every side chain and group attaches and which way it points
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import ochem.drawing.DrawingUtil.DrawDirection;
+import ochem.drawing.DrawingUtil.FuncGroup;
+import ochem.organic.Chain;
+import ochem.organic.Compound;
+
+public class Layout {
+	// Attributes
+	private Compound compound; // compound that was laid out
+	private double scale; // how much the drawing is shrunk to fit
+
+	private ArrayList<Node> mainNodes; // atoms of the main chain, then the N and O labels
+	private ArrayList<Node> sideNodes; // attachment point of each side chain
+	private ArrayList<Chain> sideChains; // each side chain, then a placeholder for each group
+	private ArrayList<DrawDirection> sideDirs; // direction of each side chain
+	private ArrayList<FuncGroup> groups; // each functional group
+	private ArrayList<Node> groupNodes; // attachment point of each group
+	private ArrayList<DrawDirection> groupDirs; // direction of each group
+	private ArrayList<Node> bondNodes; // pairs of atoms with a double or triple bond
+	private ArrayList<Integer> bondSizes; // size of each bond
+	private int hydrogens; // hydrogens left on the nitrogen
+
+	/*
+	 * Create an empty layout
+	 * Compound compound - compound being laid out
+	 * double scale - how much the drawing is shrunk to fit
+	 * int mainSize - number of atoms in the main chain
+	 */
+	Layout(Compound compound, double scale, int mainSize) {
+		this.compound = compound;
+		this.scale = scale;
+
+		mainNodes = new ArrayList<Node>(mainSize + 1);
+		sideNodes = new ArrayList<Node>();
+		sideChains = new ArrayList<Chain>();
+		sideDirs = new ArrayList<DrawDirection>();
+		groups = new ArrayList<FuncGroup>();
+		groupNodes = new ArrayList<Node>();
+		groupDirs = new ArrayList<DrawDirection>();
+		bondNodes = new ArrayList<Node>();
+		bondSizes = new ArrayList<Integer>();
+		hydrogens = 2;
+	} // end constructor
+
+	/*
+	 * Create a layout from lists that are already filled in, i.e read back from a file
+	 * Compound compound - compound that was laid out
+	 * double scale - how much the drawing is shrunk to fit
+	 * ArrayList<Node> mainNodes - atoms of the main chain, then the N and O labels
+	 * ArrayList<Node> sideNodes - attachment point of each side chain
+	 * ArrayList<Chain> sideChains - side chains and group placeholders
+	 * ArrayList<DrawDirection> sideDirs - direction of each side chain
+	 * ArrayList<FuncGroup> groups - each functional group
+	 * ArrayList<Node> groupNodes - attachment point of each group
+	 * ArrayList<DrawDirection> groupDirs - direction of each group
+	 * ArrayList<Node> bondNodes - pairs of atoms with a double or triple bond
+	 * ArrayList<Integer> bondSizes - size of each bond
+	 * int hydrogens - hydrogens left on the nitrogen
+	 */
+	Layout(Compound compound, double scale, ArrayList<Node> mainNodes, ArrayList<Node> sideNodes,
+			ArrayList<Chain> sideChains, ArrayList<DrawDirection> sideDirs, ArrayList<FuncGroup> groups,
+			ArrayList<Node> groupNodes, ArrayList<DrawDirection> groupDirs, ArrayList<Node> bondNodes,
+			ArrayList<Integer> bondSizes, int hydrogens) {
+		this.compound = compound;
+		this.scale = scale;
+		this.mainNodes = mainNodes;
+		this.sideNodes = sideNodes;
+		this.sideChains = sideChains;
+		this.sideDirs = sideDirs;
+		this.groups = groups;
+		this.groupNodes = groupNodes;
+		this.groupDirs = groupDirs;
+		this.bondNodes = bondNodes;
+		this.bondSizes = bondSizes;
+		this.hydrogens = hydrogens;
+	} // end constructor
+
+	// BUILDING//
+
+	/*
+	 * Add an atom of the main chain or an N or O label
+	 * Node n - node of the atom
+	 */
+	void addMainNode(Node n) {
+		mainNodes.add(n);
+	} // end addMainNode
+
+	/*
+	 * Add a side chain
+	 * Node at - node the chain attaches to
+	 * Chain chain - size, location and kind of the chain
+	 * DrawDirection dir - direction the chain points
+	 */
+	void addSide(Node at, Chain chain, DrawDirection dir) {
+		sideNodes.add(at);
+		sideChains.add(chain);
+		sideDirs.add(dir);
+
+		if (at.getTag().equals("N")) { // a chain on the nitrogen takes a hydrogen's place
+			hydrogens--;
+		} // if
+	} // end addSide
+
+	/*
+	 * Add a functional group
+	 * FuncGroup group - kind of group
+	 * Node at - node the group attaches to
+	 * DrawDirection dir - direction the group points
+	 * int size - size the group is stored with on the compound
+	 */
+	void addGroup(FuncGroup group, Node at, DrawDirection dir, int size) {
+		groups.add(group);
+		groupNodes.add(at);
+		groupDirs.add(dir);
+		sideChains.add(new Chain(size, at.getTag()));
+	} // end addGroup
+
+	/*
+	 * Add a double or triple bond
+	 * Node start - first atom, tagged 1 or -1 for the side the bond is drawn on
+	 * Node end - second atom
+	 * int size - size of the bond
+	 */
+	void addBond(Node start, Node end, int size) {
+		bondNodes.add(start);
+		bondNodes.add(end);
+		bondSizes.add(size);
+	} // end addBond
+
+	// GETTERS//
+
+	/*
+	 * Get the compound that was laid out
+	 * return compound - compound of the layout
+	 */
+	public Compound getCompound() {
+		return compound;
+	} // end getCompound
+
+	/*
+	 * Get how much the drawing is shrunk to fit
+	 * return scale - scale, 1 when the drawing fits at full size
+	 */
+	public double getScale() {
+		return scale;
+	} // end getScale
+
+	/*
+	 * Get the atoms of the main chain followed by the N and O labels
+	 * return - read-only list of the nodes
+	 */
+	public List<Node> getMainNodes() {
+		return Collections.unmodifiableList(mainNodes);
+	} // end getMainNodes
+
+	/*
+	 * Get the attachment point of each side chain
+	 * return - read-only list of the nodes
+	 */
+	public List<Node> getSideNodes() {
+		return Collections.unmodifiableList(sideNodes);
+	} // end getSideNodes
+
+	/*
+	 * Get each side chain followed by a placeholder chain for each group
+	 * return - read-only list of the chains
+	 */
+	public List<Chain> getSideChains() {
+		return Collections.unmodifiableList(sideChains);
+	} // end getSideChains
+
+	/*
+	 * Get the direction of each side chain
+	 * return - read-only list of the directions
+	 */
+	public List<DrawDirection> getSideDirections() {
+		return Collections.unmodifiableList(sideDirs);
+	} // end getSideDirections
+
+	/*
+	 * Get each functional group
+	 * return - read-only list of the groups
+	 */
+	public List<FuncGroup> getGroups() {
+		return Collections.unmodifiableList(groups);
+	} // end getGroups
+
+	/*
+	 * Get the attachment point of each functional group
+	 * return - read-only list of the nodes
+	 */
+	public List<Node> getGroupNodes() {
+		return Collections.unmodifiableList(groupNodes);
+	} // end getGroupNodes
+
+	/*
+	 * Get the direction of each functional group
+	 * return - read-only list of the directions
+	 */
+	public List<DrawDirection> getGroupDirections() {
+		return Collections.unmodifiableList(groupDirs);
+	} // end getGroupDirections
+
+	/*
+	 * Get the pairs of atoms with a double or triple bond
+	 * return - read-only list of the nodes, two per bond
+	 */
+	public List<Node> getBondNodes() {
+		return Collections.unmodifiableList(bondNodes);
+	} // end getBondNodes
+
+	/*
+	 * Get the size of each bond
+	 * return - read-only list of the sizes
+	 */
+	public List<Integer> getBondSizes() {
+		return Collections.unmodifiableList(bondSizes);
+	} // end getBondSizes
+
+	/*
+	 * Get the number of hydrogens left on the nitrogen
+	 * return hydrogens - 2 minus the chains on the nitrogen
+	 */
+	public int getHydrogens() {
+		return hydrogens;
+	} // end getHydrogens
+} // end Layout
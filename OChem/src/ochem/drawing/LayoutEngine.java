@@ -0,0 +1,334 @@
+package ochem.drawing;
+
+/*
+ * LayoutEngine
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Places a whole compound on the canvas in one pass over its chains and endings,
+ * instead of replaying the steps a user would take to draw it
+ */
+
+import java.util.ArrayList;
+
+import ochem.drawing.DrawingUtil.DrawDirection;
+import ochem.drawing.DrawingUtil.FuncGroup;
+import ochem.organic.Chain;
+import ochem.organic.Compound;
+
+public class LayoutEngine {
+
+	/*
+	 * Lay out a compound centered on a canvas
+	 * Compound compound - compound to lay out, not changed
+	 * int width - width of the canvas
+	 * int height - height of the canvas
+	 * return layout - placement of every atom, side chain, group and bond
+	 */
+	public static Layout layOut(Compound compound, int width, int height) {
+		Chain main = compound.getMainChain();
+		int size = compound.getMainSize();
+		if (size <= 0) {
+			throw new IllegalArgumentException("Compound has no main chain");
+		} // if
+
+		boolean ring = main.isCyclo() || main.isBenzene();
+		double scale = fitScale(width, size);
+		Layout layout = new Layout(compound, scale, size);
+
+		// main chain atoms
+		Node start = mainStart(ring, size, scale, width, height);
+		ArrayList<Node> atoms = mainAtoms(start, ring, size);
+		for (int i = 0; i < size; i++) {
+			layout.addMainNode(atoms.get(i));
+		} // loop
+
+		// sort the main chain's endings, in order, into groups with N/O labels, other
+		// groups and bonds
+		int groupCount = main.getGroupCount();
+		int[] labelled = new int[groupCount]; // endings with an N or O label
+		int[] oxygens = new int[groupCount]; // endings drawn as oxygen groups
+		int[] bonds = new int[groupCount]; // double and triple bonds
+		int nLabelled = 0;
+		int nOxygens = 0;
+		int nBonds = 0;
+
+		for (int i = 0; i < groupCount; i++) {
+			int locant = main.getGroupLocant(i);
+			if (locant < 1 || locant > size)
+				continue;
+
+			switch (main.getGroupKind(i)) {
+				case 1: // alkene
+				case 2: // alkyne
+					bonds[nBonds++] = i;
+					break;
+
+				case 3: // alcohol
+				case 4: // aldehyde
+				case 5: // ketone
+				case 9: // carboxylic acid
+					oxygens[nOxygens++] = i;
+					break;
+
+				case 6: // amine
+				case 7: // amide
+				case 8: // ester
+					labelled[nLabelled++] = i;
+					break;
+			} // switch
+		} // loop
+
+		// sort the side chains, in order, into ethers, halogens and carbon chains
+		int sideCount = compound.getSideChainCount();
+		int[] ethers = new int[sideCount];
+		int[] halogens = new int[sideCount];
+		int[] chains = new int[sideCount];
+		int nEthers = 0;
+		int nHalogens = 0;
+		int nChains = 0;
+
+		for (int i = 0; i < sideCount; i++) {
+			Chain side = compound.getSideChain(i);
+			int locant = side.getLocant();
+
+			if (side.getSize() == -7 && locant >= 1 && locant <= size) {
+				ethers[nEthers++] = i;
+			} else if (side.getSize() <= -2 && side.getSize() >= -5 && locant >= 1 && locant <= size) {
+				halogens[nHalogens++] = i;
+			} else if ((side.getSize() > 0 && locant >= 1 && locant <= size) || locant < 0) {
+				chains[nChains++] = i;
+			} // if
+		} // loop
+
+		// the N and O labels go after the main chain atoms, chains on a symbol attach to
+		// the last one
+		for (int i = 0; i < nLabelled; i++) {
+			int index = main.getGroupLocant(labelled[i]) - 1;
+			layout.addMainNode(label(atoms.get(index), DrawingUtil.regDirection(index + 1)));
+		} // loop
+		for (int i = 0; i < nEthers; i++) {
+			int index = compound.getSideChain(ethers[i]).getLocant() - 1;
+			layout.addMainNode(label(atoms.get(index), DrawingUtil.regDirection(index + 1)));
+		} // loop
+		Node symbol = layout.getMainNodes().get(layout.getMainNodes().size() - 1);
+
+		// carbon chains
+		for (int i = 0; i < nChains; i++) {
+			Chain side = compound.getSideChain(chains[i]);
+			Node at;
+			DrawDirection dir;
+
+			if (side.getLocant() > 0) { // on an atom of the main chain
+				at = atoms.get(side.getLocant() - 1);
+				dir = direction(ring, size, side.getLocant());
+
+			} else { // on the nitrogen or oxygen
+				at = symbol;
+				at.setTag(side.getLocation());
+				dir = direction(ring, size, 1);
+			} // if
+
+			layout.addSide(at, new Chain(side.getSize(), at.getTag(), side.isCyclo(), side.isBenzene()), dir);
+		} // loop
+
+		// groups with an N or O label
+		for (int i = 0; i < nLabelled; i++) {
+			int index = main.getGroupLocant(labelled[i]) - 1;
+			boolean atEnd = index + 1 == size;
+
+			switch (main.getGroupKind(labelled[i])) {
+				case 6:
+					layout.addGroup(FuncGroup.AMINE, atoms.get(index), DrawingUtil.regDirection(index + 1), -9);
+					break;
+
+				case 7:
+					layout.addGroup(FuncGroup.AMIDE, atoms.get(index), doubleDirection(atEnd), 0);
+					break;
+
+				case 8:
+					layout.addGroup(FuncGroup.ESTER, atoms.get(index), doubleDirection(atEnd), -11);
+					break;
+			} // switch
+		} // loop
+		for (int i = 0; i < nEthers; i++) {
+			int index = compound.getSideChain(ethers[i]).getLocant() - 1;
+			layout.addGroup(FuncGroup.ETHER, atoms.get(index), DrawingUtil.regDirection(index + 1), -7);
+		} // loop
+
+		// halogens, pointing away from the ring like side chains do
+		for (int i = 0; i < nHalogens; i++) {
+			Chain side = compound.getSideChain(halogens[i]);
+			int locant = side.getLocant();
+			layout.addGroup(halogen(side.getSize()), atoms.get(locant - 1), direction(ring, size, locant), side.getSize());
+		} // loop
+
+		// oxygen groups
+		for (int i = 0; i < nOxygens; i++) {
+			int index = main.getGroupLocant(oxygens[i]) - 1;
+
+			switch (main.getGroupKind(oxygens[i])) {
+				case 3:
+					layout.addGroup(FuncGroup.ALCOHOL, atoms.get(index), DrawingUtil.regDirection(index + 1), 0);
+					break;
+
+				case 4:
+					layout.addGroup(FuncGroup.ALDEHYDE, atoms.get(index), DrawingUtil.oxyDirection(index + 1), 0);
+					break;
+
+				case 5:
+					layout.addGroup(FuncGroup.KETONE, atoms.get(index), DrawingUtil.oxyDirection(index + 1), 0);
+					break;
+
+				case 9:
+					layout.addGroup(FuncGroup.CARBOXYLIC_ACID, atoms.get(index), DrawingUtil.oxyDirection(index + 1),
+							0);
+					break;
+			} // switch
+		} // loop
+
+		// bonds, drawn on alternating sides of the chain
+		for (int i = 0; i < nBonds; i++) {
+			int index = main.getGroupLocant(bonds[i]) - 1;
+			Node atom = atoms.get(index);
+			Node first = new Node(atom.getX(), atom.getY(), atom.getRad(), index % 2 == 0 ? "1" : "-1");
+			Node second = atoms.get((index + 1) % size); // the last bond of a ring closes it
+
+			layout.addBond(first, second, main.getGroupKind(bonds[i]) + 1);
+		} // loop
+
+		return layout;
+	} // end layOut
+
+	/*
+	 * Get the scale that fits a straight main chain and its side chains across a canvas
+	 * int width - width of the canvas
+	 * int size - number of carbons in the main chain
+	 * return - scale, at most 1
+	 */
+	public static double fitScale(int width, int size) {
+		double span = (size - 1) * DrawingUtil.rCos(DrawingUtil.CHAIN_ARM, Math.toRadians(30))
+				+ 4 * DrawingUtil.CHAIN_ARM;
+		return Math.min(1, width / span);
+	} // end fitScale
+
+	/*
+	 * Find the first atom of the main chain so the chain is centered on the canvas
+	 * boolean ring - whether the main chain is a ring
+	 * int size - number of carbons in the main chain
+	 * double scale - how much the drawing is shrunk
+	 * int width - width of the canvas
+	 * int height - height of the canvas
+	 * return - node of the first atom
+	 */
+	private static Node mainStart(boolean ring, int size, double scale, int width, int height) {
+		int xOffset;
+		int yOffset;
+
+		if (!ring) { // width and height of a zigzag chain
+			xOffset = (size - 1) * Geometry.chainX(DrawingUtil.CHAIN_ARM, DrawDirection.RIGHT);
+			yOffset = -Geometry.chainY(DrawingUtil.CHAIN_ARM, DrawDirection.RIGHT);
+
+		} else { // radius of the circumscribed circle
+			xOffset = DrawingUtil.CYCLO_RAD;
+			yOffset = DrawingUtil.CYCLO_RAD;
+		} // if
+
+		// center in the drawing's own coordinates
+		int x = ((int) (width / scale) - xOffset) / 2;
+		int y = ((int) (height / scale) + yOffset) / 2;
+
+		return new Node(x, y, DrawingUtil.NODE_RAD);
+	} // end mainStart
+
+	/*
+	 * Place the atoms of the main chain
+	 * Node start - first atom
+	 * boolean ring - whether the main chain is a ring
+	 * int size - number of carbons in the main chain
+	 * return nodes - node of each atom tagged with its position
+	 */
+	private static ArrayList<Node> mainAtoms(Node start, boolean ring, int size) {
+		ArrayList<Node> nodes = new ArrayList<Node>(size);
+		int[] dx = ring ? Geometry.ringDX(size, null) : null;
+		int[] dy = ring ? Geometry.ringDY(size, null) : null;
+
+		int x = start.getX();
+		int y = start.getY();
+
+		for (int i = 0; i < size; i++) {
+			nodes.add(new Node(x, y, DrawingUtil.NODE_RAD, "" + (i + 1)));
+
+			if (ring) {
+				x += dx[i];
+				y += dy[i];
+			} else {
+				x += Geometry.chainDX(DrawDirection.RIGHT, i);
+				y += Geometry.chainDY(DrawDirection.RIGHT, i);
+			} // if
+		} // loop
+
+		return nodes;
+	} // end mainAtoms
+
+	/*
+	 * Place the N or O label of a group, where its letter is drawn
+	 * Node start - atom the group is on
+	 * DrawDirection dir - direction the group points
+	 * return - node centered on the letter
+	 */
+	private static Node label(Node start, DrawDirection dir) {
+		int r = (int) (DrawingUtil.CHAIN_ARM * 0.8);
+		int fontR = (int) (DrawingUtil.CHAIN_ARM * 0.5);
+
+		int x = start.getX() + Geometry.spokeX(r, dir) + Geometry.spokeX(fontR, dir);
+		int y = start.getY() + Geometry.spokeY(r, dir) + Geometry.spokeY(fontR, dir);
+
+		return new Node(x, y, DrawingUtil.STRING_WIDTH / 2);
+	} // end label
+
+	/*
+	 * Get the direction for a chain or halogen on the main chain
+	 * boolean ring - whether the main chain is a ring
+	 * int size - number of carbons in the main chain
+	 * int pos - position on the main chain
+	 * return - direction pointing away from the main chain
+	 */
+	private static DrawDirection direction(boolean ring, int size, int pos) {
+		if (ring) {
+			return DrawingUtil.cycloDir(size, pos);
+		} else {
+			return DrawingUtil.regDirection(pos);
+		} // if
+	} // end direction
+
+	/*
+	 * Get the direction for a double bonded oxygen that shares an atom with an N or O
+	 * boolean atEnd - whether the group is on the last atom of the chain
+	 * return - direction of the oxygen
+	 */
+	private static DrawDirection doubleDirection(boolean atEnd) {
+		if (atEnd) {
+			return DrawDirection.DOWN_RIGHT;
+		} else {
+			return DrawDirection.UP_LEFT;
+		} // if
+	} // end doubleDirection
+
+	/*
+	 * Get the group for a halogen
+	 * int size - size the halogen is stored with, -2 to -5
+	 * return - group of the halogen
+	 */
+	private static FuncGroup halogen(int size) {
+		switch (size) {
+			case -2:
+				return FuncGroup.BROMINE;
+			case -3:
+				return FuncGroup.IODINE;
+			case -4:
+				return FuncGroup.FLUORINE;
+			default:
+				return FuncGroup.CHLORINE;
+		} // switch
+	} // end halogen
+} // end LayoutEngine
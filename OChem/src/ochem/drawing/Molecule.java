@@ -0,0 +1,211 @@
+package ochem.drawing;
+
+/*
+ * Molecule
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * One compound placed in a cell of a document, with its own rasterized layer, bounding
+ * box and grid of nodes so it can be drawn, hit-tested and redrawn without touching
+ * the other molecules. Positions are on the page, the canvas before zoom and pan
+ */
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import ochem.organic.Compound;
+
+public class Molecule {
+	// Extra space around the drawing for the stroke width
+	private static final int STROKE_PAD = (int) Math.ceil(Math.max(DrawingUtil.CHAIN_STROKE, DrawingUtil.BOND_STROKE) / 2)
+			+ 1;
+
+	// Attributes
+	private Compound compound; // compound in the cell
+	private int x; // left edge of the cell
+	private int y; // top edge of the cell
+	private int width; // width of the cell
+	private int height; // height of the cell
+
+	private double scale; // how much the layout was shrunk to fit the cell
+	private Rectangle bounds; // area the drawing covers inside the cell, null if nothing is drawn
+	private BufferedImage layer; // drawing rasterized over its bounds
+	private double layerZoom; // zoom the layer was rasterized at
+	private boolean dirty; // whether the compound changed since the layer was made
+
+	private NodeStore nodes; // main nodes of the layout
+	private NodeIndex index; // grid over the main nodes
+
+	/*
+	 * Create a molecule in a cell
+	 * Compound compound - compound to draw
+	 * int x - left edge of the cell
+	 * int y - top edge of the cell
+	 * int width - width of the cell
+	 * int height - height of the cell
+	 */
+	public Molecule(Compound compound, int x, int y, int width, int height) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Cell size must be positive");
+		} // if
+
+		this.compound = compound;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.nodes = new NodeStore();
+		this.index = new NodeIndex();
+		this.dirty = true;
+	} // end constructor
+
+	/*
+	 * Replace the compound, so only this molecule is laid out again
+	 * Compound compound - new compound
+	 */
+	public void setCompound(Compound compound) {
+		this.compound = compound;
+		dirty = true;
+	} // end setCompound
+
+	/*
+	 * Move the cell, the layer is kept since the drawing doesn't change
+	 * int x - new left edge
+	 * int y - new top edge
+	 */
+	public void moveTo(int x, int y) {
+		this.x = x;
+		this.y = y;
+	} // end moveTo
+
+	/*
+	 * Lay out and rasterize the molecule if it changed or is shown at another zoom
+	 * Canvas hidden - canvas to lay the compound out on, never shown
+	 * FontMetrics fm - metrics of the font labels are drawn with
+	 * Font font - font labels are drawn with
+	 * double zoom - zoom the layer will be shown at
+	 */
+	void prepare(Canvas hidden, FontMetrics fm, Font font, double zoom) {
+		if (!dirty && zoom == layerZoom)
+			return;
+
+		dirty = false;
+		layerZoom = zoom;
+		layer = null;
+		bounds = null;
+		nodes.sync(null);
+		index.build(null);
+
+		// nothing to draw without a main chain
+		if (compound == null || compound.getMainSize() <= 0)
+			return;
+
+		Layout layout = LayoutEngine.layOut(compound, width, height);
+		hidden.setLayout(layout);
+		Scene scene = hidden.layOutMolecule(fm);
+		scale = layout.getScale();
+
+		Rectangle area = scene.getBounds(STROKE_PAD);
+		if (area == null)
+			return;
+
+		// bounds in the cell, at the size the layout was shrunk to
+		bounds = new Rectangle((int) Math.floor(area.x * scale), (int) Math.floor(area.y * scale),
+				(int) Math.ceil(area.width * scale) + 1, (int) Math.ceil(area.height * scale) + 1);
+
+		// only the bounds are rasterized, at the zoom they are shown at
+		int w = Math.max(1, (int) Math.ceil(bounds.width * zoom));
+		int h = Math.max(1, (int) Math.ceil(bounds.height * zoom));
+		layer = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+
+		Graphics2D lg = layer.createGraphics();
+		QualityGovernor.apply(lg, false);
+		lg.scale(zoom, zoom);
+		lg.translate(-bounds.x, -bounds.y);
+		lg.scale(scale, scale);
+		lg.setFont(font);
+		lg.setStroke(RenderCache.CHAIN_STROKE);
+		scene.replay(lg);
+		lg.dispose();
+
+		// the layout is kept by the nodes, the hidden canvas moves on to the next one
+		nodes.sync(new ArrayList<Node>(layout.getMainNodes()));
+		index.build(nodes);
+	} // end prepare
+
+	/*
+	 * Draw the layer
+	 * Graphics2D g2 - graphics in page coordinates
+	 */
+	void paint(Graphics2D g2) {
+		if (layer == null)
+			return;
+
+		AffineTransform at = AffineTransform.getTranslateInstance(x + bounds.x, y + bounds.y);
+		at.scale(1 / layerZoom, 1 / layerZoom);
+		g2.drawImage(layer, at, null);
+	} // end paint
+
+	/*
+	 * Find the main node under a point
+	 * double pageX - x on the page
+	 * double pageY - y on the page
+	 * int reach - NodeIndex.HOVER or NodeIndex.CLICK
+	 * return - handle of the node in getNodeStore, -1 if none is in reach
+	 */
+	public int findNode(double pageX, double pageY, int reach) {
+		if (nodes.size() == 0)
+			return -1;
+
+		return index.find((int) Math.round((pageX - x) / scale), (int) Math.round((pageY - y) / scale), reach);
+	} // end findNode
+
+	// GETTERS//
+
+	/*
+	 * Get the compound
+	 * return compound - compound in the cell
+	 */
+	public Compound getCompound() {
+		return compound;
+	} // end getCompound
+
+	/*
+	 * Get the cell of the molecule
+	 * return - area of the cell on the page
+	 */
+	public Rectangle getCell() {
+		return new Rectangle(x, y, width, height);
+	} // end getCell
+
+	/*
+	 * Get the area the drawing covers, known once it has been prepared
+	 * return - bounding box on the page, null if nothing is drawn
+	 */
+	public Rectangle getBounds() {
+		if (bounds == null)
+			return null;
+
+		return new Rectangle(x + bounds.x, y + bounds.y, bounds.width, bounds.height);
+	} // end getBounds
+
+	/*
+	 * Get the main nodes of the layout, in the cell's unscaled coordinates
+	 * return nodes - store of the main nodes, empty until prepared
+	 */
+	public NodeStore getNodeStore() {
+		return nodes;
+	} // end getNodeStore
+
+	/*
+	 * Check whether the molecule will be laid out again before it is drawn
+	 * return dirty - whether the compound changed since the layer was made
+	 */
+	public boolean isDirty() {
+		return dirty;
+	} // end isDirty
+} // end Molecule
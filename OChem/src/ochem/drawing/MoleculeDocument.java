@@ -0,0 +1,191 @@
+package ochem.drawing;
+
+/*
+ * MoleculeDocument
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Several molecules placed side by side in cells of one size, i.e the steps of a
+ * reaction or two isomers to compare. Each molecule keeps its own layer, so changing
+ * one only lays out and redraws that one
+ */
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import ochem.organic.Compound;
+
+public class MoleculeDocument {
+	private static final double MAX_LAYER_ZOOM = 2; // layers past this zoom are stretched to save memory
+
+	// Attributes
+	private ArrayList<Molecule> molecules; // molecules from left to right
+	private int cellWidth; // width of each cell
+	private int cellHeight; // height of each cell
+	private int originX; // left edge of the first cell
+	private int originY; // top edge of the cells
+
+	private Canvas hidden; // canvas the molecules are laid out on, made when first needed
+	private Font font; // font labels are drawn with
+	private FontMetrics fm; // metrics of the font
+
+	/*
+	 * Create an empty document
+	 * int cellWidth - width of each cell
+	 * int cellHeight - height of each cell
+	 * int originX - left edge of the first cell on the page
+	 * int originY - top edge of the cells on the page
+	 */
+	public MoleculeDocument(int cellWidth, int cellHeight, int originX, int originY) {
+		if (cellWidth <= 0 || cellHeight <= 0) {
+			throw new IllegalArgumentException("Cell size must be positive");
+		} // if
+
+		this.cellWidth = cellWidth;
+		this.cellHeight = cellHeight;
+		this.originX = originX;
+		this.originY = originY;
+		this.molecules = new ArrayList<Molecule>();
+		this.font = RenderCache.font(new Font(Font.DIALOG, Font.PLAIN, 12), DrawingUtil.FONT_SIZE);
+	} // end constructor
+
+	/*
+	 * Add a molecule in the next cell to the right
+	 * Compound compound - compound to place
+	 * return - index of the molecule
+	 */
+	public int add(Compound compound) {
+		molecules.add(new Molecule(compound, cellX(molecules.size()), originY, cellWidth, cellHeight));
+		return molecules.size() - 1;
+	} // end add
+
+	/*
+	 * Replace the compound of one molecule, leaving the others as they are
+	 * int i - index of the molecule
+	 * Compound compound - new compound
+	 * return - cell of the molecule, the only area that needs to be drawn again
+	 */
+	public Rectangle set(int i, Compound compound) {
+		Molecule m = get(i);
+		m.setCompound(compound);
+		return m.getCell();
+	} // end set
+
+	/*
+	 * Take out a molecule, moving the ones after it left a cell
+	 * int i - index of the molecule
+	 * return - area from its cell to the end, where the drawing changed
+	 */
+	public Rectangle remove(int i) {
+		get(i); // check the index
+		Rectangle area = new Rectangle(cellX(i), originY, cellWidth * (molecules.size() - i), cellHeight);
+		molecules.remove(i);
+
+		// moving a cell keeps its layer
+		for (int j = i; j < molecules.size(); j++) {
+			molecules.get(j).moveTo(cellX(j), originY);
+		} // loop
+
+		return area;
+	} // end remove
+
+	/*
+	 * Take out every molecule
+	 */
+	public void clear() {
+		molecules.clear();
+	} // end clear
+
+	/*
+	 * Draw the molecules in the area being painted, laying out only those that changed
+	 * Graphics2D g2 - graphics in page coordinates
+	 * double zoom - how much the page is zoomed, so the layers are sharp
+	 */
+	public void paint(Graphics2D g2, double zoom) {
+		Rectangle visible = g2.getClipBounds();
+
+		for (Molecule m : molecules) {
+			if (visible != null && !visible.intersects(m.getCell()))
+				continue;
+
+			m.prepare(hidden(), fm, font, Math.min(zoom, MAX_LAYER_ZOOM));
+			m.paint(g2);
+		} // loop
+	} // end paint
+
+	/*
+	 * Find the molecule drawn at a point
+	 * double pageX - x on the page
+	 * double pageY - y on the page
+	 * return - index of the molecule whose drawing covers the point, -1 if none
+	 */
+	public int moleculeAt(double pageX, double pageY) {
+		// cells are in a row, so only one can hold the point
+		int i = (int) Math.floor((pageX - originX) / cellWidth);
+		if (i < 0 || i >= molecules.size())
+			return -1;
+
+		Rectangle bounds = molecules.get(i).getBounds();
+		return bounds != null && bounds.contains(pageX, pageY) ? i : -1;
+	} // end moleculeAt
+
+	/*
+	 * Get the canvas the molecules are laid out on, made the first time it's needed
+	 * return hidden - canvas that is never shown
+	 */
+	private Canvas hidden() {
+		if (hidden == null) {
+			hidden = new Canvas(cellWidth, cellHeight);
+
+			BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g2 = probe.createGraphics();
+			fm = g2.getFontMetrics(font);
+			g2.dispose();
+		} // if
+
+		return hidden;
+	} // end hidden
+
+	/*
+	 * Get the left edge of a cell
+	 * int i - index of the cell
+	 * return - x on the page
+	 */
+	private int cellX(int i) {
+		return originX + i * cellWidth;
+	} // end cellX
+
+	// GETTERS//
+
+	/*
+	 * Get a molecule
+	 * int i - index of the molecule
+	 * return - molecule in that cell
+	 */
+	public Molecule get(int i) {
+		if (i < 0 || i >= molecules.size()) {
+			throw new IllegalArgumentException("No molecule " + i);
+		} // if
+
+		return molecules.get(i);
+	} // end get
+
+	/*
+	 * Get the number of molecules
+	 * return - number of molecules placed
+	 */
+	public int size() {
+		return molecules.size();
+	} // end size
+
+	/*
+	 * Get the area every cell covers
+	 * return - rectangle from the first cell to the last, empty if there are none
+	 */
+	public Rectangle getArea() {
+		return new Rectangle(originX, originY, cellWidth * molecules.size(), cellHeight);
+	} // end getArea
+} // end MoleculeDocument
@@ -0,0 +1,141 @@
+package ochem.drawing;
+
+/*
+ * NodeIndex
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Uniform grid over the nodes of a store for finding the node under the mouse without
+ * checking every node
+ */
+
+import java.util.Arrays;
+
+public class NodeIndex {
+	// How far from its center a node can be hit, in radii
+	public static final int HOVER = 1; // within the radius
+	public static final int CLICK = 2; // within the diameter
+
+	// Attributes
+	private NodeStore nodes; // nodes that were indexed
+	private int size; // number of nodes when indexed
+	private int cell; // width and height of a cell, at least the widest reach of any node
+	private int minX; // x of the left edge of the grid
+	private int minY; // y of the top edge of the grid
+	private int cols; // number of columns of cells
+	private int rows; // number of rows of cells
+	private int[] heads; // first node index in each cell, -1 if empty
+	private int[] next; // next node index in the same cell, -1 at the end
+
+	/*
+	 * Create an empty index
+	 */
+	public NodeIndex() {
+		heads = new int[16];
+		next = new int[16];
+		build(null);
+	} // end constructor
+
+	/*
+	 * Index the nodes of a store, replacing whatever was indexed before
+	 * NodeStore nodes - nodes to index, null for none
+	 */
+	public void build(NodeStore nodes) {
+		this.nodes = nodes;
+		this.size = nodes == null ? 0 : nodes.size();
+
+		if (size == 0) {
+			cols = 0;
+			rows = 0;
+			return;
+		} // if
+
+		// find the extent of the nodes and the widest reach
+		minX = Integer.MAX_VALUE;
+		minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE;
+		int maxY = Integer.MIN_VALUE;
+		cell = 1;
+		for (int i = 0; i < size; i++) {
+			minX = Math.min(minX, nodes.getX(i));
+			minY = Math.min(minY, nodes.getY(i));
+			maxX = Math.max(maxX, nodes.getX(i));
+			maxY = Math.max(maxY, nodes.getY(i));
+			cell = Math.max(cell, CLICK * nodes.getRad(i));
+		} // loop
+
+		cols = (maxX - minX) / cell + 1;
+		rows = (maxY - minY) / cell + 1;
+
+		// only grow the arrays
+		if (heads.length < cols * rows)
+			heads = new int[cols * rows];
+		if (next.length < size)
+			next = new int[size];
+		Arrays.fill(heads, 0, cols * rows, -1);
+
+		// push each node onto the front of its cell's list
+		for (int i = size - 1; i >= 0; i--) {
+			int c = ((nodes.getY(i) - minY) / cell) * cols + (nodes.getX(i) - minX) / cell;
+			next[i] = heads[c];
+			heads[c] = i;
+		} // loop
+	} // end build
+
+	/*
+	 * Find the closest node to a point
+	 * int x - x of the point
+	 * int y - y of the point
+	 * int reach - HOVER or CLICK
+	 * return - handle of the node, -1 if none is in reach
+	 */
+	public int find(int x, int y, int reach) {
+		return find(x, y, reach, 0, size, false);
+	} // end find
+
+	/*
+	 * Find the closest node to a point out of some of the nodes
+	 * int x - x of the point
+	 * int y - y of the point
+	 * int reach - HOVER or CLICK
+	 * int from - first index of the nodes that can be hit
+	 * int to - index after the last node that can be hit
+	 * boolean selectable - whether nodes blocked in the store can't be hit
+	 * return best - handle of the node, -1 if none is in reach
+	 */
+	public int find(int x, int y, int reach, int from, int to, boolean selectable) {
+		if (size == 0)
+			return -1;
+
+		// only the cell the point is in and its neighbours can hold a node in reach
+		int col = Math.floorDiv(x - minX, cell);
+		int row = Math.floorDiv(y - minY, cell);
+		int best = -1;
+		int bestDist = Integer.MAX_VALUE;
+
+		for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+			for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, cols - 1); c++) {
+				for (int i = heads[r * cols + c]; i != -1; i = next[i]) {
+					if (i < from || i >= to)
+						continue;
+
+					int range = reach * nodes.getRad(i);
+					int dx = Math.abs(x - nodes.getX(i));
+					int dy = Math.abs(y - nodes.getY(i));
+					if (dx >= range || dy >= range)
+						continue;
+					if (selectable && nodes.isBlocked(i))
+						continue;
+
+					// closest by the larger of the two distances
+					int dist = Math.max(dx, dy);
+					if (dist < bestDist) {
+						best = i;
+						bestDist = dist;
+					} // if
+				} // loop
+			} // loop
+		} // loop
+
+		return best;
+	} // end find
+} // end NodeIndex
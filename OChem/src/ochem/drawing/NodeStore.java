@@ -0,0 +1,285 @@
+package ochem.drawing;
+
+/*
+ * NodeStore
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Flat copy of the main nodes as parallel primitive arrays, with each tag parsed once
+ * into a kind and a locant and each color kept as an index into a small palette, so
+ * drawing and hit-testing every frame don't chase Node objects or compare Strings.
+ * A node is referred to by its handle, its index in the list it was copied from
+ */
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class NodeStore {
+	// Kinds of nodes
+	public static final byte ATOM = 0; // carbon of the main chain, numeric tag
+	public static final byte NITROGEN = 1; // N label
+	public static final byte OXYGEN = 2; // O label
+	public static final byte LABEL = 3; // any other tag, drawn as its text
+
+	// Attributes
+	private ArrayList<Node> source; // list the nodes were copied from
+	private int count; // number of nodes
+	private int[] x; // center x of each node
+	private int[] y; // center y of each node
+	private int[] rad; // radius of each node
+	private byte[] kind; // kind of each node
+	private short[] locant; // number in the tag of each atom, 0 for the other kinds
+	private byte[] color; // palette index of each node's color, 0 for none
+	private String[] labels; // text of each LABEL node, null for the other kinds
+
+	private Color[] palette; // colors used by the nodes, index 0 is no color
+	private int colors; // number of palette entries in use
+	private static final int MAX_COLORS = 256; // most entries an unsigned byte can index
+
+	// Nodes that can't be selected in the current step
+	private boolean[] blockedKinds; // by kind, only the letter kinds are used
+	private boolean[] blockedLocants; // atoms by locant, offset so -1 fits
+	private static final int LOCANT_OFFSET = 1; // smallest locant that can be blocked is -1
+
+	/*
+	 * Create an empty store
+	 */
+	public NodeStore() {
+		x = new int[16];
+		y = new int[16];
+		rad = new int[16];
+		kind = new byte[16];
+		locant = new short[16];
+		color = new byte[16];
+		labels = new String[16];
+
+		palette = new Color[8];
+		colors = 1; // index 0 stands for no color
+
+		blockedKinds = new boolean[LABEL + 1];
+		blockedLocants = new boolean[16];
+	} // end constructor
+
+	/*
+	 * Copy a list of nodes, replacing whatever was stored before
+	 * ArrayList<Node> nodes - nodes to copy, null for none
+	 */
+	public void sync(ArrayList<Node> nodes) {
+		source = nodes;
+		count = nodes == null ? 0 : nodes.size();
+
+		// only grow the arrays
+		if (x.length < count) {
+			int n = Math.max(count, x.length * 2);
+			x = new int[n];
+			y = new int[n];
+			rad = new int[n];
+			kind = new byte[n];
+			locant = new short[n];
+			color = new byte[n];
+			labels = new String[n];
+		} // if
+
+		for (int i = 0; i < count; i++) {
+			Node n = nodes.get(i);
+			x[i] = n.getX();
+			y[i] = n.getY();
+			rad[i] = n.getRad();
+			color[i] = colorIndex(n.getColor());
+			parseTag(i, n.getTag());
+		} // loop
+	} // end sync
+
+	/*
+	 * Check whether the store is out of date for a list of nodes
+	 * ArrayList<Node> nodes - list that should be stored
+	 * return - whether the list is a different one or has changed size
+	 */
+	public boolean isStale(ArrayList<Node> nodes) {
+		return nodes != source || (nodes != null && nodes.size() != count);
+	} // end isStale
+
+	/*
+	 * Split a tag into a kind and a locant
+	 * int i - handle of the node
+	 * String tag - tag of the node
+	 */
+	private void parseTag(int i, String tag) {
+		labels[i] = null;
+		locant[i] = 0;
+
+		if (tag.equals("N")) {
+			kind[i] = NITROGEN;
+		} else if (tag.equals("O")) {
+			kind[i] = OXYGEN;
+		} else if (DrawingUtil.isNumber(tag)) {
+			kind[i] = ATOM;
+			locant[i] = (short) Integer.parseInt(tag);
+		} else {
+			kind[i] = LABEL;
+			labels[i] = tag;
+		} // if
+	} // end parseTag
+
+	/*
+	 * Get the palette index of a color, adding it to the palette the first time
+	 * Color c - color to look up, null for none
+	 * return - index of the color
+	 */
+	private byte colorIndex(Color c) {
+		if (c == null)
+			return 0;
+
+		for (int i = 1; i < colors; i++) {
+			if (palette[i] == c || palette[i].equals(c))
+				return (byte) i;
+		} // loop
+
+		// the nodes only ever use a handful of colors
+		if (colors == MAX_COLORS) {
+			throw new IllegalStateException("Nodes use more than " + (MAX_COLORS - 1) + " colors");
+		} // if
+
+		if (colors == palette.length)
+			palette = Arrays.copyOf(palette, colors * 2);
+		palette[colors] = c;
+		return (byte) colors++;
+	} // end colorIndex
+
+	// SELECTION//
+
+	/*
+	 * Let every node be selected again
+	 */
+	public void clearBlocked() {
+		Arrays.fill(blockedKinds, false);
+		Arrays.fill(blockedLocants, false);
+	} // end clearBlocked
+
+	/*
+	 * Stop the atom with a locant from being selected
+	 * int loc - locant of the atom
+	 */
+	public void blockLocant(int loc) {
+		int i = loc + LOCANT_OFFSET;
+		if (i < 0)
+			return;
+
+		if (i >= blockedLocants.length)
+			blockedLocants = Arrays.copyOf(blockedLocants, Math.max(i + 1, blockedLocants.length * 2));
+		blockedLocants[i] = true;
+	} // end blockLocant
+
+	/*
+	 * Stop every node of a kind from being selected, i.e all the N labels
+	 * byte k - NITROGEN or OXYGEN
+	 */
+	public void blockKind(byte k) {
+		blockedKinds[k] = true;
+	} // end blockKind
+
+	/*
+	 * Check whether a node can't be selected in the current step
+	 * int i - handle of the node
+	 * return - whether its kind or, for an atom, its locant is blocked
+	 */
+	public boolean isBlocked(int i) {
+		if (kind[i] != ATOM)
+			return blockedKinds[kind[i]];
+
+		int l = locant[i] + LOCANT_OFFSET;
+		return l >= 0 && l < blockedLocants.length && blockedLocants[l];
+	} // end isBlocked
+
+	// GETTERS AND SETTERS//
+
+	/*
+	 * Get the number of nodes
+	 * return count - number of handles
+	 */
+	public int size() {
+		return count;
+	} // end size
+
+	/*
+	 * Get the center x of a node
+	 * int i - handle of the node
+	 * return - x of the node
+	 */
+	public int getX(int i) {
+		return x[i];
+	} // end getX
+
+	/*
+	 * Get the center y of a node
+	 * int i - handle of the node
+	 * return - y of the node
+	 */
+	public int getY(int i) {
+		return y[i];
+	} // end getY
+
+	/*
+	 * Get the radius of a node
+	 * int i - handle of the node
+	 * return - radius of the node
+	 */
+	public int getRad(int i) {
+		return rad[i];
+	} // end getRad
+
+	/*
+	 * Get the kind of a node
+	 * int i - handle of the node
+	 * return - ATOM, NITROGEN, OXYGEN or LABEL
+	 */
+	public byte getKind(int i) {
+		return kind[i];
+	} // end getKind
+
+	/*
+	 * Get the locant of an atom
+	 * int i - handle of the node
+	 * return - number in the atom's tag, 0 for the other kinds
+	 */
+	public int getLocant(int i) {
+		return locant[i];
+	} // end getLocant
+
+	/*
+	 * Get the text drawn for a letter node
+	 * int i - handle of the node
+	 * return - N, O or the tag of a LABEL node, null for an atom
+	 */
+	public String getSymbol(int i) {
+		switch (kind[i]) {
+			case NITROGEN:
+				return "N";
+			case OXYGEN:
+				return "O";
+			case LABEL:
+				return labels[i];
+			default:
+				return null;
+		} // switch
+	} // end getSymbol
+
+	/*
+	 * Get the color of a node
+	 * int i - handle of the node
+	 * return - color of the node, null if it has none
+	 */
+	public Color getColor(int i) {
+		return palette[color[i] & 0xFF];
+	} // end getColor
+
+	/*
+	 * Set the color of a node, and of the node it was copied from
+	 * int i - handle of the node
+	 * Color c - new color
+	 */
+	public void setColor(int i, Color c) {
+		source.get(i).setColor(c);
+		color[i] = colorIndex(c);
+	} // end setColor
+} // end NodeStore
@@ -28,6 +28,8 @@ public class OBox extends JComponent {
 	private Color textColor; //text color
 	private Font f; //Font for text
 	private float fontSize; //font size in pixels
+	private Font sized; //font at the font size, derived when the size changes
+	private FontMetrics fm; //metrics of the sized font, null until the first paint
 	private int cornerRad; //radius of the corners in pixels
 	private boolean border; //whether OBOX has border
 	
@@ -97,9 +99,12 @@ public class OBox extends JComponent {
 		//set the text color
 		g.setColor(textColor);
 
-		//set the font
-		g.setFont(f.deriveFont(fontSize));
-		FontMetrics fm = g.getFontMetrics();
+		//set the font, only measured again after the size changes
+		if (sized == null) {
+			sized = RenderCache.font(f, fontSize);
+			fm = g.getFontMetrics(sized);
+		} //if
+		g.setFont(sized);
 		
 		//set the font to use antialiasing or not
 		Graphics2D g2 = (Graphics2D) g;
@@ -149,6 +154,7 @@ public class OBox extends JComponent {
 	 */
 	public void setFontSize(float fontSize) {
 		this.fontSize = fontSize;
+		this.sized = null;
 	} //end setFontSize
 	
 	/*
@@ -166,4 +172,4 @@ public class OBox extends JComponent {
 	public void setTextColor(Color color) {
 		this.textColor = color;
 	} //end setTextColor
-} //end class
\ No newline at end of file
+} //end class
\ No newline at end of file
@@ -26,6 +26,11 @@ public class Palette extends JPanel {
 	private OBox side; //side button
 	private OBox bond; //bond button
 	private OBox clear; //clear button
+	private OBox place; //place button
+	private OBox undo; //undo button
+	private OBox redo; //redo button
+	private OBox save; //save button
+	private OBox open; //open button
 	private OBox name; //name button
 	
 	//functional group buttons
@@ -44,8 +49,9 @@ public class Palette extends JPanel {
 	
 	//list of buttons so adding controllers is easier
 	private ArrayList<OBox> buttons;
+	private ArrayList<PaletteButtonController> controllers; //controller of each button
 	
-	private final int NUM_ROWS = 11; //number of buttons on the screen
+	private final int NUM_ROWS = 13; //number of buttons on the screen
 	
 	private Canvas canvas; //instance of the Canvas
 	
@@ -186,10 +192,50 @@ public class Palette extends JPanel {
 		this.add(row6);
 		row6.setBackground(DrawingGUI.BG_COLOR);
 		
+		JPanel row7 = new JPanel(); //row 7
+		
 		//clear button
-		clear = new OBox(width, height/NUM_ROWS - 2*View.PAD, "Clear", true, false);
+		clear = new OBox(width/2, height/NUM_ROWS - 2*View.PAD, "Clear", true, false);
 		buttons.add(clear);
-		this.add(clear);
+		row7.add(clear);
+		
+		//place button
+		place = new OBox(width/2, height/NUM_ROWS - 2*View.PAD, "Place", true, false);
+		buttons.add(place);
+		row7.add(place);
+		
+		this.add(row7);
+		row7.setBackground(DrawingGUI.BG_COLOR);
+		
+		JPanel row8 = new JPanel(); //row 8
+		
+		//undo button
+		undo = new OBox(width/2, height/NUM_ROWS - 2*View.PAD, "Undo", true, false);
+		buttons.add(undo);
+		row8.add(undo);
+		
+		//redo button
+		redo = new OBox(width/2, height/NUM_ROWS - 2*View.PAD, "Redo", true, false);
+		buttons.add(redo);
+		row8.add(redo);
+		
+		this.add(row8);
+		row8.setBackground(DrawingGUI.BG_COLOR);
+		
+		JPanel row9 = new JPanel(); //row 9
+		
+		//save button
+		save = new OBox(width/2, height/NUM_ROWS - 2*View.PAD, "Save", true, false);
+		buttons.add(save);
+		row9.add(save);
+		
+		//open button
+		open = new OBox(width/2, height/NUM_ROWS - 2*View.PAD, "Open", true, false);
+		buttons.add(open);
+		row9.add(open);
+		
+		this.add(row9);
+		row9.setBackground(DrawingGUI.BG_COLOR);
 		
 		//name button
 		name = new OBox(width, height/NUM_ROWS - 2*View.PAD, "Name", true, false);
@@ -209,9 +255,12 @@ public class Palette extends JPanel {
 	 * Add controllers to each button
 	 */
 	private void registerControllers() {
+		controllers = new ArrayList<PaletteButtonController>();
+		
 		for (int i = 0; i < buttons.size(); i++) {
 			buttons.get(i).setFontSize((float) (DrawingUtil.FONT_SIZE * 0.4));
-			buttons.get(i).addMouseListener(new PaletteButtonController(this, buttons.get(i), canvas));
+			controllers.add(new PaletteButtonController(this, buttons.get(i), canvas));
+			buttons.get(i).addMouseListener(controllers.get(i));
 		} //loop
 		
 		main.setFontSize((float) (DrawingUtil.FONT_SIZE * 0.8)); 
@@ -221,6 +270,25 @@ public class Palette extends JPanel {
 		name.setFontSize((float) (DrawingUtil.FONT_SIZE * 0.8)); 
 	} //end registerControllers
 	
+	/*
+	 * Press a button by its text, the same as clicking it
+	 * String text - text on the button, i.e "Main"
+	 */
+	public void press(String text) {
+		if (controllers == null) {
+			throw new IllegalArgumentException("Palette has no canvas");
+		} //if
+		
+		for (int i = 0; i < buttons.size(); i++) {
+			if (buttons.get(i).getText().equals(text)) {
+				controllers.get(i).press();
+				return;
+			} //if
+		} //loop
+		
+		throw new IllegalArgumentException("No button " + text);
+	} //end press
+	
 	/*
 	 * Return the selected type of node
 	 * return selectedType - currently selected node type
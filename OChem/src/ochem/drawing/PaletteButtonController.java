@@ -10,13 +10,17 @@ package ochem.drawing;
 import java.awt.Color;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+
+import javax.swing.JFileChooser;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import ochem.drawing.DrawingUtil.ActionType;
 import ochem.drawing.DrawingUtil.FuncGroup;
-import ochem.organic.Chain;
 import ochem.organic.Compound;
 import ochem.organic.OrganicUtil;
+import ochem.organic.Validator;
 
 public class PaletteButtonController implements MouseListener {
 	// Attributes
@@ -29,6 +33,8 @@ public class PaletteButtonController implements MouseListener {
 	private final Color ENTERED;
 	private final Color PRESSED;
 
+	private final String DRAWING_EXTENSION = ".och"; // ending added to saved drawings
+
 	/*
 	 * Create a controller with an instance of the palette, canvas and the button to
 	 * control Palette palette - instance of the palette OBox button - button being
@@ -60,9 +66,23 @@ public class PaletteButtonController implements MouseListener {
 	 * MouseEvent m - object holding click data
 	 */
 	public void mouseClicked(MouseEvent m) {
+		press();
+	} //end mouseClicked
+
+	/*
+	 * Press the button, the same as clicking it so a recorded session can be replayed
+	 * without a screen
+	 */
+	public void press() {
 		// get the text in the button
 		String text = button.getText();
 
+		// log the press by the button's text
+		ActionRecorder recorder = canvas.getRecorder();
+		if (recorder != null) {
+			recorder.palette(text);
+		} // if
+
 		// check button text to see what action to perform
 		if (text.equals("Main")) { // main button was pressed
 			mainAction();
@@ -79,6 +99,21 @@ public class PaletteButtonController implements MouseListener {
 		} else if (text.equals("Name")) { // name button was pressed
 			nameAction();
 
+		} else if (text.equals("Place")) { // place button was pressed
+			placeAction();
+
+		} else if (text.equals("Undo")) { // undo button was pressed
+			undoAction();
+
+		} else if (text.equals("Redo")) { // redo button was pressed
+			redoAction();
+
+		} else if (text.equals("Save")) { // save button was pressed
+			saveAction();
+
+		} else if (text.equals("Open")) { // open button was pressed
+			openAction();
+
 			// functional groups
 		} else if (text.equals("Fluorine")) { // fluorine
 			fluoroAction();
@@ -121,7 +156,7 @@ public class PaletteButtonController implements MouseListener {
 		// update the button and canvas
 		button.update();
 		canvas.updateDisplay();
-	} //end mouseClicked
+	} //end press
 
 
 	// BUTTON ACTIONS//
@@ -336,10 +371,95 @@ public class PaletteButtonController implements MouseListener {
 	 * Action for when the "clear" button is pressed
 	 */
 	private void clearAction() {
+		canvas.erase(); // can be undone
+		canvas.clearMolecules(); // the placed molecules go too
 		palette.setSelectedType(ActionType.CLEAR); // set the type to clear
 		DrawingGUI.showMessage("Screen cleared!"); // notify on the dialog box
 	} // end clearAction
 
+	/*
+	 * Action for when the "undo" button is pressed
+	 */
+	private void undoAction() {
+		if (!canvas.undo()) {
+			DrawingGUI.showMessage("Nothing to undo"); // notify on the dialog box
+		} // if
+	} // end undoAction
+
+	/*
+	 * Action for when the "redo" button is pressed
+	 */
+	private void redoAction() {
+		if (!canvas.redo()) {
+			DrawingGUI.showMessage("Nothing to redo"); // notify on the dialog box
+		} // if
+	} // end redoAction
+
+	/*
+	 * Action for when the "place" button is pressed
+	 */
+	private void placeAction() {
+		// if main chain is on the screen
+		if (canvas.getMainOnScreen()) {
+			canvas.placeMolecule(); // keep it beside the next drawing
+			palette.setSelectedType(ActionType.CLEAR); // start the next one
+			DrawingGUI.showMessage("Molecule placed!"); // notify on the dialog box
+		} // if
+	} // end placeAction
+
+	/*
+	 * Action for when the "save" button is pressed
+	 */
+	private void saveAction() {
+		JFileChooser chooser = fileChooser();
+		if (chooser == null || chooser.showSaveDialog(canvas) != JFileChooser.APPROVE_OPTION)
+			return;
+
+		// the drawing format unless JSON was asked for
+		File file = chooser.getSelectedFile();
+		String name = file.getName().toLowerCase();
+		if (!name.endsWith(DRAWING_EXTENSION) && !name.endsWith(".json")) {
+			file = new File(file.getPath() + DRAWING_EXTENSION);
+		} // if
+
+		try {
+			DrawingFile.save(canvas, file);
+			DrawingGUI.showMessage("Saved " + file.getName()); // notify on the dialog box
+		} catch (IOException e) {
+			DrawingGUI.reportError("Could not save: " + e.getMessage());
+		} // try-catch
+	} // end saveAction
+
+	/*
+	 * Action for when the "open" button is pressed
+	 */
+	private void openAction() {
+		JFileChooser chooser = fileChooser();
+		if (chooser == null || chooser.showOpenDialog(canvas) != JFileChooser.APPROVE_OPTION)
+			return;
+
+		try {
+			DrawingFile.open(chooser.getSelectedFile(), canvas);
+			DrawingGUI.showMessage("Opened " + chooser.getSelectedFile().getName()); // notify on the dialog box
+		} catch (IOException e) {
+			DrawingGUI.reportError("Could not open: " + e.getMessage());
+		} // try-catch
+	} // end openAction
+
+	/*
+	 * Make a file chooser for drawings
+	 * return chooser - chooser showing drawing files, null if the canvas isn't on the
+	 * screen, i.e replaying a session
+	 */
+	private JFileChooser fileChooser() {
+		if (!canvas.isShowing())
+			return null;
+
+		JFileChooser chooser = new JFileChooser();
+		chooser.setFileFilter(new FileNameExtensionFilter("Drawings", DRAWING_EXTENSION.substring(1), "json"));
+		return chooser;
+	} // end fileChooser
+
 	/*
 	 * Action for when the "name" button is pressed
 	 */
@@ -350,8 +470,16 @@ public class PaletteButtonController implements MouseListener {
 			 * //dbg System.out.println(canvas.getCompound().toString()); for (String s :
 			 * canvas.getEndings()) { System.out.println(s); }
 			 */
-			Compound c = this.adjustEnding();
+			Compound c = canvas.getDrawnCompound(); // kept finished as it was drawn
 			System.out.println(c.toString());
+
+			// don't name structures that can't exist
+			int violations = Validator.validate(c);
+			if (violations != Validator.VALID) {
+				DrawingGUI.reportError("Invalid compound: " + Validator.describe(violations));
+				return;
+			} // if
+
 			System.out.println(c.getMainChain().getBond());
 			String hold = OrganicUtil.nameFromCompound(c);
 			System.out.println(hold);
@@ -360,91 +488,6 @@ public class PaletteButtonController implements MouseListener {
 		} // if
 	} // end nameAction
 
-	private Compound adjustEnding() {
-		Compound c = canvas.getCompound();
-		Chain sides[] = c.getSideChains();
-		int num = 0;
-		ArrayList<Integer> spots = new ArrayList<Integer>();
-		ArrayList<String> locations = new ArrayList<String>();
-		
-		if (c.getMainChain().getBond() == 1 && c.getMainChain().getFunctionalLocation().size() >= 1) {
-			c.getMainChain().clearFunctionalLocations();
-		} else {
-			c.getMainChain().addNumOfGroups(c.getMainChain().getFunctionalLocation().size(), 0);
-			if (c.getMainChain().getBond() == 2) {
-				c.getMainChain().setEnding(1);
-			} else if (c.getMainChain().getBond() == 3) {
-				c.getMainChain().setEnding(2);
-			}//end if
-		}//end if
-		
-		// saves the indexes of the positions with the highest priority
-		for (int i = 0; i < sides.length; i++) {
-			if (sides[i].getSize() < num) {
-				if (sides[i].getSize()!=-8) {
-					num = sides[i].getSize();
-					spots = new ArrayList<Integer>();
-					spots.add(i);
-				}
-			} else if (sides[i].getSize() == num) {
-				spots.add(i);
-			}//end if
-		} // end for
-
-		// add functional locations
-		if (num <= -6) {
-			for (int i : spots) {
-				c.getMainChain().addFunctionalLocation(sides[i].getLocation());
-				locations.add(sides[i].getLocation());
-			} // end for
-
-			c.getMainChain().addNumOfGroups(spots.size(), 1);
-			// remove side chains
-			sides = c.removeSideChain(num);
-		switch (num) {
-		case -12:
-			c.getMainChain().setEnding(OrganicUtil.FUNCTIONAL_NAMES.length-3, 1);
-			break;
-		case -11:
-			c.getMainChain().setEnding(OrganicUtil.FUNCTIONAL_NAMES.length-4, 1);
-			break;
-		case -10:
-			c.getMainChain().setEnding(OrganicUtil.FUNCTIONAL_NAMES.length-5, 1);
-			break;
-		case -9:
-			c.getMainChain().setEnding(OrganicUtil.FUNCTIONAL_NAMES.length-6, 1);
-			break;
-		case -6:
-			c.getMainChain().setEnding(3, 1);
-			break;
-		case -8:
-			int al = 0;
-			for (String s: locations) {
-				if (s.equals("1")||s.equals(""+c.getMainChain().getSize()))
-					al++;
-			}
-			if (al>0) {
-				c.getMainChain().clearFunctionalLocations();
-				for (String s:locations) {
-					if (!s.equals("1")&&!s.equals(""+c.getMainChain().getSize()))
-						c.addSideChain(-6, s, false, false);
-					else
-						c.addFunctionalLocation(s);
-					//end if
-				}//end for
-				c.getMainChain().setEnding(4,1);
-			}else
-				c.getMainChain().setEnding(5, 1);
-			//end if
-			break;
-		default:
-		}//end switch case
-		}//end if
-		
-		c = OrganicUtil.reorderCompound(c);
-		return c;
-	}// end adjust ending
-
 	// UPDATE VISUALS//
 
 	/*
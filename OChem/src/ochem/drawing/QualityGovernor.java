@@ -0,0 +1,130 @@
+package ochem.drawing;
+
+/*
+ * QualityGovernor
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Picks cheap rendering hints while the mouse is moving or frames run over budget, then
+ * asks for one full quality frame once things settle, so slow machines stay responsive
+ */
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import javax.swing.Timer;
+
+public class QualityGovernor {
+	// Attributes
+	private Timer settle; // fires once when the interaction has been quiet long enough
+	private Runnable settled; // work to do when settled, i.e repaint everything
+	private long budget; // time a full quality frame should take in nanoseconds
+	private boolean fast; // whether frames are drawn with the cheap hints
+	private boolean finalFrame; // whether the next frame is the full quality one after settling
+
+	private long fastFrames; // frames drawn with the cheap hints
+	private long fullFrames; // frames drawn at full quality
+
+	/*
+	 * Create a governor
+	 * int frameMs - time a full quality frame should take in milliseconds
+	 * int settleMs - quiet time after the last interaction before full quality returns
+	 * Runnable settled - work to do when full quality returns
+	 */
+	public QualityGovernor(int frameMs, int settleMs, Runnable settled) {
+		this.settled = settled;
+		this.budget = frameMs * 1000000L;
+
+		// the timer runs on the Swing thread, the same one that paints
+		settle = new Timer(settleMs, e -> settle());
+		settle.setRepeats(false);
+	} // end constructor
+
+	/*
+	 * Note that the user is interacting, i.e the mouse moved
+	 */
+	public void interact() {
+		fast = true;
+		settle.restart(); // wait for the interaction to go quiet again
+	} // end interact
+
+	/*
+	 * Set the hints for the next frame on a graphics object
+	 * Graphics2D g2 - graphics the frame is drawn with
+	 */
+	public void apply(Graphics2D g2) {
+		apply(g2, fast);
+	} // end apply
+
+	/*
+	 * Note how long a frame took, switching to the cheap hints if a full quality frame
+	 * went over budget. The frame after settling isn't counted, or it would never end
+	 * long nanos - time the frame took in nanoseconds
+	 */
+	public void frameDone(long nanos) {
+		if (fast) {
+			fastFrames++;
+		} else {
+			fullFrames++;
+
+			if (!finalFrame && nanos > budget) {
+				fast = true;
+				settle.restart();
+			} // if
+		} // if
+
+		finalFrame = false;
+	} // end frameDone
+
+	/*
+	 * Go back to full quality and ask for a frame with it
+	 */
+	private void settle() {
+		fast = false;
+		finalFrame = true;
+		settled.run();
+	} // end settle
+
+	/*
+	 * Check whether frames are drawn with the cheap hints
+	 * return fast - true while interacting or over budget
+	 */
+	public boolean isFast() {
+		return fast;
+	} // end isFast
+
+	/*
+	 * Get the number of frames drawn with the cheap hints
+	 * return fastFrames - cheap frames drawn
+	 */
+	public long getFastFrames() {
+		return fastFrames;
+	} // end getFastFrames
+
+	/*
+	 * Get the number of frames drawn at full quality
+	 * return fullFrames - full quality frames drawn
+	 */
+	public long getFullFrames() {
+		return fullFrames;
+	} // end getFullFrames
+
+	/*
+	 * Set the hints for one quality on a graphics object
+	 * Graphics2D g2 - graphics to set the hints on
+	 * boolean fast - cheap hints if true, full quality if false
+	 */
+	public static void apply(Graphics2D g2, boolean fast) {
+		if (fast) {
+			g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+			g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+			g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+			g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+
+		} else {
+			g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+		} // if
+	} // end apply
+} // end QualityGovernor
@@ -0,0 +1,97 @@
+package ochem.drawing;
+
+/*
+ * RenderCache
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Shared strokes, derived fonts and pre-shaped labels so painting a frame doesn't
+ * create any of them, safe to use from the batch rendering threads
+ */
+
+import java.awt.BasicStroke;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.HashMap;
+
+public class RenderCache {
+	// Strokes
+	public static final BasicStroke CHAIN_STROKE = new BasicStroke(DrawingUtil.CHAIN_STROKE, BasicStroke.CAP_ROUND,
+			BasicStroke.JOIN_ROUND);
+	public static final BasicStroke BOND_STROKE = new BasicStroke(DrawingUtil.BOND_STROKE, BasicStroke.CAP_ROUND,
+			BasicStroke.JOIN_ROUND);
+
+	// Every atom and group label the canvas draws, shaped together the first time a
+	// font is used
+	public static final String[] LABELS = { "N", "O", "OH", "H", "H\u2082", "NH\u2082", "F", "Cl", "Br", "I" };
+
+	// fonts derived from a base font, by base font then size
+	private static final HashMap<Font, HashMap<Float, Font>> FONTS = new HashMap<Font, HashMap<Float, Font>>();
+
+	// shaped labels, by font then text, one set per font no matter the zoom
+	private static final HashMap<Font, HashMap<String, GlyphVector>> GLYPHS = new HashMap<Font, HashMap<String, GlyphVector>>();
+
+	// unscaled context every label is shaped in
+	private static final FontRenderContext UNIT_CONTEXT = new FontRenderContext(null, false, true);
+
+	/*
+	 * Get a font at another size, deriving it only the first time it is asked for
+	 * Font base - font to derive from
+	 * float size - size of the new font
+	 * return font - base font at that size
+	 */
+	public static synchronized Font font(Font base, float size) {
+		HashMap<Float, Font> sizes = FONTS.get(base);
+		if (sizes == null) {
+			sizes = new HashMap<Float, Font>();
+			FONTS.put(base, sizes);
+		} // if
+
+		Font font = sizes.get(size);
+		if (font == null) {
+			font = base.getSize2D() == size ? base : base.deriveFont(size);
+			sizes.put(size, font);
+		} // if
+
+		return font;
+	} // end font
+
+	/*
+	 * Get a label shaped for a font, laid out at unit scale so the graphics transform
+	 * can draw it at any zoom
+	 * Font font - font the label is drawn with
+	 * String label - text of the label
+	 * return glyphs - shaped label, shared so it must not be changed
+	 */
+	public static synchronized GlyphVector glyphs(Font font, String label) {
+		HashMap<String, GlyphVector> labels = GLYPHS.get(font);
+
+		// shape all the known labels at once for a new font
+		if (labels == null) {
+			labels = new HashMap<String, GlyphVector>();
+			for (String l : LABELS) {
+				labels.put(l, shape(font, l));
+			} // loop
+			GLYPHS.put(font, labels);
+		} // if
+
+		GlyphVector glyphs = labels.get(label);
+		if (glyphs == null) { // a label that isn't known ahead of time
+			glyphs = shape(font, label);
+			labels.put(label, glyphs);
+		} // if
+
+		return glyphs;
+	} // end glyphs
+
+	/*
+	 * Shape a label at unit scale, with fractional advances so the letters stay evenly
+	 * spaced once the label is scaled up
+	 * Font font - font the label is drawn with
+	 * String label - text of the label
+	 * return - shaped label
+	 */
+	private static GlyphVector shape(Font font, String label) {
+		return font.createGlyphVector(UNIT_CONTEXT, label);
+	} // end shape
+} // end RenderCache
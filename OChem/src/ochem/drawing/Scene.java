@@ -0,0 +1,599 @@
+package ochem.drawing;
+
+/*
+ * Scene
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Retained list of the lines, filled circles and labels that make up a drawing,
+ * computed once and replayed onto the screen as many times as needed. Lines are
+ * batched into one path per run of the same color and stroke, and anything outside
+ * the area being painted is skipped
+ */
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Stroke;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class Scene {
+	// Kinds of primitives
+	private static final byte LINE = 0; // line segment from (x1,y1) to (x2,y2)
+	private static final byte OVAL = 1; // filled oval with its top left corner and size
+	private static final byte TEXT = 2; // shaped label with its baseline position
+	private static final byte COLOR = 3; // change of color for the primitives after it
+	private static final byte STROKE = 4; // change of stroke for the primitives after it
+
+	// extra space around the painted area so the caps of lines just outside it are drawn
+	private static final int CULL_PAD = (int) Math.ceil(Math.max(DrawingUtil.CHAIN_STROKE, DrawingUtil.BOND_STROKE) / 2)
+			+ 1;
+
+	// Attributes
+	private byte[] kinds; // kind of each primitive
+	private int[] coords; // four coordinates for each primitive
+	private Object[] values; // label, color or stroke of each primitive
+	private String[] labels; // text of each label, for exporting
+	private int count; // number of primitives recorded
+
+	private FontMetrics fm; // metrics of the font labels are drawn with
+	private Color color; // current color
+	private int dx; // current x translation
+	private int dy; // current y translation
+
+	private boolean batched; // whether the line batches are up to date
+	private int[] batchFrom; // first batch drawn at each primitive, -1 if none
+	private int[] batchTo; // batch after the last drawn at each primitive
+	private Path2D.Float[] paths; // lines of each batch
+	private Color[] pathColors; // color of each batch, null for the color before the scene
+	private Stroke[] pathStrokes; // stroke of each batch, null for the stroke before the scene
+	private Rectangle2D[] pathBounds; // area the lines of each batch cover, without their width
+	private int batches; // number of batches
+
+	/*
+	 * Create an empty scene
+	 */
+	public Scene() {
+		kinds = new byte[64];
+		coords = new int[64 * 4];
+		values = new Object[64];
+		labels = new String[64];
+		count = 0;
+
+		batchFrom = new int[64];
+		batchTo = new int[64];
+		paths = new Path2D.Float[8];
+		pathColors = new Color[8];
+		pathStrokes = new Stroke[8];
+		pathBounds = new Rectangle2D[8];
+	} // end constructor
+
+	/*
+	 * Remove every primitive and get ready to record again
+	 * FontMetrics fm - metrics of the font labels will be drawn with
+	 */
+	public void clear(FontMetrics fm) {
+		// drop the references so old labels and colors can be collected
+		for (int i = 0; i < count; i++) {
+			values[i] = null;
+			labels[i] = null;
+		} // loop
+
+		this.fm = fm;
+		this.color = null;
+		this.dx = 0;
+		this.dy = 0;
+		count = 0;
+		batched = false;
+	} // end clear
+
+	/*
+	 * Draw every recorded primitive in order, each batch of lines with one call
+	 * Graphics2D g2 - object responsible for drawing
+	 */
+	public void replay(Graphics2D g2) {
+		if (!batched)
+			batch();
+
+		// area being painted in the scene's coordinates, null if everything is
+		Rectangle visible = g2.getClipBounds();
+		if (visible != null)
+			visible.grow(CULL_PAD, CULL_PAD);
+
+		// style before the scene, used until the scene sets its own
+		Color startColor = g2.getColor();
+		Stroke startStroke = g2.getStroke();
+
+		// style the shapes and labels are drawn with
+		Color color = startColor;
+		Stroke stroke = startStroke;
+		boolean restore = false; // whether a batch left the graphics in another style
+
+		for (int i = 0; i < count; i++) {
+			int c = i * 4;
+
+			switch (kinds[i]) {
+				case LINE:
+					// the first line of a run draws the whole run
+					for (int b = batchFrom[i]; b < batchTo[i]; b++) {
+						if (visible != null && !visible.intersects(pathBounds[b]))
+							continue;
+
+						g2.setColor(pathColors[b] == null ? startColor : pathColors[b]);
+						g2.setStroke(pathStrokes[b] == null ? startStroke : pathStrokes[b]);
+						g2.draw(paths[b]);
+						restore = true;
+					} // loop
+					break;
+
+				case COLOR:
+					color = (Color) values[i];
+					g2.setColor(color);
+					break;
+
+				case STROKE:
+					stroke = (Stroke) values[i];
+					g2.setStroke(stroke);
+					break;
+
+				default:
+					if (visible != null && !visible.intersects(bounds(i, 0)))
+						break;
+
+					if (restore) {
+						g2.setColor(color);
+						g2.setStroke(stroke);
+						restore = false;
+					} // if
+
+					if (kinds[i] == OVAL)
+						g2.fillOval(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+					else
+						g2.drawGlyphVector((GlyphVector) values[i], coords[c], coords[c + 1]);
+			} // switch
+		} // loop
+
+		// leave the graphics in the style the scene ended with
+		if (restore) {
+			g2.setColor(color);
+			g2.setStroke(stroke);
+		} // if
+	} // end replay
+
+	/*
+	 * Group the lines between each shape or label into one path for each run of the
+	 * same color and stroke
+	 */
+	private void batch() {
+		batches = 0;
+		Color color = null;
+		Stroke stroke = null;
+		int first = -1; // first line of the current run, -1 outside a run
+		int runStart = 0; // first batch of the current run
+
+		for (int i = 0; i < count; i++) {
+			batchFrom[i] = -1;
+			batchTo[i] = -1;
+
+			switch (kinds[i]) {
+				case COLOR:
+					color = (Color) values[i];
+					break;
+
+				case STROKE:
+					stroke = (Stroke) values[i];
+					break;
+
+				case LINE:
+					if (first == -1) {
+						first = i;
+						runStart = batches;
+					} // if
+
+					// keep adding to the last batch until the style changes, so lines
+					// still overlap in the order they were recorded
+					int b = batches - 1;
+					if (b < runStart || !equal(pathColors[b], color) || !equal(pathStrokes[b], stroke)) {
+						newBatch(color, stroke);
+						b++;
+					} // if
+
+					// each line is its own subpath so its caps are drawn like drawLine's
+					int c = i * 4;
+					paths[b].moveTo(coords[c], coords[c + 1]);
+					paths[b].lineTo(coords[c + 2], coords[c + 3]);
+					break;
+
+				default: // a shape or label ends the run
+					if (first != -1) {
+						batchFrom[first] = runStart;
+						batchTo[first] = batches;
+						first = -1;
+					} // if
+			} // switch
+		} // loop
+
+		if (first != -1) {
+			batchFrom[first] = runStart;
+			batchTo[first] = batches;
+		} // if
+
+		// measured once here so culling doesn't walk the paths every frame
+		for (int b = 0; b < batches; b++) {
+			pathBounds[b] = paths[b].getBounds2D();
+		} // loop
+
+		batched = true;
+	} // end batch
+
+	/*
+	 * Start an empty batch, reusing the path from an earlier frame when there is one
+	 * Color color - color of the batch
+	 * Stroke stroke - stroke of the batch
+	 */
+	private void newBatch(Color color, Stroke stroke) {
+		if (batches == paths.length) {
+			paths = Arrays.copyOf(paths, batches * 2);
+			pathColors = Arrays.copyOf(pathColors, batches * 2);
+			pathStrokes = Arrays.copyOf(pathStrokes, batches * 2);
+			pathBounds = Arrays.copyOf(pathBounds, batches * 2);
+		} // if
+
+		if (paths[batches] == null) {
+			paths[batches] = new Path2D.Float();
+		} else {
+			paths[batches].reset();
+		} // if
+
+		pathColors[batches] = color;
+		pathStrokes[batches] = stroke;
+		batches++;
+	} // end newBatch
+
+	/*
+	 * Write every recorded primitive as SVG elements, in order
+	 * Appendable out - where to write the elements
+	 * throws IOException - if the elements can't be written
+	 */
+	public void writeSvg(Appendable out) throws IOException {
+		Color color = Color.BLACK;
+		Stroke stroke = new BasicStroke();
+		Font font = fm == null ? null : fm.getFont();
+
+		for (int i = 0; i < count; i++) {
+			int c = i * 4;
+
+			switch (kinds[i]) {
+				case LINE:
+					out.append("<line x1=\"").append(String.valueOf(coords[c])).append("\" y1=\"")
+							.append(String.valueOf(coords[c + 1])).append("\" x2=\"").append(String.valueOf(coords[c + 2]))
+							.append("\" y2=\"").append(String.valueOf(coords[c + 3])).append("\" ");
+					svgPaint(out, "stroke", color);
+					svgStroke(out, stroke);
+					out.append("/>\n");
+					break;
+
+				case OVAL:
+					double rx = coords[c + 2] / 2.0;
+					double ry = coords[c + 3] / 2.0;
+					out.append("<ellipse cx=\"").append(String.valueOf(coords[c] + rx)).append("\" cy=\"")
+							.append(String.valueOf(coords[c + 1] + ry)).append("\" rx=\"").append(String.valueOf(rx))
+							.append("\" ry=\"").append(String.valueOf(ry)).append("\" ");
+					svgPaint(out, "fill", color);
+					out.append("/>\n");
+					break;
+
+				case TEXT:
+					out.append("<text x=\"").append(String.valueOf(coords[c])).append("\" y=\"")
+							.append(String.valueOf(coords[c + 1])).append("\" ");
+					if (font != null) {
+						out.append("font-family=\"").append(escape(font.getFamily())).append("\" font-size=\"")
+								.append(String.valueOf(font.getSize2D())).append("\" ");
+					} // if
+					svgPaint(out, "fill", color);
+					out.append(">").append(escape(labels[i])).append("</text>\n");
+					break;
+
+				case COLOR:
+					color = (Color) values[i];
+					break;
+
+				case STROKE:
+					stroke = (Stroke) values[i];
+					break;
+			} // switch
+		} // loop
+	} // end writeSvg
+
+	/*
+	 * Write a color attribute with its opacity when it is see through
+	 * Appendable out - where to write the attribute
+	 * String attr - name of the attribute, stroke or fill
+	 * Color color - color to write
+	 * throws IOException - if the attribute can't be written
+	 */
+	private static void svgPaint(Appendable out, String attr, Color color) throws IOException {
+		out.append(attr).append("=\"").append(String.format("#%06x", color.getRGB() & 0xFFFFFF)).append("\" ");
+		if (color.getAlpha() != 255) {
+			out.append(attr).append("-opacity=\"").append(String.valueOf(color.getAlpha() / 255.0)).append("\" ");
+		} // if
+	} // end svgPaint
+
+	/*
+	 * Write the width, cap and join of a stroke as attributes
+	 * Appendable out - where to write the attributes
+	 * Stroke stroke - stroke to write, only a BasicStroke has attributes
+	 * throws IOException - if the attributes can't be written
+	 */
+	private static void svgStroke(Appendable out, Stroke stroke) throws IOException {
+		if (!(stroke instanceof BasicStroke))
+			return;
+
+		BasicStroke bs = (BasicStroke) stroke;
+		out.append("stroke-width=\"").append(String.valueOf(bs.getLineWidth())).append("\" ");
+		if (bs.getEndCap() == BasicStroke.CAP_ROUND)
+			out.append("stroke-linecap=\"round\" ");
+		else if (bs.getEndCap() == BasicStroke.CAP_SQUARE)
+			out.append("stroke-linecap=\"square\" ");
+		if (bs.getLineJoin() == BasicStroke.JOIN_ROUND)
+			out.append("stroke-linejoin=\"round\" ");
+		else if (bs.getLineJoin() == BasicStroke.JOIN_BEVEL)
+			out.append("stroke-linejoin=\"bevel\" ");
+	} // end svgStroke
+
+	/*
+	 * Escape the characters XML treats specially
+	 * String text - text to escape
+	 * return - text safe to put in an element or attribute
+	 */
+	private static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+	} // end escape
+
+	/*
+	 * Get the number of primitives recorded
+	 * return count - number of primitives
+	 */
+	public int size() {
+		return count;
+	} // end size
+
+	/*
+	 * Find the area where this scene draws differently from another scene, primitive
+	 * by primitive, so a repaint can be limited to it
+	 * Scene old - scene that is on the screen
+	 * int pad - extra space around lines for the stroke width
+	 * return area - rectangle holding every changed primitive, null if nothing changed
+	 */
+	public Rectangle damage(Scene old, int pad) {
+		Rectangle area = null;
+
+		// color and stroke each primitive is drawn with in both scenes
+		Object color = null;
+		Object stroke = null;
+		Object oldColor = null;
+		Object oldStroke = null;
+
+		int n = Math.max(count, old.count);
+		for (int i = 0; i < n; i++) {
+			boolean mine = i < count;
+			boolean theirs = i < old.count;
+
+			// follow the color and stroke changes
+			if (mine && kinds[i] == COLOR)
+				color = values[i];
+			else if (mine && kinds[i] == STROKE)
+				stroke = values[i];
+			if (theirs && old.kinds[i] == COLOR)
+				oldColor = old.values[i];
+			else if (theirs && old.kinds[i] == STROKE)
+				oldStroke = old.values[i];
+
+			// a primitive is unchanged if it is drawn the same way in the same place
+			if (mine && theirs && kinds[i] == old.kinds[i] && sameCoords(old, i) && equal(values[i], old.values[i])
+					&& equal(color, oldColor) && equal(stroke, oldStroke))
+				continue;
+
+			if (mine)
+				area = union(area, bounds(i, pad));
+			if (theirs)
+				area = union(area, old.bounds(i, pad));
+		} // loop
+
+		return area;
+	} // end damage
+
+	/*
+	 * Get the area a primitive covers
+	 * int i - index of the primitive
+	 * int pad - extra space around lines for the stroke width
+	 * return - bounds of the primitive, null for a color or stroke change
+	 */
+	private Rectangle bounds(int i, int pad) {
+		int c = i * 4;
+
+		switch (kinds[i]) {
+			case LINE:
+				int x = Math.min(coords[c], coords[c + 2]);
+				int y = Math.min(coords[c + 1], coords[c + 3]);
+				return new Rectangle(x - pad, y - pad, Math.abs(coords[c + 2] - coords[c]) + 2 * pad,
+						Math.abs(coords[c + 3] - coords[c + 1]) + 2 * pad);
+
+			case OVAL:
+				return new Rectangle(coords[c] - 1, coords[c + 1] - 1, coords[c + 2] + 2, coords[c + 3] + 2);
+
+			case TEXT:
+				int ascent = fm.getAscent();
+				int width = (int) Math.ceil(((GlyphVector) values[i]).getLogicalBounds().getWidth());
+				return new Rectangle(coords[c] - 1, coords[c + 1] - ascent - 1, width + 2,
+						ascent + fm.getDescent() + 2);
+
+			default:
+				return null;
+		} // switch
+	} // end bounds
+
+	/*
+	 * Check whether a primitive has the same coordinates in another scene
+	 * Scene old - scene to compare with
+	 * int i - index of the primitive
+	 * return - whether all four coordinates match
+	 */
+	private boolean sameCoords(Scene old, int i) {
+		int c = i * 4;
+		return coords[c] == old.coords[c] && coords[c + 1] == old.coords[c + 1] && coords[c + 2] == old.coords[c + 2]
+				&& coords[c + 3] == old.coords[c + 3];
+	} // end sameCoords
+
+	/*
+	 * Null safe equality
+	 * Object a - first value
+	 * Object b - second value
+	 * return - whether both are null or equal
+	 */
+	private static boolean equal(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	} // end equal
+
+	/*
+	 * Get the area the whole scene covers
+	 * int pad - extra space around lines for the stroke width
+	 * return area - rectangle holding every primitive, null if the scene is empty
+	 */
+	public Rectangle getBounds(int pad) {
+		Rectangle area = null;
+
+		for (int i = 0; i < count; i++) {
+			area = union(area, bounds(i, pad));
+		} // loop
+
+		return area;
+	} // end getBounds
+
+	/*
+	 * Grow an area to hold another rectangle
+	 * Rectangle area - area so far, null if empty
+	 * Rectangle r - rectangle to add, null to add nothing
+	 * return - the combined area
+	 */
+	private static Rectangle union(Rectangle area, Rectangle r) {
+		if (r == null)
+			return area;
+		if (area == null)
+			return r;
+		area.add(r);
+		return area;
+	} // end union
+
+	// RECORDING//
+
+	/*
+	 * Record a line segment
+	 * int x1 - start x
+	 * int y1 - start y
+	 * int x2 - end x
+	 * int y2 - end y
+	 */
+	public void drawLine(int x1, int y1, int x2, int y2) {
+		add(LINE, x1 + dx, y1 + dy, x2 + dx, y2 + dy, null);
+	} // end drawLine
+
+	/*
+	 * Record a filled oval
+	 * int x - top left x
+	 * int y - top left y
+	 * int w - width of the oval
+	 * int h - height of the oval
+	 */
+	public void fillOval(int x, int y, int w, int h) {
+		add(OVAL, x + dx, y + dy, w, h, null);
+	} // end fillOval
+
+	/*
+	 * Record a label, shaped once for the font and reused after that
+	 * String str - text of the label
+	 * int x - x of the start of the baseline
+	 * int y - y of the baseline
+	 */
+	public void drawString(String str, int x, int y) {
+		add(TEXT, x + dx, y + dy, 0, 0, RenderCache.glyphs(fm.getFont(), str));
+		labels[count - 1] = str;
+	} // end drawString
+
+	/*
+	 * Set the color for the primitives recorded after this
+	 * Color color - new color
+	 */
+	public void setColor(Color color) {
+		this.color = color;
+		add(COLOR, 0, 0, 0, 0, color);
+	} // end setColor
+
+	/*
+	 * Get the current color
+	 * return color - color of the next primitive
+	 */
+	public Color getColor() {
+		return color;
+	} // end getColor
+
+	/*
+	 * Set the stroke for the lines recorded after this
+	 * Stroke stroke - new stroke
+	 */
+	public void setStroke(Stroke stroke) {
+		add(STROKE, 0, 0, 0, 0, stroke);
+	} // end setStroke
+
+	/*
+	 * Move everything recorded after this, the offset is baked into the coordinates
+	 * int x - x to move by
+	 * int y - y to move by
+	 */
+	public void translate(int x, int y) {
+		dx += x;
+		dy += y;
+	} // end translate
+
+	/*
+	 * Get the metrics for placing labels
+	 * return fm - metrics of the font labels are drawn with
+	 */
+	public FontMetrics getFontMetrics() {
+		return fm;
+	} // end getFontMetrics
+
+	/*
+	 * Add a primitive, growing the arrays when full
+	 * byte kind - kind of primitive
+	 * int a, b, c, d - coordinates of the primitive
+	 * Object value - label, color or stroke, null for shapes
+	 */
+	private void add(byte kind, int a, int b, int c, int d, Object value) {
+		if (count == kinds.length) {
+			int capacity = kinds.length * 2;
+			kinds = Arrays.copyOf(kinds, capacity);
+			coords = Arrays.copyOf(coords, capacity * 4);
+			values = Arrays.copyOf(values, capacity);
+			labels = Arrays.copyOf(labels, capacity);
+			batchFrom = new int[capacity];
+			batchTo = new int[capacity];
+		} // if
+
+		int i = count * 4;
+		kinds[count] = kind;
+		coords[i] = a;
+		coords[i + 1] = b;
+		coords[i + 2] = c;
+		coords[i + 3] = d;
+		values[count] = value;
+		count++;
+		batched = false;
+	} // end add
+} // end Scene
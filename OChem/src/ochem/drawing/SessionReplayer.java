@@ -0,0 +1,151 @@
+package ochem.drawing;
+
+/*
+ * SessionReplayer
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Replays logs written by ActionRecorder on a palette and canvas that are never shown,
+ * as fast as they run, i.e to check recorded sessions still draw the same compounds.
+ * Each action goes through the same controller methods the mouse and keyboard use
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import ochem.organic.Compound;
+
+public class SessionReplayer {
+	// Attributes
+	private Palette palette; // palette the buttons are pressed on
+	private Canvas canvas; // canvas the session is drawn on
+	private CanvasController controller; // controller the clicks go through
+	private UserInputController input; // controller the text goes through
+
+	/*
+	 * Create a replayer with a canvas of the size the sessions were recorded on, so
+	 * clicks land in the same places
+	 * int width - width of the canvas
+	 * int height - height of the canvas
+	 */
+	public SessionReplayer(int width, int height) {
+		palette = new Palette(Math.max(width / 4, 1), height);
+		canvas = new Canvas(width, height, palette);
+		palette.setCanvas(canvas);
+		controller = canvas.getController();
+		input = new UserInputController(canvas, palette);
+	} // end constructor
+
+	/*
+	 * Replay a whole log from an empty canvas
+	 * InputStream in - log to read
+	 * return count - number of actions replayed
+	 */
+	public int replay(InputStream in) throws IOException {
+		reset();
+
+		ActionReader reader = new ActionReader(in);
+		int count = 0;
+		while (reader.next()) {
+			apply(reader);
+			count++;
+		} // loop
+
+		return count;
+	} // end replay
+
+	/*
+	 * Do one action and bring the canvas up to date as a repaint would before the next
+	 * ActionReader action - reader on the action to do
+	 */
+	public void apply(ActionReader action) {
+		switch (action.getKind()) {
+			case ActionRecorder.PALETTE:
+				palette.press(action.getText());
+				break;
+
+			case ActionRecorder.INPUT:
+				input.submit(action.getText());
+				break;
+
+			case ActionRecorder.CLICK:
+				click(action);
+				break;
+		} // switch
+
+		canvas.settle();
+	} // end apply
+
+	/*
+	 * Click where the action did, on the same node if it can still be found
+	 * ActionReader action - reader on a click
+	 */
+	private void click(ActionReader action) {
+		int x = action.getX();
+		int y = action.getY();
+
+		// the node by its place in the chain, or else by its tag
+		int i = findNode(action.getNode(), action.getTag());
+		if (i != -1) {
+			Node n = canvas.getMainNodes().get(i);
+			x = n.getX();
+			y = n.getY();
+		} // if
+
+		// the mouse is always over the click first, which turns the ghosts
+		controller.moveTo(x, y);
+		controller.press(action.getButton(), x, y);
+	} // end click
+
+	/*
+	 * Find the main node a click landed on
+	 * int node - index of the node when it was recorded, -1 if none
+	 * String tag - tag of the node when it was recorded
+	 * return - index of the node now, -1 if it can't be found
+	 */
+	private int findNode(int node, String tag) {
+		if (node == -1)
+			return -1;
+
+		ArrayList<Node> mainNodes = canvas.getMainNodes();
+		if (node < mainNodes.size() && mainNodes.get(node).getTag().equals(tag))
+			return node;
+
+		// several nodes can share a tag after a bond, the first is the one clicked most
+		for (int i = 0; i < mainNodes.size(); i++) {
+			if (mainNodes.get(i).getTag().equals(tag))
+				return i;
+		} // loop
+
+		return -1;
+	} // end findNode
+
+	/*
+	 * Go back to the empty canvas the program starts with
+	 */
+	public void reset() {
+		palette.press("Clear");
+		canvas.resetView();
+		canvas.getHistory().clear();
+		controller.reset();
+		canvas.settle();
+	} // end reset
+
+	// GETTERS//
+
+	/*
+	 * Get the canvas the sessions are drawn on
+	 * return canvas - canvas that is never shown
+	 */
+	public Canvas getCanvas() {
+		return canvas;
+	} // end getCanvas
+
+	/*
+	 * Get the compound drawn by the actions so far
+	 * return - finished compound, shared so it must not be changed
+	 */
+	public Compound getCompound() {
+		return canvas.getDrawnCompound();
+	} // end getCompound
+} // end SessionReplayer
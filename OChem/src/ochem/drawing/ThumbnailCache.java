@@ -0,0 +1,276 @@
+package ochem.drawing;
+
+/*
+ * ThumbnailCache
+ * Created by: Neil Balaskandarajah
+ * Last modified: 10/19/2026
+ * Rendered images of compounds by structure and size, so quiz reviews, history lists
+ * and worksheet previews draw each structure once per size. The least recently used
+ * images are dropped past a memory budget, and can be kept in a folder on disk
+ */
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import ochem.organic.Chain;
+import ochem.organic.Compound;
+
+public class ThumbnailCache {
+	// Attributes
+	private long maxBytes; // most pixel bytes kept in memory
+	private long bytes; // pixel bytes kept in memory now
+	private File spillDir; // folder dropped images are kept in, null to forget them
+	private LinkedHashMap<String, BufferedImage> images; // images by key, least recently used first
+	private HashMap<String, CompoundRenderer> renderers; // renderer for each image size
+
+	/*
+	 * Create a cache that only keeps images in memory
+	 * long maxBytes - most pixel bytes to keep in memory
+	 */
+	public ThumbnailCache(long maxBytes) {
+		this(maxBytes, null);
+	} // end constructor
+
+	/*
+	 * Create a cache that keeps dropped images in a folder
+	 * long maxBytes - most pixel bytes to keep in memory
+	 * File spillDir - folder to keep dropped images in, null to forget them
+	 */
+	public ThumbnailCache(long maxBytes, File spillDir) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		} // if
+		if (spillDir != null && !spillDir.isDirectory() && !spillDir.mkdirs()) {
+			throw new IllegalArgumentException("Can't make the folder " + spillDir);
+		} // if
+
+		this.maxBytes = maxBytes;
+		this.spillDir = spillDir;
+		this.images = new LinkedHashMap<String, BufferedImage>(16, 0.75f, true);
+		this.renderers = new HashMap<String, CompoundRenderer>();
+	} // end constructor
+
+	/*
+	 * Get the image of a compound, drawing it only if it isn't in memory or on disk
+	 * Compound compound - compound to draw, not changed
+	 * int width - width of the image
+	 * int height - height of the image
+	 * return image - image of the compound, shared so it must not be changed
+	 */
+	public BufferedImage get(Compound compound, int width, int height) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Image size must be positive");
+		} // if
+
+		String key = fingerprint(compound) + "@" + width + "x" + height;
+		BufferedImage image;
+		CompoundRenderer renderer;
+
+		synchronized (this) {
+			image = images.get(key);
+			if (image != null) { // in memory
+				return image;
+			} // if
+
+			renderer = renderers.get(width + "x" + height);
+			if (renderer == null) {
+				renderer = new CompoundRenderer(width, height);
+				renderers.put(width + "x" + height, renderer);
+			} // if
+		} // synchronized
+
+		// read back a dropped image, or draw it, without holding up other lookups
+		image = readSpill(key);
+		if (image == null) {
+			synchronized (renderer) { // a renderer lays out one compound at a time
+				image = renderer.render(compound);
+			} // synchronized
+		} // if
+
+		LinkedHashMap<String, BufferedImage> dropped;
+		synchronized (this) {
+			BufferedImage other = images.get(key);
+			if (other != null) { // another thread got there first
+				return other;
+			} // if
+
+			images.put(key, image);
+			bytes += sizeOf(image);
+			dropped = trim();
+		} // synchronized
+
+		// keep the dropped images on disk, also without holding up other lookups
+		for (Map.Entry<String, BufferedImage> entry : dropped.entrySet()) {
+			writeSpill(entry.getKey(), entry.getValue());
+		} // loop
+
+		return image;
+	} // end get
+
+	/*
+	 * Get the number of pixel bytes kept in memory
+	 * return bytes - bytes of all the images in memory
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	} // end getBytes
+
+	/*
+	 * Get the number of images kept in memory
+	 * return - number of images
+	 */
+	public synchronized int getCount() {
+		return images.size();
+	} // end getCount
+
+	/*
+	 * Drop every image from memory, images on disk are kept
+	 */
+	public synchronized void clear() {
+		images.clear();
+		bytes = 0;
+	} // end clear
+
+	/*
+	 * Get a string that is the same for compounds that are drawn the same way, made of
+	 * everything the layout reads
+	 * Compound compound - compound to describe
+	 * return - main chain, endings and side chains of the compound
+	 */
+	public static String fingerprint(Compound compound) {
+		Chain main = compound.getMainChain();
+		StringBuilder sb = new StringBuilder(64);
+
+		// main chain
+		sb.append(compound.getMainSize());
+		if (main.isCyclo())
+			sb.append('c');
+		if (main.isBenzene())
+			sb.append('b');
+
+		// endings, in order since the layout places them in order
+		sb.append('|');
+		for (int i = 0; i < main.getGroupCount(); i++) {
+			sb.append(main.getGroupKind(i)).append(':').append(main.getGroupLocant(i)).append(',');
+		} // loop
+
+		// side chains
+		sb.append('|');
+		for (int i = 0; i < compound.getSideChainCount(); i++) {
+			Chain side = compound.getSideChain(i);
+			sb.append(side.getSize()).append(':').append(side.getLocation());
+			if (side.isCyclo())
+				sb.append('c');
+			if (side.isBenzene())
+				sb.append('b');
+			sb.append(',');
+		} // loop
+
+		return sb.toString();
+	} // end fingerprint
+
+	/*
+	 * Drop the least recently used images until the cache is within its budget. The
+	 * newest image always stays
+	 * return dropped - images that were dropped by key, to be kept on disk by the caller
+	 */
+	private LinkedHashMap<String, BufferedImage> trim() {
+		LinkedHashMap<String, BufferedImage> dropped = new LinkedHashMap<String, BufferedImage>();
+		Iterator<Map.Entry<String, BufferedImage>> it = images.entrySet().iterator();
+
+		while (bytes > maxBytes && images.size() > 1) {
+			Map.Entry<String, BufferedImage> oldest = it.next();
+			dropped.put(oldest.getKey(), oldest.getValue());
+			bytes -= sizeOf(oldest.getValue());
+			it.remove();
+		} // loop
+
+		return dropped;
+	} // end trim
+
+	/*
+	 * Get the file a dropped image is kept in
+	 * String key - key of the image
+	 * return - file named after a hash of the key
+	 */
+	private File spillFile(String key) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+			StringBuilder name = new StringBuilder(48);
+
+			for (byte b : hash) {
+				name.append(String.format("%02x", b & 0xFF));
+			} // loop
+
+			return new File(spillDir, name.append(".png").toString());
+
+		} catch (NoSuchAlgorithmException e) { // every Java platform has SHA-1
+			throw new IllegalStateException(e);
+		} // try-catch
+	} // end spillFile
+
+	/*
+	 * Keep a dropped image on disk, a failed write only means it is drawn again. The
+	 * image is written to a temporary file first so a lookup never reads half of it
+	 * String key - key of the image
+	 * BufferedImage image - image to keep
+	 */
+	private void writeSpill(String key, BufferedImage image) {
+		if (spillDir == null)
+			return;
+
+		File file = spillFile(key);
+		if (file.exists())
+			return;
+
+		File temp = null;
+		try {
+			temp = File.createTempFile("spill", ".tmp", spillDir);
+			if (!ImageIO.write(image, "png", temp) || !temp.renameTo(file)) {
+				temp.delete();
+			} // if
+		} catch (IOException e) {
+			if (temp != null)
+				temp.delete();
+		} // try-catch
+	} // end writeSpill
+
+	/*
+	 * Read a dropped image back from disk
+	 * String key - key of the image
+	 * return - image, null if it isn't on disk or can't be read
+	 */
+	private BufferedImage readSpill(String key) {
+		if (spillDir == null)
+			return null;
+
+		File file = spillFile(key);
+		if (!file.isFile())
+			return null;
+
+		try {
+			return ImageIO.read(file);
+		} catch (IOException e) {
+			return null;
+		} // try-catch
+	} // end readSpill
+
+	/*
+	 * Get the number of bytes the pixels of an image take
+	 * BufferedImage image - image to measure
+	 * return - four bytes per pixel
+	 */
+	private static long sizeOf(BufferedImage image) {
+		return 4L * image.getWidth() * image.getHeight();
+	} // end sizeOf
+} // end ThumbnailCache
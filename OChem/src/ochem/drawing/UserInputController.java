@@ -18,6 +18,7 @@ public class UserInputController implements KeyListener {
 	
 	//Constants
 	private final int ENTER_KEY = 10; //int value representing an enter key press
+	private static final int MAX_DRAWN_CHAIN = 20; //longest main or side chain that can be entered
 	
 	/*
 	 * Creates an input controller with instances of canvas and palette
@@ -36,49 +37,61 @@ public class UserInputController implements KeyListener {
 	public void keyTyped(KeyEvent k) {
 		//if the enter key is pressed
 		if ((int) k.getKeyChar() == ENTER_KEY ) {
-			
-			//if the text in the text field is a number
-			if (DrawingUtil.isNumber(DrawingGUI.getUserInput())) {
-				int num = Integer.parseInt(DrawingGUI.getUserInput()); //store the number
-				
-				//actions depend on the palette type
-				switch (palette.getSelectedType()) {
-					//main action
-					case MAIN:
-						mainAction(num);
-						break;
-						
-					//side action
-					case SIDE:
-						sideAction(num);
-						break;
-						
-					//bond action
-					case BOND: 
-						bondAction(num);
-						break;
-				} //switch
-			
-			//if letter was typed
-			} else {				
-				String in = DrawingGUI.getUserInput();
-				
-				switch (palette.getSelectedType()) {
-					//main button
-					case MAIN:
-						mainAction(in);					
-						break;
-						
-					//side button
-					case SIDE:
-						sideAction(in);
-						break;
-				} //switch
-			
-			} //if
-		} //outer if
+			submit(DrawingGUI.getUserInput());
+		} //if
 	} //end keyTyped
 	
+	/*
+	 * Act on text entered into the text field, the same as pressing enter so a recorded
+	 * session can be replayed without a screen
+	 * String in - text entered by the user
+	 */
+	public void submit(String in) {
+		//log the text entered
+		ActionRecorder recorder = canvas.getRecorder();
+		if (recorder != null) {
+			recorder.input(in);
+		} //if
+		
+		//if the text in the text field is a number
+		if (DrawingUtil.isNumber(in)) {
+			int num = Integer.parseInt(in); //store the number
+			
+			//actions depend on the palette type
+			switch (palette.getSelectedType()) {
+				//main action
+				case MAIN:
+					mainAction(num);
+					break;
+					
+				//side action
+				case SIDE:
+					sideAction(num);
+					break;
+					
+				//bond action
+				case BOND: 
+					bondAction(num);
+					break;
+			} //switch
+		
+		//if letter was typed
+		} else {
+			switch (palette.getSelectedType()) {
+				//main button
+				case MAIN:
+					mainAction(in);					
+					break;
+					
+				//side button
+				case SIDE:
+					sideAction(in);
+					break;
+			} //switch
+		
+		} //if
+	} //end submit
+	
 	//MAIN TYPE//
 	
 	/*
@@ -90,7 +103,7 @@ public class UserInputController implements KeyListener {
 		if (num < 2) { //too small
 			DrawingGUI.reportError("Size entered too small!");
 			
-		} else if (num > 10) { //too big
+		} else if (num > MAX_DRAWN_CHAIN) { //too big
 			DrawingGUI.reportError("Size entered too big!");
 			
 		} else if (num > 8 || num < 3) { //too big or too small for cyclo
@@ -148,12 +161,12 @@ public class UserInputController implements KeyListener {
 		if (num < 1) { //too small to be a chain
 			DrawingGUI.reportError("Size enter too small!");
 			
-		} else if (num < 3 || (num > 7 && num <= 10)) { //valid size, can't be cyclo
+		} else if (num < 3 || (num > 7 && num <= MAX_DRAWN_CHAIN)) { //valid size, can't be cyclo
 			canvas.addSideSize(num); //add number to the list
 			canvas.addSideCyclo(false); //set it to false
 			canvas.setSideStep(3); //skip over cyclo step
 			
-		} else if (num > 10) { //too big to be a side chain
+		} else if (num > MAX_DRAWN_CHAIN) { //too big to be a side chain
 			DrawingGUI.reportError("Size entered too big");		
 			
 		} else { //valid and can be cyclo
@@ -25,7 +25,10 @@ public class TextInputController implements ActionListener {
 		else {
 			//try {
 				this.c = Interpreter.compoundFromName(in);
-				this.model.giveCompound(c);
+				if (Validator.isValid(c))
+					this.model.giveCompound(c);
+				else
+					this.model.giveInvalid();
 			//} catch (Exception error) {
 //				this.model.giveInvalid();
 			//}
@@ -1,6 +1,9 @@
 package ochem.organic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /*
  * Chain
@@ -14,10 +17,15 @@ public class Chain {
 	// Attributes
 	private int size; // side of the side chain
 	private String location; // location on the main chain
+	private int locant; // location as a number, -1 if on a nitrogen or oxygen
 	private boolean cyclo;
 	private boolean benzene;
 	private ArrayList<String> functionalLocation;
+	private List<String> locationView; // read-only view of functionalLocation
 	private ArrayList<String> functionalGroup;
+	private List<String> endingView; // read-only view of functionalGroup
+	private int[] groupKinds; // functional name index of each ending
+	private int[] groupLocants; // location of each ending as a number
 	private int [] numOfGroups;
 	private int bond = 1;
 	private int idx2 = 0;
@@ -32,6 +40,7 @@ public class Chain {
 	public Chain(int size, String location) {
 		this.size = size;
 		this.location = location;
+		this.locant = OrganicUtil.locantOf(location);
 		this.cyclo = false;
 		this.benzene = false;
 		this.bond = 1;
@@ -40,6 +49,7 @@ public class Chain {
 	public Chain(int size, String location, boolean cyclo, boolean benzene) {
 		this.size = size;
 		this.location = location;
+		this.locant = OrganicUtil.locantOf(location);
 		this.cyclo = cyclo;
 		this.benzene = benzene;
 		this.bond = 1;
@@ -50,8 +60,7 @@ public class Chain {
 			System.out.println(numOfGroups[idx]);
 			for (int i = 0; i < numOfGroups[idx]; i++) {
 				System.out.println("WE HERE");
-				this.functionalGroup.add(OrganicUtil.FUNCTIONAL_NAMES[positionInArray] + " : "
-						+ this.functionalLocation.get(this.idx2++));
+				addEnding(positionInArray, this.functionalLocation.get(this.idx2++));
 			}
 			this.idx++;
 		} catch (IndexOutOfBoundsException e) {
@@ -64,8 +73,7 @@ public class Chain {
 			System.out.println(numOfGroups[idx]);
 			for (int i = 0; i < numOfGroups[idx]; i++) {
 				System.out.println("WE HERE");
-				this.functionalGroup.add(OrganicUtil.FUNCTIONAL_NAMES[positionInArray] + " : "
-						+ this.functionalLocation.get(this.idx2++));
+				addEnding(positionInArray, this.functionalLocation.get(this.idx2++));
 			}
 			this.idx++;
 		} catch (IndexOutOfBoundsException e) {
@@ -73,14 +81,64 @@ public class Chain {
 		}
 	}
 
-	public ArrayList<String> getEndings() {
-		return this.functionalGroup;
+	/*
+	 * Add an ending along with its kind and locant
+	 * int kind - index of the ending in FUNCTIONAL_NAMES
+	 * String location - location of the ending on the chain
+	 */
+	private void addEnding(int kind, String location) {
+		int n = this.functionalGroup.size();
+
+		// grow the parallel arrays when they fill up
+		if (n == this.groupKinds.length) {
+			this.groupKinds = Arrays.copyOf(this.groupKinds, n * 2);
+			this.groupLocants = Arrays.copyOf(this.groupLocants, n * 2);
+		} // if
+
+		this.functionalGroup.add(OrganicUtil.FUNCTIONAL_NAMES[kind] + " : " + location);
+		this.groupKinds[n] = kind;
+		this.groupLocants[n] = OrganicUtil.locantOf(location);
+	} // end addEnding
+
+	/*
+	 * Get the endings, read-only so they stay in step with their kinds and locants
+	 * return - endings of the chain
+	 */
+	public List<String> getEndings() {
+		return this.endingView;
 	}
 
+	/*
+	 * Get the number of endings on the chain return - number of endings
+	 */
+	public int getGroupCount() {
+		return this.functionalGroup.size();
+	} // end getGroupCount
+
+	/*
+	 * Get the kind of an ending int i - index of the ending return - index of the
+	 * ending in FUNCTIONAL_NAMES
+	 */
+	public int getGroupKind(int i) {
+		return this.groupKinds[i];
+	} // end getGroupKind
+
+	/*
+	 * Get the location of an ending as a number int i - index of the ending return -
+	 * location on the chain, -1 if it is not a number
+	 */
+	public int getGroupLocant(int i) {
+		return this.groupLocants[i];
+	} // end getGroupLocant
+
 	public void setMain() {
 		this.main = true;
 		this.functionalLocation = new ArrayList<String>();
+		this.locationView = Collections.unmodifiableList(this.functionalLocation);
 		this.functionalGroup = new ArrayList<String>();
+		this.endingView = Collections.unmodifiableList(this.functionalGroup);
+		this.groupKinds = new int[4];
+		this.groupLocants = new int[4];
 		this.numOfGroups = new int [2];
 	}
 
@@ -104,12 +162,52 @@ public class Chain {
 		this.functionalLocation.add(l);
 	}
 
-	public ArrayList<String> getFunctionalLocation() {
-		return functionalLocation;
+	/*
+	 * Get the functional locations, read-only so they are only changed through the chain
+	 * return - locations of the bonds and groups on the chain
+	 */
+	public List<String> getFunctionalLocation() {
+		return locationView;
 	}
+
+	/*
+	 * Cut the functional locations back to a length to undo an edit
+	 * int count - number of locations to keep
+	 * return cut - locations taken off the end, in order
+	 */
+	public ArrayList<String> truncateLocations(int count) {
+		List<String> tail = functionalLocation.subList(count, functionalLocation.size());
+		ArrayList<String> cut = new ArrayList<String>(tail);
+		tail.clear();
+		return cut;
+	} // end truncateLocations
+
+	/*
+	 * Put back locations cut off by truncateLocations to redo an edit
+	 * List<String> locations - locations to add to the end
+	 */
+	public void restoreLocations(List<String> locations) {
+		functionalLocation.addAll(locations);
+	} // end restoreLocations
+
+	/*
+	 * Get the number of functional locations return - number of locations
+	 */
+	public int getFunctionalLocationCount() {
+		return functionalLocation.size();
+	} // end getFunctionalLocationCount
+
+	/*
+	 * Get one functional location int i - index of the location return - location
+	 * on the chain
+	 */
+	public String getFunctionalLocation(int i) {
+		return functionalLocation.get(i);
+	} // end getFunctionalLocation
 	
 	public void clearFunctionalLocations() {
 		this.functionalLocation = new ArrayList<String>();
+		this.locationView = Collections.unmodifiableList(this.functionalLocation);
 	}
 
 	/*
@@ -132,6 +230,7 @@ public class Chain {
 	 */
 	public void setLocation(String location) {
 		this.location = location;
+		this.locant = OrganicUtil.locantOf(location);
 	} // end setLocation
 
 	/*
@@ -142,6 +241,14 @@ public class Chain {
 		return this.location;
 	} // end getLocation
 
+	/*
+	 * Get the location of the chain as a number return locant - location on the main
+	 * chain, -1 if the chain is on a nitrogen or oxygen
+	 */
+	public int getLocant() {
+		return this.locant;
+	} // end getLocant
+
 	//sets the chain to be cyclo
 	public void setCyclo(boolean b) {
 		this.cyclo = b;
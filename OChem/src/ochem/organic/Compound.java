@@ -9,11 +9,14 @@ package ochem.organic;
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class Compound {
 	// Attributes
 	private Chain mainChain; // the main
 	private ArrayList<Chain> sideChains; // the side chains
+	private List<Chain> sideView; // read-only view of the side chains
 
 	/*
 	 * Create a compound with a main chain int mainSize - size of the main chain
@@ -22,6 +25,7 @@ public class Compound {
 		mainChain = new Chain(mainSize, "-1");
 		mainChain.setMain();
 		sideChains = new ArrayList<Chain>(); // initialize sideChains list
+		sideView = Collections.unmodifiableList(sideChains);
 	} // end constructor
 
 	public void addFunctionalLocation(String location) {
@@ -51,14 +55,26 @@ public class Compound {
 	 * location - location of the side chain on the main chain
 	 */
 	public void addSideChain(int size, String location, boolean cyclo, boolean benzene) {
-		for (int i = 0; i < OrganicUtil.LOCATIONS.length; i++) {
-			if (location.equalsIgnoreCase(OrganicUtil.LOCATIONS[i]) || location.equalsIgnoreCase("o")) {
-				sideChains.add(new Chain(size, location, cyclo, benzene));
-				break;
-			}
-		}
+		if (OrganicUtil.isLocation(location))
+			sideChains.add(new Chain(size, location, cyclo, benzene));
 	} // end addSideChain
 	
+	/*
+	 * Add a side chain that was taken off, i.e to redo an edit
+	 * Chain side - side chain to add back
+	 */
+	public void addSideChain(Chain side) {
+		sideChains.add(side);
+	} // end addSideChain
+
+	/*
+	 * Take off the side chain added last, i.e to undo an edit
+	 * return - the side chain taken off
+	 */
+	public Chain removeLastSideChain() {
+		return sideChains.remove(sideChains.size() - 1);
+	} // end removeLastSideChain
+
 	//removes the the desired chain size from the compound and returns the the new chain
 	public Chain[] removeSideChain(int size) {
 		for (int i=0; i<sideChains.size();i++) {
@@ -70,6 +86,28 @@ public class Compound {
 		return this.getSideChains();
 	}//end removeSideChain
 
+	/*
+	 * Get the number of side chains return - number of side chains
+	 */
+	public int getSideChainCount() {
+		return sideChains.size();
+	} // end getSideChainCount
+
+	/*
+	 * Get one side chain int i - index of the side chain return - the side chain
+	 */
+	public Chain getSideChain(int i) {
+		return sideChains.get(i);
+	} // end getSideChain
+
+	/*
+	 * Get a read-only view of the side chains for iteration, nothing is copied
+	 * return - the side chains
+	 */
+	public List<Chain> getSideChainList() {
+		return sideView;
+	} // end getSideChainList
+
 	/*
 	 * Get an array of all the side chains return side - array containing all the
 	 * side chains
@@ -85,14 +123,42 @@ public class Compound {
 		return sides;
 	} // end getSideChains
 
+	/*
+	 * Get the molecular formula in Hill order return - formula, i.e C3H8O
+	 */
+	public String getFormula() {
+		return Formula.formula(this);
+	} // end getFormula
+
+	/*
+	 * Get the molar mass return - molar mass in g/mol
+	 */
+	public double getMolarMass() {
+		return Formula.molarMass(this);
+	} // end getMolarMass
+
+	/*
+	 * Get the number of hydrogens return - hydrogen count
+	 */
+	public int getHydrogenCount() {
+		return Formula.hydrogenCount(this);
+	} // end getHydrogenCount
+
+	/*
+	 * Get the degree of unsaturation return - number of rings plus pi bonds
+	 */
+	public int getUnsaturation() {
+		return Formula.unsaturation(this);
+	} // end getUnsaturation
+
 	/*
 	 * Return a string representation of the compound; size of mainChain and
 	 * size,location of side chains
 	 */
 	public String toString() { // OVERRIDEN
 		String s = "";
-		ArrayList<String> locations = mainChain.getFunctionalLocation();
-		ArrayList<String> e = mainChain.getEndings();
+		List<String> locations = mainChain.getFunctionalLocation();
+		List<String> e = mainChain.getEndings();
 
 		// main chain
 		s = s.concat("Main Chain of: " + mainChain.getSize() + "\n");
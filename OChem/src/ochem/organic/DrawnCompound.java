@@ -0,0 +1,374 @@
+package ochem.organic;
+
+/*
+ * DrawnCompound
+ * Created by: Jordan Lin
+ * Last modified: 10/19/2026
+ * Compound being drawn on the canvas, kept up to date one edit at a time so naming and
+ * quiz checking get a finished compound without fixing up the drawing afterwards.
+ * Functional groups are added as side chains with a negative size, i.e -9 for an
+ * amine, the same way the canvas stores them
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class DrawnCompound {
+	// Size codes of the groups, the lower the code the more important the group
+	private static final int ENDING_CODE = -6; // alcohols and anything below can be the ending
+	private static final int ETHER_CODE = -7; // ethers, named by their side chains so never the ending
+	private static final int KETONE_CODE = -8; // aldehydes and ketones, never the ending
+	private static final int LOWEST_CODE = -12; // carboxylic acids
+
+	// Attributes
+	private int mainSize; // number of carbons in the main chain
+	private boolean cyclo; // whether the main chain is a ring
+	private boolean benzene; // whether the main chain is a benzene ring
+	private int bond; // highest bond on the main chain, 1 for single
+	private ArrayList<String> bondLocations; // locant of each double or triple bond
+
+	private ArrayList<Chain> sides; // side chains and groups in the order they were drawn
+	private int[] codeCounts; // number of groups with each size code, by -size
+	private int top; // size code of the highest priority group drawn, 0 if none
+
+	private Compound compound; // finished compound, null until asked for after an edit
+
+	/*
+	 * Create an empty drawing
+	 */
+	public DrawnCompound() {
+		bondLocations = new ArrayList<String>();
+		sides = new ArrayList<Chain>();
+		codeCounts = new int[-LOWEST_CODE + 1];
+		reset();
+	} // end constructor
+
+	/*
+	 * Clear the drawing
+	 */
+	public void reset() {
+		mainSize = 0;
+		cyclo = false;
+		benzene = false;
+		bond = 1;
+		bondLocations.clear();
+		sides.clear();
+		Arrays.fill(codeCounts, 0);
+		top = 0;
+		compound = null;
+	} // end reset
+
+	// EDITS//
+
+	/*
+	 * Set the size of the main chain
+	 * int size - number of carbons
+	 */
+	public void setMainSize(int size) {
+		mainSize = size;
+		compound = null;
+	} // end setMainSize
+
+	/*
+	 * Set whether the main chain is a ring
+	 * boolean cyclo - whether the main chain is cycloidal
+	 */
+	public void setCyclo(boolean cyclo) {
+		this.cyclo = cyclo;
+		compound = null;
+	} // end setCyclo
+
+	/*
+	 * Set whether the main chain is a benzene ring
+	 * boolean benzene - whether the main chain is benzene
+	 */
+	public void setBenzene(boolean benzene) {
+		this.benzene = benzene;
+		compound = null;
+	} // end setBenzene
+
+	/*
+	 * Add a side chain or functional group
+	 * int size - size of the chain, or the negative code of the group
+	 * String location - locant on the main chain, or N or O
+	 * boolean cyclo - whether the chain is cycloidal
+	 * boolean benzene - whether the chain is a benzene ring
+	 */
+	public void addSide(int size, String location, boolean cyclo, boolean benzene) {
+		// the same check the compound makes before adding a side chain
+		if (!OrganicUtil.isLocation(location))
+			return;
+
+		sides.add(new Chain(size, location, cyclo, benzene));
+
+		// keep track of the group that will become the ending
+		if (size < 0 && size >= LOWEST_CODE) {
+			codeCounts[-size]++;
+			if (canEnd(size) && size < top) {
+				top = size;
+			} // if
+		} // if
+
+		compound = null;
+	} // end addSide
+
+	/*
+	 * Check whether a group can be the ending of the compound
+	 * int code - size code of the group
+	 * return - true if the group can name the ending
+	 */
+	private static boolean canEnd(int code) {
+		return code <= ENDING_CODE && code != ETHER_CODE && code != KETONE_CODE;
+	} // end canEnd
+
+	/*
+	 * Raise the bond of the main chain
+	 * int size - size of a bond that was drawn, 2 or 3
+	 */
+	public void addBondSize(int size) {
+		if (size > bond) {
+			bond = size;
+		} // if
+
+		compound = null;
+	} // end addBondSize
+
+	/*
+	 * Add the position of a double or triple bond
+	 * int locant - first carbon of the bond
+	 */
+	public void addBondLocation(int locant) {
+		bondLocations.add(locant + "");
+		compound = null;
+	} // end addBondLocation
+
+	/*
+	 * Set the highest bond of the main chain, i.e to undo an edit
+	 * int bond - 1 for single, 2 for double or 3 for triple
+	 */
+	public void setBond(int bond) {
+		this.bond = bond;
+		compound = null;
+	} // end setBond
+
+	/*
+	 * Take off the side chain or group added last, i.e to undo an edit
+	 * return side - the side chain taken off
+	 */
+	public Chain removeLastSide() {
+		Chain side = sides.remove(sides.size() - 1);
+		int size = side.getSize();
+
+		// the ending might have been the group taken off
+		if (size < 0 && size >= LOWEST_CODE) {
+			codeCounts[-size]--;
+			if (size == top && codeCounts[-size] == 0) {
+				top = 0;
+				for (int code = LOWEST_CODE; code <= ENDING_CODE; code++) {
+					if (canEnd(code) && codeCounts[-code] > 0) {
+						top = code;
+						break;
+					} // if
+				} // loop
+			} // if
+		} // if
+
+		compound = null;
+		return side;
+	} // end removeLastSide
+
+	/*
+	 * Take off the position of the bond added last, i.e to undo an edit
+	 * return - first carbon of the bond
+	 */
+	public int removeLastBondLocation() {
+		compound = null;
+		return Integer.parseInt(bondLocations.remove(bondLocations.size() - 1));
+	} // end removeLastBondLocation
+
+	/*
+	 * Get the number of side chains and groups drawn
+	 * return - number of sides
+	 */
+	public int getSideCount() {
+		return sides.size();
+	} // end getSideCount
+
+	/*
+	 * Get the number of double and triple bonds drawn
+	 * return - number of bond locations
+	 */
+	public int getBondLocationCount() {
+		return bondLocations.size();
+	} // end getBondLocationCount
+
+	/*
+	 * Replace the drawing with a compound that is already finished, i.e a named one,
+	 * taking its endings apart again so later edits can be added to it
+	 * Compound c - finished compound
+	 */
+	public void setCompound(Compound c) {
+		reset();
+		Chain main = c.getMainChain();
+		setMainSize(c.getMainSize());
+		setCyclo(main.isCyclo());
+		setBenzene(main.isBenzene());
+		addBondSize(main.getBond());
+
+		for (int i = 0; i < c.getSideChainCount(); i++) {
+			Chain side = c.getSideChain(i);
+			addSide(side.getSize(), side.getLocation(), side.isCyclo(), side.isBenzene());
+		} // loop
+
+		// each ending back to the bond or group it was drawn as
+		for (int i = 0; i < main.getGroupCount(); i++) {
+			int locant = main.getGroupLocant(i);
+			int code = groupCode(main.getGroupKind(i));
+
+			if (code == 0) {
+				addBondLocation(locant);
+			} else if (code != 1) {
+				addSide(code, locant + "", false, false);
+			} // if
+		} // loop
+
+		compound = c; // already finished
+	} // end setCompound
+
+	// RESULT//
+
+	/*
+	 * Get the finished compound, put together only once after each edit
+	 * return compound - compound with its endings set and numbered from the right end,
+	 * shared so it must not be changed
+	 */
+	public Compound getCompound() {
+		if (compound == null) {
+			compound = build();
+		} // if
+
+		return compound;
+	} // end getCompound
+
+	/*
+	 * Get the size code of the group that becomes the ending
+	 * return top - most important group drawn, 0 if there is none
+	 */
+	public int getTopGroup() {
+		return top;
+	} // end getTopGroup
+
+	/*
+	 * Get the number of groups drawn with a size code
+	 * int code - negative size code, i.e -9 for an amine
+	 * return - number of those groups
+	 */
+	public int getGroupCount(int code) {
+		return code < 0 && code >= LOWEST_CODE ? codeCounts[-code] : 0;
+	} // end getGroupCount
+
+	/*
+	 * Get the size code a kind of ending is drawn with
+	 * int kind - index of the ending in FUNCTIONAL_NAMES
+	 * return - negative size code, 0 for a double or triple bond, 1 for anything else
+	 */
+	private static int groupCode(int kind) {
+		switch (kind) {
+			case 1: // alkene
+			case 2: // alkyne
+				return 0;
+			case 3: // alcohol
+				return -6;
+			case 4: // aldehyde
+			case 5: // ketone
+				return KETONE_CODE;
+			case 6: // amine
+				return -9;
+			case 7: // amide
+				return -10;
+			case 8: // ester
+				return -11;
+			case 9: // carboxylic acid
+				return LOWEST_CODE;
+			default:
+				return 1;
+		} // switch
+	} // end groupCode
+
+	/*
+	 * Put the compound together from the pieces, the most important group turning into
+	 * the ending and its side chains into locations on the main chain
+	 * return c - finished compound
+	 */
+	private Compound build() {
+		Compound c = new Compound(mainSize);
+		Chain main = c.getMainChain();
+		main.setCyclo(cyclo);
+		main.setBenzene(benzene);
+		main.setBond(bond);
+
+		// bonds, single bonds don't have locations
+		if (bond != 1 || bondLocations.isEmpty()) {
+			for (String loc : bondLocations) {
+				main.addFunctionalLocation(loc);
+			} // loop
+
+			main.addNumOfGroups(bondLocations.size(), 0);
+			if (bond == 2) {
+				main.setEnding(1);
+			} else if (bond == 3) {
+				main.setEnding(2);
+			} // if
+		} // if
+
+		// the most important group becomes the ending, the others stay side chains
+		int groups = 0;
+		for (Chain side : sides) {
+			if (top != 0 && side.getSize() == top) {
+				main.addFunctionalLocation(side.getLocation());
+				groups++;
+			} else {
+				c.addSideChain(side.getSize(), side.getLocation(), side.isCyclo(), side.isBenzene());
+			} // if
+		} // loop
+
+		if (top != 0) {
+			main.addNumOfGroups(groups, 1);
+			setEnding(c);
+		} // if
+
+		return OrganicUtil.reorderCompound(c);
+	} // end build
+
+	/*
+	 * Set the ending for the most important group
+	 * Compound c - compound being put together
+	 */
+	private void setEnding(Compound c) {
+		Chain main = c.getMainChain();
+
+		switch (top) {
+			case -12: // carboxylic acid
+				main.setEnding(OrganicUtil.FUNCTIONAL_NAMES.length - 3, 1);
+				break;
+
+			case -11: // ester
+				main.setEnding(OrganicUtil.FUNCTIONAL_NAMES.length - 4, 1);
+				break;
+
+			case -10: // amide
+				main.setEnding(OrganicUtil.FUNCTIONAL_NAMES.length - 5, 1);
+				break;
+
+			case -9: // amine
+				main.setEnding(OrganicUtil.FUNCTIONAL_NAMES.length - 6, 1);
+				break;
+
+			case -6: // alcohol
+				main.setEnding(3, 1);
+				break;
+
+			default: // ethers are named by their side chains
+		} // switch
+	} // end setEnding
+} // end DrawnCompound
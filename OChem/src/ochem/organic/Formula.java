@@ -0,0 +1,227 @@
+package ochem.organic;
+
+/*
+ * Formula
+ * Created by: Jordan Lin
+ * Last modified: 10/19/2026
+ * Molecular formula, molar mass, hydrogen count and degree of unsaturation of a compound
+ */
+
+public class Formula {
+	// Elements in Hill order, carbon then hydrogen then the rest alphabetically
+	public static final int C = 0;
+	public static final int H = 1;
+	public static final int BR = 2;
+	public static final int CL = 3;
+	public static final int F = 4;
+	public static final int I = 5;
+	public static final int N = 6;
+	public static final int O = 7;
+	public static final int ELEMENTS = 8;
+
+	public static final String[] SYMBOLS = { "C", "H", "Br", "Cl", "F", "I", "N", "O" };
+
+	// standard atomic weights in g/mol
+	public static final double[] ATOMIC_MASS = { 12.011, 1.008, 79.904, 35.45, 18.998, 126.904, 14.007, 15.999 };
+
+	// atoms added by each main chain group, indexed like OrganicUtil.FUNCTIONAL_NAMES
+	private static final int[][] GROUP_ATOMS = {
+			{ 0, 0, 0, 0, 0, 0, 0, 0 }, // alkane
+			{ 0, 0, 0, 0, 0, 0, 0, 0 }, // alkene
+			{ 0, 0, 0, 0, 0, 0, 0, 0 }, // alkyne
+			{ 0, 0, 0, 0, 0, 0, 0, 1 }, // alcohol
+			{ 0, 0, 0, 0, 0, 0, 0, 1 }, // aldehyde
+			{ 0, 0, 0, 0, 0, 0, 0, 1 }, // ketone
+			{ 0, 0, 0, 0, 0, 0, 1, 0 }, // amine
+			{ 0, 0, 0, 0, 0, 0, 1, 1 }, // amide
+			{ 0, 0, 0, 0, 0, 0, 0, 2 }, // ester, the alkyl is a side chain on the oxygen
+			{ 0, 0, 0, 0, 0, 0, 0, 2 }, // carboxylic acid
+			{ 0, 0, 0, 0, 0, 0, 0, 0 }, // benzene, the ring is the main chain
+			{ 0, 0, 0, 0, 0, 0, 0, 1 } // ether
+	};
+
+	// degrees of unsaturation added by each main chain group
+	private static final int[] GROUP_UNSATURATION = { 0, 1, 2, 0, 1, 1, 0, 1, 1, 1, 0, 0 };
+
+	// atoms added by each non-carbon side chain, indexed by the negative side chain size
+	private static final int[][] SIDE_ATOMS = {
+			{ 0, 0, 0, 0, 0, 0, 0, 0 }, // unused
+			{ 0, 0, 0, 0, 0, 0, 0, 0 }, // unused
+			{ 0, 0, 1, 0, 0, 0, 0, 0 }, // bromo
+			{ 0, 0, 0, 0, 0, 1, 0, 0 }, // iodo
+			{ 0, 0, 0, 0, 1, 0, 0, 0 }, // fluoro
+			{ 0, 0, 0, 1, 0, 0, 0, 0 }, // chloro
+			{ 0, 0, 0, 0, 0, 0, 0, 1 }, // hydroxy
+			{ 0, 0, 0, 0, 0, 0, 0, 1 }, // oxy, the alkyl is a side chain on the oxygen
+			{ 0, 0, 0, 0, 0, 0, 0, 1 }, // oxo
+			{ 0, 0, 0, 0, 0, 0, 1, 0 }, // amino
+			{ 0, 0, 0, 0, 0, 0, 1, 1 }, // amide drawn on the canvas
+			{ 0, 0, 0, 0, 0, 0, 0, 2 }, // ester drawn on the canvas
+			{ 0, 0, 0, 0, 0, 0, 0, 2 } // acid drawn on the canvas
+	};
+
+	// degrees of unsaturation added by each non-carbon side chain
+	private static final int[] SIDE_UNSATURATION = { 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 1, 1, 1 };
+
+	/*
+	 * Count the atoms of every element in a compound
+	 * Compound c - compound to count
+	 * return - atom counts indexed by the element constants
+	 */
+	public static int[] atomCounts(Compound c) {
+		int[] atoms = new int[ELEMENTS];
+		int unsaturation = count(c, atoms);
+		atoms[H] = hydrogens(atoms, unsaturation);
+		return atoms;
+	} // end atomCounts
+
+	/*
+	 * Get the degree of unsaturation of a compound (rings plus pi bonds)
+	 * Compound c - compound to check
+	 * return - degree of unsaturation
+	 */
+	public static int unsaturation(Compound c) {
+		return count(c, new int[ELEMENTS]);
+	} // end unsaturation
+
+	/*
+	 * Get the number of hydrogens in a compound
+	 * Compound c - compound to check
+	 * return - number of hydrogens
+	 */
+	public static int hydrogenCount(Compound c) {
+		return atomCounts(c)[H];
+	} // end hydrogenCount
+
+	/*
+	 * Get the molecular formula of a compound in Hill order, i.e C3H8O
+	 * Compound c - compound to check
+	 * return - molecular formula
+	 */
+	public static String formula(Compound c) {
+		return formula(atomCounts(c));
+	} // end formula
+
+	/*
+	 * Get the molar mass of a compound
+	 * Compound c - compound to check
+	 * return - molar mass in g/mol
+	 */
+	public static double molarMass(Compound c) {
+		return molarMass(atomCounts(c));
+	} // end molarMass
+
+	/*
+	 * Write atom counts as a formula in Hill order
+	 * int[] atoms - atom counts indexed by the element constants
+	 * return - molecular formula
+	 */
+	public static String formula(int[] atoms) {
+		StringBuilder sb = new StringBuilder();
+
+		for (int i = 0; i < ELEMENTS; i++) {
+			if (atoms[i] <= 0)
+				continue;
+
+			sb.append(SYMBOLS[i]);
+			if (atoms[i] > 1)
+				sb.append(atoms[i]);
+		} // loop
+
+		return sb.toString();
+	} // end formula
+
+	/*
+	 * Get the molar mass of a set of atom counts
+	 * int[] atoms - atom counts indexed by the element constants
+	 * return - molar mass in g/mol
+	 */
+	public static double molarMass(int[] atoms) {
+		double mass = 0;
+		for (int i = 0; i < ELEMENTS; i++)
+			mass += atoms[i] * ATOMIC_MASS[i];
+		return mass;
+	} // end molarMass
+
+	/*
+	 * Add up the heavy atoms of a compound from the group tables
+	 * Compound c - compound to count
+	 * int[] atoms - heavy atom counts to add to
+	 * return - degree of unsaturation
+	 */
+	static int count(Compound c, int[] atoms) {
+		Chain main = c.getMainChain();
+		int unsaturation = 0;
+
+		// nothing on an empty canvas compound
+		if (main.getSize() <= 0)
+			return 0;
+
+		unsaturation += chain(main, atoms);
+
+		// bonds and groups on the main chain, one ending per location
+		for (int i = 0; i < main.getGroupCount(); i++) {
+			int kind = main.getGroupKind(i);
+			if (main.isBenzene() && (kind == 1 || kind == 2))
+				continue; // already counted as the ring's shared double bonds
+
+			add(atoms, GROUP_ATOMS[kind]);
+			unsaturation += GROUP_UNSATURATION[kind];
+		} // loop
+
+		for (int i = 0; i < c.getSideChainCount(); i++) {
+			Chain side = c.getSideChain(i);
+			int size = side.getSize();
+
+			if (size > 0) {
+				unsaturation += chain(side, atoms);
+			} else if (-size < SIDE_ATOMS.length) {
+				add(atoms, SIDE_ATOMS[-size]);
+				unsaturation += SIDE_UNSATURATION[-size];
+			} // if
+		} // loop
+
+		return unsaturation;
+	} // end count
+
+	/*
+	 * Add the carbons of a chain
+	 * Chain chain - chain to count
+	 * int[] atoms - heavy atom counts to add to
+	 * return - degree of unsaturation of the chain's rings
+	 */
+	private static int chain(Chain chain, int[] atoms) {
+		atoms[C] += chain.getSize();
+
+		if (chain.isBenzene())
+			return 4; // one ring and three double bonds
+		if (chain.isCyclo())
+			return 1;
+		return 0;
+	} // end chain
+
+	/*
+	 * Add one row of a group table to the atom counts
+	 * int[] atoms - atom counts to add to
+	 * int[] group - atoms in the group
+	 */
+	private static void add(int[] atoms, int[] group) {
+		for (int i = 0; i < ELEMENTS; i++)
+			atoms[i] += group[i];
+	} // end add
+
+	/*
+	 * Get the number of hydrogens from the heavy atoms, 2C + 2 + N - X - 2U
+	 * int[] atoms - heavy atom counts
+	 * int unsaturation - degree of unsaturation
+	 * return - number of hydrogens, never negative
+	 */
+	static int hydrogens(int[] atoms, int unsaturation) {
+		if (atoms[C] == 0)
+			return 0;
+
+		int halogens = atoms[BR] + atoms[CL] + atoms[F] + atoms[I];
+		int h = 2 * atoms[C] + 2 + atoms[N] - halogens - 2 * unsaturation;
+		return Math.max(h, 0);
+	} // end hydrogens
+} // end Formula
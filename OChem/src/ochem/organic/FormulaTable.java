@@ -0,0 +1,129 @@
+package ochem.organic;
+
+/*
+ * FormulaTable
+ * Created by: Jordan Lin
+ * Last modified: 10/19/2026
+ * Formulas, molar masses, hydrogen counts and unsaturations of a whole compound bank,
+ * computed in parallel and kept in primitive columns for filtering and sorting
+ */
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class FormulaTable {
+	// Attributes
+	private String[] formulas; // molecular formula of each compound
+	private double[] masses; // molar mass of each compound
+	private int[] hydrogens; // hydrogen count of each compound
+	private int[] unsaturations; // degree of unsaturation of each compound
+	private int[] carbons; // carbon count of each compound
+
+	/*
+	 * Compute the columns for a bank of compounds
+	 * Compound[] bank - compounds to compute, row i is bank[i]
+	 */
+	public FormulaTable(Compound[] bank) {
+		int n = bank.length;
+		formulas = new String[n];
+		masses = new double[n];
+		hydrogens = new int[n];
+		unsaturations = new int[n];
+		carbons = new int[n];
+
+		// each row only writes its own slots so the rows can run in parallel
+		IntStream.range(0, n).parallel().forEach(i -> {
+			int[] atoms = new int[Formula.ELEMENTS];
+			int unsaturation = Formula.count(bank[i], atoms);
+			atoms[Formula.H] = Formula.hydrogens(atoms, unsaturation);
+
+			formulas[i] = Formula.formula(atoms);
+			masses[i] = Formula.molarMass(atoms);
+			hydrogens[i] = atoms[Formula.H];
+			carbons[i] = atoms[Formula.C];
+			unsaturations[i] = unsaturation;
+		});
+	} // end constructor
+
+	/*
+	 * Compute the columns for a list of compounds
+	 * List<Compound> bank - compounds to compute, row i is bank.get(i)
+	 */
+	public FormulaTable(List<Compound> bank) {
+		this(bank.toArray(new Compound[bank.size()]));
+	} // end constructor
+
+	/*
+	 * Get the number of rows
+	 * return - number of compounds in the table
+	 */
+	public int size() {
+		return masses.length;
+	} // end size
+
+	public String getFormula(int row) {
+		return formulas[row];
+	} // end getFormula
+
+	public double getMolarMass(int row) {
+		return masses[row];
+	} // end getMolarMass
+
+	public int getHydrogenCount(int row) {
+		return hydrogens[row];
+	} // end getHydrogenCount
+
+	public int getUnsaturation(int row) {
+		return unsaturations[row];
+	} // end getUnsaturation
+
+	public int getCarbonCount(int row) {
+		return carbons[row];
+	} // end getCarbonCount
+
+	/*
+	 * Get the rows with a formula
+	 * String formula - formula to match, i.e C3H8O
+	 * return - matching rows in ascending order
+	 */
+	public int[] withFormula(String formula) {
+		return IntStream.range(0, size()).filter(i -> formulas[i].equals(formula)).toArray();
+	} // end withFormula
+
+	/*
+	 * Get the rows with a molar mass in a range
+	 * double min - lowest mass allowed in g/mol
+	 * double max - highest mass allowed in g/mol
+	 * return - matching rows in ascending order
+	 */
+	public int[] withMassBetween(double min, double max) {
+		return IntStream.range(0, size()).filter(i -> masses[i] >= min && masses[i] <= max).toArray();
+	} // end withMassBetween
+
+	/*
+	 * Get the rows with a degree of unsaturation
+	 * int unsaturation - degree of unsaturation to match
+	 * return - matching rows in ascending order
+	 */
+	public int[] withUnsaturation(int unsaturation) {
+		return IntStream.range(0, size()).filter(i -> unsaturations[i] == unsaturation).toArray();
+	} // end withUnsaturation
+
+	/*
+	 * Get the rows ordered by molar mass, lightest first
+	 * return - row indices sorted by mass
+	 */
+	public int[] sortedByMass() {
+		return IntStream.range(0, size()).boxed().sorted((a, b) -> Double.compare(masses[a], masses[b]))
+				.mapToInt(Integer::intValue).toArray();
+	} // end sortedByMass
+
+	/*
+	 * Get the rows ordered by formula, alphabetically
+	 * return - row indices sorted by formula
+	 */
+	public int[] sortedByFormula() {
+		return IntStream.range(0, size()).boxed().sorted((a, b) -> formulas[a].compareTo(formulas[b]))
+				.mapToInt(Integer::intValue).toArray();
+	} // end sortedByFormula
+} // end FormulaTable
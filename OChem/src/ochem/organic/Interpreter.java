@@ -24,6 +24,7 @@ public class Interpreter {
 	private static String front = ""; // the prefix of the main chain
 	private static ArrayList<String> chainNames; // all the side chains
 	private static ArrayList<String> chainLocations; // locations of the side chains
+	private static ArrayList<String> tokens; // every piece of the name in the order written
 	private static String originalName; // original name of String
 	private static int additionalGroups = 0; // counter to see how many groups are on the main chain
 	private static boolean ester; // boolean to determine if the compound is an ester
@@ -45,6 +46,7 @@ public class Interpreter {
 		front = "";
 		chainNames = null;
 		chainLocations = null;
+		tokens = new ArrayList<String>();
 		originalName = "";
 		additionalGroups = 0;
 		ester = false;
@@ -112,6 +114,7 @@ public class Interpreter {
 			temp = compoundName.nextToken();
 			// tokens++;
 			delimit += temp;
+			tokens.add(temp);
 
 			// if the token says acid append it with the last token
 			if (temp.equalsIgnoreCase("acid")) {
@@ -182,24 +185,21 @@ public class Interpreter {
 
 	private static void reListChain() {
 		for (int i = 0; i < chainNames.size() - 1; i++) {
-			// loop for the length of the size of the organicUtil array
-			for (int j = 0; j < OrganicUtil.PREFIX.length; j++) {
-				// temporary variables
-				String temp = chainNames.get(i);
-				int prefixLength = OrganicUtil.PREFIX[j].length();
-
-				if (temp.length() >= prefixLength) {
-					if (temp.substring(0, prefixLength).equalsIgnoreCase(OrganicUtil.PREFIX[j])) {
-						if (j != 9) {
-							chainNames.remove(i);
-							for (int k = 0; k < j + 2; k++)
-								chainNames.add(i, temp.substring(prefixLength));
-						} // end if
-
-						break;
-					} // end if
-				} // end if
-			} // end for loop
+			String temp = chainNames.get(i);
+
+			// a whole substituent is read as one chain first so tridecyl stays a
+			// thirteen carbon chain instead of three decyls
+			if (isSubstituent(temp))
+				continue;
+
+			// split a multiplied chain into one copy per count, i.e dimethyl
+			int prefixLength = OrganicUtil.multiplierLength(temp);
+			if (prefixLength > 0 && prefixLength < temp.length()) {
+				int count = OrganicUtil.multiplierCount(temp.substring(0, prefixLength));
+				chainNames.remove(i);
+				for (int k = 0; k < count; k++)
+					chainNames.add(i, temp.substring(prefixLength));
+			} // end if
 		} // end for
 	}// end relistchain
 
@@ -207,26 +207,22 @@ public class Interpreter {
 	private static void preSuffix(String mainChain) {
 		// check on the last occurrence of this method if the suffix is an single,
 		// double or triple bond
-		String test = "";
 		String mid = "";
-		String hold = "";
 		int chain = 0;
 
-		// determine chain of mainchain but not including the ending
-		for (int i = 0; i < OrganicUtil.CHAIN.length; i++) {
-			try {
-				if (front.equalsIgnoreCase(OrganicUtil.PREFIX[9])) {
-					if (mainChain.substring(0, OrganicUtil.CHAIN[i].length() + 5)
-							.equalsIgnoreCase("cyclo" + OrganicUtil.CHAIN[i])) {
-						chain = OrganicUtil.CHAIN[i].length() + 5;
-					}
-				} else if (mainChain.substring(0, OrganicUtil.CHAIN[i].length())
-						.equalsIgnoreCase(OrganicUtil.CHAIN[i])) {
-					chain = OrganicUtil.CHAIN[i].length();
-				}
-			} catch (StringIndexOutOfBoundsException e) {
-			}
-		} // end for
+		// determine chain of mainchain but not including the ending, taking the
+		// longest stem so hexadecane is not read as hex
+		int start = front.equalsIgnoreCase(OrganicUtil.PREFIX[9]) ? OrganicUtil.PREFIX[9].length() : 0;
+		String benzene = OrganicUtil.CHAIN[10];
+		if (mainChain.regionMatches(true, start, benzene, 0, benzene.length())) {
+			// benzene is a whole name with no ending after its stem
+			chain = start + benzene.length();
+
+		} else if (mainChain.length() > start) {
+			int stem = OrganicUtil.stemLength(mainChain.substring(start));
+			if (stem > 0)
+				chain = start + stem;
+		} // end if
 
 		// substring the variable mid to hold the mainChain without the prefix
 		mid = mainChain.substring(chain);
@@ -237,26 +233,20 @@ public class Interpreter {
 		// without the prefix
 		mid = checkPrefix(mid,0);
 
-		// gets digits if there are any
-		try {
-			System.out.println("Delimited "+delimit);
-			test = delimit.substring(0, delimit.length() - mainChain.length());
-			int idx = test.length() - 1;
-
-			while (Character.isDigit(test.charAt(idx))) {
-				hold = test.charAt(idx) + hold;
-				idx--;
-			} // end while
-		} catch (StringIndexOutOfBoundsException e) {
-		} // end try catch
+		// count the locations written right before the main chain
+		int written = 0;
+		int last = tokens.size() - 1;
+		if (tokens.get(last).equalsIgnoreCase(mainChain)) {
+			for (int i = last - 1; i >= 0 && OrganicUtil.locantOf(tokens.get(i)) >= 1; i--)
+				written++;
+		} // end if
 
 		// used to add any missing locations on the first suffix
-		while (additionalGroups > hold.length()) {
-			hold = "1" + hold;
+		while (additionalGroups > written) {
+			written++;
 			chainLocations.add("1");
 		}
 
-		System.out.println("---" + test + "---" + hold);
 		try {
 			// check bond type and add locations if needed
 			if (mid.substring(0, 2).equalsIgnoreCase("an")) {
@@ -289,26 +279,21 @@ public class Interpreter {
 		} // end try catch
 
 		// used to add any missing locations on the second suffix
-		while (additionalGroups > hold.length()) {
-			hold += "1";
+		while (additionalGroups > written) {
+			written++;
 			chainLocations.add("1");
 		}
 	}// end preSuffix
 
 	// checks for the prefix of a given name
 	private static String checkPrefix(String mid, int timeRan) {
-		for (int i = 0; i < OrganicUtil.PREFIX.length; i++) {
-			try {
-				if (OrganicUtil.PREFIX[i].equalsIgnoreCase(mid.substring(0, OrganicUtil.PREFIX[i].length()))) {
-					additionalGroups += i + 2;
-					numOfGroups[timeRan] = (i + 2);
-					mid = mid.substring(OrganicUtil.PREFIX[i].length());
-					return mid;
-				} // end if
-			} catch (StringIndexOutOfBoundsException e) {
-				// System.out.println("CAUGHT"); //dbg
-			}
-		} // end for
+		int length = OrganicUtil.multiplierLength(mid);
+		if (length > 0) {
+			int count = OrganicUtil.multiplierCount(mid.substring(0, length));
+			additionalGroups += count;
+			numOfGroups[timeRan] = count;
+			return mid.substring(length);
+		} // end if
 		System.out.println("CHECK PREFIX : " + mid);
 		if (mid.length() >= 2)
 			if (!mid.substring(0, 2).equalsIgnoreCase("an")) {
@@ -437,19 +422,18 @@ public class Interpreter {
 		// temporary variable
 		int size = 0;
 
-		// compare the String to each of the main chain Strings and set the size
-		// accordingly
+		// strip the prefix and suffix and look up the stem that is left
 		System.out.println(chain);
-		for (int i = 0; i < 10; i++) {
-			if (chain.equalsIgnoreCase(prefix + OrganicUtil.CHAIN[i] + suffix)) {
-				size = i + 1;
-				break;
-			} else if (chain.equalsIgnoreCase(OrganicUtil.CHAIN[10])) {
-				size = 6;
-				endingPosition.add(10);
-				break;
-			} // end if
-		} // end for
+		if (chain.equalsIgnoreCase(OrganicUtil.CHAIN[10])) {
+			size = 6;
+			endingPosition.add(10);
+		} else if (chain.length() > prefix.length() + suffix.length()
+				&& chain.regionMatches(true, 0, prefix, 0, prefix.length())
+				&& chain.regionMatches(true, chain.length() - suffix.length(), suffix, 0, suffix.length())) {
+			int stem = OrganicUtil.stemSize(chain.substring(prefix.length(), chain.length() - suffix.length()));
+			if (stem > 0)
+				size = stem;
+		} // end if
 
 		// checks if the suffix is phenyl to determine the size, otherwise set the size
 		// to 1
@@ -469,11 +453,26 @@ public class Interpreter {
 
 	// Checks whether a String is a valid number/position
 	private static boolean isStringNumber(String str) {
-		for (int i = 0; i < OrganicUtil.LOCATIONS.length; i++) {
-			if (str.equalsIgnoreCase(OrganicUtil.LOCATIONS[i]))
+		return OrganicUtil.locantOf(str) >= 1 || str.equalsIgnoreCase("N");
+	} // end stringIsNumber
+
+	// Checks whether a piece of the name is a single side chain, i.e tridecyl,
+	// cyclopropyl, methoxy or bromo
+	private static boolean isSubstituent(String str) {
+		String name = str.toLowerCase();
+		if (name.startsWith(OrganicUtil.PREFIX[9]))
+			name = name.substring(OrganicUtil.PREFIX[9].length());
+
+		for (int i = 0; i < OrganicUtil.SIDE_CHAIN_SUFFIX.length; i++) {
+			if (name.equals(OrganicUtil.SIDE_CHAIN_SUFFIX[i]))
 				return true;
 		} // end for
+
+		if (name.endsWith("yl"))
+			return OrganicUtil.stemSize(name.substring(0, name.length() - 2)) > 0;
+		if (name.endsWith("oxy"))
+			return OrganicUtil.stemSize(name.substring(0, name.length() - 3)) > 0;
 		return false;
-	} // end stringIsNumber
+	} // end isSubstituent
 
-} // end Interpreter
\ No newline at end of file
+} // end Interpreter
\ No newline at end of file
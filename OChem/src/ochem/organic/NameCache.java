@@ -0,0 +1,153 @@
+package ochem.organic;
+
+/*
+ * NameCache
+ * Created by: Jordan Lin
+ * Last modified: 10/19/2026
+ * Names compounds one fragment at a time, keeping the prefix made from the side chains
+ * and the main chain with its suffix apart so an edit to one only renames that one.
+ * Used to show the name while the compound is being drawn
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class NameCache {
+	// Attributes
+	private int maxEntries; // most names kept for each fragment
+	private LinkedHashMap<String, String> prefixes; // side chain prefixes by side chain key
+	private LinkedHashMap<String, String> mains; // main chain names by main chain key
+
+	private Compound last; // compound named last
+	private String lastName; // its name
+
+	/*
+	 * Create a cache
+	 * int maxEntries - most names to keep for each fragment
+	 */
+	public NameCache(int maxEntries) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		} // if
+
+		this.maxEntries = maxEntries;
+		this.prefixes = newMap();
+		this.mains = newMap();
+	} // end constructor
+
+	/*
+	 * Create a map that drops its least recently used name past the size of the cache
+	 * return - empty map
+	 */
+	private LinkedHashMap<String, String> newMap() {
+		return new LinkedHashMap<String, String>(16, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > maxEntries;
+			} // end removeEldestEntry
+		};
+	} // end newMap
+
+	/*
+	 * Get the name of a compound, naming only the fragments that changed since they were
+	 * last seen
+	 * Compound c - finished compound, not changed
+	 * return - IUPAC name, null if the compound can't be named yet
+	 */
+	public String name(Compound c) {
+		// the drawing hands back the same compound until it is edited
+		if (c == last)
+			return lastName;
+
+		last = c;
+		lastName = null;
+
+		if (c == null || c.getMainSize() <= 0)
+			return null;
+
+		try {
+			// side chains
+			String key = prefixKey(c);
+			String prefix = prefixes.get(key);
+			if (prefix == null) {
+				prefix = OrganicUtil.assignPrefix(c);
+				prefixes.put(key, prefix);
+			} // if
+
+			// main chain and its suffix
+			key = mainKey(c.getMainChain());
+			String main = mains.get(key);
+			if (main == null) {
+				main = OrganicUtil.mainToName(c.getMainChain());
+				mains.put(key, main);
+			} // if
+
+			lastName = prefix + main;
+
+		} catch (RuntimeException e) { // half drawn, i.e a group with no chain yet
+			lastName = null;
+		} // try-catch
+
+		return lastName;
+	} // end name
+
+	/*
+	 * Drop every name
+	 */
+	public void clear() {
+		prefixes.clear();
+		mains.clear();
+		last = null;
+		lastName = null;
+	} // end clear
+
+	/*
+	 * Get a string that is the same for compounds with the same side chains
+	 * Compound c - compound to describe
+	 * return - size, location and ring of each side chain in order
+	 */
+	private static String prefixKey(Compound c) {
+		StringBuilder sb = new StringBuilder(16 * c.getSideChainCount());
+
+		for (int i = 0; i < c.getSideChainCount(); i++) {
+			Chain side = c.getSideChain(i);
+			sb.append(side.getSize()).append(':').append(side.getLocation());
+			if (side.isCyclo())
+				sb.append('c');
+			if (side.isBenzene())
+				sb.append('b');
+			sb.append(',');
+		} // loop
+
+		return sb.toString();
+	} // end prefixKey
+
+	/*
+	 * Get a string that is the same for main chains that are named the same way
+	 * Chain main - main chain to describe
+	 * return - size, ring, bond, group counts, locations and endings of the chain
+	 */
+	private static String mainKey(Chain main) {
+		StringBuilder sb = new StringBuilder(32);
+		int[] groups = main.getNumOfGroups();
+
+		sb.append(main.getSize());
+		if (main.isCyclo())
+			sb.append('c');
+		if (main.isBenzene())
+			sb.append('b');
+		sb.append('=').append(main.getBond());
+		sb.append('|').append(groups[0]).append(',').append(groups[1]);
+
+		sb.append('|');
+		for (int i = 0; i < main.getFunctionalLocationCount(); i++) {
+			sb.append(main.getFunctionalLocation(i)).append(',');
+		} // loop
+
+		sb.append('|');
+		for (String ending : main.getEndings()) {
+			sb.append(ending).append(',');
+		} // loop
+
+		return sb.toString();
+	} // end mainKey
+} // end NameCache
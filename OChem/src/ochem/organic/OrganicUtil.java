@@ -32,11 +32,68 @@ public class OrganicUtil {
 	public static final String[] CHAIN = { "meth", "eth", "prop", "but", "pent", "hex", "hept", "oct", "non", "dec",
 			"benzene" };
 
-	// numbers 1 thru 9 for side chain location identification
-	public static final String[] LOCATIONS = { "1", "2", "3", "4", "5", "6", "7", "8", "9", "N" };
+	// longest chain and highest multiplier that can be named
+	public static final int MAX_CHAIN = 999;
+
+	// longest main chain the random generator makes
+	public static final int MAX_RANDOM_CHAIN = 10;
+
+	// most compounds the random generator makes before giving up on a valid one, about
+	// half are valid so this is never reached unless the generator is broken
+	private static final int MAX_RANDOM_ATTEMPTS = 100;
+
+	// numeral terms used to build stems and multipliers past four
+	private static final String[] UNITS = { "", "hen", "do", "tri", "tetra", "penta", "hexa", "hepta", "octa",
+			"nona" };
+	private static final String[] TENS = { "", "deca", "icosa", "triaconta", "tetraconta", "pentaconta",
+			"hexaconta", "heptaconta", "octaconta", "nonaconta" };
+	private static final String[] HUNDREDS = { "", "hecta", "dicta", "tricta", "tetracta", "pentacta", "hexacta",
+			"heptacta", "octacta", "nonacta" };
+
+	// stems and multipliers for every size, built once so parsing is a lookup
+	private static final String[] STEMS = new String[MAX_CHAIN + 1];
+	private static final String[] MULTIPLIERS = new String[MAX_CHAIN + 1];
+	private static final HashMap<String, Integer> STEM_SIZES = new HashMap<String, Integer>();
+	private static final HashMap<String, Integer> MULTIPLIER_COUNTS = new HashMap<String, Integer>();
+	private static int longestStem = 0;
+	private static int longestMultiplier = 0;
+
+	static {
+		for (int n = 1; n <= MAX_CHAIN; n++) {
+			// the first four chains and multipliers keep their traditional names
+			if (n <= 4) {
+				STEMS[n] = CHAIN[n - 1];
+				MULTIPLIERS[n] = n == 1 ? "" : PREFIX[n - 2];
+			} else {
+				MULTIPLIERS[n] = numeralTerm(n);
+				STEMS[n] = MULTIPLIERS[n].substring(0, MULTIPLIERS[n].length() - 1); // drop the final a
+			} // end if
 
-	// method used to generate a random compound
+			STEM_SIZES.put(STEMS[n], n);
+			longestStem = Math.max(longestStem, STEMS[n].length());
+			if (n > 1)
+				MULTIPLIER_COUNTS.put(MULTIPLIERS[n], n);
+			longestMultiplier = Math.max(longestMultiplier, MULTIPLIERS[n].length());
+		} // end for
+	} // end static
+
+	// generates random compounds until one is a valid structure
 	public static Compound generateRandomCompound() {
+		int violations = Validator.VALID;
+
+		for (int i = 0; i < MAX_RANDOM_ATTEMPTS; i++) {
+			Compound c = randomCompound();
+			violations = Validator.validate(c);
+			if (violations == Validator.VALID)
+				return c;
+		} // end for
+
+		throw new IllegalStateException("No valid compound in " + MAX_RANDOM_ATTEMPTS + " attempts, last was "
+				+ Validator.describe(violations));
+	}// end generateRandomCompound
+
+	// method used to generate a random compound
+	private static Compound randomCompound() {
 		// declare variables
 		Compound c;
 		int mainSize[]; // size of main chain
@@ -54,7 +111,7 @@ public class OrganicUtil {
 		boolean cyclo = false; // is the compound a cyclo chain
 
 		// generate main chain size
-		mainSize = new int[random(2, 10)];
+		mainSize = new int[random(2, MAX_RANDOM_CHAIN)];
 
 		// initialize the list
 		for (int i = 0; i < mainSize.length; i++)
@@ -237,7 +294,7 @@ public class OrganicUtil {
 		// return the compound
 		reorderCompound(c);
 		return c;
-	}// end generateRandomCompound
+	}// end randomCompound
 
 	private static Compound generateSideChains(Compound c, int ending, int mainSize[], String[] sideChainType,
 			String[] sideLocation) {
@@ -304,7 +361,7 @@ public class OrganicUtil {
 			// chain to go with it
 			if (sideChainType[i].equals("yl")) {
 				if (mainSize.length > 2)
-					while (sideLocation[i].equals("1") || sideLocation[i].equals("" + mainSize)) {
+					while (sideLocation[i].equals("1") || sideLocation[i].equals(Integer.toString(mainSize.length))) {
 						sideLocation[i] = location(ending, mainSize);
 					} // end while
 				sideCyclo = cyclo();
@@ -312,7 +369,7 @@ public class OrganicUtil {
 					pre = random(3, mainSize.length);
 				else
 					pre = random(1, 4);
-				sideChainType[i] = CHAIN[pre] + sideChainType[i];
+				sideChainType[i] = stem(pre) + sideChainType[i];
 			} else if (sideChainType[i].equals("phenyl")) {
 				// if the mainsize is greater than the side length, add the benzene side chain
 				// other wise add an alkyl
@@ -364,13 +421,13 @@ public class OrganicUtil {
 		if (ending == 6 || ending == 7) {
 			int r = random(startOn, mainSize.length);
 			if (r == mainSize.length)
-				sideLocation = LOCATIONS[LOCATIONS.length - 1];
+				sideLocation = "N";
 			else {
-				sideLocation = LOCATIONS[r];
+				sideLocation = Integer.toString(r + 1);
 				mainSize[r]++;
 			}
 		} else {
-			sideLocation = LOCATIONS[random(startOn, mainSize.length - 1)];
+			sideLocation = Integer.toString(random(startOn, mainSize.length - 1) + 1);
 		}
 		return sideLocation;
 	}// end location
@@ -391,16 +448,16 @@ public class OrganicUtil {
 		if (!bondLocation) {
 			int r = random(startOn, mainSize.length);
 			if (r == mainSize.length)
-				sideLocation = LOCATIONS[LOCATIONS.length - 1];
+				sideLocation = "N";
 			else
-				sideLocation = LOCATIONS[r];
+				sideLocation = Integer.toString(r + 1);
 
 		} else {
 			int r = random(startOn, mainSize.length - 1);
 			if (mainSize[r] > 4)
 				while (mainSize[r] > 2)
 					r = random(startOn, mainSize.length - 1);
-			sideLocation = LOCATIONS[r];
+			sideLocation = Integer.toString(r + 1);
 			mainSize[r] += bondType;
 		}
 		return sideLocation;
@@ -442,17 +499,17 @@ public class OrganicUtil {
 	// gets the name of the compound from the compound object
 	public static String nameFromCompound(Compound c) {
 		String name = ""; // holds the name of the compound
-		name = assignPrefix(c.getSideChains());
+		name = assignPrefix(c);
 		name += mainToName(c.getMainChain());
 		return name;
 	}// end nameFromCompound
 
 	// converts the mainChain to a String
-	private static String mainToName(Chain main) {
+	static String mainToName(Chain main) {
 		String name = ""; // holds the main chain name
 		int[] prefixes = main.getNumOfGroups(); // holds the prefixes on the bondType and the functionalGroup
-		ArrayList<String> endings = main.getEndings(); // gets the functionalEndings from the chain object
-		ArrayList<String> location = main.getFunctionalLocation(); // gets the locatoins
+		List<String> endings = main.getEndings(); // gets the functionalEndings from the chain object
+		List<String> location = main.getFunctionalLocation(); // gets the locatoins
 		String hold = ""; // temporary variable to hold text
 
 		// add cyclo to the name if the main chain is a cyclo, return benzene if the
@@ -464,7 +521,7 @@ public class OrganicUtil {
 		} // end if
 
 		// add in the name of the chain along with any locations of functional bonds
-		name += CHAIN[main.getSize() - 1];
+		name += stem(main.getSize());
 		if (prefixes[0] > 1) {
 			name += "-";
 			for (int i = 0; i < prefixes[0]; i++)
@@ -535,10 +592,11 @@ public class OrganicUtil {
 		if (n < 2)
 			return "";
 		else
-			return PREFIX[n - 2];
+			return multiplier(n);
 	}
 
-	private static String assignPrefix(Chain[] side) {
+	static String assignPrefix(Compound c) {
+		int sides = c.getSideChainCount();
 		// declare temporary variables
 		boolean space = false;
 		boolean ether = false;
@@ -548,14 +606,15 @@ public class OrganicUtil {
 		ArrayList<String> position = new ArrayList<String>();
 		ArrayList<Integer> etherSpots = new ArrayList<Integer>();
 
-		// initialize the TreeMap
-		groups = initializeMap();
+		// initialize the TreeMap, it keeps the side chain names in alphabetical order
+		groups = new TreeMap<String, Integer>();
 
 		// loop for the length of the side chain array to get the word and location
-		for (int i = 0; i < side.length; i++) {
-			toCheck.add(sizeToWord(side[i]));
-			position.add(side[i].getLocation());
-			if (side[i].getLocation().equalsIgnoreCase("o"))
+		for (int i = 0; i < sides; i++) {
+			Chain side = c.getSideChain(i);
+			toCheck.add(sizeToWord(side));
+			position.add(side.getLocation());
+			if (side.getLocation().equalsIgnoreCase("o"))
 				etherSpots.add(i);
 		} // end for
 
@@ -585,19 +644,20 @@ public class OrganicUtil {
 		// uses the treemap key of the sidechain name to be added to the value which
 		// starts at 0
 		for (int i = 0; i < toCheck.size(); i++) {
-			try {
-				int temp = groups.get(toCheck.get(i)) + 1;
-				groups.replace(toCheck.get(i), temp);
+			String word = toCheck.get(i);
 
-			} catch (NullPointerException e) {
-			}
+			// a lone yl or oxy was never joined to its chain
+			if (word.equals(SIDE_CHAIN_SUFFIX[1]) || word.equals(SIDE_CHAIN_SUFFIX[7]))
+				continue;
+
+			Integer count = groups.get(word);
+			groups.put(word, count == null ? 1 : count + 1);
 		} // end for
 
 		// loop for all the keys in the treemap
 		for (String key : groups.keySet()) {
 			// place the value of the key into a variable for ease of use
 			int prefix = groups.get(key);
-			int idx = 0;
 			ArrayList<String> toSort = new ArrayList<String>();
 			space = false;
 			ether = false;
@@ -622,55 +682,39 @@ public class OrganicUtil {
 				// sort the array in default order
 				toSort = positionSort(toSort);
 
-				for (String i : toSort) {
-					if (ether) {
-						beforeMain.insert(idx, i + ",");
-						idx += 2;
-					} else
-						beforeMain.append(i + ",");
-					// end if
-				} // end for
+				// ethers go in front of everything as locations-multiplier-name, i.e
+				// 2,3-dimethoxy, with the locations joined by their full length so
+				// locations past 9 stay intact
+				if (ether) {
+					StringBuilder part = new StringBuilder();
+					for (String i : toSort)
+						part.append(i).append(',');
+					if (part.length() > 0)
+						part.setCharAt(part.length() - 1, '-');
+					part.append(prefixFromNumber(prefix)).append(key).append("  ");
+					beforeMain.insert(0, part);
+					continue;
+				} // end if
+
+				for (String i : toSort)
+					beforeMain.append(i + ",");
 
 				// add hyphens in between the the number and words
 				if (!space) {
-					// if the side chain is an ether add the locations to the front else add them to
-					// the end of the stringbuffer
-					if (ether) {
-						if (prefix >= 2) {
-							beforeMain.deleteCharAt(prefix + (int) (Math.round(prefix / 2.0)));
-							beforeMain.insert(prefix + (int) (Math.round(prefix / 2.0)), '-');
-						} else {
-							beforeMain.deleteCharAt(prefix);
-							beforeMain.insert(prefix, '-');
-						}
-					} else {
-						beforeMain.deleteCharAt(beforeMain.length() - 1);
-						beforeMain.append("-");
-					} // end if
+					beforeMain.deleteCharAt(beforeMain.length() - 1);
+					beforeMain.append("-");
 				} // end if
 
 				System.out.println("BEFORE MAIN " + beforeMain.toString());
 
 				// if the prefix is greater than or equal to 2 add the prefix infront of the key
-				if (prefix >= 2) {
-					if (!ether)
-						beforeMain.append(prefixFromNumber(prefix));
-					else
-						beforeMain.insert(prefix + 1 + (int) (Math.round(prefix / 2.0)), prefixFromNumber(prefix));
-				} // end if
+				if (prefix >= 2)
+					beforeMain.append(prefixFromNumber(prefix));
 
 				System.out.println("BEFORE MAIN " + beforeMain.toString());
 
-				// if the key has an oxy in the end and is not a
-				// hydroxy add a space; else if the
-				// boolean space is true, add a space or else add a hyphen
-				if (ether) {
-					if (prefix != 1) {
-						int word = prefixFromNumber(prefix).length();
-						beforeMain.insert(prefix + word + 1 + (int) (Math.round(prefix / 2.0)), key + "  ");
-					} else
-						beforeMain.insert(prefix + (int) (Math.round(prefix / 2.0)), key + "  ");
-				} else if (space) {
+				// if the boolean space is true, add a space or else add a hyphen
+				if (space) {
 					beforeMain.insert(0, key + "  ");
 				} else {
 					beforeMain.append(key + "-");
@@ -682,7 +726,7 @@ public class OrganicUtil {
 		System.out.println(ether);
 
 		// if the length of side is greater than 0
-		if (side.length > 0) {
+		if (sides > 0) {
 			System.out.println("SHOWUP " + beforeMain.toString());
 			beforeMain.deleteCharAt(beforeMain.length() - 1);
 		} // end if
@@ -690,57 +734,23 @@ public class OrganicUtil {
 	}// end assignPrefix
 
 	private static ArrayList<String> positionSort(ArrayList<String> toBe) {
-		// counter to know how many N locations there are
-		int letters = 0;
-
-		// use the default sort to get the letters to be at end and numbers to be in
-		// ascending order
-		Collections.sort(toBe);
-		for (int i = 0; i < toBe.size(); i++) {
-			char[] c = toBe.get(i).toCharArray();
-			if (!Character.isDigit(c[0])) {
-				letters++;
-			} // end if
-		} // end for
-
-		// moves the letters to the front, and deletes the ones that were at the end
-		for (int i = 0; i < letters; i++) {
-			toBe.add(0, toBe.get(toBe.size() - 1));
-			toBe.remove(toBe.size() - 1);
-		} // end for
+		// letters (N and O locations) go first, then the numbers in ascending order
+		// by value so 10 comes after 9
+		Collections.sort(toBe, new Comparator<String>() {
+			public int compare(String a, String b) {
+				int locA = locantOf(a);
+				int locB = locantOf(b);
+				if (locA < 0 || locB < 0)
+					return locA < 0 && locB < 0 ? a.compareTo(b) : (locA < 0 ? -1 : 1);
+				return Integer.compare(locA, locB);
+			}
+		});
 
 		// trim and return the arraylist
 		toBe.trimToSize();
 		return toBe;
 	}// end position sort
 
-	// creates a treemap and sets all the values to 0
-	private static TreeMap<String, Integer> initializeMap() {
-		TreeMap<String, Integer> t = new TreeMap<String, Integer>();
-
-		// add in the alkyl side chains
-		for (int i = 0; i < CHAIN.length - 1; i++)
-			t.put(CHAIN[i] + "yl", 0);
-		// end for
-
-		for (int i = 0; i < CHAIN.length - 1; i++)
-			t.put(CHAIN[i] + "oxy", 0);
-
-		// add in the side unique side chains
-		for (int i = 0; i < SIDE_CHAIN_SUFFIX.length; i++) {
-			if (i != 1)
-				t.put(SIDE_CHAIN_SUFFIX[i], 0);
-		} // end for
-		t.remove("oxy");
-
-		// add in the cyclo side chains
-		for (int i = 2; i < CHAIN.length - 3; i++)
-			t.put("cyclo" + CHAIN[i] + "yl", 0);
-		for (int i = 2; i < CHAIN.length - 3; i++)
-			t.put("cyclo" + CHAIN[i] + "oxy", 0);
-		return t;
-	}
-
 	// changes the size to a word
 	private static String sizeToWord(Chain s) {
 		int size = s.getSize();
@@ -750,7 +760,7 @@ public class OrganicUtil {
 				return "phenyl";
 			else if (s.isCyclo())
 				toReturn = "cyclo";
-			toReturn += CHAIN[size - 1] + "yl";
+			toReturn += stem(size) + "yl";
 		} else {
 			toReturn = SIDE_CHAIN_SUFFIX[size * -1];
 		} // end if
@@ -763,19 +773,13 @@ public class OrganicUtil {
 		boolean main = false;
 		if (a.getMainSize() == b.getMainSize())
 			main = true;
-		if (a.getSideChains().length == b.getSideChains().length) {
-			Chain[] sideA = a.getSideChains();
-			Chain[] sideB = b.getSideChains();
-			for (int i = 0; i < sideA.length; i++) {
-				if (sideA[i].equals(sideB[i]))
-					sideB[i] = null;
-			} // end for
-			for (int i = 0; i < sideB.length; i++) {
-				if (sideB[i] != null) {
+		if (a.getSideChainCount() == b.getSideChainCount()) {
+			for (int i = 0; i < a.getSideChainCount(); i++) {
+				if (!a.getSideChain(i).equals(b.getSideChain(i))) {
 					sides = false;
 					break;
-				}
-			}
+				} // end if
+			} // end for
 		} // end if
 
 		if (main && sides)
@@ -789,8 +793,8 @@ public class OrganicUtil {
 		Compound ordered = new Compound(c.getMainSize());
 		int position;
 		int mainSize = c.getMainSize();
-		ArrayList<String> endings = c.getMainChain().getEndings();
-		int[] numOfGroups = c.getMainChain().getNumOfGroups();
+		Chain main = c.getMainChain();
+		int[] numOfGroups = main.getNumOfGroups();
 
 		// set up new compound
 		ordered.getMainChain().setBenzene(c.getMainChain().isBenzene());
@@ -801,19 +805,19 @@ public class OrganicUtil {
 		// if the compound has a functional group or a bondtype higher than 1 reorder
 		// the compound
 		if (numOfGroups[1] > 0 || numOfGroups[0] > 0) {
-			String temp = "";
+			int temp = 0; // index of the last ending checked
 			int majorityOverGroup = 0;
 			int majorityOverBond = 0;
 			for (int i = 1; i <= numOfGroups[1]; i++) {
-				temp = endings.get(endings.size() - i);
-				position = Integer.parseInt(temp.substring(temp.length() - 1));
+				temp = main.getGroupCount() - i;
+				position = main.getGroupLocant(temp);
 				if (position > mainSize / 2)
 					majorityOverGroup++;
 			}
 
 			for (int i = 0; i < numOfGroups[0]; i++) {
-				temp = endings.get(i);
-				position = Integer.parseInt(temp.substring(temp.length() - 1));
+				temp = i;
+				position = main.getGroupLocant(temp);
 				if (position > mainSize / 2)
 					majorityOverGroup++;
 			}
@@ -822,13 +826,9 @@ public class OrganicUtil {
 			if (majorityOverGroup > numOfGroups[1] || majorityOverBond > numOfGroups[0]) {
 				int bond = c.getMainChain().getBond();
 				for (int i = 0; i < numOfGroups[0]; i++) {
-					String hold = endings.get(i).substring(temp.length() - 1);
-					int toSwitch;
-					try {
-						toSwitch = Integer.parseInt(hold);
-					} catch (NumberFormatException e) {
+					int toSwitch = main.getGroupLocant(i);
+					if (toSwitch < 0)
 						toSwitch = 1;
-					}
 					ordered.addFunctionalLocation("" + invertPosition(mainSize, toSwitch));
 				} // end for
 
@@ -841,15 +841,14 @@ public class OrganicUtil {
 
 				// invert the positions
 				for (int i = 0; i < numOfGroups[1]; i++) {
-					String hold = endings.get(i + numOfGroups[0]).substring(temp.length() - 1);
-					int toSwitch = Integer.parseInt(hold);
+					int toSwitch = main.getGroupLocant(i + numOfGroups[0]);
 					ordered.addFunctionalLocation("" + invertPosition(mainSize, toSwitch));
 				} // end for
 
 				// get the type of ending and save it to compound
-				for (int i = 1; i < FUNCTIONAL_NAMES.length - 2; i++)
-					if (temp.substring(0, temp.length() - 4).equalsIgnoreCase(FUNCTIONAL_NAMES[i]))
-						ordered.getMainChain().setEnding(i);
+				int kind = main.getGroupKind(temp);
+				if (kind >= 1 && kind < FUNCTIONAL_NAMES.length - 2)
+					ordered.getMainChain().setEnding(kind);
 				ordered = invertSides(c, ordered);
 				return ordered;
 			} else {
@@ -857,15 +856,14 @@ public class OrganicUtil {
 			} // end if
 
 		} else {
-			Chain[] s = c.getSideChains();
+			int sides = c.getSideChainCount();
 			int numOverHalf = 0;
-			for (int i = 0; i < s.length; i++) {
-				int temp = Integer.parseInt(s[i].getLocation());
-				if (temp > mainSize / 2)
+			for (int i = 0; i < sides; i++) {
+				if (c.getSideChain(i).getLocant() > mainSize / 2)
 					numOverHalf++;
 			} // end for
 
-			if (numOverHalf > s.length / 2) {
+			if (numOverHalf > sides / 2) {
 				ordered = invertSides(c, ordered);
 				return ordered;
 			}
@@ -876,17 +874,15 @@ public class OrganicUtil {
 	// takes the side chains from Compound c and inverts them into Compound ordered
 	// to be returned
 	private static Compound invertSides(Compound c, Compound ordered) {
-		Chain[] s = c.getSideChains();
 		String location;
 
-		for (int i = 0; i < s.length; i++) {
-			try {
-				int temp = Integer.parseInt(s[i].getLocation());
-				location = Integer.toString(invertPosition(c.getMainSize(), temp));
-			} catch (NumberFormatException e) {
-				location = s[i].getLocation();
-			}
-			ordered.addSideChain(s[i].getSize(), location, s[i].isCyclo(), s[i].isBenzene());
+		for (int i = 0; i < c.getSideChainCount(); i++) {
+			Chain s = c.getSideChain(i);
+			if (s.getLocant() >= 0)
+				location = Integer.toString(invertPosition(c.getMainSize(), s.getLocant()));
+			else
+				location = s.getLocation();
+			ordered.addSideChain(s.getSize(), location, s.isCyclo(), s.isBenzene());
 		} // end for
 
 		return ordered;
@@ -896,6 +892,96 @@ public class OrganicUtil {
 		return (mainSize - p + 1);
 	}
 
+	// gets the number of a location on the main chain, -1 if the location is not a
+	// number (i.e on a nitrogen or oxygen)
+	public static int locantOf(String location) {
+		int locant = 0;
+		if (location == null || location.isEmpty())
+			return -1;
+
+		for (int i = 0; i < location.length(); i++) {
+			char c = location.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			locant = locant * 10 + (c - '0');
+		} // end for
+		return locant;
+	}// end locantOf
+
+	// builds the numeral term for a number past four from its units, tens and
+	// hundreds, i.e 23 is tri + cosa, with undeca for 11
+	private static String numeralTerm(int n) {
+		int units = n % 10;
+		int tens = (n / 10) % 10;
+		int hundreds = n / 100;
+
+		String term = UNITS[units];
+		if (units == 1 && tens == 1)
+			term = "un";
+
+		// icosa loses its i after a vowel, i.e docosa
+		String ten = TENS[tens];
+		if (tens == 2 && term.length() > 0 && isVowel(term.charAt(term.length() - 1)))
+			ten = ten.substring(1);
+		return term + ten + HUNDREDS[hundreds];
+	}// end numeralTerm
+
+	// checks if a character is a vowel
+	private static boolean isVowel(char c) {
+		return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+	}// end isVowel
+
+	// gets the stem of a chain of a size, i.e prop for 3 and icos for 20
+	public static String stem(int size) {
+		if (size < 1 || size > MAX_CHAIN)
+			throw new IllegalArgumentException("No stem for a chain of " + size);
+		return STEMS[size];
+	}// end stem
+
+	// gets the multiplying prefix for a count, i.e tri for 3, empty for 1
+	public static String multiplier(int count) {
+		if (count < 1 || count > MAX_CHAIN)
+			throw new IllegalArgumentException("No multiplier for " + count);
+		return MULTIPLIERS[count];
+	}// end multiplier
+
+	// gets the size of the chain for a stem, -1 if the text is not a stem
+	public static int stemSize(String stem) {
+		Integer size = STEM_SIZES.get(stem.toLowerCase());
+		return size == null ? -1 : size;
+	}// end stemSize
+
+	// gets the length of the longest stem at the start of the text, 0 if none
+	public static int stemLength(String text) {
+		String lower = text.toLowerCase();
+		for (int i = Math.min(lower.length(), longestStem); i > 0; i--) {
+			if (STEM_SIZES.containsKey(lower.substring(0, i)))
+				return i;
+		} // end for
+		return 0;
+	}// end stemLength
+
+	// gets the length of the longest multiplier at the start of the text, 0 if none
+	public static int multiplierLength(String text) {
+		String lower = text.toLowerCase();
+		for (int i = Math.min(lower.length(), longestMultiplier); i > 0; i--) {
+			if (MULTIPLIER_COUNTS.containsKey(lower.substring(0, i)))
+				return i;
+		} // end for
+		return 0;
+	}// end multiplierLength
+
+	// gets the count for a multiplier, -1 if the text is not a multiplier
+	public static int multiplierCount(String multiplier) {
+		Integer count = MULTIPLIER_COUNTS.get(multiplier.toLowerCase());
+		return count == null ? -1 : count;
+	}// end multiplierCount
+
+	// checks if a location is on the main chain, a nitrogen or an oxygen
+	public static boolean isLocation(String location) {
+		return locantOf(location) >= 1 || location.equalsIgnoreCase("N") || location.equalsIgnoreCase("O");
+	}// end isLocation
+
 	// main for testing purposes
 	public static void main(String[] args) {
 		Compound c = generateRandomCompound();
@@ -904,4 +990,4 @@ public class OrganicUtil {
 
 	}
 
-} // end OrganicUtil
\ No newline at end of file
+} // end OrganicUtil
\ No newline at end of file
@@ -0,0 +1,1093 @@
+package ochem.organic;
+
+/*
+ * SmilesReader
+ * Created by: Jordan Lin
+ * Last modified: 10/19/2026
+ * Reads compounds from SMILES lines on a Reader. The main chain is the carbon chain or
+ * ring with the most of the main group, then the most carbons, found over the whole
+ * atom graph so it doesn't matter how the SMILES was written. Every branch off of it is
+ * a side chain or group, and the chain is numbered to give the lowest locants
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class SmilesReader {
+	// element numbers for the atoms a compound can hold
+	private static final int CARBON = 6;
+	private static final int NITROGEN = 7;
+	private static final int OXYGEN = 8;
+	private static final int FLUORINE = 9;
+	private static final int CHLORINE = 17;
+	private static final int BROMINE = 35;
+	private static final int IODINE = 53;
+
+	// order used for aromatic bonds
+	private static final int AROMATIC = 4;
+
+	// place in a chain's score that is 1 for a ring
+	private static final int RING_SCORE = 3;
+
+	// main chain groups from highest to lowest priority (FUNCTIONAL_NAMES indexes)
+	private static final int[] GROUP_PRIORITY = { 9, 8, 7, 4, 5, 3, 6 };
+
+	// Attributes
+	private BufferedReader in; // stream the SMILES are read from
+
+	// atom table, reused between lines
+	private int atoms; // number of atoms
+	private int[] element; // element of each atom
+	private boolean[] aromatic; // whether each atom is aromatic
+	private int[][] bonded; // neighbours of each atom
+	private int[][] orders; // bond order to each neighbour
+	private int[] degree; // number of neighbours of each atom
+	private int[] kind; // group on each carbon (FUNCTIONAL_NAMES index), -1 if none
+
+	// rings, reused between lines
+	private int closures; // number of bonds closed by ring digits
+	private int[] closeA; // first atom of each ring closure
+	private int[] closeB; // second atom of each ring closure
+	private int[] ring; // ring each atom is in, -1 if none
+	private ArrayList<int[]> rings; // atoms of each ring in order around it
+
+	// chains and rings that could be the main chain, best first, reused between lines
+	private ArrayList<int[]> chains; // atoms of each in order
+	private ArrayList<int[]> scores; // score of each, see score
+
+	/*
+	 * Create a SMILES reader on top of a stream
+	 * Reader in - stream to read the compounds from
+	 */
+	public SmilesReader(Reader in) {
+		if (in instanceof BufferedReader)
+			this.in = (BufferedReader) in;
+		else if (in != null)
+			this.in = new BufferedReader(in);
+
+		element = new int[32];
+		aromatic = new boolean[32];
+		bonded = new int[32][4];
+		orders = new int[32][4];
+		degree = new int[32];
+		kind = new int[32];
+
+		closeA = new int[8];
+		closeB = new int[8];
+		ring = new int[32];
+		rings = new ArrayList<int[]>();
+		chains = new ArrayList<int[]>();
+		scores = new ArrayList<int[]>();
+	} // end constructor
+
+	/*
+	 * Read the next compound, skipping blank lines. Anything after the first space on a
+	 * line is treated as the title of the compound and ignored
+	 * return - the next compound or null at the end of the stream
+	 */
+	public Compound read() throws IOException {
+		String line;
+		while ((line = in.readLine()) != null) {
+			line = line.trim();
+			if (!line.isEmpty())
+				return parse(line);
+		} // loop
+		return null;
+	} // end read
+
+	/*
+	 * Close the underlying stream
+	 */
+	public void close() throws IOException {
+		in.close();
+	} // end close
+
+	/*
+	 * Get the compound for a single SMILES string
+	 * String smiles - SMILES to convert
+	 * return - compound created from the SMILES
+	 */
+	public static Compound fromSmiles(String smiles) {
+		return new SmilesReader(null).parse(smiles.trim());
+	} // end fromSmiles
+
+	/*
+	 * Read the atoms of a SMILES line and build the compound
+	 * String smiles - SMILES to read
+	 * return - compound for the SMILES
+	 */
+	private Compound parse(String smiles) {
+		// drop the title after the SMILES
+		for (int i = 0; i < smiles.length(); i++) {
+			if (Character.isWhitespace(smiles.charAt(i))) {
+				smiles = smiles.substring(0, i);
+				break;
+			} // if
+		} // loop
+
+		readAtoms(smiles);
+		findRings();
+		Compound c = buildCompound();
+
+		// reject structures the rest of the program can't name or draw
+		int violations = Validator.validate(c);
+		if (violations != Validator.VALID)
+			throw new IllegalArgumentException("Invalid structure (" + Validator.describe(violations) + "): " + smiles);
+
+		return c;
+	} // end parse
+
+	// PARSING//
+
+	/*
+	 * Fill the atom table from the SMILES
+	 * String smiles - SMILES to read
+	 */
+	private void readAtoms(String smiles) {
+		atoms = 0;
+		closures = 0;
+
+		int prev = -1; // atom the next one bonds to
+		int bond = 0; // explicit order for the next bond, 0 if none given
+		int[] branches = new int[smiles.length() + 1]; // atoms to go back to after a branch
+		int open = 0; // number of open branches
+		int[] ringAtom = new int[100]; // atom each ring closure digit was opened on
+		int[] ringOrder = new int[100]; // bond order given when the ring was opened
+		for (int i = 0; i < ringAtom.length; i++)
+			ringAtom[i] = -1;
+
+		for (int i = 0; i < smiles.length(); i++) {
+			char ch = smiles.charAt(i);
+			int el = 0;
+			boolean arom = false;
+
+			switch (ch) {
+			case 'C':
+				if (i + 1 < smiles.length() && smiles.charAt(i + 1) == 'l') {
+					el = CHLORINE;
+					i++;
+				} else
+					el = CARBON;
+				break;
+			case 'B':
+				if (i + 1 < smiles.length() && smiles.charAt(i + 1) == 'r') {
+					el = BROMINE;
+					i++;
+				} else
+					throw new IllegalArgumentException("Boron is not supported: " + smiles);
+				break;
+			case 'N':
+				el = NITROGEN;
+				break;
+			case 'O':
+				el = OXYGEN;
+				break;
+			case 'F':
+				el = FLUORINE;
+				break;
+			case 'I':
+				el = IODINE;
+				break;
+			case 'c':
+				el = CARBON;
+				arom = true;
+				break;
+			case '(':
+				if (prev < 0)
+					throw new IllegalArgumentException("Branch before any atom: " + smiles);
+				branches[open++] = prev;
+				continue;
+			case ')':
+				if (open == 0)
+					throw new IllegalArgumentException("Unbalanced branch: " + smiles);
+				prev = branches[--open];
+				continue;
+			case '-':
+				bond = 1;
+				continue;
+			case '=':
+				bond = 2;
+				continue;
+			case '#':
+				bond = 3;
+				continue;
+			case ':':
+				bond = AROMATIC;
+				continue;
+			case '%':
+			case '0':
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
+			case '8':
+			case '9':
+				// ring closure digit (or two digits after a percent sign)
+				int digit;
+				if (ch == '%') {
+					if (i + 2 >= smiles.length())
+						throw new IllegalArgumentException("Bad ring closure: " + smiles);
+					digit = (smiles.charAt(i + 1) - '0') * 10 + (smiles.charAt(i + 2) - '0');
+					i += 2;
+				} else
+					digit = ch - '0';
+
+				if (prev < 0 || digit < 0 || digit > 99)
+					throw new IllegalArgumentException("Bad ring closure: " + smiles);
+
+				if (ringAtom[digit] < 0) { // open the ring
+					ringAtom[digit] = prev;
+					ringOrder[digit] = bond;
+				} else { // close the ring
+					if (ringAtom[digit] == prev || bondOrder(ringAtom[digit], prev) > 0)
+						throw new IllegalArgumentException("Rings need at least three atoms: " + smiles);
+					int order = bond != 0 ? bond : ringOrder[digit];
+					addBond(ringAtom[digit], prev, order);
+					addClosure(ringAtom[digit], prev);
+					ringAtom[digit] = -1;
+				} // if
+				bond = 0;
+				continue;
+			default:
+				throw new IllegalArgumentException("Unsupported SMILES character '" + ch + "': " + smiles);
+			} // switch
+
+			// add the atom and bond it to the previous one
+			int atom = addAtom(el, arom);
+			if (prev >= 0)
+				addBond(prev, atom, bond);
+			prev = atom;
+			bond = 0;
+		} // loop
+
+		if (open != 0)
+			throw new IllegalArgumentException("Unbalanced branch: " + smiles);
+		for (int i = 0; i < ringAtom.length; i++) {
+			if (ringAtom[i] >= 0)
+				throw new IllegalArgumentException("Unclosed ring: " + smiles);
+		} // end for
+		if (atoms == 0)
+			throw new IllegalArgumentException("No atoms: " + smiles);
+	} // end readAtoms
+
+	/*
+	 * Add an atom to the table
+	 * int el - element of the atom
+	 * boolean arom - whether the atom is aromatic
+	 * return - index of the new atom
+	 */
+	private int addAtom(int el, boolean arom) {
+		// grow the table when full
+		if (atoms == element.length) {
+			int size = atoms * 2;
+			element = Arrays.copyOf(element, size);
+			aromatic = Arrays.copyOf(aromatic, size);
+			degree = Arrays.copyOf(degree, size);
+			kind = Arrays.copyOf(kind, size);
+			ring = Arrays.copyOf(ring, size);
+			bonded = Arrays.copyOf(bonded, size);
+			orders = Arrays.copyOf(orders, size);
+			for (int i = atoms; i < size; i++) {
+				bonded[i] = new int[4];
+				orders[i] = new int[4];
+			} // end for
+		} // end if
+
+		element[atoms] = el;
+		aromatic[atoms] = arom;
+		degree[atoms] = 0;
+		return atoms++;
+	} // end addAtom
+
+	/*
+	 * Bond two atoms together
+	 * int a - first atom
+	 * int b - second atom
+	 * int order - order given in the SMILES, 0 if none was given
+	 */
+	private void addBond(int a, int b, int order) {
+		if (order == 0)
+			order = aromatic[a] && aromatic[b] ? AROMATIC : 1;
+
+		if (degree[a] == 4 || degree[b] == 4)
+			throw new IllegalArgumentException("Too many bonds on one atom");
+
+		bonded[a][degree[a]] = b;
+		orders[a][degree[a]++] = order;
+		bonded[b][degree[b]] = a;
+		orders[b][degree[b]++] = order;
+	} // end addBond
+
+	/*
+	 * Remember a bond closed by a ring digit
+	 * int a - atom the ring was opened on
+	 * int b - atom the ring was closed on
+	 */
+	private void addClosure(int a, int b) {
+		if (closures == closeA.length) {
+			closeA = Arrays.copyOf(closeA, closures * 2);
+			closeB = Arrays.copyOf(closeB, closures * 2);
+		} // if
+
+		closeA[closures] = a;
+		closeB[closures++] = b;
+	} // end addClosure
+
+	/*
+	 * Check whether a bond was closed by a ring digit
+	 * int a - first atom
+	 * int b - second atom
+	 * return - true if the bond is a ring closure
+	 */
+	private boolean isClosure(int a, int b) {
+		for (int i = 0; i < closures; i++) {
+			if ((closeA[i] == a && closeB[i] == b) || (closeA[i] == b && closeB[i] == a))
+				return true;
+		} // loop
+		return false;
+	} // end isClosure
+
+	/*
+	 * Get the order of the bond between two atoms
+	 * return - order of the bond or 0 if they aren't bonded
+	 */
+	private int bondOrder(int a, int b) {
+		for (int i = 0; i < degree[a]; i++) {
+			if (bonded[a][i] == b)
+				return orders[a][i];
+		} // end for
+		return 0;
+	} // end bondOrder
+
+	// RINGS//
+
+	/*
+	 * Find the atoms of every ring. Each ring digit closes one ring, made of the path
+	 * between its two atoms through the bonds that aren't closures
+	 */
+	private void findRings() {
+		rings.clear();
+		Arrays.fill(ring, 0, atoms, -1);
+
+		int[] from = new int[atoms]; // atom each one was reached from
+		int[] queue = new int[atoms];
+		for (int r = 0; r < closures; r++) {
+			int a = closeA[r];
+			int b = closeB[r];
+
+			// walk out from a until b is reached
+			Arrays.fill(from, -1);
+			from[a] = a;
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = a;
+			while (head < tail && from[b] < 0) {
+				int atom = queue[head++];
+				for (int i = 0; i < degree[atom]; i++) {
+					int next = bonded[atom][i];
+					if (from[next] < 0 && !isClosure(atom, next)) {
+						from[next] = atom;
+						queue[tail++] = next;
+					} // if
+				} // loop
+			} // loop
+
+			// the path back from b is the ring
+			int size = 1;
+			for (int atom = b; atom != a; atom = from[atom])
+				size++;
+			if (size < 3)
+				throw new IllegalArgumentException("Rings need at least three atoms");
+
+			int[] atomsInRing = new int[size];
+			int n = 0;
+			for (int atom = b; ; atom = from[atom]) {
+				if (ring[atom] >= 0)
+					throw new IllegalArgumentException("Rings sharing atoms are not supported");
+				ring[atom] = rings.size();
+				atomsInRing[n++] = atom;
+				if (atom == a)
+					break;
+			} // loop
+			rings.add(atomsInRing);
+		} // loop
+	} // end findRings
+
+	// MAIN CHAIN//
+
+	/*
+	 * Find the group on each carbon and the one that becomes the ending
+	 * return - FUNCTIONAL_NAMES index of the main group, -1 if there is none
+	 */
+	private int mainGroup() {
+		boolean[] present = new boolean[OrganicUtil.FUNCTIONAL_NAMES.length];
+
+		for (int carbon = 0; carbon < atoms; carbon++) {
+			kind[carbon] = -1;
+			if (element[carbon] != CARBON)
+				continue;
+
+			boolean carbonyl = false;
+			boolean hydroxyl = false;
+			boolean alkoxy = false;
+			boolean nitrogen = false;
+			for (int j = 0; j < degree[carbon]; j++) {
+				int atom = bonded[carbon][j];
+				if (element[atom] == OXYGEN && orders[carbon][j] == 2)
+					carbonyl = true;
+				else if (element[atom] == OXYGEN && degree[atom] == 1)
+					hydroxyl = true;
+				else if (element[atom] == OXYGEN)
+					alkoxy = true;
+				else if (element[atom] == NITROGEN)
+					nitrogen = true;
+			} // loop
+
+			if (carbonyl && hydroxyl)
+				kind[carbon] = 9; // carboxylic acid
+			else if (carbonyl && alkoxy)
+				kind[carbon] = 8; // ester
+			else if (carbonyl && nitrogen)
+				kind[carbon] = 7; // amide
+			else if (carbonyl)
+				kind[carbon] = 5; // aldehyde or ketone, decided once the chain is known
+			else if (hydroxyl)
+				kind[carbon] = 3; // alcohol
+			else if (nitrogen)
+				kind[carbon] = 6; // amine
+
+			if (kind[carbon] >= 0)
+				present[kind[carbon]] = true;
+		} // loop
+
+		for (int i = 0; i < GROUP_PRIORITY.length; i++) {
+			if (present[GROUP_PRIORITY[i]])
+				return GROUP_PRIORITY[i];
+		} // loop
+		return -1;
+	} // end mainGroup
+
+	/*
+	 * Find every carbon chain and ring that could be the main chain, best first: the most
+	 * of the main group, then the most other atoms bonded to it, as side chains can only
+	 * be carbons, then the most carbons, with a ring winning a tie, then the most double
+	 * or triple bonds, then the most branches. Chains run between carbons at the ends of
+	 * the carbons that aren't in a ring, so every path is tried
+	 * int group - main group of the compound, -1 if none
+	 */
+	private void findChains(int group) {
+		chains.clear();
+		scores.clear();
+
+		// rings made only of carbons
+		for (int[] r : rings) {
+			boolean carbons = true;
+			for (int atom : r)
+				carbons &= element[atom] == CARBON;
+
+			if (carbons)
+				addChain(r, score(r, true, group));
+		} // loop
+
+		// chains from each end carbon
+		int[] from = new int[atoms];
+		int[] stack = new int[atoms];
+		int[] path = new int[atoms];
+		for (int end = 0; end < atoms; end++) {
+			if (!inChain(end) || chainDegree(end) > 1)
+				continue;
+
+			Arrays.fill(from, -2);
+			from[end] = -1;
+			int top = 0;
+			stack[top++] = end;
+			while (top > 0) {
+				int atom = stack[--top];
+				int onward = 0;
+				for (int i = 0; i < degree[atom]; i++) {
+					int next = bonded[atom][i];
+					if (inChain(next) && from[next] == -2) {
+						from[next] = atom;
+						stack[top++] = next;
+						onward++;
+					} // if
+				} // loop
+
+				// the other end of a path, each path only added from its lower end
+				if (onward == 0 && atom >= end) {
+					int n = 0;
+					for (int a = atom; a != -1; a = from[a])
+						path[n++] = a;
+					int[] chain = Arrays.copyOf(path, n);
+					addChain(chain, score(chain, false, group));
+				} // if
+			} // loop
+		} // loop
+	} // end findChains
+
+	/*
+	 * Add a possible main chain after every one that scores at least as well
+	 * int[] chain - atoms of the chain in order
+	 * int[] score - score of the chain
+	 */
+	private void addChain(int[] chain, int[] score) {
+		int i = scores.size();
+		while (i > 0 && compare(score, scores.get(i - 1)) > 0)
+			i--;
+
+		chains.add(i, chain);
+		scores.add(i, score);
+	} // end addChain
+
+	/*
+	 * Check whether an atom can be part of a main chain that isn't a ring
+	 * int atom - atom to check
+	 * return - true for a carbon outside of every ring
+	 */
+	private boolean inChain(int atom) {
+		return element[atom] == CARBON && ring[atom] < 0;
+	} // end inChain
+
+	/*
+	 * Count the neighbours of an atom that can be part of the same chain
+	 * int atom - atom to check
+	 * return - number of chain carbons bonded to it
+	 */
+	private int chainDegree(int atom) {
+		int count = 0;
+		for (int i = 0; i < degree[atom]; i++) {
+			if (inChain(bonded[atom][i]))
+				count++;
+		} // loop
+		return count;
+	} // end chainDegree
+
+	/*
+	 * Score a possible main chain
+	 * int[] chain - atoms of the chain in order
+	 * boolean ring - whether the chain is a ring
+	 * int group - main group of the compound, -1 if none
+	 * return - groups, other atoms, carbons, RING_SCORE, multiple bonds and branches,
+	 * higher is better
+	 */
+	private int[] score(int[] chain, boolean ring, int group) {
+		int n = chain.length;
+		int groups = 0;
+		int others = 0; // atoms that aren't carbons bonded to the chain
+		int multiple = 0;
+		int bonds = 0; // bonds from the chain's atoms, inside and out
+
+		for (int i = 0; i < n; i++) {
+			int atom = chain[i];
+			if (group >= 0 && kind[atom] == group)
+				groups++;
+			bonds += degree[atom];
+			for (int j = 0; j < degree[atom]; j++) {
+				if (element[bonded[atom][j]] != CARBON)
+					others++;
+			} // loop
+
+			if (i + 1 < n || ring) {
+				int order = bondOrder(atom, chain[(i + 1) % n]);
+				if (order != 1)
+					multiple++; // benzene ranks above the ring with no double bonds
+			} // if
+		} // loop
+
+		// every bond inside the chain was counted from both of its atoms
+		int branches = bonds - 2 * (ring ? n : n - 1);
+
+		return new int[] { groups, others, n, ring ? 1 : 0, multiple, branches };
+	} // end score
+
+	/*
+	 * Number a main chain from the end, or for a ring the atom and direction, that gives
+	 * the lowest locants to the main group, then the double and triple bonds, then
+	 * everything else on the chain, then whatever comes first in alphabetical order
+	 * int[] chain - atoms of the chain in order
+	 * boolean ring - whether the chain is a ring
+	 * int group - main group of the compound, -1 if none
+	 * return - atoms of the chain in the order they are numbered
+	 */
+	private int[] number(int[] chain, boolean ring, int group) {
+		int n = chain.length;
+		boolean[] inMain = new boolean[atoms];
+		for (int atom : chain)
+			inMain[atom] = true;
+
+		// what is on each atom of the chain, by its place among the atom's neighbours
+		String[][] labels = new String[atoms][];
+		for (int atom : chain) {
+			labels[atom] = new String[degree[atom]];
+			for (int j = 0; j < degree[atom]; j++) {
+				if (!inMain[bonded[atom][j]])
+					labels[atom][j] = label(bonded[atom][j], atom);
+			} // loop
+		} // loop
+
+		int[] best = null;
+		int[] bestKey = null;
+		for (int start = 0; start < (ring ? n : 1); start++) {
+			for (int dir = 1; dir >= -1; dir -= 2) {
+				int[] order = new int[n];
+				for (int i = 0; i < n; i++) {
+					if (ring)
+						order[i] = chain[((start + dir * i) % n + n) % n];
+					else
+						order[i] = chain[dir == 1 ? i : n - 1 - i];
+				} // loop
+
+				int[] key = locants(order, ring, group, inMain, labels);
+				if (best == null || compare(key, bestKey) < 0) {
+					best = order;
+					bestKey = key;
+				} // if
+			} // loop
+		} // loop
+
+		return best;
+	} // end number
+
+	/*
+	 * Get the locants a numbering gives, each kind sorted so two numberings can be
+	 * compared at their first point of difference
+	 * int[] order - main chain atoms in numbered order
+	 * boolean ring - whether the chain is a ring
+	 * int group - main group of the compound, -1 if none
+	 * boolean[] inMain - whether each atom is in the main chain
+	 * String[][] labels - what is bonded to each main chain atom, from number
+	 * return - locants of the main groups, then the bonds, then the branches, then the
+	 * branches in alphabetical order
+	 */
+	private int[] locants(int[] order, boolean ring, int group, boolean[] inMain, String[][] labels) {
+		int n = order.length;
+		int[] groups = new int[3 * n]; // an end carbon can hold three hydroxyls
+		int[] bonds = new int[n];
+		int[] branches = new int[4 * n];
+		String[] names = new String[4 * n];
+		int g = 0;
+		int b = 0;
+		int s = 0;
+
+		for (int i = 0; i < n; i++) {
+			int atom = order[i];
+			boolean main = group >= 0 && kind[atom] == group;
+			for (int k = 0; main && k < groupsOn(atom, group); k++)
+				groups[g++] = i + 1;
+
+			if (i + 1 < n || ring) {
+				int bond = bondOrder(atom, order[(i + 1) % n]);
+				if (bond == 2 || bond == 3)
+					bonds[b++] = i + 1;
+			} // if
+
+			// the oxygen and nitrogen of the main group are part of the ending
+			for (int j = 0; j < degree[atom]; j++) {
+				int next = bonded[atom][j];
+				if (!inMain[next] && !(main && inGroup(atom, j, group))) {
+					branches[s] = i + 1;
+					names[s++] = labels[atom][j];
+				} // if
+			} // loop
+		} // loop
+
+		// each list is already in order
+		int[] key = new int[g + b + 2 * s];
+		System.arraycopy(groups, 0, key, 0, g);
+		System.arraycopy(bonds, 0, key, g, b);
+		System.arraycopy(branches, 0, key, g + b, s);
+
+		// branches sorted by name, keeping the lower locant first for the same name
+		for (int i = 1; i < s; i++) {
+			String name = names[i];
+			int at = branches[i];
+			int j = i;
+			for (; j > 0 && names[j - 1].compareTo(name) > 0; j--) {
+				names[j] = names[j - 1];
+				branches[j] = branches[j - 1];
+			} // loop
+			names[j] = name;
+			branches[j] = at;
+		} // loop
+		System.arraycopy(branches, 0, key, g + b + s, s);
+		return key;
+	} // end locants
+
+	/*
+	 * Check whether a neighbour of a carbon is part of the group on it
+	 * int carbon - carbon with the group
+	 * int j - place of the neighbour among the carbon's neighbours
+	 * int group - FUNCTIONAL_NAMES index of the group
+	 * return - true for the group's own oxygen or nitrogen
+	 */
+	private boolean inGroup(int carbon, int j, int group) {
+		int atom = bonded[carbon][j];
+		boolean oxo = element[atom] == OXYGEN && orders[carbon][j] == 2;
+		boolean hydroxyl = element[atom] == OXYGEN && degree[atom] == 1 && orders[carbon][j] == 1;
+
+		switch (group) {
+		case 9: // carboxylic acid
+			return oxo || hydroxyl;
+		case 8: // ester
+			return element[atom] == OXYGEN;
+		case 7: // amide
+			return oxo || element[atom] == NITROGEN;
+		case 6: // amine
+			return element[atom] == NITROGEN;
+		case 4: // aldehyde
+		case 5: // ketone
+			return oxo;
+		case 3: // alcohol
+			return hydroxyl;
+		} // switch
+		return false;
+	} // end inGroup
+
+	/*
+	 * Count the groups of a kind on a carbon
+	 * int carbon - carbon with the group
+	 * int group - FUNCTIONAL_NAMES index of the group
+	 * return - number of hydroxyls for an alcohol or aminos for an amine, otherwise 1
+	 */
+	private int groupsOn(int carbon, int group) {
+		if (group != 3 && group != 6)
+			return 1;
+
+		int count = 0;
+		for (int j = 0; j < degree[carbon]; j++) {
+			if (inGroup(carbon, j, group))
+				count++;
+		} // loop
+		return count;
+	} // end groupsOn
+
+	/*
+	 * Get the prefix of a branch as it is cited in the name, for alphabetical order
+	 * int atom - first atom of the branch
+	 * int parent - main chain atom it is bonded to
+	 * return - prefix such as bromo or propyl, empty if it can't be read
+	 */
+	private String label(int atom, int parent) {
+		switch (element[atom]) {
+		case BROMINE:
+			return OrganicUtil.SIDE_CHAIN_SUFFIX[2];
+		case IODINE:
+			return OrganicUtil.SIDE_CHAIN_SUFFIX[3];
+		case FLUORINE:
+			return OrganicUtil.SIDE_CHAIN_SUFFIX[4];
+		case CHLORINE:
+			return OrganicUtil.SIDE_CHAIN_SUFFIX[5];
+		case NITROGEN:
+			return OrganicUtil.SIDE_CHAIN_SUFFIX[9];
+		case OXYGEN:
+			if (bondOrder(atom, parent) == 2)
+				return OrganicUtil.SIDE_CHAIN_SUFFIX[8];
+			if (degree[atom] == 1)
+				return OrganicUtil.SIDE_CHAIN_SUFFIX[6];
+
+			// an alkyl and oxy, i.e ethoxy
+			String alkyl = label(other(atom, parent), atom);
+			if (alkyl.endsWith("yl"))
+				alkyl = alkyl.substring(0, alkyl.length() - 2);
+			return alkyl + OrganicUtil.SIDE_CHAIN_SUFFIX[7];
+		} // switch
+
+		try {
+			Chain side = readAlkyl(atom, parent);
+			if (side.isBenzene())
+				return OrganicUtil.SIDE_CHAIN_SUFFIX[0];
+			return (side.isCyclo() ? OrganicUtil.PREFIX[9] : "") + OrganicUtil.stem(side.getSize()) + "yl";
+		} catch (IllegalArgumentException e) { // a branch that stops this chain being used anyway
+			return "";
+		} // try-catch
+	} // end label
+
+	/*
+	 * Compare two lists of numbers at their first difference
+	 * int[] a - first list
+	 * int[] b - second list, as long as the first
+	 * return - below 0 if a is lower, above 0 if higher, 0 if the same
+	 */
+	private static int compare(int[] a, int[] b) {
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] != b[i])
+				return a[i] < b[i] ? -1 : 1;
+		} // loop
+		return 0;
+	} // end compare
+
+	// BUILDING//
+
+	/*
+	 * Turn the atom table into a compound
+	 * return - compound for the atoms read
+	 */
+	private Compound buildCompound() {
+		int group = mainGroup();
+		findChains(group);
+		if (chains.isEmpty())
+			throw new IllegalArgumentException("No carbon chain to use as the main chain");
+
+		// the best main chain whose side chains can all be read
+		IllegalArgumentException error = null;
+		for (int i = 0; i < chains.size(); i++) {
+			boolean ring = scores.get(i)[RING_SCORE] == 1;
+			try {
+				return buildCompound(number(chains.get(i), ring, group), ring);
+			} catch (IllegalArgumentException e) { // i.e a branched side chain, try the next one
+				if (error == null)
+					error = e;
+			} // try-catch
+		} // loop
+
+		throw error;
+	} // end buildCompound
+
+	/*
+	 * Turn the atom table into a compound around a main chain
+	 * int[] main - main chain atoms in numbered order
+	 * boolean ring - whether the main chain is a ring
+	 * return - compound for the atoms read
+	 */
+	private Compound buildCompound(int[] main, boolean ring) {
+		int length = main.length;
+
+		int[] locant = new int[atoms];
+		for (int i = 0; i < length; i++)
+			locant[main[i]] = i + 1;
+
+		boolean benzene = ring && length == 6;
+		for (int i = 0; i < length && benzene; i++)
+			benzene = aromatic[main[i]];
+
+		// bonds between the main carbons
+		int bond = 1;
+		ArrayList<Integer> bondLocations = new ArrayList<Integer>();
+		int last = ring ? length : length - 1;
+		for (int i = 0; i < last; i++) {
+			int order = bondOrder(main[i], main[(i + 1) % length]);
+			if (order == 2 || order == 3) {
+				if (bond != 1 && bond != order)
+					throw new IllegalArgumentException("Double and triple bonds on one chain are not supported");
+				bond = order;
+				bondLocations.add(i + 1);
+			} // if
+		} // loop
+
+		// name each main carbon's group, a carbonyl at the end of a chain is an aldehyde
+		int[] group = new int[length + 1];
+		boolean[] present = new boolean[OrganicUtil.FUNCTIONAL_NAMES.length];
+		for (int i = 1; i <= length; i++) {
+			group[i] = kind[main[i - 1]];
+			if (group[i] == 5 && !ring && (i == 1 || i == length))
+				group[i] = 4;
+
+			if (group[i] >= 0)
+				present[group[i]] = true;
+		} // loop
+
+		// the highest priority group is the ending of the main chain
+		int principal = -1;
+		for (int i = 0; i < GROUP_PRIORITY.length && principal < 0; i++) {
+			if (present[GROUP_PRIORITY[i]])
+				principal = GROUP_PRIORITY[i];
+		} // loop
+
+		// create the compound
+		Compound c = new Compound(length);
+		c.getMainChain().setCyclo(ring && !benzene);
+		c.getMainChain().setBenzene(benzene);
+
+		if (!benzene && !bondLocations.isEmpty()) {
+			c.getMainChain().setBond(bond);
+			for (int loc : bondLocations)
+				c.addFunctionalLocation(Integer.toString(loc));
+			c.getMainChain().addNumOfGroups(bondLocations.size(), 0);
+			c.getMainChain().setEnding(bond - 1);
+		} // if
+
+		if (principal >= 0) {
+			int count = 0;
+			for (int i = 1; i <= length; i++) {
+				// a carbon can carry two hydroxyls or aminos, each gets its own locant
+				for (int k = 0; group[i] == principal && k < groupsOn(main[i - 1], principal); k++) {
+					c.addFunctionalLocation(Integer.toString(i));
+					count++;
+				} // loop
+			} // loop
+			c.getMainChain().addNumOfGroups(count, 1);
+			c.getMainChain().setEnding(principal, 1);
+		} // if
+
+		// the alkyl of an ester sits on the oxygen and comes first
+		if (principal == 8) {
+			for (int i = 0; i < length; i++) {
+				for (int j = 0; j < degree[main[i]] && group[i + 1] == 8; j++) {
+					int atom = bonded[main[i]][j];
+					if (element[atom] == OXYGEN && orders[main[i]][j] == 1)
+						addSide(c, readAlkyl(other(atom, main[i]), atom), "O");
+				} // loop
+			} // loop
+		} // if
+
+		// second pass, add the side chains in the order they were written
+		ArrayList<Chain> onNitrogen = new ArrayList<Chain>();
+		for (int i = 0; i < length; i++) {
+			int carbon = main[i];
+			boolean demoted = group[i + 1] != principal; // group is a side chain not the ending
+			String location = Integer.toString(i + 1);
+
+			if (demoted && group[i + 1] >= 7)
+				throw new IllegalArgumentException(OrganicUtil.FUNCTIONAL_NAMES[group[i + 1]]
+						+ " can only be the main group of the compound");
+
+			for (int j = 0; j < degree[carbon]; j++) {
+				int atom = bonded[carbon][j];
+				if (locant[atom] > 0)
+					continue; // another main carbon
+
+				switch (element[atom]) {
+				case OXYGEN:
+					if (orders[carbon][j] == 2) { // oxo
+						if (demoted)
+							c.addSideChain(-8, location, false, false);
+					} else if (degree[atom] == 1) { // hydroxy
+						if (group[i + 1] != 9 && (demoted || group[i + 1] != 3))
+							c.addSideChain(-6, location, false, false);
+					} else if (group[i + 1] != 8) { // ether, oxy plus the alkyl on the oxygen
+						addSide(c, readAlkyl(other(atom, carbon), atom), "O");
+						c.addSideChain(-7, location, false, false);
+					} // if
+					break;
+				case NITROGEN:
+					if (group[i + 1] != 7 && (demoted || group[i + 1] != 6))
+						c.addSideChain(-9, location, false, false);
+					for (int k = 0; k < degree[atom]; k++) {
+						if (bonded[atom][k] != carbon)
+							onNitrogen.add(readSide(bonded[atom][k], atom));
+					} // loop
+					break;
+				default:
+					Chain side = readSide(atom, carbon);
+					addSide(c, side, location);
+				} // switch
+			} // loop
+		} // loop
+
+		for (Chain side : onNitrogen)
+			addSide(c, side, "N");
+
+		return c;
+	} // end buildCompound
+
+	/*
+	 * Get the neighbour of an atom that isn't the given one
+	 * int atom - atom to check
+	 * int not - neighbour to skip
+	 * return - the other neighbour
+	 */
+	private int other(int atom, int not) {
+		for (int i = 0; i < degree[atom]; i++) {
+			if (bonded[atom][i] != not)
+				return bonded[atom][i];
+		} // end for
+		return -1;
+	} // end other
+
+	/*
+	 * Read a halogen or a carbon chain
+	 * int first - first atom of the side chain
+	 * int parent - atom the side chain hangs off of
+	 * return - side chain for the atoms
+	 */
+	private Chain readSide(int first, int parent) {
+		if (degree[first] == 1) {
+			switch (element[first]) {
+			case BROMINE:
+				return new Chain(-2, "");
+			case IODINE:
+				return new Chain(-3, "");
+			case FLUORINE:
+				return new Chain(-4, "");
+			case CHLORINE:
+				return new Chain(-5, "");
+			} // switch
+		} // if
+		return readAlkyl(first, parent);
+	} // end readSide
+
+	/*
+	 * Read a straight, cyclo or benzene chain of carbons
+	 * int first - first carbon of the chain
+	 * int parent - atom the chain hangs off of
+	 * return - chain with the size, cyclo and benzene set
+	 */
+	private Chain readAlkyl(int first, int parent) {
+		if (first < 0 || element[first] != CARBON)
+			throw new IllegalArgumentException("Only carbon chains can hang off of a group");
+
+		// walk the chain counting carbons and bonds
+		int carbons = 0;
+		int bonds = 0;
+		int most = 0; // most bonds one carbon has to the rest of the chain
+		boolean arom = true;
+		int[] stack = new int[atoms];
+		boolean[] seen = new boolean[atoms];
+		int top = 0;
+		stack[top++] = first;
+		seen[first] = true;
+
+		while (top > 0) {
+			int atom = stack[--top];
+			carbons++;
+			arom &= aromatic[atom];
+
+			int inside = 0; // bonds to other atoms of the chain
+			for (int i = 0; i < degree[atom]; i++) {
+				int next = bonded[atom][i];
+				if (orders[atom][i] == 2 || orders[atom][i] == 3)
+					throw new IllegalArgumentException("Double and triple bonds on side chains are not supported");
+				if (atom == first && next == parent)
+					continue;
+				if (element[next] != CARBON || next == parent)
+					throw new IllegalArgumentException("Only carbon chains can hang off of a group");
+
+				inside++;
+				if (!seen[next]) {
+					seen[next] = true;
+					stack[top++] = next;
+				} // if
+			} // loop
+
+			bonds += inside;
+			most = Math.max(most, atom == first ? inside + 1 : inside);
+		} // loop
+		bonds /= 2;
+
+		// a ring hanging off of its first carbon
+		if (ring[first] >= 0 && carbons == rings.get(ring[first]).length && bonds == carbons) {
+			if (arom && carbons == 6)
+				return new Chain(6, "", false, true);
+			return new Chain(carbons, "", true, false);
+		} // if
+
+		// a straight chain
+		if (bonds == carbons - 1 && most <= 2)
+			return new Chain(carbons, "", false, false);
+
+		throw new IllegalArgumentException("Branched side chains are not supported");
+	} // end readAlkyl
+
+	/*
+	 * Add a side chain to the compound at a location
+	 */
+	private void addSide(Compound c, Chain side, String location) {
+		c.addSideChain(side.getSize(), location, side.isCyclo(), side.isBenzene());
+	} // end addSide
+} // end SmilesReader
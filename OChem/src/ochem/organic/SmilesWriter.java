@@ -0,0 +1,296 @@
+package ochem.organic;
+
+/*
+ * SmilesWriter
+ * Created by: Jordan Lin
+ * Last modified: 10/19/2026
+ * Writes compounds as SMILES strings straight onto a Writer, one compound per line
+ */
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SmilesWriter {
+	// Attributes
+	private Writer out; // stream the SMILES are written to
+
+	/*
+	 * Create a SMILES writer on top of a stream
+	 * Writer out - stream to write the compounds to
+	 */
+	public SmilesWriter(Writer out) {
+		this.out = out;
+	} // end constructor
+
+	/*
+	 * Write a compound followed by a line break
+	 * Compound c - compound to write
+	 */
+	public void write(Compound c) throws IOException {
+		writeSmiles(c);
+		out.write('\n');
+	} // end write
+
+	/*
+	 * Flush the underlying stream
+	 */
+	public void flush() throws IOException {
+		out.flush();
+	} // end flush
+
+	/*
+	 * Close the underlying stream
+	 */
+	public void close() throws IOException {
+		out.close();
+	} // end close
+
+	/*
+	 * Get the SMILES for a single compound
+	 * Compound c - compound to convert
+	 * return - SMILES string of the compound
+	 */
+	public static String toSmiles(Compound c) {
+		StringWriter sw = new StringWriter();
+
+		try {
+			new SmilesWriter(sw).writeSmiles(c);
+		} catch (IOException e) { // a StringWriter never throws
+			throw new IllegalStateException(e);
+		} // try-catch
+
+		return sw.toString();
+	} // end toSmiles
+
+	/*
+	 * Write the SMILES of a compound without a line break
+	 * Compound c - compound to write
+	 */
+	private void writeSmiles(Compound c) throws IOException {
+		Chain main = c.getMainChain();
+		int size = main.getSize();
+
+		// nothing to write for an empty canvas compound
+		if (size <= 0)
+			return;
+
+		boolean ring = main.isCyclo() || main.isBenzene();
+		boolean aromatic = main.isBenzene();
+
+		int[] bonds = new int[size + 1]; // order of the bond from carbon i to the next carbon
+		int[] groups = new int[size + 1]; // functional name index of the group on carbon i
+		int[] counts = new int[size + 1]; // number of those groups on carbon i, e.g. 2 for a gem-diol
+		for (int i = 0; i <= size; i++) {
+			bonds[i] = 1;
+			groups[i] = -1;
+		} // end for
+
+		// read the bonds and the main chain groups off of the endings
+		for (int i = 0; i < main.getGroupCount(); i++) {
+			int kind = main.getGroupKind(i);
+			int locant = main.getGroupLocant(i);
+			if (locant < 1 || locant > size)
+				continue;
+
+			if (kind <= 2) // alkane, alkene or alkyne
+				bonds[locant] = kind + 1;
+			else {
+				groups[locant] = kind;
+				counts[locant]++;
+			} // end if
+		} // end for
+
+		// chains sitting on the oxygen of an ester/ether or the nitrogen of an amine/amide
+		List<Chain> sides = c.getSideChainList();
+		ArrayList<Chain> onOxygen = new ArrayList<Chain>();
+		ArrayList<Chain> onNitrogen = new ArrayList<Chain>();
+		for (Chain side : sides) {
+			if (side.getLocation().equalsIgnoreCase("O"))
+				onOxygen.add(side);
+			else if (side.getLocation().equalsIgnoreCase("N"))
+				onNitrogen.add(side);
+		} // end for
+
+		int nextOxygen = 0; // next oxygen chain to use
+
+		// the ester alkyl is always the first oxygen chain
+		Chain esterAlkyl = null;
+		for (int i = 1; i <= size; i++) {
+			if (groups[i] == 8 && nextOxygen < onOxygen.size()) {
+				esterAlkyl = onOxygen.get(nextOxygen++);
+				break;
+			} // end if
+		} // end for
+
+		// nitrogen chains go on the first nitrogen written
+		boolean nitrogenWritten = false;
+
+		for (int i = 1; i <= size; i++) {
+			out.write(aromatic ? 'c' : 'C');
+
+			// open the ring on the first carbon and close it on the last
+			if (ring && i == 1)
+				out.write('1');
+			if (ring && i == size) {
+				writeBond(bonds[size], aromatic);
+				out.write('1');
+			} // end if
+
+			// main chain group
+			switch (groups[i]) {
+			case 3: // alcohol, one branch for each hydroxyl
+				for (int k = 0; k < counts[i]; k++)
+					out.write("(O)");
+				break;
+			case 4: // aldehyde
+			case 5: // ketone
+				out.write("(=O)");
+				break;
+			case 6: // amine, one branch for each amino
+				for (int k = 0; k < counts[i]; k++) {
+					out.write('(');
+					writeNitrogen(nitrogenWritten ? null : onNitrogen);
+					out.write(')');
+					nitrogenWritten = true;
+				} // end for
+				break;
+			case 7: // amide
+				out.write("(=O)(");
+				writeNitrogen(nitrogenWritten ? null : onNitrogen);
+				out.write(')');
+				nitrogenWritten = true;
+				break;
+			case 8: // ester
+				out.write("(=O)(O");
+				if (esterAlkyl != null)
+					writeSide(esterAlkyl, ring ? '2' : '1');
+				out.write(')');
+				break;
+			case 9: // carboxylic acid
+				out.write("(=O)(O)");
+				break;
+			} // switch
+
+			// side chains on this carbon
+			for (Chain side : sides) {
+				if (side.getLocant() != i)
+					continue;
+
+				out.write('(');
+				switch (side.getSize()) {
+				case -7: // oxy, the alkyl is the next chain on an oxygen
+					out.write('O');
+					if (nextOxygen < onOxygen.size())
+						writeSide(onOxygen.get(nextOxygen++), ring ? '2' : '1');
+					break;
+				case -9: // amino
+					writeNitrogen(nitrogenWritten ? null : onNitrogen);
+					nitrogenWritten = true;
+					break;
+				case -10: // amide drawn on the canvas before naming
+					out.write("=O)(");
+					writeNitrogen(nitrogenWritten ? null : onNitrogen);
+					nitrogenWritten = true;
+					break;
+				case -11: // ester drawn on the canvas before naming
+					out.write("=O)(O");
+					if (nextOxygen < onOxygen.size())
+						writeSide(onOxygen.get(nextOxygen++), ring ? '2' : '1');
+					break;
+				case -12: // acid drawn on the canvas before naming
+					out.write("=O)(O");
+					break;
+				default:
+					writeSide(side, ring ? '2' : '1');
+				} // switch
+				out.write(')');
+			} // end for
+
+			// bond to the next carbon
+			if (i < size)
+				writeBond(bonds[i], aromatic);
+		} // end for
+	} // end writeSmiles
+
+	/*
+	 * Write a halogen, hydroxy, oxo, alkyl, cycloalkyl or phenyl side chain
+	 * Chain side - chain to write
+	 * char digit - ring closure digit free for a side ring
+	 */
+	private void writeSide(Chain side, char digit) throws IOException {
+		int size = side.getSize();
+
+		switch (size) {
+		case -2:
+			out.write("Br");
+			return;
+		case -3:
+			out.write('I');
+			return;
+		case -4:
+			out.write('F');
+			return;
+		case -5:
+			out.write("Cl");
+			return;
+		case -6: // hydroxy
+			out.write('O');
+			return;
+		case -8: // oxo
+			out.write("=O");
+			return;
+		} // switch
+
+		if (side.isBenzene()) { // phenyl
+			out.write('c');
+			out.write(digit);
+			out.write("ccccc");
+			out.write(digit);
+
+		} else if (side.isCyclo()) { // cycloalkyl, ring opens and closes right away
+			out.write('C');
+			out.write(digit);
+			for (int i = 1; i < size; i++)
+				out.write('C');
+			out.write(digit);
+
+		} else { // straight chain
+			for (int i = 0; i < size; i++)
+				out.write('C');
+		} // if
+	} // end writeSide
+
+	/*
+	 * Write a nitrogen and the chains attached to it
+	 * ArrayList<Chain> chains - chains on the nitrogen, null if none
+	 */
+	private void writeNitrogen(ArrayList<Chain> chains) throws IOException {
+		out.write('N');
+
+		if (chains != null) {
+			for (Chain side : chains) {
+				out.write('(');
+				writeSide(side, '3');
+				out.write(')');
+			} // end for
+		} // end if
+	} // end writeNitrogen
+
+	/*
+	 * Write the symbol for a bond between two carbons
+	 * int order - order of the bond
+	 * boolean aromatic - whether the bond is inside a benzene ring
+	 */
+	private void writeBond(int order, boolean aromatic) throws IOException {
+		if (aromatic)
+			return;
+
+		if (order == 2)
+			out.write('=');
+		else if (order == 3)
+			out.write('#');
+	} // end writeBond
+} // end SmilesWriter
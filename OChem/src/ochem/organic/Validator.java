@@ -0,0 +1,205 @@
+package ochem.organic;
+
+/*
+ * Validator
+ * Created by: Jordan Lin
+ * Last modified: 10/19/2026
+ * Checks that a compound is a possible structure in one pass over its chains
+ */
+
+public class Validator {
+	// Violation bits, a compound is valid when none are set
+	public static final int VALID = 0;
+	public static final int VALENCE = 1; // a carbon has more than four bonds
+	public static final int LOCATION = 2; // a chain or group is off of the main chain
+	public static final int NITROGEN = 4; // chains on a nitrogen that isn't there or is full
+	public static final int OXYGEN = 8; // chains on an oxygen that isn't there or is missing one
+	public static final int TERMINAL = 16; // an aldehyde, amide, ester or acid not on the end of the chain
+	public static final int RING = 32; // ring too small or with bonds it can't hold
+	public static final int SIZE = 64; // main chain has no carbons
+
+	public static final String[] VIOLATIONS = { "too many bonds on a carbon", "location not on the chain",
+			"bad nitrogen substituent", "bad oxygen substituent", "group must be on the end of the chain",
+			"ring cannot hold its bonds", "main chain is empty" };
+
+	// bonds each main chain group uses on its carbon, indexed like OrganicUtil.FUNCTIONAL_NAMES
+	private static final int[] GROUP_VALENCE = { 0, 0, 0, 1, 2, 2, 1, 3, 3, 3, 0, 1 };
+
+	// bonds each non-carbon side chain uses on its carbon, indexed by the negative size
+	private static final int[] SIDE_VALENCE = { 0, 0, 1, 1, 1, 1, 1, 1, 2, 1, 3, 3, 3 };
+
+	// smallest ring that can hold a triple bond
+	private static final int MIN_ALKYNE_RING = 8;
+
+	/*
+	 * Check a compound
+	 * Compound c - compound to check
+	 * return - bitset of violations, VALID if there are none
+	 */
+	public static int validate(Compound c) {
+		Chain main = c.getMainChain();
+		int size = main.getSize();
+		boolean ring = main.isCyclo() || main.isBenzene();
+		int bits = VALID;
+
+		if (size < 1)
+			return SIZE;
+
+		// rings
+		if (main.isCyclo() && main.isBenzene())
+			bits |= RING;
+		if (ring && size < 3)
+			bits |= RING;
+		if (main.isBenzene() && size != 6)
+			bits |= RING;
+
+		// bonds used on each carbon by the main chain itself
+		int[] used = new int[size + 1];
+		for (int i = 1; i <= size; i++) {
+			if (main.isBenzene())
+				used[i] = 3; // two ring bonds and the shared double bond
+			else if (ring)
+				used[i] = 2;
+			else
+				used[i] = (i > 1 ? 1 : 0) + (i < size ? 1 : 0);
+		} // loop
+
+		// bonds and groups from the endings
+		int nitrogens = 0; // nitrogens that can hold chains
+		int oxygens = 0; // oxygens that need a chain
+		for (int i = 0; i < main.getGroupCount(); i++) {
+			int kind = main.getGroupKind(i);
+			int locant = main.getGroupLocant(i);
+
+			if (locant < 1 || locant > size) {
+				bits |= LOCATION;
+				continue;
+			} // if
+
+			if (kind == 1 || kind == 2) { // alkene or alkyne joins this carbon to the next
+				int next = locant == size ? 1 : locant + 1;
+				if (main.isBenzene())
+					continue; // already counted as the ring's shared double bonds
+				if ((!ring && locant == size) || size < 2) {
+					bits |= LOCATION;
+					continue;
+				} // if
+				if (ring && kind == 2 && size < MIN_ALKYNE_RING)
+					bits |= RING;
+
+				used[locant] += kind;
+				used[next] += kind;
+			} else {
+				used[locant] += GROUP_VALENCE[kind];
+				if (isTerminal(kind, 0) && (ring || (locant != 1 && locant != size)))
+					bits |= TERMINAL;
+			} // if
+
+			if (kind == 6 || kind == 7)
+				nitrogens++;
+			else if (kind == 8 || kind == 11)
+				oxygens++;
+		} // loop
+
+		// side chains
+		int onNitrogen = 0;
+		int onOxygen = 0;
+		for (int i = 0; i < c.getSideChainCount(); i++) {
+			Chain side = c.getSideChain(i);
+			int sideSize = side.getSize();
+			int locant = side.getLocant();
+
+			// alkyl rings
+			if (sideSize > 0 && (side.isCyclo() && sideSize < 3 || side.isBenzene() && sideSize != 6))
+				bits |= RING;
+
+			if (locant < 0) { // on a nitrogen or oxygen
+				String location = side.getLocation();
+				if (location.equalsIgnoreCase("N")) {
+					onNitrogen++;
+					if (sideSize < -5 || sideSize == 0)
+						bits |= NITROGEN;
+				} else if (location.equalsIgnoreCase("O")) {
+					onOxygen++;
+					if (sideSize <= 0)
+						bits |= OXYGEN;
+				} else {
+					bits |= LOCATION;
+				} // if
+				continue;
+			} // if
+
+			if (locant < 1 || locant > size) {
+				bits |= LOCATION;
+				continue;
+			} // if
+
+			if (sideSize > 0) {
+				used[locant]++;
+			} else if (-sideSize < SIDE_VALENCE.length) {
+				used[locant] += SIDE_VALENCE[-sideSize];
+				if (isTerminal(0, sideSize) && (ring || (locant != 1 && locant != size)))
+					bits |= TERMINAL;
+			} // if
+
+			if (sideSize == -9 || sideSize == -10)
+				nitrogens++;
+			else if (sideSize == -7 || sideSize == -11)
+				oxygens++;
+		} // loop
+
+		// each nitrogen holds up to two chains, each ester or ether oxygen exactly one
+		if (onNitrogen > 2 * nitrogens)
+			bits |= NITROGEN;
+		if (onOxygen != oxygens)
+			bits |= OXYGEN;
+
+		for (int i = 1; i <= size; i++) {
+			if (used[i] > 4) {
+				bits |= VALENCE;
+				break;
+			} // if
+		} // loop
+
+		return bits;
+	} // end validate
+
+	/*
+	 * Check if a compound is valid
+	 * Compound c - compound to check
+	 * return - whether no violations were found
+	 */
+	public static boolean isValid(Compound c) {
+		return validate(c) == VALID;
+	} // end isValid
+
+	/*
+	 * Describe a set of violations
+	 * int bits - violations from validate
+	 * return - the violations separated by commas, empty if there are none
+	 */
+	public static String describe(int bits) {
+		StringBuilder sb = new StringBuilder();
+
+		for (int i = 0; i < VIOLATIONS.length; i++) {
+			if ((bits & (1 << i)) == 0)
+				continue;
+
+			if (sb.length() > 0)
+				sb.append(", ");
+			sb.append(VIOLATIONS[i]);
+		} // loop
+
+		return sb.toString();
+	} // end describe
+
+	/*
+	 * Check if a group has to be on the end of a chain
+	 * int kind - index of a main chain group in FUNCTIONAL_NAMES, 0 if a side chain
+	 * int sideSize - size of a side chain, 0 if a main chain group
+	 * return - whether the group is an aldehyde, amide, ester or carboxylic acid
+	 */
+	private static boolean isTerminal(int kind, int sideSize) {
+		return kind == 4 || kind == 7 || kind == 8 || kind == 9 || sideSize <= -10;
+	} // end isTerminal
+} // end Validator
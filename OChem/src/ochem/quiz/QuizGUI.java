@@ -10,6 +10,7 @@ import java.awt.Dimension;
 
 //import packages
 import javax.swing.BoxLayout;
+import javax.swing.ImageIcon;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -21,10 +22,15 @@ import ochem.View;
 import ochem.drawing.DrawingGUI;
 import ochem.drawing.DrawingUtil;
 import ochem.drawing.OBox;
+import ochem.drawing.ThumbnailCache;
 import ochem.naming.NamingGUI;
 import ochem.organic.Compound;
 
 public class QuizGUI extends JPanel {
+	// answers shown after each attempt, drawn once and shared by every quiz
+	private static final int REVIEW_SIZE = 300;
+	private static final ThumbnailCache REVIEWS = new ThumbnailCache(32L * 4 * REVIEW_SIZE * REVIEW_SIZE);
+
 	// instance variables
 	private OBox name = new OBox(200, 100, "Name", true, false);
 	private OBox draw = new OBox(200, 100, "Draw", true, false);
@@ -33,6 +39,7 @@ public class QuizGUI extends JPanel {
 	private QuizModel model = new QuizModel();
 	private JLabel displayName = new JLabel("");
 	private JLabel rating = new JLabel("");
+	private JLabel review = new JLabel("");
 	private NamingGUI names = new NamingGUI(new NameInputController(this.model));
 	private DrawingGUI draws = new DrawingGUI(500, 500);
 	private Model openModel;
@@ -72,6 +79,7 @@ public class QuizGUI extends JPanel {
 		this.rating.setFont(DrawingUtil.getFileFont(DrawingUtil.OXYGEN_LOCATION));
 		this.displayName.setHorizontalAlignment(JLabel.CENTER);
 		this.displayName.setFont(DrawingUtil.getFileFont(DrawingUtil.OXYGEN_LOCATION));
+		this.review.setHorizontalAlignment(JLabel.CENTER);
 
 		// add components to panel
 		buttons.add(name);
@@ -107,12 +115,19 @@ public class QuizGUI extends JPanel {
 		// replace the appropriate GUI
 		this.remove(draws);
 		this.remove(names);
+		this.remove(review);
 		if (this.model.getAttempted()) {
 			this.displayName.setText(null);
 			this.model.setAttempted(false);
 			if (this.model.isCorrect()) {
 				this.displayName.setText("CORRECT");
 			}
+
+			// show the answer to compare the attempt with
+			if (this.model.getAnswer() != null) {
+				this.review.setIcon(new ImageIcon(REVIEWS.get(this.model.getAnswer(), REVIEW_SIZE, REVIEW_SIZE)));
+				this.add(review, BorderLayout.CENTER);
+			}
 		} else if (this.model.getDraw()) {
 			this.check.show();
 			this.add(draws, BorderLayout.CENTER);
@@ -12,6 +12,7 @@ public class QuizModel extends Object {
 	// instance variables
 	private QuizGUI g; // gui
 	private Compound compound; // generated compound
+	private Compound answer; // compound of the last question attempted
 	private boolean draw; // set the quiz to draw mode
 	private int correct = 0; // num of correctly answered questions
 	private int questions = 0;// num of questions given
@@ -72,6 +73,7 @@ public class QuizModel extends Object {
 	public void checkCompound(String c) {
 		Compound cmpd2;
 		this.attempted = true;
+		this.answer = this.compound;
 		try {
 			cmpd2 = Interpreter.compoundFromName(c);
 			if (OrganicUtil.compareCompound(this.compound, cmpd2)) {
@@ -93,6 +95,7 @@ public class QuizModel extends Object {
 			this.lastRight = true;
 		} else
 			this.lastRight = false;
+		this.answer = this.compound;
 		this.compound = null;
 		this.attempted = true;
 		this.g.update();
@@ -103,6 +106,11 @@ public class QuizModel extends Object {
 		return this.lastRight;
 	}
 
+	// return the compound of the last question attempted, null if none
+	public Compound getAnswer() {
+		return this.answer;
+	}
+
 	// return if the last question was attempted
 	public boolean getAttempted() {
 		return this.attempted;